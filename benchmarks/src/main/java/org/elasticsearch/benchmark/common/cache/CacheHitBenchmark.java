@@ -0,0 +1,99 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.common.cache;
+
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of cache hits as the number of concurrent readers grows, with and without buffered promotions.
+ */
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class CacheHitBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean bufferedPromotions;
+
+    @Param({ "1000", "100000" })
+    private int numberOfEntries;
+
+    private Cache<Integer, Integer> cache;
+
+    @Setup
+    public void setUp() {
+        // the maximum weight leaves room for all entries so that we only measure hits
+        cache = CacheBuilder.<Integer, Integer>builder()
+            .setMaximumWeight(numberOfEntries)
+            .setBufferedPromotions(bufferedPromotions)
+            .build();
+        for (int i = 0; i < numberOfEntries; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    private Integer hit() {
+        return cache.get(ThreadLocalRandom.current().nextInt(numberOfEntries));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer get_01() {
+        return hit();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer get_02() {
+        return hit();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer get_04() {
+        return hit();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer get_08() {
+        return hit();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer get_16() {
+        return hit();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Integer get_32() {
+        return hit();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.benchmark.common.util.concurrent;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.StripedLock;
+import org.elasticsearch.core.Releasable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput of the per-uid locking done by the version map of the engine for update-heavy workloads, where each
+ * operation locks a uid, reads and updates its version, and releases the lock. Run with {@code -prof gc} to compare the allocation
+ * rate of the {@link KeyedLock} that the version map used to rely on with the {@link StripedLock} it uses now.
+ */
+@Fork(3)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class UidLockBenchmark {
+
+    @Param({ "keyed", "striped" })
+    private String lockType;
+
+    @Param({ "1000", "1000000" })
+    private int numberOfUids;
+
+    private BytesRef[] uids;
+    private ConcurrentHashMap<BytesRef, Long> versions;
+    private Function<BytesRef, Releasable> lock;
+
+    @Setup
+    public void setUp() {
+        uids = new BytesRef[numberOfUids];
+        versions = new ConcurrentHashMap<>(numberOfUids);
+        for (int i = 0; i < numberOfUids; i++) {
+            uids[i] = new BytesRef(Integer.toString(i));
+            versions.put(uids[i], Versions.NOT_FOUND);
+        }
+        lock = switch (lockType) {
+            case "keyed" -> new KeyedLock<BytesRef>()::acquire;
+            // the stripe count of LiveVersionMap
+            case "striped" -> new StripedLock<BytesRef>(128)::acquire;
+            default -> throw new IllegalArgumentException("unknown lock type [" + lockType + "]");
+        };
+    }
+
+    private long update() {
+        final BytesRef uid = uids[ThreadLocalRandom.current().nextInt(numberOfUids)];
+        try (Releasable ignored = lock.apply(uid)) {
+            final long version = versions.get(uid) + 1;
+            versions.put(uid, version);
+            return version;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long update_01() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long update_04() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long update_08() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long update_16() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public long update_32() {
+        return update();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.grok;
+
+import org.elasticsearch.grok.Grok;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches grok patterns of typical log formats against a mix of apache access, apache error and syslog lines, so that most lines
+ * don't match the pattern, like in a pipeline that tries several grok processors or a grok processor with several patterns.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(GrokBenchmark.NUM_LINES)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class GrokBenchmark {
+
+    static final int NUM_LINES = 300;
+
+    @Param(
+        {
+            "%{COMBINEDAPACHELOG}",
+            "%{SYSLOGBASE} %{GREEDYDATA:message}",
+            // the way the grok processor combines several patterns
+            "(?:%{HTTPD24_ERRORLOG})|(?:%{COMBINEDAPACHELOG})" }
+    )
+    public String pattern = "%{COMBINEDAPACHELOG}";
+
+    private Grok grok;
+    private String[] lines;
+
+    @Setup
+    public void setUp() {
+        grok = new Grok(Grok.getBuiltinPatterns(false), pattern, message -> {});
+        lines = new String[NUM_LINES];
+        for (int i = 0; i < NUM_LINES; i++) {
+            lines[i] = switch (i % 3) {
+                case 0 -> "83.149.9."
+                    + (i % 256)
+                    + " - - [17/May/2015:10:05:03 +0000] \"GET /presentations/logstash-monitorama-2013/images/kibana-search.png HTTP/1.1\" "
+                    + "200 "
+                    + (i * 31)
+                    + " \"http://semicomplete.com/presentations/logstash-monitorama-2013/\" \"Mozilla/5.0 (Macintosh; Intel Mac OS X "
+                    + "10_9_1) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/32.0.1700.77 Safari/537.36\"";
+                case 1 -> "[Mon Dec 26 16:22:08.123456 2016] [core:error] [pid "
+                    + i
+                    + ":tid 4328636416] [client 1.2.3.4:5678] AH00126: Invalid URI in request GET /../../etc/passwd HTTP/1.1";
+                default -> "Mar 16 00:01:25 evita postfix/smtpd["
+                    + i
+                    + "]: connect from camomile.cloud9.net[168.100.1.3] with a rather long message about what happened";
+            };
+        }
+    }
+
+    @Benchmark
+    public int captures() {
+        int matches = 0;
+        for (String line : lines) {
+            Map<String, Object> captures = grok.captures(line);
+            if (captures != null) {
+                matches += captures.size();
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int match() {
+        int matches = 0;
+        for (String line : lines) {
+            if (grok.match(line)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.ingest;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.env.Environment;
+import org.elasticsearch.ingest.AbstractProcessor;
+import org.elasticsearch.ingest.IngestDocument;
+import org.elasticsearch.ingest.IngestMetadata;
+import org.elasticsearch.ingest.IngestService;
+import org.elasticsearch.ingest.PipelineConfiguration;
+import org.elasticsearch.ingest.Processor;
+import org.elasticsearch.plugins.IngestPlugin;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a bulk request through an ingest pipeline of {@code numProcessors} processors that each do some string manipulation, the
+ * way that grok or user agent processors keep a core busy. A {@code batchSize} that is at least the number of documents of the bulk
+ * request runs all of them on a single write thread like ingest used to, smaller batch sizes spread the bulk request over the write
+ * thread pool.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class BulkIngestBenchmark {
+
+    private static final String PIPELINE_ID = "benchmark";
+
+    @Param({ "5000" })
+    public int numDocs = 5000;
+
+    @Param({ "1", "10", "50" })
+    public int numProcessors = 10;
+
+    @Param({ "5000", "256", "64" })
+    public int batchSize = 256;
+
+    private ThreadPool threadPool;
+    private IngestService ingestService;
+    private List<DocWriteRequest<?>> requests;
+
+    @Setup
+    public void setUp() {
+        Settings settings = Settings.builder()
+            .put("node.name", "benchmark")
+            .put(Environment.PATH_HOME_SETTING.getKey(), System.getProperty("java.io.tmpdir"))
+            .put(IngestService.BULK_BATCH_SIZE_SETTING.getKey(), batchSize)
+            .build();
+        threadPool = new ThreadPool(settings);
+        ingestService = new IngestService(null, threadPool, new Environment(settings, null), null, null, List.of(new IngestPlugin() {
+            @Override
+            public Map<String, Processor.Factory> getProcessors(Processor.Parameters parameters) {
+                return Map.of("work", (factories, tag, description, config) -> new WorkProcessor(tag));
+            }
+        }), null);
+
+        StringBuilder pipeline = new StringBuilder("{\"processors\": [");
+        for (int i = 0; i < numProcessors; i++) {
+            pipeline.append(i == 0 ? "" : ",").append("{\"work\": {}}");
+        }
+        pipeline.append("]}");
+        IngestMetadata ingestMetadata = new IngestMetadata(
+            Map.of(PIPELINE_ID, new PipelineConfiguration(PIPELINE_ID, new BytesArray(pipeline.toString()), XContentType.JSON))
+        );
+        ClusterState previousState = ClusterState.builder(ClusterName.DEFAULT).build();
+        ClusterState state = ClusterState.builder(previousState)
+            .metadata(Metadata.builder().putCustom(IngestMetadata.TYPE, ingestMetadata))
+            .build();
+        ingestService.applyClusterState(new ClusterChangedEvent("benchmark", state, previousState));
+    }
+
+    @Setup(Level.Invocation)
+    public void createRequests() {
+        // ingest modifies the requests, so every invocation needs new ones
+        requests = new ArrayList<>(numDocs);
+        for (int i = 0; i < numDocs; i++) {
+            requests.add(
+                new IndexRequest("index").id(Integer.toString(i))
+                    .setPipeline(PIPELINE_ID)
+                    .setFinalPipeline(IngestService.NOOP_PIPELINE_NAME)
+                    .source(XContentType.JSON, "message", "GET /Search?q=Elasticsearch HTTP/1.1 " + i, "count", i)
+            );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public int executeBulkRequest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        int[] failures = new int[1];
+        ingestService.executeBulkRequest(requests.size(), requests, (slot, e) -> {
+            synchronized (failures) {
+                failures[0]++;
+            }
+        }, (thread, e) -> latch.countDown(), slot -> {}, ThreadPool.Names.WRITE);
+        latch.await();
+        synchronized (failures) {
+            return failures[0];
+        }
+    }
+
+    private static final class WorkProcessor extends AbstractProcessor {
+
+        WorkProcessor(String tag) {
+            super(tag, null);
+        }
+
+        @Override
+        public IngestDocument execute(IngestDocument ingestDocument) {
+            String message = ingestDocument.getFieldValue("message", String.class);
+            String[] tokens = message.toLowerCase(Locale.ROOT).split(" ");
+            ingestDocument.setFieldValue("tokens", List.of(tokens));
+            ingestDocument.setFieldValue("message_hash", message.hashCode() * 31 + tokens.length);
+            return ingestDocument;
+        }
+
+        @Override
+        public String getType() {
+            return "work";
+        }
+    }
+}
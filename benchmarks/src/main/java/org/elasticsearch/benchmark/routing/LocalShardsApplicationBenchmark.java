@@ -0,0 +1,172 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.routing;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.benchmark.routing.allocation.Allocators;
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.RecoverySource;
+import org.elasticsearch.cluster.routing.RoutingNode;
+import org.elasticsearch.cluster.routing.RoutingNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.UnassignedInfo;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long a data node takes to find the shards assigned to it when it applies a cluster state of a large cluster in which
+ * only a few indices were moved around. {@code routingNodes} builds the routing nodes of the whole cluster, which the data nodes used
+ * to do for each cluster state, while {@code changedIndices} only looks at the routing of the indices listed by
+ * {@link ClusterChangedEvent#indicesWithRoutingChanges()}, which is how the local shards are now maintained.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class LocalShardsApplicationBenchmark {
+
+    @Param(
+        {
+            // indices| shards| replicas| nodes
+            "     1000|      5|        1|   100",
+            "     4000|      5|        1|   100",
+            "    10000|      2|        1|   200" }
+    )
+    public String indicesShardsReplicasNodes = "1000|5|1|100";
+
+    @Param({ "1", "10", "100" })
+    public int changedIndices = 1;
+
+    private ClusterState previousState;
+    private ClusterState newState;
+    private String localNodeId;
+
+    @Setup
+    public void setUp() {
+        final String[] params = indicesShardsReplicasNodes.split("\\|");
+        final int numIndices = toInt(params[0]);
+        final int numShards = toInt(params[1]);
+        final int numReplicas = toInt(params[2]);
+        final int numNodes = toInt(params[3]);
+
+        final Metadata.Builder mb = Metadata.builder();
+        for (int i = 0; i < numIndices; i++) {
+            mb.put(
+                IndexMetadata.builder("test_" + i)
+                    .settings(Settings.builder().put("index.version.created", Version.CURRENT))
+                    .numberOfShards(numShards)
+                    .numberOfReplicas(numReplicas)
+            );
+        }
+        final Metadata metadata = mb.build();
+        final DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 0; i < numNodes; i++) {
+            nb.add(Allocators.newNode("node_" + i, Map.of()));
+        }
+        localNodeId = "node_0";
+        nb.localNodeId(localNodeId);
+
+        final RoutingTable.Builder rb = RoutingTable.builder();
+        int nextNode = 0;
+        for (IndexMetadata indexMetadata : metadata.indices().values()) {
+            rb.add(startedIndexRoutingTable(indexMetadata, nextNode++, numNodes));
+        }
+        previousState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .metadata(metadata)
+            .routingTable(rb.build())
+            .nodes(nb)
+            .build();
+
+        // move the copies of the first indices to other nodes
+        final RoutingTable.Builder changed = RoutingTable.builder(previousState.routingTable());
+        for (int i = 0; i < changedIndices; i++) {
+            changed.add(startedIndexRoutingTable(metadata.index("test_" + i), i + 1, numNodes));
+        }
+        newState = ClusterState.builder(previousState).routingTable(changed.build()).build();
+    }
+
+    private static IndexRoutingTable startedIndexRoutingTable(IndexMetadata indexMetadata, int firstNode, int numNodes) {
+        final Index index = indexMetadata.getIndex();
+        final IndexRoutingTable.Builder builder = IndexRoutingTable.builder(index);
+        int node = firstNode;
+        for (int shard = 0; shard < indexMetadata.getNumberOfShards(); shard++) {
+            final ShardId shardId = new ShardId(index, shard);
+            final IndexShardRoutingTable.Builder shardBuilder = IndexShardRoutingTable.builder(shardId);
+            for (int copy = 0; copy <= indexMetadata.getNumberOfReplicas(); copy++) {
+                shardBuilder.addShard(
+                    ShardRouting.newUnassigned(
+                        shardId,
+                        copy == 0,
+                        copy == 0 ? RecoverySource.EmptyStoreRecoverySource.INSTANCE : RecoverySource.PeerRecoverySource.INSTANCE,
+                        new UnassignedInfo(UnassignedInfo.Reason.INDEX_CREATED, null)
+                    ).initialize("node_" + (node++ % numNodes), null, 0L).moveToStarted()
+                );
+            }
+            builder.addIndexShard(shardBuilder);
+        }
+        return builder.build();
+    }
+
+    private static int toInt(String v) {
+        return Integer.parseInt(v.trim());
+    }
+
+    @Benchmark
+    public int routingNodes() {
+        final RoutingNode localRoutingNode = RoutingNodes.immutable(newState.routingTable(), newState.nodes()).node(localNodeId);
+        return localRoutingNode == null ? 0 : localRoutingNode.size();
+    }
+
+    @Benchmark
+    public int changedIndices() {
+        final ClusterChangedEvent event = new ClusterChangedEvent("benchmark", newState, previousState);
+        int localShards = 0;
+        for (Index index : event.indicesWithRoutingChanges()) {
+            final IndexRoutingTable indexRoutingTable = newState.routingTable().index(index);
+            if (indexRoutingTable == null) {
+                continue;
+            }
+            for (int shard = 0; shard < indexRoutingTable.size(); shard++) {
+                final IndexShardRoutingTable indexShard = indexRoutingTable.shard(shard);
+                for (int copy = 0; copy < indexShard.size(); copy++) {
+                    if (localNodeId.equals(indexShard.shard(copy).currentNodeId())) {
+                        localShards++;
+                    }
+                }
+            }
+        }
+        return localShards;
+    }
+}
@@ -13,10 +13,15 @@ import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.RecoverySource;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.UnassignedInfo;
 import org.elasticsearch.cluster.routing.allocation.AllocationService;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.shard.ShardId;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -98,7 +103,12 @@ public class AllocationBenchmark {
             "       10|     10|        2|    50",
             "      100|      1|        2|    50",
             "      100|      3|        2|    50",
-            "      100|     10|        2|    50" }
+            "      100|     10|        2|    50",
+
+            // large clusters, mostly relevant to measureRerouteOfAllocatedCluster as initial allocations take many rounds
+            "     1000|     10|        1|   200",
+            "    10000|      3|        1|   200",
+            "    20000|      1|        2|   200" }
     )
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
@@ -106,6 +116,7 @@ public class AllocationBenchmark {
 
     private AllocationService strategy;
     private ClusterState initialClusterState;
+    private ClusterState allocatedClusterState;
 
     @Setup
     public void setUp() throws Exception {
@@ -144,6 +155,31 @@ public class AllocationBenchmark {
             .routingTable(routingTable)
             .nodes(nb)
             .build();
+
+        // all shards started and spread evenly over the nodes, as in a cluster that is already balanced
+        RoutingTable.Builder allocated = RoutingTable.builder();
+        int nextNode = 0;
+        for (int i = 1; i <= numIndices; i++) {
+            IndexMetadata indexMetadata = metadata.index("test_" + i);
+            IndexRoutingTable.Builder indexRoutingTable = IndexRoutingTable.builder(indexMetadata.getIndex());
+            for (int shard = 0; shard < numShards; shard++) {
+                ShardId shardId = new ShardId(indexMetadata.getIndex(), shard);
+                IndexShardRoutingTable.Builder indexShardRoutingTable = IndexShardRoutingTable.builder(shardId);
+                for (int copy = 0; copy <= numReplicas; copy++) {
+                    indexShardRoutingTable.addShard(
+                        ShardRouting.newUnassigned(
+                            shardId,
+                            copy == 0,
+                            copy == 0 ? RecoverySource.EmptyStoreRecoverySource.INSTANCE : RecoverySource.PeerRecoverySource.INSTANCE,
+                            new UnassignedInfo(UnassignedInfo.Reason.INDEX_CREATED, null)
+                        ).initialize("node" + (nextNode++ % numNodes + 1), null, 0L).moveToStarted()
+                    );
+                }
+                indexRoutingTable.addIndexShard(indexShardRoutingTable);
+            }
+            allocated.add(indexRoutingTable);
+        }
+        allocatedClusterState = ClusterState.builder(initialClusterState).routingTable(allocated.build()).build();
     }
 
     private int toInt(String v) {
@@ -166,4 +202,9 @@ public class AllocationBenchmark {
         }
         return clusterState;
     }
+
+    @Benchmark
+    public ClusterState measureRerouteOfAllocatedCluster() {
+        return strategy.reroute(allocatedClusterState, "reroute");
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.benchmark.script;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.Version;
+import org.elasticsearch.script.field.vectors.BinaryDenseVector;
+import org.elasticsearch.script.field.vectors.DenseVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a block of {@code dense_vector} doc values against a query vector, the way the vector functions of
+ * {@code script_score} do for every document of a leaf. The {@code scalar*} benchmarks decode the vectors with a
+ * {@link ByteBuffer} like {@link BinaryDenseVector} used to, the others go through {@link BinaryDenseVector} itself.
+ */
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(DenseVectorScoringBenchmark.NUM_DOCS)
+@State(Scope.Benchmark)
+public class DenseVectorScoringBenchmark {
+
+    static final int NUM_DOCS = 1024;
+
+    @Param({ "96", "384", "768" })
+    private int dims;
+
+    private float[] queryVector;
+    private BytesRef[] docVectors;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        queryVector = randomVector(random, dims);
+        docVectors = new BytesRef[NUM_DOCS];
+        for (int i = 0; i < NUM_DOCS; i++) {
+            float[] vector = randomVector(random, dims);
+            // dense_vector doc values are big-endian floats followed by the magnitude
+            ByteBuffer buffer = ByteBuffer.allocate((dims + 1) * Float.BYTES);
+            double magnitude = 0;
+            for (float value : vector) {
+                buffer.putFloat(value);
+                magnitude += value * value;
+            }
+            buffer.putFloat((float) Math.sqrt(magnitude));
+            docVectors[i] = new BytesRef(buffer.array());
+        }
+    }
+
+    private static float[] randomVector(Random random, int dims) {
+        float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+
+    @Benchmark
+    public double dotProduct() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            sum += vector(docVector).dotProduct(queryVector);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double l1Norm() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            sum += vector(docVector).l1Norm(queryVector);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double l2Norm() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            sum += vector(docVector).l2Norm(queryVector);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double cosineSimilarity() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            sum += vector(docVector).cosineSimilarity(queryVector, false);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double scalarDotProduct() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(docVector.bytes, docVector.offset, docVector.length);
+            double dotProduct = 0;
+            for (float v : queryVector) {
+                dotProduct += byteBuffer.getFloat() * v;
+            }
+            sum += dotProduct;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double scalarL2Norm() {
+        double sum = 0;
+        for (BytesRef docVector : docVectors) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(docVector.bytes, docVector.offset, docVector.length);
+            double l2norm = 0;
+            for (float queryValue : queryVector) {
+                double diff = byteBuffer.getFloat() - queryValue;
+                l2norm += diff * diff;
+            }
+            sum += Math.sqrt(l2norm);
+        }
+        return sum;
+    }
+
+    private DenseVector vector(BytesRef docVector) {
+        return new BinaryDenseVector(docVector, dims, Version.CURRENT);
+    }
+}
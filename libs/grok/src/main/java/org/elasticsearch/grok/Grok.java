@@ -69,6 +69,7 @@ public final class Grok {
     private final Map<String, String> patternBank;
     private final boolean namedCaptures;
     private final Regex compiledExpression;
+    private final RequiredLiterals requiredLiterals;
     private final MatcherWatchdog matcherWatchdog;
     private final List<GrokCaptureConfig> captureConfig;
 
@@ -107,6 +108,7 @@ public final class Grok {
             UTF8Encoding.INSTANCE,
             message -> logCallBack.accept(message)
         );
+        this.requiredLiterals = RequiredLiterals.of(expression);
 
         List<GrokCaptureConfig> grokCaptureConfigs = new ArrayList<>();
         for (Iterator<NameEntry> entry = compiledExpression.namedBackrefIterator(); entry.hasNext();) {
@@ -262,7 +264,11 @@ public final class Grok {
      * @return true if grok expression matches text or there is a timeout, false otherwise.
      */
     public boolean match(String text) {
-        Matcher matcher = compiledExpression.matcher(text.getBytes(StandardCharsets.UTF_8));
+        byte[] utf8Bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (requiredLiterals != null && requiredLiterals.mightMatch(utf8Bytes, 0, utf8Bytes.length) == false) {
+            return false;
+        }
+        Matcher matcher = compiledExpression.matcher(utf8Bytes);
         int result;
         try {
             matcherWatchdog.register(matcher);
@@ -298,6 +304,10 @@ public final class Grok {
      * @throws RuntimeException if there was a timeout
      */
     public boolean match(byte[] utf8Bytes, int offset, int length, GrokCaptureExtracter extracter) {
+        if (requiredLiterals != null && requiredLiterals.mightMatch(utf8Bytes, offset, length) == false) {
+            // the text misses literals that any match has to contain, no need to search it with the regex
+            return false;
+        }
         Matcher matcher = compiledExpression.matcher(utf8Bytes, offset, offset + length);
         int result;
         try {
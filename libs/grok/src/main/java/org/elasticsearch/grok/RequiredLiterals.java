@@ -0,0 +1,324 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.grok;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The literal strings that any match of a regular expression has to contain, grouped by top level alternative. Searching for a
+ * handful of literals is linear in the length of the text, while a regex search that fails may try every alternative at every
+ * position of the text and backtrack within each of them. So {@link Grok} checks the literals first and only runs the regex on
+ * text that contains all the literals of at least one alternative. This matters most for the alternations that the grok
+ * processor builds when it is given several patterns, since joni can't extract a literal to search for from those.
+ * <p>
+ * The expression is only scanned for the subset of the regex syntax that patterns typically use. Anything that could change how
+ * literal characters match, like options or numeric escapes, means that there are no required literals.
+ */
+final class RequiredLiterals {
+
+    private final byte[][][] alternatives;
+
+    private RequiredLiterals(byte[][][] alternatives) {
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Extracts the required literals of the given expression, or returns {@code null} if at least one alternative of the expression
+     * has no literals or if the expression uses syntax that isn't supported.
+     */
+    static RequiredLiterals of(String expression) {
+        List<List<String>> alternatives;
+        try {
+            Parser parser = new Parser(expression);
+            alternatives = parser.alternatives();
+            if (parser.pos != expression.length()) {
+                return null; // unbalanced closing parenthesis
+            }
+        } catch (UnsupportedSyntaxException e) {
+            return null;
+        }
+        byte[][][] literals = new byte[alternatives.size()][][];
+        for (int i = 0; i < alternatives.size(); i++) {
+            Set<String> unique = new LinkedHashSet<>(alternatives.get(i));
+            if (unique.isEmpty()) {
+                return null;
+            }
+            // the longer a literal the less likely it is to be found, so check those first
+            literals[i] = unique.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .map(literal -> literal.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        }
+        return new RequiredLiterals(literals);
+    }
+
+    /**
+     * Returns {@code false} if the given utf-8 encoded text can't match because it misses a literal of every alternative.
+     */
+    boolean mightMatch(byte[] utf8Bytes, int offset, int length) {
+        for (byte[][] literals : alternatives) {
+            if (containsAll(utf8Bytes, offset, offset + length, literals)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The literals of each top level alternative, for testing.
+     */
+    List<List<String>> alternatives() {
+        List<List<String>> result = new ArrayList<>(alternatives.length);
+        for (byte[][] literals : alternatives) {
+            List<String> strings = new ArrayList<>(literals.length);
+            for (byte[] literal : literals) {
+                strings.add(new String(literal, StandardCharsets.UTF_8));
+            }
+            result.add(strings);
+        }
+        return result;
+    }
+
+    private static boolean containsAll(byte[] bytes, int from, int to, byte[][] literals) {
+        for (byte[] literal : literals) {
+            if (contains(bytes, from, to, literal) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(byte[] bytes, int from, int to, byte[] literal) {
+        final byte first = literal[0];
+        final int last = to - literal.length;
+        outer: for (int i = from; i <= last; i++) {
+            if (bytes[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < literal.length; j++) {
+                if (bytes[i + j] != literal[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * A recursive descent over the expression that collects the runs of literal characters that are neither optional nor repeated.
+     * Groups that aren't quantified contribute the literals of their content if they have a single alternative, lookarounds and
+     * groups with several alternatives contribute nothing.
+     */
+    private static final class Parser {
+
+        private final String expression;
+        private int pos;
+
+        Parser(String expression) {
+            this.expression = expression;
+        }
+
+        /**
+         * Parses alternatives up to the end of the expression or the parenthesis closing the current group, which isn't consumed.
+         */
+        List<List<String>> alternatives() {
+            List<List<String>> alternatives = new ArrayList<>();
+            alternatives.add(sequence());
+            while (pos < expression.length() && expression.charAt(pos) == '|') {
+                pos++;
+                alternatives.add(sequence());
+            }
+            return alternatives;
+        }
+
+        private List<String> sequence() {
+            List<String> literals = new ArrayList<>();
+            StringBuilder run = new StringBuilder();
+            while (pos < expression.length()) {
+                final char c = expression.charAt(pos);
+                if (c == '|' || c == ')') {
+                    break;
+                }
+                switch (c) {
+                    case '(' -> {
+                        flush(run, literals);
+                        List<List<String>> group = group();
+                        if (quantified() == false && group != null && group.size() == 1) {
+                            literals.addAll(group.get(0));
+                        }
+                    }
+                    case '[' -> {
+                        flush(run, literals);
+                        skipCharacterClass();
+                        quantified();
+                    }
+                    case '.', '^', '$' -> {
+                        flush(run, literals);
+                        pos++;
+                        quantified();
+                    }
+                    case '*', '+', '?' -> throw new UnsupportedSyntaxException();
+                    case '\\' -> {
+                        if (pos + 1 >= expression.length()) {
+                            throw new UnsupportedSyntaxException();
+                        }
+                        final char escaped = expression.charAt(pos + 1);
+                        pos += 2;
+                        if (isAsciiLetterOrDigit(escaped)) {
+                            // escapes that consume more than one character, like \x41 or \k<name>, aren't worth supporting
+                            if ("xuokgpPcCM0123456789".indexOf(escaped) >= 0) {
+                                throw new UnsupportedSyntaxException();
+                            }
+                            // a character type or an anchor
+                            flush(run, literals);
+                            quantified();
+                        } else if (escaped < 128) {
+                            literal(escaped, run, literals);
+                        } else {
+                            throw new UnsupportedSyntaxException();
+                        }
+                    }
+                    default -> {
+                        final int codePoint = expression.codePointAt(pos);
+                        pos += Character.charCount(codePoint);
+                        literal(codePoint, run, literals);
+                    }
+                }
+            }
+            flush(run, literals);
+            return literals;
+        }
+
+        private void literal(int codePoint, StringBuilder run, List<String> literals) {
+            if (quantified()) {
+                // the quantifier applies to this character only, the preceding ones are still required
+                flush(run, literals);
+            } else {
+                run.appendCodePoint(codePoint);
+            }
+        }
+
+        /**
+         * Parses the group starting at the current position and returns its alternatives, or {@code null} if it is a lookaround.
+         */
+        private List<List<String>> group() {
+            assert expression.charAt(pos) == '(';
+            pos++;
+            boolean lookaround = false;
+            if (expression.startsWith("?:", pos) || expression.startsWith("?>", pos)) {
+                pos += 2;
+            } else if (expression.startsWith("?=", pos) || expression.startsWith("?!", pos)) {
+                lookaround = true;
+                pos += 2;
+            } else if (expression.startsWith("?<=", pos) || expression.startsWith("?<!", pos)) {
+                lookaround = true;
+                pos += 3;
+            } else if (expression.startsWith("?<", pos)) {
+                final int end = expression.indexOf('>', pos);
+                if (end == -1) {
+                    throw new UnsupportedSyntaxException();
+                }
+                pos = end + 1;
+            } else if (expression.startsWith("?", pos)) {
+                // options, comments and other extensions
+                throw new UnsupportedSyntaxException();
+            }
+            List<List<String>> alternatives = alternatives();
+            if (pos >= expression.length() || expression.charAt(pos) != ')') {
+                throw new UnsupportedSyntaxException();
+            }
+            pos++;
+            return lookaround ? null : alternatives;
+        }
+
+        private void skipCharacterClass() {
+            assert expression.charAt(pos) == '[';
+            pos++;
+            if (expression.startsWith("^", pos)) {
+                pos++;
+            }
+            if (expression.startsWith("]", pos)) {
+                pos++; // a leading ] is a literal
+            }
+            int depth = 1;
+            while (pos < expression.length()) {
+                switch (expression.charAt(pos)) {
+                    case '\\' -> pos += 2;
+                    case '[' -> {
+                        depth++;
+                        pos++;
+                    }
+                    case ']' -> {
+                        pos++;
+                        if (--depth == 0) {
+                            return;
+                        }
+                    }
+                    default -> pos++;
+                }
+            }
+            throw new UnsupportedSyntaxException();
+        }
+
+        /**
+         * Consumes the quantifiers at the current position, if any, and returns whether there were some.
+         */
+        private boolean quantified() {
+            boolean quantified = false;
+            while (pos < expression.length()) {
+                final char c = expression.charAt(pos);
+                if (c == '*' || c == '+' || c == '?') {
+                    pos++;
+                } else if (c == '{' && isInterval()) {
+                    pos = expression.indexOf('}', pos) + 1;
+                } else {
+                    break;
+                }
+                quantified = true;
+            }
+            return quantified;
+        }
+
+        /**
+         * Whether the brace at the current position starts an interval like {@code {2}}, {@code {2,}}, {@code {,3}} or
+         * {@code {2,3}}, rather than being a literal brace.
+         */
+        private boolean isInterval() {
+            final int end = expression.indexOf('}', pos);
+            if (end == -1) {
+                return false;
+            }
+            String interval = expression.substring(pos + 1, end);
+            return interval.matches("[0-9]+|[0-9]+,[0-9]*|,[0-9]+");
+        }
+
+        private static void flush(StringBuilder run, List<String> literals) {
+            if (run.length() > 0) {
+                literals.add(run.toString());
+                run.setLength(0);
+            }
+        }
+
+        private static boolean isAsciiLetterOrDigit(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        }
+    }
+
+    private static final class UnsupportedSyntaxException extends RuntimeException {
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+}
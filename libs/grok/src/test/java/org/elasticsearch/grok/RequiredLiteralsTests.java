@@ -0,0 +1,115 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.grok;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RequiredLiteralsTests extends ESTestCase {
+
+    public void testLiterals() {
+        assertLiterals("foo bar", List.of(List.of("foo bar")));
+        assertLiterals("abc?d", List.of(List.of("ab", "d")));
+        assertLiterals("ab*c+d{2}e{1,3}?f", List.of(List.of("a", "f")));
+        assertLiterals("a{b}", List.of(List.of("a{b}")));
+        assertLiterals("foo\\.bar\\s+baz", List.of(List.of("foo.bar", "baz")));
+        assertLiterals("\\[%\\]", List.of(List.of("[%]")));
+        assertLiterals("a.b^c$d", List.of(List.of("a", "b", "c", "d")));
+        assertLiterals("ab[]cd]ef[^[:alpha:]\\]]gh", List.of(List.of("ab", "ef", "gh")));
+        assertLiterals("héllo wörld", List.of(List.of("héllo wörld")));
+    }
+
+    public void testGroups() {
+        assertLiterals("foo(?:bar)baz", List.of(List.of("foo", "bar", "baz")));
+        assertLiterals("foo(?<name:sub>bar)(baz)", List.of(List.of("foo", "bar", "baz")));
+        assertLiterals("foo(?<[a][b]>bar)", List.of(List.of("foo", "bar")));
+        assertLiterals("foo(?:bar)?baz(qux)*", List.of(List.of("foo", "baz")));
+        assertLiterals("foo(?:bar|baz)qux", List.of(List.of("foo", "qux")));
+        assertLiterals("foo(?=bar)(?!baz)(?<=qux)(?<!quux)x", List.of(List.of("foo", "x")));
+        assertLiterals("foo(?>bar)", List.of(List.of("foo", "bar")));
+        assertLiterals("(?:foo(?:ba(r))baz)", List.of(List.of("foo", "ba", "r", "baz")));
+    }
+
+    public void testAlternatives() {
+        assertLiterals("foo|bar baz", List.of(List.of("foo"), List.of("bar baz")));
+        assertLiterals("(?:a-b)|(?<x>c)", List.of(List.of("a-b"), List.of("c")));
+        assertLiterals("a|b|a", List.of(List.of("a"), List.of("b"), List.of("a")));
+        // an alternative without literals matches anything
+        assertThat(RequiredLiterals.of("foo|\\d+"), nullValue());
+        assertThat(RequiredLiterals.of("foo|"), nullValue());
+    }
+
+    public void testUnsupportedSyntax() {
+        assertThat(RequiredLiterals.of(""), nullValue());
+        assertThat(RequiredLiterals.of(".*"), nullValue());
+        assertThat(RequiredLiterals.of("(?i)foo"), nullValue());
+        assertThat(RequiredLiterals.of("(?i:foo)bar"), nullValue());
+        assertThat(RequiredLiterals.of("(?#comment)foo"), nullValue());
+        assertThat(RequiredLiterals.of("foo\\x41"), nullValue());
+        assertThat(RequiredLiterals.of("(foo)\\1"), nullValue());
+        assertThat(RequiredLiterals.of("(?<n>foo)\\k<n>"), nullValue());
+        assertThat(RequiredLiterals.of("foo\\p{Alpha}"), nullValue());
+        assertThat(RequiredLiterals.of("foo)"), nullValue());
+        assertThat(RequiredLiterals.of("(foo"), nullValue());
+        assertThat(RequiredLiterals.of("[foo"), nullValue());
+        assertThat(RequiredLiterals.of("*foo"), nullValue());
+    }
+
+    public void testMightMatch() {
+        RequiredLiterals literals = RequiredLiterals.of("GET (?<path>\\S+) HTTP|(?<code>\\d+) é");
+        assertMightMatch(literals, "GET / HTTP/1.1", true);
+        assertMightMatch(literals, "x HTTP/1.1 GET /", true);
+        assertMightMatch(literals, "200 é", true);
+        assertMightMatch(literals, "GET / HTTP", true);
+        assertMightMatch(literals, "POST / HTTP/1.1", false);
+        assertMightMatch(literals, "GET / HTT", false);
+        assertMightMatch(literals, "200 e", false);
+        assertMightMatch(literals, "", false);
+
+        byte[] utf8 = "xxGET / HTTPxx".getBytes(StandardCharsets.UTF_8);
+        assertTrue(literals.mightMatch(utf8, 2, 10));
+        assertFalse(literals.mightMatch(utf8, 3, 10));
+        assertFalse(literals.mightMatch(utf8, 2, 9));
+    }
+
+    public void testBuiltinPatterns() {
+        for (boolean ecsCompatibility : new boolean[] { false, true }) {
+            for (String name : Grok.getBuiltinPatterns(ecsCompatibility).keySet()) {
+                // extracting the literals of the expanded patterns must not fail
+                Grok grok = new Grok(Grok.getBuiltinPatterns(ecsCompatibility), "%{" + name + "}", logger::warn);
+                assertNotNull(grok);
+            }
+        }
+        Grok grok = new Grok(Grok.getBuiltinPatterns(false), "%{COMBINEDAPACHELOG}", logger::warn);
+        String line = "83.149.9.216 - - [17/May/2015:10:05:03 +0000] "
+            + "\"GET /presentations/logstash-monitorama-2013/images/kibana-search.png HTTP/1.1\" 200 203023 "
+            + "\"http://semicomplete.com/presentations/logstash-monitorama-2013/\" \"Mozilla/5.0\"";
+        assertTrue(grok.match(line));
+        assertFalse(grok.match(line.replace('[', '(')));
+        assertFalse(grok.match(line.replace("\"", "'")));
+    }
+
+    private static void assertLiterals(String expression, List<List<String>> expected) {
+        RequiredLiterals literals = RequiredLiterals.of(expression);
+        assertNotNull(expression, literals);
+        // literals are sorted from longest to shortest within each alternative
+        List<List<String>> actual = literals.alternatives().stream().map(alternative -> alternative.stream().sorted().toList()).toList();
+        assertThat(expression, actual, equalTo(expected.stream().map(alternative -> alternative.stream().sorted().toList()).toList()));
+    }
+
+    private static void assertMightMatch(RequiredLiterals literals, String text, boolean expected) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        assertThat(text, literals.mightMatch(utf8, 0, utf8.length), equalTo(expected));
+    }
+}
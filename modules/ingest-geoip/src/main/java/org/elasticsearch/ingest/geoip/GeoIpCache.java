@@ -12,6 +12,7 @@ import com.maxmind.geoip2.model.AbstractResponse;
 
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.ingest.geoip.stats.GeoIpCacheStats;
 
 import java.net.InetAddress;
 import java.nio.file.Path;
@@ -22,9 +23,21 @@ import java.util.function.Function;
  * The in-memory cache for the geoip data. There should only be 1 instance of this class..
  * This cache differs from the maxmind's {@link NodeCache} such that this cache stores the deserialized Json objects to avoid the
  * cost of deserialization for each lookup (cached or not). This comes at slight expense of higher memory usage, but significant
- * reduction of CPU usage.
+ * reduction of CPU usage. Addresses that are not in a database are cached too, since private and reserved addresses are common in
+ * logs and looking them up costs as much as looking up any other address.
  */
 final class GeoIpCache {
+
+    /**
+     * Cached for addresses that are not in the database, since the cache can't hold {@code null}.
+     */
+    private static final AbstractResponse NO_RESULT = new AbstractResponse() {
+        @Override
+        public String toString() {
+            return "AbstractResponse[NO_RESULT]";
+        }
+    };
+
     private final Cache<CacheKey, AbstractResponse> cache;
 
     // package private for testing
@@ -48,17 +61,16 @@ final class GeoIpCache {
         AbstractResponse response = cache.get(cacheKey);
         if (response == null) {
             response = retrieveFunction.apply(ip);
-            if (response != null) {
-                cache.put(cacheKey, response);
-            }
+            cache.put(cacheKey, response == null ? NO_RESULT : response);
         }
-        return (T) response;
+        return response == NO_RESULT ? null : (T) response;
     }
 
     // only useful for testing
     AbstractResponse get(InetAddress ip, String databasePath) {
         CacheKey cacheKey = new CacheKey(ip, databasePath);
-        return cache.get(cacheKey);
+        AbstractResponse response = cache.get(cacheKey);
+        return response == NO_RESULT ? null : response;
     }
 
     public int purgeCacheEntriesForDatabase(Path databaseFile) {
@@ -77,6 +89,15 @@ final class GeoIpCache {
         return cache.count();
     }
 
+    /**
+     * Returns the number of entries in the cache along with its hits, misses and evictions since the node started, so that the size of
+     * the cache can be tuned to the hit ratio that the lookups of the node achieve.
+     */
+    public GeoIpCacheStats getCacheStats() {
+        Cache.CacheStats stats = cache.stats();
+        return new GeoIpCacheStats(cache.count(), stats.getHits(), stats.getMisses(), stats.getEvictions());
+    }
+
     /**
      * The key to use for the cache. Since this cache can span multiple geoip processors that all use different databases, the database
      * path is needed to be included in the cache key. For example, if we only used the IP address as the key the City and ASN the same
@@ -86,10 +107,12 @@ final class GeoIpCache {
 
         private final InetAddress ip;
         private final String databasePath;
+        private final int hashCode;
 
         private CacheKey(InetAddress ip, String databasePath) {
             this.ip = ip;
             this.databasePath = databasePath;
+            this.hashCode = 31 * ip.hashCode() + databasePath.hashCode();
         }
 
         // generated
@@ -101,10 +124,9 @@ final class GeoIpCache {
             return Objects.equals(ip, cacheKey.ip) && Objects.equals(databasePath, cacheKey.databasePath);
         }
 
-        // generated
         @Override
         public int hashCode() {
-            return Objects.hash(ip, databasePath);
+            return hashCode;
         }
     }
 }
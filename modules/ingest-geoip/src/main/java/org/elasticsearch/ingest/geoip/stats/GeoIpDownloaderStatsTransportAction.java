@@ -84,7 +84,8 @@ public class GeoIpDownloaderStatsTransportAction extends TransportNodesAction<Re
             stats,
             registry.getAvailableDatabases(),
             registry.getFilesInTemp(),
-            registry.getConfigDatabases()
+            registry.getConfigDatabases(),
+            registry.getCacheStats()
         );
     }
 }
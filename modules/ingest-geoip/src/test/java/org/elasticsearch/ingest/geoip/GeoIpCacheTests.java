@@ -11,8 +11,13 @@ package org.elasticsearch.ingest.geoip;
 import com.maxmind.geoip2.model.AbstractResponse;
 
 import org.elasticsearch.common.network.InetAddresses;
+import org.elasticsearch.ingest.geoip.stats.GeoIpCacheStats;
 import org.elasticsearch.test.ESTestCase;
 
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import static org.mockito.Mockito.mock;
 
 public class GeoIpCacheTests extends ESTestCase {
@@ -36,6 +41,40 @@ public class GeoIpCacheTests extends ESTestCase {
         assertNotSame(response1, cache.get(InetAddresses.forString("127.0.0.1"), "path/to/db"));
     }
 
+    public void testCachesNoResult() {
+        GeoIpCache cache = new GeoIpCache(1);
+        final AtomicInteger count = new AtomicInteger(0);
+        Function<InetAddress, AbstractResponse> countAndReturnNull = ip -> {
+            count.incrementAndGet();
+            return null;
+        };
+
+        AbstractResponse response = cache.putIfAbsent(InetAddresses.forString("127.0.0.1"), "path/to/db", countAndReturnNull);
+        assertNull(response);
+        assertNull(cache.putIfAbsent(InetAddresses.forString("127.0.0.1"), "path/to/db", countAndReturnNull));
+        assertEquals(1, count.get());
+
+        // the cached no result is not exposed
+        assertNull(cache.get(InetAddresses.forString("127.0.0.1"), "path/to/db"));
+        assertEquals(1, cache.count());
+    }
+
+    public void testCacheStats() {
+        GeoIpCache cache = new GeoIpCache(2);
+        AbstractResponse response = mock(AbstractResponse.class);
+        assertEquals(new GeoIpCacheStats(0, 0, 0, 0), cache.getCacheStats());
+
+        cache.putIfAbsent(InetAddresses.forString("127.0.0.1"), "path/to/db", ip -> response);
+        cache.putIfAbsent(InetAddresses.forString("127.0.0.1"), "path/to/db", ip -> response);
+        cache.putIfAbsent(InetAddresses.forString("127.0.0.2"), "path/to/db", ip -> null);
+        cache.putIfAbsent(InetAddresses.forString("127.0.0.2"), "path/to/db", ip -> null);
+        assertEquals(new GeoIpCacheStats(2, 2, 2, 0), cache.getCacheStats());
+
+        // evicts the least recently used entry
+        cache.putIfAbsent(InetAddresses.forString("127.0.0.3"), "path/to/db", ip -> response);
+        assertEquals(new GeoIpCacheStats(2, 2, 3, 1), cache.getCacheStats());
+    }
+
     public void testCacheKey() {
         GeoIpCache cache = new GeoIpCache(2);
         AbstractResponse response1 = mock(AbstractResponse.class);
@@ -52,6 +52,7 @@ import org.elasticsearch.index.fielddata.IndexFieldDataCache;
 import org.elasticsearch.index.mapper.LuceneDocument;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.mapper.NestedLookup;
 import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.SourceToParse;
@@ -63,6 +64,7 @@ import org.elasticsearch.index.query.Rewriteable;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.xcontent.ConstructingObjectParser;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xcontent.ParseField;
@@ -529,10 +531,14 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
 
         PercolatorFieldMapper.PercolatorFieldType pft = (PercolatorFieldMapper.PercolatorFieldType) fieldType;
         String queryName = this.name != null ? this.name : pft.name();
-        SearchExecutionContext percolateShardContext = wrap(context);
-        PercolatorFieldMapper.configureContext(percolateShardContext, pft.mapUnmappedFieldsAsText);
-        ;
-        PercolateQuery.QueryStore queryStore = createStore(pft.queryBuilderField, percolateShardContext);
+        PercolateQuery.QueryStore queryStore;
+        if (pft.queryCache.isEnabled() && context.hasRuntimeMappings() == false) {
+            queryStore = createCachingStore(pft.queryBuilderField, context, pft.mapUnmappedFieldsAsText, pft.queryCache);
+        } else {
+            SearchExecutionContext percolateShardContext = wrap(context);
+            PercolatorFieldMapper.configureContext(percolateShardContext, pft.mapUnmappedFieldsAsText);
+            queryStore = createStore(pft.queryBuilderField, percolateShardContext);
+        }
 
         return pft.percolateQuery(queryName, queryStore, documents, docSearcher, excludeNestedDocuments, context.indexVersionCreated());
     }
@@ -582,29 +588,7 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
             }
             return docId -> {
                 if (binaryDocValues.advanceExact(docId)) {
-                    BytesRef qbSource = binaryDocValues.binaryValue();
-                    try (InputStream in = new ByteArrayInputStream(qbSource.bytes, qbSource.offset, qbSource.length)) {
-                        try (
-                            StreamInput input = new NamedWriteableAwareStreamInput(
-                                new InputStreamStreamInput(in, qbSource.length),
-                                registry
-                            )
-                        ) {
-                            input.setVersion(indexVersion);
-                            // Query builder's content is stored via BinaryFieldMapper, which has a custom encoding
-                            // to encode multiple binary values into a single binary doc values field.
-                            // This is the reason we need to first need to read the number of values and
-                            // then the length of the field value in bytes.
-                            int numValues = input.readVInt();
-                            assert numValues == 1;
-                            int valueLength = input.readVInt();
-                            assert valueLength > 0;
-                            QueryBuilder queryBuilder = input.readNamedWriteable(QueryBuilder.class);
-                            assert in.read() == -1;
-                            queryBuilder = Rewriteable.rewrite(queryBuilder, context);
-                            return queryBuilder.toQuery(context);
-                        }
-                    }
+                    return parseQuery(binaryDocValues.binaryValue(), registry, indexVersion, context);
                 } else {
                     return null;
                 }
@@ -612,6 +596,78 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
         };
     }
 
+    /**
+     * Like {@link #createStore(MappedFieldType, SearchExecutionContext)}, but looks up the parsed queries in the given cache first
+     * and adds the queries it parses to the cache, if they don't depend on the request. Every query is parsed with its own context
+     * wrapping the given context, so that it is known whether that query is cacheable.
+     */
+    static PercolateQuery.QueryStore createCachingStore(
+        MappedFieldType queryBuilderFieldType,
+        SearchExecutionContext context,
+        boolean mapUnmappedFieldsAsText,
+        PercolatorQueryCache queryCache
+    ) {
+        assert context.hasRuntimeMappings() == false : "runtime fields of the request may change how queries are parsed";
+        Version indexVersion = context.indexVersionCreated();
+        NamedWriteableRegistry registry = context.getWriteableRegistry();
+        MappingLookup.CacheKey mappingKey = context.mappingCacheKey();
+        String field = queryBuilderFieldType.name();
+        return ctx -> {
+            LeafReader leafReader = ctx.reader();
+            IndexReader.CacheHelper coreCacheHelper = leafReader.getCoreCacheHelper();
+            if (coreCacheHelper == null) {
+                SearchExecutionContext percolateShardContext = wrap(context);
+                PercolatorFieldMapper.configureContext(percolateShardContext, mapUnmappedFieldsAsText);
+                return createStore(queryBuilderFieldType, percolateShardContext).getQueries(ctx);
+            }
+            BinaryDocValues binaryDocValues = leafReader.getBinaryDocValues(field);
+            if (binaryDocValues == null) {
+                return docId -> null;
+            }
+            return docId -> {
+                // the doc values are checked before the cache, so that readers that hide the query or the document don't get it
+                if (binaryDocValues.advanceExact(docId) == false) {
+                    return null;
+                }
+                Query query = queryCache.get(coreCacheHelper.getKey(), field, docId, mappingKey);
+                if (query == null) {
+                    SearchExecutionContext queryContext = wrap(context);
+                    PercolatorFieldMapper.configureContext(queryContext, mapUnmappedFieldsAsText);
+                    query = parseQuery(binaryDocValues.binaryValue(), registry, indexVersion, queryContext);
+                    if (queryContext.isCacheable()) {
+                        queryCache.put(coreCacheHelper, field, docId, mappingKey, query);
+                    }
+                }
+                return query;
+            };
+        };
+    }
+
+    private static Query parseQuery(
+        BytesRef qbSource,
+        NamedWriteableRegistry registry,
+        Version indexVersion,
+        SearchExecutionContext context
+    ) throws IOException {
+        try (InputStream in = new ByteArrayInputStream(qbSource.bytes, qbSource.offset, qbSource.length)) {
+            try (StreamInput input = new NamedWriteableAwareStreamInput(new InputStreamStreamInput(in, qbSource.length), registry)) {
+                input.setVersion(indexVersion);
+                // Query builder's content is stored via BinaryFieldMapper, which has a custom encoding
+                // to encode multiple binary values into a single binary doc values field.
+                // This is the reason we need to first need to read the number of values and
+                // then the length of the field value in bytes.
+                int numValues = input.readVInt();
+                assert numValues == 1;
+                int valueLength = input.readVInt();
+                assert valueLength > 0;
+                QueryBuilder queryBuilder = input.readNamedWriteable(QueryBuilder.class);
+                assert in.read() == -1;
+                queryBuilder = Rewriteable.rewrite(queryBuilder, context);
+                return queryBuilder.toQuery(context);
+            }
+        }
+    }
+
     static SearchExecutionContext wrap(SearchExecutionContext delegate) {
         return new SearchExecutionContext(delegate) {
 
@@ -622,6 +678,13 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
                 return null;
             }
 
+            @Override
+            public SearchLookup lookup() {
+                // queries that read values through the lookup, like queries on runtime fields, hold on to state of this request
+                disableCache();
+                return super.lookup();
+            }
+
             @Override
             public BitSetProducer bitsetFilter(Query query) {
                 return context -> {
@@ -103,7 +103,8 @@ public class PercolatorFieldMapper extends FieldMapper {
 
     @Override
     public FieldMapper.Builder getMergeBuilder() {
-        return new Builder(simpleName(), searchExecutionContext, mapUnmappedFieldsAsText, indexCreatedVersion).init(this);
+        PercolatorQueryCache queryCache = ((PercolatorFieldType) fieldType()).queryCache;
+        return new Builder(simpleName(), searchExecutionContext, mapUnmappedFieldsAsText, indexCreatedVersion, queryCache).init(this);
     }
 
     static class Builder extends FieldMapper.Builder {
@@ -114,17 +115,20 @@ public class PercolatorFieldMapper extends FieldMapper {
         private final boolean mapUnmappedFieldsAsText;
 
         private final Version indexCreatedVersion;
+        private final PercolatorQueryCache queryCache;
 
         Builder(
             String fieldName,
             Supplier<SearchExecutionContext> searchExecutionContext,
             boolean mapUnmappedFieldsAsText,
-            Version indexCreatedVersion
+            Version indexCreatedVersion,
+            PercolatorQueryCache queryCache
         ) {
             super(fieldName);
             this.searchExecutionContext = searchExecutionContext;
             this.mapUnmappedFieldsAsText = mapUnmappedFieldsAsText;
             this.indexCreatedVersion = Objects.requireNonNull(indexCreatedVersion);
+            this.queryCache = Objects.requireNonNull(queryCache);
         }
 
         @Override
@@ -159,6 +163,7 @@ public class PercolatorFieldMapper extends FieldMapper {
             NumberFieldMapper minimumShouldMatchFieldMapper = createMinimumShouldMatchField(context, indexCreatedVersion);
             fieldType.minimumShouldMatchField = minimumShouldMatchFieldMapper.fieldType();
             fieldType.mapUnmappedFieldsAsText = mapUnmappedFieldsAsText;
+            fieldType.queryCache = queryCache;
 
             return new PercolatorFieldMapper(
                 name(),
@@ -207,13 +212,20 @@ public class PercolatorFieldMapper extends FieldMapper {
 
     static class TypeParser implements Mapper.TypeParser {
 
+        private final PercolatorQueryCache queryCache;
+
+        TypeParser(PercolatorQueryCache queryCache) {
+            this.queryCache = queryCache;
+        }
+
         @Override
         public Builder parse(String name, Map<String, Object> node, MappingParserContext parserContext) throws MapperParsingException {
             return new Builder(
                 name,
                 parserContext.searchExecutionContext(),
                 getMapUnmappedFieldAsText(parserContext.getSettings()),
-                parserContext.indexVersionCreated()
+                parserContext.indexVersionCreated(),
+                queryCache
             );
         }
     }
@@ -231,6 +243,7 @@ public class PercolatorFieldMapper extends FieldMapper {
 
         RangeFieldMapper.RangeFieldType rangeField;
         boolean mapUnmappedFieldsAsText;
+        PercolatorQueryCache queryCache;
 
         private PercolatorFieldType(String name, Map<String, String> meta) {
             super(name, false, false, false, TextSearchInfo.NONE, meta);
@@ -0,0 +1,129 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.percolator;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.Accountable;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.cache.RemovalNotification;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.index.mapper.MappingLookup;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A node level cache of the Lucene queries that percolator documents parse into. Percolating a document has to deserialize and
+ * parse the stored query of every candidate match, which is usually most of the cost of a percolate query, while the stored
+ * queries of a segment never change. So the parsed queries are cached per segment core, percolator field and document id, and are dropped
+ * when the segment is closed. A document can hold a different query in each of the percolator fields of its mapping.
+ * <p>
+ * A query is only valid for the mapping it was parsed with, so every entry records the mapping and is ignored once the mapping has
+ * changed. Queries that depend on the request, like those that use {@code now} or scripts, must not be put into this cache.
+ */
+final class PercolatorQueryCache {
+
+    /**
+     * The maximum amount of memory that the cached queries may use. The size of a query is estimated with {@link Accountable} if it
+     * implements it, and with a default size otherwise.
+     */
+    static final Setting<ByteSizeValue> CACHE_SIZE_SETTING = Setting.memorySizeSetting(
+        "percolator.query_cache.size",
+        "1%",
+        Setting.Property.NodeScope
+    );
+
+    private static final long BASE_RAM_BYTES_PER_ENTRY = RamUsageEstimator.shallowSizeOfInstance(Key.class)
+        + RamUsageEstimator.shallowSizeOfInstance(Entry.class);
+
+    private final Cache<Key, Entry> cache;
+    private final Map<IndexReader.CacheKey, Set<Key>> keysByCore = ConcurrentCollections.newConcurrentMap();
+
+    PercolatorQueryCache(Settings settings) {
+        this(CACHE_SIZE_SETTING.get(settings).getBytes());
+    }
+
+    PercolatorQueryCache(long maxWeightBytes) {
+        this.cache = maxWeightBytes > 0
+            ? CacheBuilder.<Key, Entry>builder()
+                .setMaximumWeight(maxWeightBytes)
+                .weigher((key, entry) -> entry.ramBytesUsed)
+                .removalListener(this::onRemoval)
+                .build()
+            : null;
+    }
+
+    boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached query of the given document and field, or {@code null} if it isn't cached or was parsed with another mapping.
+     */
+    Query get(IndexReader.CacheKey coreKey, String field, int docId, MappingLookup.CacheKey mappingKey) {
+        Entry entry = cache.get(new Key(coreKey, field, docId));
+        if (entry == null || entry.mappingKey != mappingKey) {
+            return null;
+        }
+        return entry.query;
+    }
+
+    void put(IndexReader.CacheHelper coreCacheHelper, String field, int docId, MappingLookup.CacheKey mappingKey, Query query) {
+        IndexReader.CacheKey coreKey = coreCacheHelper.getKey();
+        Key key = new Key(coreKey, field, docId);
+        keysByCore.computeIfAbsent(coreKey, k -> {
+            coreCacheHelper.addClosedListener(this::onClose);
+            return ConcurrentCollections.newConcurrentSet();
+        }).add(key);
+        // entries that are put while the segment is being closed are never hit again and are evicted eventually
+        cache.put(key, new Entry(mappingKey, query, entryRamBytesUsed(query)));
+    }
+
+    private void onClose(IndexReader.CacheKey coreKey) {
+        Set<Key> keys = keysByCore.remove(coreKey);
+        if (keys != null) {
+            keys.forEach(cache::invalidate);
+        }
+    }
+
+    private void onRemoval(RemovalNotification<Key, Entry> notification) {
+        if (notification.getRemovalReason() == RemovalNotification.RemovalReason.EVICTED) {
+            Key key = notification.getKey();
+            Set<Key> keys = keysByCore.get(key.coreKey);
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Estimates the memory that an entry of the given query uses.
+     */
+    static long entryRamBytesUsed(Query query) {
+        return BASE_RAM_BYTES_PER_ENTRY + RamUsageEstimator.sizeOf(query);
+    }
+
+    int count() {
+        return cache == null ? 0 : cache.count();
+    }
+
+    long ramBytesUsed() {
+        return cache == null ? 0 : cache.weight();
+    }
+
+    private record Key(IndexReader.CacheKey coreKey, String field, int docId) {}
+
+    private record Entry(MappingLookup.CacheKey mappingKey, Query query, long ramBytesUsed) {}
+}
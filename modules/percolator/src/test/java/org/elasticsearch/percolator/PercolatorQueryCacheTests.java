@@ -0,0 +1,188 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.percolator;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.mapper.Mapping;
+import org.elasticsearch.index.mapper.MappingLookup;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class PercolatorQueryCacheTests extends ESTestCase {
+
+    private static final String FIELD = "query.query_builder_field";
+
+    public void testGetAndPut() throws Exception {
+        PercolatorQueryCache cache = new PercolatorQueryCache(Settings.EMPTY);
+        assertTrue(cache.isEnabled());
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        MappingLookup.CacheKey otherMappingKey = MappingLookup.fromMappers(Mapping.EMPTY, List.of(), List.of(), List.of()).cacheKey();
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                writer.addDocument(new Document());
+                writer.addDocument(new Document());
+            }
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                LeafReader leafReader = reader.leaves().get(0).reader();
+                IndexReader.CacheHelper coreCacheHelper = leafReader.getCoreCacheHelper();
+                Query query = new TermQuery(new Term("field", "value"));
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, mappingKey), nullValue());
+
+                cache.put(coreCacheHelper, FIELD, 0, mappingKey, query);
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, mappingKey), sameInstance(query));
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 1, mappingKey), nullValue());
+                // queries parsed with another mapping are ignored
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, otherMappingKey), nullValue());
+
+                cache.put(coreCacheHelper, FIELD, 1, otherMappingKey, query);
+                assertThat(cache.count(), equalTo(2));
+            }
+            // closing the segment drops its queries
+            assertThat(cache.count(), equalTo(0));
+        }
+    }
+
+    public void testMaximumSize() throws Exception {
+        PercolatorQueryCache cache = new PercolatorQueryCache(
+            2 * PercolatorQueryCache.entryRamBytesUsed(new TermQuery(new Term("field", "value")))
+        );
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < 3; i++) {
+                    writer.addDocument(new Document());
+                }
+            }
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+                for (int i = 0; i < 3; i++) {
+                    cache.put(coreCacheHelper, FIELD, i, mappingKey, new TermQuery(new Term("field", Integer.toString(i))));
+                }
+                assertThat(cache.count(), equalTo(2));
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, mappingKey), nullValue());
+            }
+        }
+    }
+
+    public void testQueriesAreWeighedByRamUsage() throws Exception {
+        Query smallQuery = new TermQuery(new Term("field", "value"));
+        List<BytesRef> terms = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            terms.add(new BytesRef(randomAlphaOfLength(16)));
+        }
+        Query largeQuery = new TermInSetQuery("field", terms);
+        long smallWeight = PercolatorQueryCache.entryRamBytesUsed(smallQuery);
+        long largeWeight = PercolatorQueryCache.entryRamBytesUsed(largeQuery);
+        assertThat(largeWeight, greaterThan(2 * smallWeight));
+
+        PercolatorQueryCache cache = new PercolatorQueryCache(largeWeight + smallWeight);
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < 3; i++) {
+                    writer.addDocument(new Document());
+                }
+            }
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+                cache.put(coreCacheHelper, FIELD, 0, mappingKey, smallQuery);
+                cache.put(coreCacheHelper, FIELD, 1, mappingKey, smallQuery);
+                assertThat(cache.ramBytesUsed(), equalTo(2 * smallWeight));
+                // the large query only fits once the least recently used small query is evicted
+                cache.put(coreCacheHelper, FIELD, 2, mappingKey, largeQuery);
+                assertThat(cache.count(), equalTo(2));
+                assertThat(cache.ramBytesUsed(), equalTo(largeWeight + smallWeight));
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, mappingKey), nullValue());
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 2, mappingKey), sameInstance(largeQuery));
+            }
+            assertThat(cache.ramBytesUsed(), equalTo(0L));
+        }
+    }
+
+    public void testClosingSegmentOnlyDropsItsQueries() throws Exception {
+        PercolatorQueryCache cache = new PercolatorQueryCache(Settings.EMPTY);
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        try (Directory directory = newDirectory(); Directory otherDirectory = newDirectory()) {
+            for (Directory dir : List.of(directory, otherDirectory)) {
+                try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+                    writer.addDocument(new Document());
+                    writer.addDocument(new Document());
+                }
+            }
+            try (IndexReader otherReader = DirectoryReader.open(otherDirectory)) {
+                IndexReader.CacheHelper otherCoreCacheHelper = otherReader.leaves().get(0).reader().getCoreCacheHelper();
+                Query query = new TermQuery(new Term("field", "value"));
+                try (IndexReader reader = DirectoryReader.open(directory)) {
+                    IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+                    for (int docId = 0; docId < 2; docId++) {
+                        cache.put(coreCacheHelper, FIELD, docId, mappingKey, query);
+                        cache.put(otherCoreCacheHelper, FIELD, docId, mappingKey, query);
+                    }
+                    assertThat(cache.count(), equalTo(4));
+                }
+                assertThat(cache.count(), equalTo(2));
+                for (int docId = 0; docId < 2; docId++) {
+                    assertThat(cache.get(otherCoreCacheHelper.getKey(), FIELD, docId, mappingKey), sameInstance(query));
+                }
+            }
+            assertThat(cache.count(), equalTo(0));
+        }
+    }
+
+    public void testQueriesAreCachedPerField() throws Exception {
+        PercolatorQueryCache cache = new PercolatorQueryCache(Settings.EMPTY);
+        MappingLookup.CacheKey mappingKey = MappingLookup.EMPTY.cacheKey();
+        String otherField = "other_query.query_builder_field";
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                writer.addDocument(new Document());
+            }
+            try (IndexReader reader = DirectoryReader.open(directory)) {
+                IndexReader.CacheHelper coreCacheHelper = reader.leaves().get(0).reader().getCoreCacheHelper();
+                Query query = new TermQuery(new Term("field", "value"));
+                Query otherQuery = new TermQuery(new Term("field", "other_value"));
+                cache.put(coreCacheHelper, FIELD, 0, mappingKey, query);
+                assertThat(cache.get(coreCacheHelper.getKey(), otherField, 0, mappingKey), nullValue());
+
+                cache.put(coreCacheHelper, otherField, 0, mappingKey, otherQuery);
+                assertThat(cache.count(), equalTo(2));
+                assertThat(cache.get(coreCacheHelper.getKey(), FIELD, 0, mappingKey), sameInstance(query));
+                assertThat(cache.get(coreCacheHelper.getKey(), otherField, 0, mappingKey), sameInstance(otherQuery));
+            }
+            assertThat(cache.count(), equalTo(0));
+        }
+    }
+
+    public void testDisabled() {
+        PercolatorQueryCache cache = new PercolatorQueryCache(
+            Settings.builder().put(PercolatorQueryCache.CACHE_SIZE_SETTING.getKey(), 0).build()
+        );
+        assertFalse(cache.isEnabled());
+        assertThat(cache.count(), equalTo(0));
+    }
+}
@@ -100,6 +100,40 @@ public class PercolatorQuerySearchTests extends ESSingleNodeTestCase {
         assertSearchHits(response, "1");
     }
 
+    public void testPercolateMultiplePercolatorFields() throws IOException {
+        client().admin()
+            .indices()
+            .prepareCreate("index")
+            .setMapping("field", "type=keyword", "query_field1", "type=percolator", "query_field2", "type=percolator")
+            .get();
+        // prefix queries can't be extracted, so the document is a candidate of both fields and its queries are always parsed
+        client().prepareIndex("index")
+            .setId("1")
+            .setSource(
+                jsonBuilder().startObject()
+                    .field("query_field1", QueryBuilders.prefixQuery("field", "a"))
+                    .field("query_field2", QueryBuilders.prefixQuery("field", "b"))
+                    .endObject()
+            )
+            .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE)
+            .get();
+
+        // percolate twice to also match against the cached queries
+        for (int i = 0; i < 2; i++) {
+            for (String value : new String[] { "abc", "bcd" }) {
+                BytesReference source = BytesReference.bytes(jsonBuilder().startObject().field("field", value).endObject());
+                SearchResponse response = client().prepareSearch("index")
+                    .setQuery(new PercolateQueryBuilder("query_field1", source, XContentType.JSON))
+                    .get();
+                assertHitCount(response, value.equals("abc") ? 1 : 0);
+                response = client().prepareSearch("index")
+                    .setQuery(new PercolateQueryBuilder("query_field2", source, XContentType.JSON))
+                    .get();
+                assertHitCount(response, value.equals("bcd") ? 1 : 0);
+            }
+        }
+    }
+
     public void testPercolateQueryWithNestedDocuments_doNotLeakBitsetCacheEntries() throws Exception {
         XContentBuilder mapping = XContentFactory.jsonBuilder();
         mapping.startObject()
@@ -10,6 +10,7 @@ package org.elasticsearch.http.netty4;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
@@ -26,9 +27,14 @@ import io.netty.util.concurrent.PromiseCombiner;
 
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.core.Booleans;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.transport.Transports;
+import org.elasticsearch.transport.netty4.Netty4Utils;
+import org.elasticsearch.transport.netty4.Netty4WriteThrottlingHandler;
 import org.elasticsearch.transport.netty4.NettyAllocator;
 
 import java.nio.channels.ClosedChannelException;
@@ -47,7 +53,7 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
     private final Logger logger;
 
     private final int maxEventsHeld;
-    private final PriorityQueue<Tuple<Netty4HttpResponse, ChannelPromise>> outboundHoldingQueue;
+    private final PriorityQueue<Tuple<Netty4RestResponse, ChannelPromise>> outboundHoldingQueue;
 
     /*
      * The current read and write sequence numbers. Read sequence numbers are attached to requests in the order they are read from the
@@ -65,6 +71,14 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
      */
     private final Queue<WriteOperation> queuedWrites = new ArrayDeque<>();
 
+    /**
+     * The chunked response that is currently being written, if any. Chunks of the response are only serialized and written once all
+     * the {@link #queuedWrites} are written and the channel is writable, and responses to later requests are held back until the
+     * last chunk has been written.
+     */
+    @Nullable
+    private ChunkedWrite currentChunkedWrite;
+
     private final Netty4HttpServerTransport serverTransport;
 
     /**
@@ -120,10 +134,10 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
 
     @Override
     public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
-        assert msg instanceof Netty4HttpResponse : "Invalid message type: " + msg.getClass();
+        assert msg instanceof Netty4RestResponse : "Invalid message type: " + msg.getClass();
         boolean success = false;
         try {
-            final Netty4HttpResponse response = (Netty4HttpResponse) msg;
+            final Netty4RestResponse response = (Netty4RestResponse) msg;
             if (response.getSequence() != writeSequence) {
                 assert response.getSequence() > writeSequence
                     : "response sequence [" + response.getSequence() + "] we below write sequence [" + writeSequence + "]";
@@ -144,11 +158,7 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
             doWrite(ctx, response, promise);
             success = true;
             // see if we have any queued up responses that became writeable due to the above write
-            while (outboundHoldingQueue.isEmpty() == false && outboundHoldingQueue.peek().v1().getSequence() == writeSequence) {
-                final Tuple<Netty4HttpResponse, ChannelPromise> top = outboundHoldingQueue.poll();
-                assert top != null : "we know the outbound holding queue to not be empty at this point";
-                doWrite(ctx, top.v1(), top.v2());
-            }
+            writeReadyHeldResponses(ctx);
         } catch (IllegalStateException e) {
             ctx.channel().close();
         } finally {
@@ -169,10 +179,29 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         SPLIT_THRESHOLD = (int) (NettyAllocator.suggestedMaxAllocationSize() * 0.99);
     }
 
+    private void writeReadyHeldResponses(ChannelHandlerContext ctx) {
+        while (currentChunkedWrite == null
+            && outboundHoldingQueue.isEmpty() == false
+            && outboundHoldingQueue.peek().v1().getSequence() == writeSequence) {
+            final Tuple<Netty4RestResponse, ChannelPromise> top = outboundHoldingQueue.poll();
+            assert top != null : "we know the outbound holding queue to not be empty at this point";
+            doWrite(ctx, top.v1(), top.v2());
+        }
+    }
+
+    private void doWrite(ChannelHandlerContext ctx, Netty4RestResponse readyResponse, ChannelPromise promise) {
+        assert currentChunkedWrite == null : "cannot write a response while a chunked response is being written";
+        if (readyResponse instanceof Netty4ChunkedHttpResponse chunkedResponse) {
+            doWriteChunkedResponse(ctx, chunkedResponse, promise);
+        } else {
+            doWriteFullResponse(ctx, (Netty4HttpResponse) readyResponse, promise);
+        }
+    }
+
     /**
      * Split up large responses to prevent batch compression {@link JdkZlibEncoder} down the pipeline.
      */
-    private void doWrite(ChannelHandlerContext ctx, Netty4HttpResponse readyResponse, ChannelPromise promise) {
+    private void doWriteFullResponse(ChannelHandlerContext ctx, Netty4HttpResponse readyResponse, ChannelPromise promise) {
         if (DO_NOT_SPLIT_HTTP_RESPONSES || readyResponse.content().readableBytes() <= SPLIT_THRESHOLD) {
             enqueueWrite(ctx, readyResponse, promise);
         } else {
@@ -181,6 +210,56 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         writeSequence++;
     }
 
+    /**
+     * Writes the headers of a chunked response, and as many chunks of its body as the channel accepts. The remaining chunks are
+     * written by {@link #doFlush} as the channel becomes writable again, and the write sequence only moves on to the next response
+     * once the last chunk has been written.
+     */
+    private void doWriteChunkedResponse(ChannelHandlerContext ctx, Netty4ChunkedHttpResponse readyResponse, ChannelPromise promise) {
+        final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+        combiner.add(enqueueWrite(ctx, readyResponse));
+        currentChunkedWrite = new ChunkedWrite(combiner, promise, readyResponse);
+        while (queuedWrites.isEmpty() && ctx.channel().isWritable()) {
+            if (writeChunk(ctx)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Serializes and writes the next chunk of the {@link #currentChunkedWrite}, and completes it once its last chunk was written. If
+     * serialization fails, the chunked write is failed and cleared before the channel is closed.
+     *
+     * @return true if the current chunked write is over, because its last chunk was written or because serialization failed
+     */
+    private boolean writeChunk(ChannelHandlerContext ctx) {
+        final ChunkedWrite chunkedWrite = currentChunkedWrite;
+        final ChunkedRestResponseBody body = chunkedWrite.response().body();
+        assert body.isDone() == false : "should not continue to try and serialize once done";
+        final ReleasableBytesReference bytes;
+        try {
+            bytes = body.encodeChunk(Netty4WriteThrottlingHandler.MAX_BYTES_PER_WRITE, serverTransport.recycler());
+        } catch (Exception e) {
+            // the headers were sent already so there is no way to report the failure to the client, the connection must be closed
+            logger.error("failed to serialize chunked response", e);
+            currentChunkedWrite = null;
+            chunkedWrite.onDone().tryFailure(e);
+            ctx.channel().close();
+            return true;
+        }
+        final ByteBuf content = Netty4Utils.toByteBuf(bytes);
+        final boolean done = body.isDone();
+        final ChannelFuture future = ctx.write(done ? new DefaultLastHttpContent(content) : new DefaultHttpContent(content));
+        future.addListener(ignored -> bytes.close());
+        chunkedWrite.combiner().add(future);
+        if (done) {
+            currentChunkedWrite = null;
+            chunkedWrite.combiner().finish(chunkedWrite.onDone());
+            writeSequence++;
+        }
+        return done;
+    }
+
     private void splitAndWrite(ChannelHandlerContext ctx, Netty4HttpResponse msg, ChannelPromise promise) {
         final PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
         HttpResponse response = new DefaultHttpResponse(msg.protocolVersion(), msg.status(), msg.headers());
@@ -229,9 +308,16 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         while (channel.isWritable()) {
             final WriteOperation currentWrite = queuedWrites.poll();
             if (currentWrite == null) {
-                break;
+                if (currentChunkedWrite == null) {
+                    break;
+                }
+                // all the queued writes are done, continue serializing the chunked response
+                if (writeChunk(ctx)) {
+                    writeReadyHeldResponses(ctx);
+                }
+            } else {
+                ctx.write(currentWrite.msg, currentWrite.promise);
             }
-            ctx.write(currentWrite.msg, currentWrite.promise);
             needsFlush = true;
             if (channel.isWritable() == false) {
                 // try flushing to make channel writable again, loop will only continue if channel becomes writable again
@@ -253,15 +339,24 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         while ((queuedWrite = queuedWrites.poll()) != null) {
             queuedWrite.failAsClosedChannel();
         }
+        failCurrentChunkedWrite();
+    }
+
+    private void failCurrentChunkedWrite() {
+        if (currentChunkedWrite != null) {
+            currentChunkedWrite.onDone().tryFailure(new ClosedChannelException());
+            currentChunkedWrite = null;
+        }
     }
 
     @Override
     public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
-        List<Tuple<Netty4HttpResponse, ChannelPromise>> inflightResponses = removeAllInflightResponses();
+        failCurrentChunkedWrite();
+        List<Tuple<Netty4RestResponse, ChannelPromise>> inflightResponses = removeAllInflightResponses();
 
         if (inflightResponses.isEmpty() == false) {
             ClosedChannelException closedChannelException = new ClosedChannelException();
-            for (Tuple<Netty4HttpResponse, ChannelPromise> inflightResponse : inflightResponses) {
+            for (Tuple<Netty4RestResponse, ChannelPromise> inflightResponse : inflightResponses) {
                 try {
                     inflightResponse.v2().setFailure(closedChannelException);
                 } catch (RuntimeException e) {
@@ -299,12 +394,14 @@ public class Netty4HttpPipeliningHandler extends ChannelDuplexHandler {
         }
     }
 
-    private List<Tuple<Netty4HttpResponse, ChannelPromise>> removeAllInflightResponses() {
-        ArrayList<Tuple<Netty4HttpResponse, ChannelPromise>> responses = new ArrayList<>(outboundHoldingQueue);
+    private List<Tuple<Netty4RestResponse, ChannelPromise>> removeAllInflightResponses() {
+        ArrayList<Tuple<Netty4RestResponse, ChannelPromise>> responses = new ArrayList<>(outboundHoldingQueue);
         outboundHoldingQueue.clear();
         return responses;
     }
 
+    private record ChunkedWrite(PromiseCombiner combiner, ChannelPromise onDone, Netty4ChunkedHttpResponse response) {}
+
     private record WriteOperation(HttpObject msg, ChannelPromise promise) {
 
         void failAsClosedChannel() {
@@ -0,0 +1,33 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.http.netty4;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+import org.elasticsearch.http.HttpResponse;
+
+/**
+ * A response to a pipelined http request, which is written in the order of its {@link #getSequence() sequence number}.
+ */
+public interface Netty4RestResponse extends HttpResponse {
+
+    int getSequence();
+
+    HttpHeaders headers();
+
+    @Override
+    default void addHeader(String name, String value) {
+        headers().add(name, value);
+    }
+
+    @Override
+    default boolean containsHeader(String name) {
+        return headers().contains(name);
+    }
+}
@@ -15,17 +15,26 @@ import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.util.ReferenceCountUtil;
 
+import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.http.HttpResponse;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.transport.BytesRefRecycler;
 import org.junit.After;
 
+import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -36,12 +45,17 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class Netty4HttpPipeliningHandlerTests extends ESTestCase {
 
@@ -197,6 +211,157 @@ public class Netty4HttpPipeliningHandlerTests extends ESTestCase {
         }
     }
 
+    public void testChunkedResponse() {
+        final EmbeddedChannel embeddedChannel = makeEmbeddedChannelWithChunkedResponses();
+        embeddedChannel.writeInbound(createHttpRequest("/chunked"));
+        final Netty4HttpRequest request = embeddedChannel.readInbound();
+        final List<String> chunks = randomList(1, 10, () -> randomAlphaOfLengthBetween(1, 20));
+        final TestChunkedBody body = new TestChunkedBody(chunks, -1);
+
+        final ChannelPromise promise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(request.createResponse(RestStatus.OK, body), promise);
+
+        assertTrue(promise.isSuccess());
+        assertReadChunkedResponse(embeddedChannel, chunks);
+        assertEquals(chunks.size(), body.released.get());
+        assertTrue(embeddedChannel.isOpen());
+    }
+
+    public void testChunkedResponseSerializationFailure() {
+        final EmbeddedChannel embeddedChannel = makeEmbeddedChannelWithChunkedResponses();
+        embeddedChannel.writeInbound(createHttpRequest("/chunked"));
+        embeddedChannel.writeInbound(createHttpRequest("/full"));
+        final Netty4HttpRequest chunkedRequest = embeddedChannel.readInbound();
+        final Netty4HttpRequest fullRequest = embeddedChannel.readInbound();
+        final List<String> chunks = randomList(2, 10, () -> randomAlphaOfLengthBetween(1, 20));
+        final int failingChunk = randomIntBetween(0, chunks.size() - 1);
+        final TestChunkedBody body = new TestChunkedBody(chunks, failingChunk);
+
+        final ChannelPromise fullPromise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(fullRequest.createResponse(RestStatus.OK, new BytesArray("full")), fullPromise);
+        assertFalse(fullPromise.isDone());
+        final ChannelPromise chunkedPromise = embeddedChannel.newPromise();
+        embeddedChannel.writeAndFlush(chunkedRequest.createResponse(RestStatus.OK, body), chunkedPromise);
+
+        // the failure is reported once, the channel is closed and the response queued behind the chunked one is failed
+        assertTrue(chunkedPromise.isDone());
+        assertSame(body.failure, chunkedPromise.cause());
+        assertTrue(fullPromise.isDone());
+        assertThat(fullPromise.cause(), instanceOf(ClosedChannelException.class));
+        assertFalse(embeddedChannel.isOpen());
+        assertEquals(failingChunk, body.released.get());
+        releaseOutboundMessages(embeddedChannel);
+    }
+
+    public void testClientClosesChannelDuringChunkedResponse() {
+        final EmbeddedChannel embeddedChannel = makeEmbeddedChannelWithChunkedResponses();
+        embeddedChannel.writeInbound(createHttpRequest("/chunked"));
+        final Netty4HttpRequest request = embeddedChannel.readInbound();
+        // chunks larger than the high watermark of the channel, so it stops being writable after each of them until it is flushed
+        final List<String> chunks = randomList(2, 5, () -> randomAlphaOfLength(embeddedChannel.config().getWriteBufferHighWaterMark()));
+        final TestChunkedBody body = new TestChunkedBody(chunks, -1);
+
+        final ChannelPromise promise = embeddedChannel.newPromise();
+        embeddedChannel.write(request.createResponse(RestStatus.OK, body), promise);
+        assertFalse(promise.isDone());
+        assertThat(body.encoded.get(), lessThan(chunks.size()));
+
+        embeddedChannel.close().syncUninterruptibly();
+        assertTrue(promise.isDone());
+        assertThat(promise.cause(), instanceOf(ClosedChannelException.class));
+        assertEquals(body.encoded.get(), body.released.get());
+        releaseOutboundMessages(embeddedChannel);
+    }
+
+    public void testPipelinedResponsesWaitForChunkedResponse() {
+        final EmbeddedChannel embeddedChannel = makeEmbeddedChannelWithChunkedResponses();
+        embeddedChannel.writeInbound(createHttpRequest("/chunked"));
+        embeddedChannel.writeInbound(createHttpRequest("/full"));
+        final Netty4HttpRequest chunkedRequest = embeddedChannel.readInbound();
+        final Netty4HttpRequest fullRequest = embeddedChannel.readInbound();
+        final List<String> chunks = randomList(2, 5, () -> randomAlphaOfLength(embeddedChannel.config().getWriteBufferHighWaterMark()));
+        final TestChunkedBody body = new TestChunkedBody(chunks, -1);
+
+        final ChannelPromise chunkedPromise = embeddedChannel.newPromise();
+        embeddedChannel.write(chunkedRequest.createResponse(RestStatus.OK, body), chunkedPromise);
+        final ChannelPromise fullPromise = embeddedChannel.newPromise();
+        embeddedChannel.write(fullRequest.createResponse(RestStatus.OK, new BytesArray("full")), fullPromise);
+        assertFalse(chunkedPromise.isDone());
+        assertFalse(fullPromise.isDone());
+
+        embeddedChannel.flush();
+        assertTrue(chunkedPromise.isSuccess());
+        assertTrue(fullPromise.isSuccess());
+        assertReadChunkedResponse(embeddedChannel, chunks);
+        assertReadHttpMessageHasContent(embeddedChannel, "full");
+        assertEquals(chunks.size(), body.released.get());
+        assertTrue(embeddedChannel.isOpen());
+    }
+
+    private EmbeddedChannel makeEmbeddedChannelWithChunkedResponses() {
+        final Netty4HttpServerTransport serverTransport = mock(Netty4HttpServerTransport.class);
+        when(serverTransport.recycler()).thenReturn(BytesRefRecycler.NON_RECYCLING_INSTANCE);
+        return new EmbeddedChannel(new Netty4HttpPipeliningHandler(logger, Integer.MAX_VALUE, serverTransport) {
+            @Override
+            protected void handlePipelinedRequest(ChannelHandlerContext ctx, Netty4HttpRequest pipelinedRequest) {
+                ctx.fireChannelRead(pipelinedRequest);
+            }
+        });
+    }
+
+    private static void assertReadChunkedResponse(EmbeddedChannel embeddedChannel, List<String> expectedChunks) {
+        assertThat(embeddedChannel.readOutbound(), instanceOf(Netty4ChunkedHttpResponse.class));
+        for (int i = 0; i < expectedChunks.size(); i++) {
+            final HttpContent content = embeddedChannel.readOutbound();
+            assertEquals(i == expectedChunks.size() - 1, content instanceof LastHttpContent);
+            assertEquals(expectedChunks.get(i), content.content().toString(StandardCharsets.UTF_8));
+            content.release();
+        }
+    }
+
+    private static void releaseOutboundMessages(EmbeddedChannel embeddedChannel) {
+        Object message;
+        while ((message = embeddedChannel.readOutbound()) != null) {
+            ReferenceCountUtil.release(message);
+        }
+    }
+
+    /**
+     * A chunked body that encodes one of the given chunks per call, and fails to encode the chunk at {@code failingChunk}.
+     */
+    private static class TestChunkedBody implements ChunkedRestResponseBody {
+
+        private final List<String> chunks;
+        private final int failingChunk;
+        private final IOException failure = new IOException("simulated");
+        private final AtomicInteger encoded = new AtomicInteger();
+        private final AtomicInteger released = new AtomicInteger();
+
+        TestChunkedBody(List<String> chunks, int failingChunk) {
+            this.chunks = chunks;
+            this.failingChunk = failingChunk;
+        }
+
+        @Override
+        public boolean isDone() {
+            return encoded.get() == chunks.size();
+        }
+
+        @Override
+        public ReleasableBytesReference encodeChunk(int sizeHint, Recycler<BytesRef> recycler) throws IOException {
+            if (encoded.get() == failingChunk) {
+                throw failure;
+            }
+            final BytesArray chunk = new BytesArray(chunks.get(encoded.getAndIncrement()));
+            return new ReleasableBytesReference(chunk, released::incrementAndGet);
+        }
+
+        @Override
+        public String getResponseContentTypeString() {
+            return "text/plain";
+        }
+    }
+
     private void assertReadHttpMessageHasContent(EmbeddedChannel embeddedChannel, String expectedContent) {
         FullHttpResponse response = (FullHttpResponse) embeddedChannel.outboundMessages().poll();
         assertNotNull("Expected response to exist, maybe you did not wait long enough?", response);
@@ -0,0 +1,52 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.http;
+
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.json.JsonXContent;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class GetMappingsChunkedRestIT extends HttpSmokeTestCase {
+
+    public void testGetMappingsIsChunked() throws IOException {
+        int numIndices = randomIntBetween(1, 5);
+        Map<String, Object> expected = new HashMap<>();
+        for (int i = 0; i < numIndices; i++) {
+            int numFields = randomIntBetween(1, 200);
+            Map<String, Object> properties = new HashMap<>();
+            XContentBuilder mapping = JsonXContent.contentBuilder().startObject().startObject("properties");
+            for (int field = 0; field < numFields; field++) {
+                mapping.startObject("field-" + field).field("type", "keyword").endObject();
+                properties.put("field-" + field, Map.of("type", "keyword"));
+            }
+            mapping.endObject().endObject();
+            assertAcked(client().admin().indices().prepareCreate("index-" + i).setMapping(mapping));
+            expected.put("index-" + i, Map.of("mappings", Map.of("properties", properties)));
+        }
+
+        Response response = getRestClient().performRequest(new Request("GET", "/_mapping"));
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(200));
+        // the body is streamed as it's serialized, so its length isn't known up front
+        assertThat(response.getHeader("Transfer-Encoding"), equalTo("chunked"));
+        assertThat(response.getHeader("Content-Length"), nullValue());
+        assertTrue(response.getEntity().isChunked());
+        String body = EntityUtils.toString(response.getEntity());
+        assertThat(XContentHelper.convertToMap(JsonXContent.jsonXContent, body, false), equalTo(expected));
+    }
+}
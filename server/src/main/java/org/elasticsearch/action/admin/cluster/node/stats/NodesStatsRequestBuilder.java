@@ -153,6 +153,14 @@ public class NodesStatsRequestBuilder extends NodesOperationRequestBuilder<
         return this;
     }
 
+    /**
+     * Should the node-wide translog group commit statistics be returned
+     */
+    public NodesStatsRequestBuilder setTranslogSync(boolean translogSync) {
+        addOrRemoveMetric(translogSync, NodesStatsRequest.Metric.TRANSLOG_SYNC);
+        return this;
+    }
+
     /**
      * Helper method for adding metrics to a request
      */
@@ -12,21 +12,26 @@ import org.elasticsearch.Version;
 import org.elasticsearch.action.ActionResponse;
 import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.xcontent.ChunkedToXContent;
 import org.elasticsearch.core.RestApiVersion;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.xcontent.ParseField;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 
 import static org.elasticsearch.rest.BaseRestHandler.DEFAULT_INCLUDE_TYPE_NAME_POLICY;
 import static org.elasticsearch.rest.BaseRestHandler.INCLUDE_TYPE_NAME_PARAMETER;
 
-public class GetMappingsResponse extends ActionResponse implements ToXContentFragment {
+public class GetMappingsResponse extends ActionResponse implements ToXContentFragment, ChunkedToXContent {
 
     private static final ParseField MAPPINGS = new ParseField("mappings");
 
@@ -66,25 +71,60 @@ public class GetMappingsResponse extends ActionResponse implements ToXContentFra
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        for (final Map.Entry<String, MappingMetadata> indexEntry : getMappings().entrySet()) {
-            builder.startObject(indexEntry.getKey());
-            boolean includeTypeName = params.paramAsBoolean(INCLUDE_TYPE_NAME_PARAMETER, DEFAULT_INCLUDE_TYPE_NAME_POLICY);
-            if (builder.getRestApiVersion() == RestApiVersion.V_7 && includeTypeName && indexEntry.getValue() != null) {
-                builder.startObject(MAPPINGS.getPreferredName());
-
-                if (indexEntry.getValue() != MappingMetadata.EMPTY_MAPPINGS) {
-                    builder.field(MapperService.SINGLE_MAPPING_NAME, indexEntry.getValue().sourceAsMap());
+        return ChunkedToXContent.super.toXContent(builder, params);
+    }
+
+    /**
+     * Serializes the mappings with one chunk per field, rather than per index, so that the mappings of many indices or with many
+     * fields can be sent as a chunked response without serializing a whole mapping at once. The mapping of an index is only parsed
+     * once its chunks are reached.
+     */
+    @Override
+    public Iterator<ToXContent> toXContentChunked() {
+        return Iterators.flatMap(getMappings().entrySet().iterator(), GetMappingsResponse::indexChunks);
+    }
+
+    private static Iterator<ToXContent> indexChunks(Map.Entry<String, MappingMetadata> indexEntry) {
+        final MappingMetadata mapping = indexEntry.getValue();
+        return Iterators.concat(
+            Iterators.<ToXContent>single((builder, params) -> {
+                builder.startObject(indexEntry.getKey()).startObject(MAPPINGS.getPreferredName());
+                if (includeTypeName(builder, params, mapping)) {
+                    builder.startObject(MapperService.SINGLE_MAPPING_NAME);
+                }
+                return builder;
+            }),
+            mapping == null || mapping == MappingMetadata.EMPTY_MAPPINGS
+                ? Collections.<ToXContent>emptyIterator()
+                : objectChunks(mapping.sourceAsMap()),
+            Iterators.<ToXContent>single((builder, params) -> {
+                if (includeTypeName(builder, params, mapping)) {
+                    builder.endObject();
                 }
-                builder.endObject();
+                return builder.endObject().endObject();
+            })
+        );
+    }
 
-            } else if (indexEntry.getValue() != null) {
-                builder.field(MAPPINGS.getPreferredName(), indexEntry.getValue().sourceAsMap());
-            } else {
-                builder.startObject(MAPPINGS.getPreferredName()).endObject();
+    private static boolean includeTypeName(XContentBuilder builder, Params params, MappingMetadata mapping) {
+        return builder.getRestApiVersion() == RestApiVersion.V_7
+            && params.paramAsBoolean(INCLUDE_TYPE_NAME_PARAMETER, DEFAULT_INCLUDE_TYPE_NAME_POLICY)
+            && mapping != null
+            && mapping != MappingMetadata.EMPTY_MAPPINGS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterator<ToXContent> objectChunks(Map<String, Object> map) {
+        return Iterators.flatMap(map.entrySet().iterator(), entry -> {
+            if (entry.getValue() instanceof Map<?, ?> object) {
+                return Iterators.concat(
+                    Iterators.<ToXContent>single((builder, params) -> builder.startObject(entry.getKey())),
+                    objectChunks((Map<String, Object>) object),
+                    Iterators.<ToXContent>single((builder, params) -> builder.endObject())
+                );
             }
-            builder.endObject();
-        }
-        return builder;
+            return Iterators.<ToXContent>single((builder, params) -> builder.field(entry.getKey(), entry.getValue()));
+        });
     }
 
     @Override
@@ -33,6 +33,9 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
         this.collector = Objects.requireNonNull(collector, "response collector cannot be null");
         this.startNanos = System.nanoTime();
         this.nodeId = nodeId;
+        if (nodeId != null) {
+            collector.onQuerySent(nodeId, startNanos);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -48,11 +51,15 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
 
     @Override
     public void onResponse(SearchPhaseResult response) {
+        final long endNanos = System.nanoTime();
+        if (nodeId != null) {
+            collector.onQueryCompleted(nodeId, endNanos);
+        }
         QuerySearchResult queryResult = response.queryResult();
         if (nodeId != null && queryResult != null) {
             final long serviceTimeEWMA = queryResult.serviceTimeEWMA();
             final int queueSize = queryResult.nodeQueueSize();
-            final long responseDuration = System.nanoTime() - startNanos;
+            final long responseDuration = endNanos - startNanos;
             // EWMA/queue size may be -1 if the query node doesn't support capturing it
             if (serviceTimeEWMA > 0 && queueSize >= 0) {
                 collector.addNodeStatistics(nodeId, queueSize, responseDuration, serviceTimeEWMA);
@@ -60,4 +67,12 @@ public final class SearchExecutionStatsCollector extends ActionListener.Delegati
         }
         delegate.onResponse(response);
     }
+
+    @Override
+    public void onFailure(Exception e) {
+        if (nodeId != null) {
+            collector.onQueryCompleted(nodeId, System.nanoTime());
+        }
+        super.onFailure(e);
+    }
 }
@@ -80,6 +80,8 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
 
     private Boolean requestCache;
 
+    private Boolean concurrentSegmentSearch;
+
     private Boolean allowPartialSearchResults;
 
     private Scroll scroll;
@@ -211,6 +213,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         this.preference = searchRequest.preference;
         this.preFilterShardSize = searchRequest.preFilterShardSize;
         this.requestCache = searchRequest.requestCache;
+        this.concurrentSegmentSearch = searchRequest.concurrentSegmentSearch;
         this.routing = searchRequest.routing;
         this.scroll = searchRequest.scroll;
         this.searchType = searchRequest.searchType;
@@ -276,6 +279,9 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         } else {
             forceSyntheticSource = false;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_5_0)) {
+            concurrentSegmentSearch = in.readOptionalBoolean();
+        }
     }
 
     @Override
@@ -330,6 +336,9 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
                 throw new IllegalArgumentException("force_synthetic_source is not supported before 8.4.0");
             }
         }
+        if (out.getVersion().onOrAfter(Version.V_8_5_0)) {
+            out.writeOptionalBoolean(concurrentSegmentSearch);
+        }
     }
 
     @Override
@@ -624,6 +633,19 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
         return this.requestCache;
     }
 
+    /**
+     * Sets if the shards should collect their segments concurrently during the query phase. By default (not set, or null)
+     * this is decided by the index level setting.
+     */
+    public SearchRequest concurrentSegmentSearch(Boolean concurrentSegmentSearch) {
+        this.concurrentSegmentSearch = concurrentSegmentSearch;
+        return this;
+    }
+
+    public Boolean concurrentSegmentSearch() {
+        return this.concurrentSegmentSearch;
+    }
+
     /**
      * Sets if this request should allow partial results. (If method is not called,
      * will default to the cluster level setting).
@@ -844,6 +866,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
             && Objects.equals(preference, that.preference)
             && Objects.equals(source, that.source)
             && Objects.equals(requestCache, that.requestCache)
+            && Objects.equals(concurrentSegmentSearch, that.concurrentSegmentSearch)
             && Objects.equals(scroll, that.scroll)
             && Objects.equals(batchedReduceSize, that.batchedReduceSize)
             && Objects.equals(maxConcurrentShardRequests, that.maxConcurrentShardRequests)
@@ -866,6 +889,7 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
             preference,
             source,
             requestCache,
+            concurrentSegmentSearch,
             scroll,
             indicesOptions,
             batchedReduceSize,
@@ -897,6 +921,8 @@ public class SearchRequest extends ActionRequest implements IndicesRequest.Repla
             + '\''
             + ", requestCache="
             + requestCache
+            + ", concurrentSegmentSearch="
+            + concurrentSegmentSearch
             + ", scroll="
             + scroll
             + ", maxConcurrentShardRequests="
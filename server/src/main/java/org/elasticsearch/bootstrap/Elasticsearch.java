@@ -25,6 +25,7 @@ import org.elasticsearch.common.settings.KeyStoreWrapper;
 import org.elasticsearch.common.settings.SecureSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.BoundTransportAddress;
+import org.elasticsearch.common.util.DirectBufferCleaner;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.SuppressForbidden;
 import org.elasticsearch.env.Environment;
@@ -309,6 +310,9 @@ class Elasticsearch {
 
         // init filesystem natives
         FileSystemNatives.init();
+
+        // look up how to free direct buffers, this needs permissions that aren't granted once the security manager is installed
+        DirectBufferCleaner.init();
     }
 
     static void initializeProbes() {
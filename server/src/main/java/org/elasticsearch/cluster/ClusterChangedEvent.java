@@ -13,6 +13,7 @@ import org.elasticsearch.cluster.metadata.IndexGraveyard.IndexGraveyardDiff;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
 import org.elasticsearch.gateway.GatewayService;
 import org.elasticsearch.index.Index;
 
@@ -25,7 +26,10 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
- * An event received by the local node, signaling that the cluster state has changed.
+ * An event received by the local node, signaling that the cluster state has changed. The same event is passed to every applier and
+ * listener of a cluster state, so the changes that take time proportional to the size of the cluster state to compute, like
+ * {@link #indicesCreated()}, {@link #indicesDeleted()}, {@link #changedCustomMetadataSet()} and
+ * {@link #indicesWithRoutingChanges()}, are only computed once per event.
  */
 public class ClusterChangedEvent {
 
@@ -37,6 +41,12 @@ public class ClusterChangedEvent {
 
     private final DiscoveryNodes.Delta nodesDelta;
 
+    // lazily computed, immutable once set
+    private List<String> indicesCreated;
+    private List<Index> indicesDeleted;
+    private Set<String> changedCustomMetadataSet;
+    private Set<Index> indicesWithRoutingChanges;
+
     public ClusterChangedEvent(String source, ClusterState state, ClusterState previousState) {
         Objects.requireNonNull(source, "source must not be null");
         Objects.requireNonNull(state, "state must not be null");
@@ -92,10 +102,56 @@ public class ClusterChangedEvent {
         return true;
     }
 
+    /**
+     * Returns the indices whose {@link IndexRoutingTable} changed in this event, including the indices that were added to or removed
+     * from the routing table. Like {@link #indexRoutingTableChanged(String)} this is based on object reference equality, so appliers
+     * that only need to look at the shards that moved can use it rather than scanning the whole routing table.
+     */
+    public Set<Index> indicesWithRoutingChanges() {
+        Set<Index> changed = indicesWithRoutingChanges;
+        if (changed == null) {
+            changed = indicesWithRoutingChanges = computeIndicesWithRoutingChanges();
+        }
+        return changed;
+    }
+
+    private Set<Index> computeIndicesWithRoutingChanges() {
+        if (routingTableChanged() == false) {
+            return Set.of();
+        }
+        final Map<String, IndexRoutingTable> currentRouting = state.routingTable().indicesRouting();
+        final Map<String, IndexRoutingTable> previousRouting = previousState.routingTable().indicesRouting();
+        final Set<Index> changed = new HashSet<>();
+        for (IndexRoutingTable current : currentRouting.values()) {
+            final IndexRoutingTable previous = previousRouting.get(current.getIndex().getName());
+            if (previous != current) {
+                changed.add(current.getIndex());
+                if (previous != null) {
+                    // the index may have been deleted and recreated with the same name
+                    changed.add(previous.getIndex());
+                }
+            }
+        }
+        for (IndexRoutingTable previous : previousRouting.values()) {
+            if (currentRouting.containsKey(previous.getIndex().getName()) == false) {
+                changed.add(previous.getIndex());
+            }
+        }
+        return Collections.unmodifiableSet(changed);
+    }
+
     /**
      * Returns the indices created in this event
      */
     public List<String> indicesCreated() {
+        List<String> created = indicesCreated;
+        if (created == null) {
+            created = indicesCreated = computeIndicesCreated();
+        }
+        return created;
+    }
+
+    private List<String> computeIndicesCreated() {
         if (metadataChanged() == false) {
             return Collections.emptyList();
         }
@@ -109,13 +165,21 @@ public class ClusterChangedEvent {
                 created.add(index);
             }
         }
-        return created == null ? Collections.<String>emptyList() : created;
+        return created == null ? Collections.<String>emptyList() : Collections.unmodifiableList(created);
     }
 
     /**
      * Returns the indices deleted in this event
      */
     public List<Index> indicesDeleted() {
+        List<Index> deleted = indicesDeleted;
+        if (deleted == null) {
+            deleted = indicesDeleted = computeIndicesDeleted();
+        }
+        return deleted;
+    }
+
+    private List<Index> computeIndicesDeleted() {
         if (previousState.blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK)) {
             // working off of a non-initialized previous state, so use the tombstones for index deletions
             return indicesDeletedFromTombstones();
@@ -140,6 +204,14 @@ public class ClusterChangedEvent {
      * returned iff they have been added, updated or removed between the previous and the current state
      */
     public Set<String> changedCustomMetadataSet() {
+        Set<String> changed = changedCustomMetadataSet;
+        if (changed == null) {
+            changed = changedCustomMetadataSet = computeChangedCustomMetadataSet();
+        }
+        return changed;
+    }
+
+    private Set<String> computeChangedCustomMetadataSet() {
         Set<String> result = new HashSet<>();
         Map<String, Metadata.Custom> currentCustoms = state.metadata().customs();
         Map<String, Metadata.Custom> previousCustoms = previousState.metadata().customs();
@@ -158,7 +230,7 @@ public class ClusterChangedEvent {
                 }
             }
         }
-        return result;
+        return Collections.unmodifiableSet(result);
     }
 
     /**
@@ -280,7 +352,7 @@ public class ClusterChangedEvent {
             }
         }
 
-        return deleted == null ? Collections.<Index>emptyList() : new ArrayList<>(deleted);
+        return deleted == null ? Collections.<Index>emptyList() : List.copyOf(deleted);
     }
 
     private List<Index> indicesDeletedFromTombstones() {
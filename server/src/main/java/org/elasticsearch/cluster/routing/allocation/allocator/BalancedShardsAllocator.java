@@ -240,10 +240,26 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         float weight(Balancer balancer, ModelNode node, String index) {
+            return weight(balancer, node, index, balancer.avgShardsPerNode(index));
+        }
+
+        /**
+         * Same as {@link #weight(Balancer, ModelNode, String)} with the average number of shards of the index per node computed up front,
+         * for callers that compute the weights of many nodes for the same index.
+         */
+        float weight(Balancer balancer, ModelNode node, String index, float avgShardsPerNodeOfIndex) {
             final float weightShard = node.numShards() - balancer.avgShardsPerNode();
-            final float weightIndex = node.numShards(index) - balancer.avgShardsPerNode(index);
+            final float weightIndex = node.numShards(index) - avgShardsPerNodeOfIndex;
             return theta0 * weightShard + theta1 * weightIndex;
         }
+
+        /**
+         * Returns how much the delta between the weights of two nodes for an index can grow when a shard of another index is relocated,
+         * which changes the number of shards of the source and the target node by one.
+         */
+        float maxDeltaIncreasePerRelocation() {
+            return 2 * theta0;
+        }
     }
 
     /**
@@ -381,7 +397,8 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
             // balance the shard, if a better node can be found
             final String idxName = shard.getIndexName();
-            final float currentWeight = weight.weight(this, currentNode, idxName);
+            final float avgShardsPerNodeOfIndex = avgShardsPerNode(idxName);
+            final float currentWeight = weight.weight(this, currentNode, idxName, avgShardsPerNodeOfIndex);
             final AllocationDeciders deciders = allocation.deciders();
             Type rebalanceDecisionType = Type.NO;
             ModelNode assignedNode = null;
@@ -397,7 +414,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 // this is a comparison of the number of shards on this node to the number of shards
                 // that should be on each node on average (both taking the cluster as a whole into account
                 // as well as shards per index)
-                final float nodeWeight = weight.weight(this, node, idxName);
+                final float nodeWeight = weight.weight(this, node, idxName, avgShardsPerNodeOfIndex);
                 // if the node we are examining has a worse (higher) weight than the node the shard is
                 // assigned to, then there is no way moving the shard to the node with the worse weight
                 // can make the balance of the cluster better, so we check for that here
@@ -490,7 +507,27 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             final AllocationDeciders deciders = allocation.deciders();
             final ModelNode[] modelNodes = sorter.modelNodes;
             final float[] weights = sorter.weights;
-            for (String index : buildWeightOrderedIndices()) {
+            final String[] indices = allocation.routingTable().indicesRouting().keySet().toArray(new String[0]);
+            final float[] deltas = new float[indices.length];
+            buildWeightOrderedIndices(indices, deltas);
+            int relocations = 0;
+            for (int i = 0; i < indices.length; i++) {
+                final String index = indices[i];
+                // Relocating a shard changes the weights of its source and target nodes for every other index, so the relocations made
+                // so far bound how much the delta of this index can have grown since it was computed. A shard is only relocated if the
+                // delta of the nodes exceeds the threshold, so once the bound is within the threshold this index and all the following
+                // ones, that have lower deltas, are balanced and there is no need to ask the deciders about every node for them.
+                if (deltas[i] + relocations * weight.maxDeltaIncreasePerRelocation() <= threshold) {
+                    if (logger.isTraceEnabled()) {
+                        logger.trace(
+                            "Stop balancing, the remaining [{}] indices are within the threshold, starting with [{}] delta: [{}]",
+                            indices.length - i,
+                            index,
+                            deltas[i]
+                        );
+                    }
+                    break;
+                }
                 IndexMetadata indexMetadata = metadata.index(index);
 
                 // find nodes that have a shard of this index or where shards of this index are allowed to be allocated to,
@@ -574,6 +611,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                                 minNode.getNodeId()
                             );
                         } else if (tryRelocateShard(minNode, maxNode, index)) {
+                            relocations++;
                             /*
                              * TODO we could be a bit smarter here, we don't need to fully sort necessarily
                              * we could just find the place to insert linearly but the win might be minor
@@ -620,12 +658,10 @@ public class BalancedShardsAllocator implements ShardsAllocator {
          * average. To re-balance we need to move shards back eventually likely
          * to the nodes we relocated them from.
          */
-        private String[] buildWeightOrderedIndices() {
-            final String[] indices = allocation.routingTable().indicesRouting().keySet().toArray(new String[0]);
-            final float[] deltas = new float[indices.length];
+        private void buildWeightOrderedIndices(String[] indices, float[] deltas) {
+            assert indices.length == deltas.length;
             for (int i = 0; i < deltas.length; i++) {
-                sorter.reset(indices[i]);
-                deltas[i] = sorter.delta();
+                deltas[i] = sorter.delta(indices[i]);
             }
             new IntroSorter() {
 
@@ -656,8 +692,6 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                     return Float.compare(deltas[j], pivotWeight);
                 }
             }.sort(0, deltas.length);
-
-            return indices;
         }
 
         /**
@@ -973,6 +1007,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
              * iteration order is different for each run and makes testing hard */
             Map<String, NodeAllocationResult> nodeExplanationMap = explain ? new HashMap<>() : null;
             List<Tuple<String, Float>> nodeWeights = explain ? new ArrayList<>() : null;
+            final float avgShardsPerNodeOfIndex = avgShardsPerNode(shard.getIndexName());
             for (ModelNode node : nodes.values()) {
                 if (node.containsShard(shard) && explain == false) {
                     // decision is NO without needing to check anything further, so short circuit
@@ -980,7 +1015,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 }
 
                 // weight of this index currently on the node
-                float currentWeight = weight.weight(this, node, shard.getIndexName());
+                float currentWeight = weight.weight(this, node, shard.getIndexName(), avgShardsPerNodeOfIndex);
                 // moving the shard would not improve the balance, and we are not in explain mode, so short circuit
                 if (currentWeight > minWeight && explain == false) {
                     continue;
@@ -1224,6 +1259,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         final float[] weights;
         private final WeightFunction function;
         private String index;
+        private float avgShardsPerNodeOfIndex;
         private final Balancer balancer;
         private float pivotWeight;
 
@@ -1240,6 +1276,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
          */
         public void reset(String index, int from, int to) {
             this.index = index;
+            this.avgShardsPerNodeOfIndex = balancer.avgShardsPerNode(index);
             for (int i = from; i < to; i++) {
                 weights[i] = weight(modelNodes[i]);
             }
@@ -1251,7 +1288,23 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         public float weight(ModelNode node) {
-            return function.weight(balancer, node, index);
+            return function.weight(balancer, node, index, avgShardsPerNodeOfIndex);
+        }
+
+        /**
+         * Returns the delta between the highest and the lowest weight of all the nodes for the given index, like {@link #delta()} after
+         * {@link #reset(String)}, but in linear time and without changing the order or the weights of the nodes of this sorter.
+         */
+        public float delta(String index) {
+            final float avgShardsPerNodeOfIndex = balancer.avgShardsPerNode(index);
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (ModelNode node : modelNodes) {
+                final float weight = function.weight(balancer, node, index, avgShardsPerNodeOfIndex);
+                min = Math.min(min, weight);
+                max = Math.max(max, weight);
+            }
+            return max - min;
         }
 
         @Override
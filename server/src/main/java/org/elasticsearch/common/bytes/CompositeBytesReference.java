@@ -9,7 +9,6 @@
 package org.elasticsearch.common.bytes;
 
 import org.apache.lucene.util.BytesRef;
-import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.BytesRefIterator;
 import org.apache.lucene.util.RamUsageEstimator;
 
@@ -177,18 +176,21 @@ public final class CompositeBytesReference extends AbstractBytesReference {
 
     @Override
     public BytesRef toBytesRef() {
-        BytesRefBuilder builder = new BytesRefBuilder();
-        builder.grow(length());
+        // copy straight into an array of the exact size, a BytesRefBuilder would over-allocate and then copy everything once more
+        final byte[] bytes = new byte[length];
+        int written = 0;
         BytesRef spare;
         BytesRefIterator iterator = iterator();
         try {
             while ((spare = iterator.next()) != null) {
-                builder.append(spare);
+                System.arraycopy(spare.bytes, spare.offset, bytes, written, spare.length);
+                written += spare.length;
             }
         } catch (IOException ex) {
             throw new AssertionError("won't happen", ex); // this is really an error since we don't do IO in our bytesreferences
         }
-        return builder.toBytesRef();
+        assert written == length : written + " != " + length;
+        return new BytesRef(bytes);
     }
 
     @Override
@@ -18,6 +18,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -50,6 +52,13 @@ import java.util.function.ToLongBiFunction;
  * <li>Locks on the list could be taken per node being modified instead of globally.</li>
  * </ol>
  * <p>
+ * Caches that are read far more often than they are written can opt in to buffered promotions (see
+ * {@link CacheBuilder#setBufferedPromotions(boolean)}), which implements the first two options: a cache hit records
+ * the entry in a small lossy buffer that is striped by thread instead of acquiring the LRU lock, and the buffered
+ * promotions are applied in batches by whichever thread manages to acquire the LRU lock without waiting. Hits
+ * therefore never block on the LRU lock, at the cost of an approximate LRU order: a promotion may be applied late or
+ * dropped when its buffer is full.
+ * <p>
  * Evictions only occur after a mutation to the cache (meaning an entry promotion, a cache insertion, or a manual
  * invalidation) or an explicit call to {@link #refresh()}.
  *
@@ -91,6 +100,9 @@ public class Cache<K, V> {
     // the removal callback
     private RemovalListener<K, V> removalListener = notification -> {};
 
+    // the buffers recording the promotions of cache hits, null unless promotions are buffered
+    private ReadBuffer<Entry<K, V>>[] readBuffers;
+
     // use CacheBuilder to construct
     Cache() {}
 
@@ -137,6 +149,26 @@ public class Cache<K, V> {
         this.removalListener = removalListener;
     }
 
+    @SuppressWarnings("unchecked")
+    void setBufferedPromotions(boolean bufferedPromotions) {
+        if (bufferedPromotions) {
+            // a power of two that is at least twice the number of processors, so that concurrent readers rarely share a buffer
+            final int processors = Runtime.getRuntime().availableProcessors();
+            final int stripes = Math.min(MAX_READ_BUFFERS, Integer.highestOneBit(2 * processors - 1) << 1);
+            readBuffers = (ReadBuffer<Entry<K, V>>[]) new ReadBuffer<?>[stripes];
+            for (int i = 0; i < readBuffers.length; i++) {
+                readBuffers[i] = new ReadBuffer<>();
+            }
+        } else {
+            readBuffers = null;
+        }
+    }
+
+    // pkg-private for testing
+    boolean hasBufferedPromotions() {
+        return readBuffers != null;
+    }
+
     /**
      * The relative time used to track time-based evictions.
      *
@@ -351,7 +383,11 @@ public class Cache<K, V> {
         if (entry == null) {
             return null;
         } else {
-            promote(entry, now);
+            if (readBuffers != null) {
+                bufferPromotion(entry, now);
+            } else {
+                promote(entry, now);
+            }
             return entry.value;
         }
     }
@@ -559,6 +595,7 @@ public class Cache<K, V> {
     public void refresh() {
         long now = now();
         try (ReleasableLock ignored = lruLock.acquire()) {
+            drainReadBuffers();
             evict(now);
         }
     }
@@ -737,6 +774,8 @@ public class Cache<K, V> {
     private void promote(Entry<K, V> entry, long now) {
         boolean promoted = true;
         try (ReleasableLock ignored = lruLock.acquire()) {
+            // apply the buffered promotions first so that the entry ends up at the head of the LRU list
+            drainReadBuffers();
             switch (entry.state) {
                 case DELETED -> promoted = false;
                 case EXISTING -> relinkAtHead(entry);
@@ -748,6 +787,41 @@ public class Cache<K, V> {
         }
     }
 
+    /**
+     * Records the promotion of a cache hit without waiting for the LRU lock. The buffered promotions are applied if
+     * the buffer is getting full and the LRU lock is available; if the buffer is full the promotion is dropped.
+     */
+    private void bufferPromotion(Entry<K, V> entry, long now) {
+        final ReadBuffer<Entry<K, V>> readBuffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        final boolean recorded = readBuffer.offer(entry);
+        if (recorded == false || readBuffer.size() >= READ_BUFFER_DRAIN_THRESHOLD) {
+            try (ReleasableLock locked = lruLock.tryAcquire()) {
+                if (locked != null) {
+                    drainReadBuffers();
+                    if (recorded == false && entry.state == State.EXISTING) {
+                        relinkAtHead(entry);
+                    }
+                    evict(now);
+                }
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        assert lruLock.isHeldByCurrentThread();
+
+        if (readBuffers != null) {
+            for (ReadBuffer<Entry<K, V>> readBuffer : readBuffers) {
+                // new entries are linked by the thread that inserted them, and deleted entries must not be resurrected
+                readBuffer.drain(entry -> {
+                    if (entry.state == State.EXISTING) {
+                        relinkAtHead(entry);
+                    }
+                });
+            }
+        }
+    }
+
     private void evict(long now) {
         assert lruLock.isHeldByCurrentThread();
 
@@ -859,4 +933,53 @@ public class Cache<K, V> {
     private CacheSegment getCacheSegment(K key) {
         return segments[key.hashCode() & 0xff];
     }
+
+    private static final int MAX_READ_BUFFERS = 64;
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+
+    /**
+     * A bounded, lossy, multiple-producer buffer of the entries that were hit. Producers never block: an element is
+     * dropped if the buffer is full or if another producer concurrently claimed the same slot. The buffer is only
+     * drained while holding the LRU lock, so there is a single consumer at a time.
+     */
+    static final class ReadBuffer<E> {
+        private final AtomicReferenceArray<E> slots = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+
+        boolean offer(E element) {
+            final long head = readCounter;
+            final long tail = writeCounter.get();
+            if (tail - head >= READ_BUFFER_SIZE) {
+                return false;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                slots.lazySet((int) (tail & (READ_BUFFER_SIZE - 1)), element);
+                return true;
+            }
+            return false;
+        }
+
+        long size() {
+            return writeCounter.get() - readCounter;
+        }
+
+        void drain(Consumer<E> consumer) {
+            long head = readCounter;
+            final long tail = writeCounter.get();
+            while (head < tail) {
+                final int index = (int) (head & (READ_BUFFER_SIZE - 1));
+                final E element = slots.get(index);
+                if (element == null) {
+                    // the producer claimed the slot but did not publish the element yet
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(element);
+                head++;
+            }
+            readCounter = head;
+        }
+    }
 }
@@ -19,6 +19,7 @@ public class CacheBuilder<K, V> {
     private long expireAfterWriteNanos = -1;
     private ToLongBiFunction<K, V> weigher;
     private RemovalListener<K, V> removalListener;
+    private boolean bufferedPromotions;
 
     public static <K, V> CacheBuilder<K, V> builder() {
         return new CacheBuilder<>();
@@ -78,6 +79,18 @@ public class CacheBuilder<K, V> {
         return this;
     }
 
+    /**
+     * Sets whether cache hits should record the promotion of the entry in a buffer rather than acquiring the lock of
+     * the LRU list. This removes the contention of concurrent hits on the LRU lock, at the cost of an approximate LRU
+     * order. This is best suited for caches that are mostly read concurrently.
+     *
+     * @param bufferedPromotions whether the promotion of cache hits should be buffered
+     */
+    public CacheBuilder<K, V> setBufferedPromotions(boolean bufferedPromotions) {
+        this.bufferedPromotions = bufferedPromotions;
+        return this;
+    }
+
     public Cache<K, V> build() {
         Cache<K, V> cache = new Cache<>();
         if (maximumWeight != -1) {
@@ -95,6 +108,9 @@ public class CacheBuilder<K, V> {
         if (removalListener != null) {
             cache.setRemovalListener(removalListener);
         }
+        if (bufferedPromotions) {
+            cache.setBufferedPromotions(true);
+        }
         return cache;
     }
 }
@@ -8,9 +8,11 @@
 
 package org.elasticsearch.common.collect;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class Iterators {
 
@@ -110,4 +112,68 @@ public class Iterators {
             return array[index++];
         }
     }
+
+    /**
+     * Returns an iterator over the results of applying {@code fn} to the elements of the given iterator, lazily.
+     */
+    public static <T, U> Iterator<U> map(Iterator<? extends T> input, Function<T, ? extends U> fn) {
+        return new MapIterator<>(Objects.requireNonNull(input), Objects.requireNonNull(fn));
+    }
+
+    private static final class MapIterator<T, U> implements Iterator<U> {
+
+        private final Iterator<? extends T> input;
+        private final Function<T, ? extends U> fn;
+
+        private MapIterator(Iterator<? extends T> input, Function<T, ? extends U> fn) {
+            this.input = input;
+            this.fn = fn;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return input.hasNext();
+        }
+
+        @Override
+        public U next() {
+            return fn.apply(input.next());
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements of the iterators that {@code fn} returns for the elements of the given iterator. Each of
+     * these iterators is only created once the elements of the previous one have been consumed.
+     */
+    public static <T, U> Iterator<U> flatMap(Iterator<? extends T> input, Function<T, Iterator<? extends U>> fn) {
+        return new FlatMapIterator<>(Objects.requireNonNull(input), Objects.requireNonNull(fn));
+    }
+
+    private static final class FlatMapIterator<T, U> implements Iterator<U> {
+
+        private final Iterator<? extends T> input;
+        private final Function<T, Iterator<? extends U>> fn;
+        private Iterator<? extends U> current = Collections.emptyIterator();
+
+        private FlatMapIterator(Iterator<? extends T> input, Function<T, Iterator<? extends U>> fn) {
+            this.input = input;
+            this.fn = fn;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current.hasNext() == false && input.hasNext()) {
+                current = Objects.requireNonNull(fn.apply(input.next()));
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public U next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
 }
@@ -16,14 +16,16 @@ public class NoneRecycler<T> extends AbstractRecycler<T> {
 
     @Override
     public V<T> obtain() {
-        return new NV<>(c.newInstance());
+        return new NV<>(c, c.newInstance());
     }
 
     public static class NV<T> implements Recycler.V<T> {
 
+        private final C<T> c;
         T value;
 
-        NV(T value) {
+        NV(C<T> c, T value) {
+            this.c = c;
             this.value = value;
         }
 
@@ -42,6 +44,8 @@ public class NoneRecycler<T> extends AbstractRecycler<T> {
             if (value == null) {
                 throw new IllegalStateException("recycler entry already released...");
             }
+            // nothing is ever pooled, so the entry is destroyed straight away
+            c.destroy(value);
             value = null;
         }
     }
@@ -14,6 +14,7 @@ import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.core.Releasables;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /** Common implementation for array lists that slice data into fixed-size blocks. */
@@ -97,7 +98,7 @@ abstract class AbstractBigArray extends AbstractArray {
         cache = grow(cache, page + 1);
         assert cache[page] == null;
         cache[page] = v;
-        assert Array.getLength(v.v()) == expectedSize;
+        assert (v.v() instanceof ByteBuffer buffer ? buffer.capacity() : Array.getLength(v.v())) == expectedSize;
         return v.v();
     }
 
@@ -110,6 +111,13 @@ abstract class AbstractBigArray extends AbstractArray {
         }
     }
 
+    protected final ByteBuffer newDirectBytePage(int page) {
+        // direct arrays are only created by BigArrays that have an off-heap recycler, which frees the pages it doesn't pool
+        assert recycler != null && recycler.isOffHeap();
+        final Recycler.V<ByteBuffer> v = recycler.directBytePage(clearOnResize);
+        return registerNewPage(v, page, PageCacheRecycler.BYTE_PAGE_SIZE);
+    }
+
     protected final Object[] newObjectPage(int page) {
         if (recycler != null) {
             final Recycler.V<Object[]> v = recycler.objectPage();
@@ -0,0 +1,104 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.RamUsageEstimator;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Common implementation for arrays that slice data into fixed-size blocks of direct memory, see
+ * {@link PageCacheRecycler#OFF_HEAP_SETTING}. Every page is a {@link PageCacheRecycler#BYTE_PAGE_SIZE} bytes buffer in the native
+ * byte order, that is only ever accessed with absolute indices.
+ */
+abstract class AbstractBigDirectArray extends AbstractBigArray {
+
+    protected ByteBuffer[] pages;
+
+    protected AbstractBigDirectArray(int pageSize, long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(pageSize, bigArrays, clearOnResize);
+        assert pageSize * numBytesPerElement() == PageCacheRecycler.BYTE_PAGE_SIZE;
+        this.size = size;
+        pages = new ByteBuffer[numPages(size)];
+        for (int i = 0; i < pages.length; ++i) {
+            pages[i] = newDirectBytePage(i);
+        }
+    }
+
+    /** Change the size of this array. Content between indexes <code>0</code> and <code>min(size(), newSize)</code> will be preserved. */
+    @Override
+    public final void resize(long newSize) {
+        final int numPages = numPages(newSize);
+        if (numPages > pages.length) {
+            pages = Arrays.copyOf(pages, ArrayUtil.oversize(numPages, RamUsageEstimator.NUM_BYTES_OBJECT_REF));
+        }
+        for (int i = numPages - 1; i >= 0 && pages[i] == null; --i) {
+            pages[i] = newDirectBytePage(i);
+        }
+        for (int i = numPages; i < pages.length && pages[i] != null; ++i) {
+            pages[i] = null;
+            releasePage(i);
+        }
+        this.size = newSize;
+    }
+
+    /**
+     * Bulk copies the given bytes, that hold {@code len} elements of {@code 1 << shift} bytes each, to this array starting at
+     * {@code index}.
+     */
+    public final void set(long index, byte[] buf, int offset, int len, int shift) {
+        assert index + len <= size();
+        int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        if (indexInPage + len <= pageSize()) {
+            pages[pageIndex].put(indexInPage << shift, buf, offset << shift, len << shift);
+        } else {
+            int copyLen = pageSize() - indexInPage;
+            pages[pageIndex].put(indexInPage << shift, buf, offset << shift, copyLen << shift);
+            do {
+                ++pageIndex;
+                offset += copyLen;
+                len -= copyLen;
+                copyLen = Math.min(len, pageSize());
+                pages[pageIndex].put(0, buf, offset << shift, copyLen << shift);
+            } while (len > copyLen);
+        }
+    }
+
+    /**
+     * Applies {@code filler} to the pages that cover the elements from {@code fromIndex} inclusive to {@code toIndex} exclusive,
+     * with the range of elements to fill in each page.
+     */
+    protected final void fillPages(long fromIndex, long toIndex, PageFiller filler) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException();
+        }
+        if (fromIndex == toIndex) {
+            return; // empty range
+        }
+        final int fromPage = pageIndex(fromIndex);
+        final int toPage = pageIndex(toIndex - 1);
+        if (fromPage == toPage) {
+            filler.fill(pages[fromPage], indexInPage(fromIndex), indexInPage(toIndex - 1) + 1);
+        } else {
+            filler.fill(pages[fromPage], indexInPage(fromIndex), pageSize());
+            for (int i = fromPage + 1; i < toPage; ++i) {
+                filler.fill(pages[i], 0, pageSize());
+            }
+            filler.fill(pages[toPage], 0, indexInPage(toIndex - 1) + 1);
+        }
+    }
+
+    @FunctionalInterface
+    protected interface PageFiller {
+        void fill(ByteBuffer page, int from, int to);
+    }
+}
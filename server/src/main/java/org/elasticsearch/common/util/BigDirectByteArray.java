@@ -0,0 +1,91 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.apache.lucene.util.BytesRef;
+
+import static org.elasticsearch.common.util.PageCacheRecycler.BYTE_PAGE_SIZE;
+
+/**
+ * Byte array abstraction able to support more than 2B values. This implementation slices data into fixed-sized blocks of
+ * direct memory.
+ */
+final class BigDirectByteArray extends AbstractBigDirectArray implements ByteArray {
+
+    /** Constructor. */
+    BigDirectByteArray(long size, BigArrays bigArrays, boolean clearOnResize) {
+        super(BYTE_PAGE_SIZE, size, bigArrays, clearOnResize);
+    }
+
+    @Override
+    public byte get(long index) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        return pages[pageIndex].get(indexInPage);
+    }
+
+    @Override
+    public byte set(long index, byte value) {
+        final int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        final byte ret = pages[pageIndex].get(indexInPage);
+        pages[pageIndex].put(indexInPage, value);
+        return ret;
+    }
+
+    @Override
+    public boolean get(long index, int len, BytesRef ref) {
+        assert index + len <= size();
+        // the pages aren't backed by heap arrays, so the bytes are always copied, to a new array so that like with heap arrays
+        // the bytes that a previous call returned never change
+        int pageIndex = pageIndex(index);
+        final int indexInPage = indexInPage(index);
+        ref.bytes = new byte[len];
+        ref.offset = 0;
+        ref.length = Math.min(len, pageSize() - indexInPage);
+        pages[pageIndex].get(indexInPage, ref.bytes, 0, ref.length);
+        while (ref.length < len) {
+            ++pageIndex;
+            final int copyLength = Math.min(pageSize(), len - ref.length);
+            pages[pageIndex].get(0, ref.bytes, ref.length, copyLength);
+            ref.length += copyLength;
+        }
+        return true;
+    }
+
+    @Override
+    public void set(long index, byte[] buf, int offset, int len) {
+        set(index, buf, offset, len, 0);
+    }
+
+    @Override
+    public void fill(long fromIndex, long toIndex, byte value) {
+        fillPages(fromIndex, toIndex, (page, from, to) -> {
+            for (int i = from; i < to; ++i) {
+                page.put(i, value);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasArray() {
+        return false;
+    }
+
+    @Override
+    public byte[] array() {
+        assert false;
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected int numBytesPerElement() {
+        return 1;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.elasticsearch.core.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+import java.security.AccessController;
+import java.security.PrivilegedExceptionAction;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Frees the memory of direct {@link ByteBuffer}s without waiting for the garbage collector to run their cleaner.
+ * <p>
+ * Looking up {@code sun.misc.Unsafe#invokeCleaner} needs permissions that are not granted to Elasticsearch, so it is looked up
+ * once by {@link #init()} while the node bootstraps, before the security manager is installed. If it is not available, buffers are
+ * freed once they are garbage collected.
+ */
+public final class DirectBufferCleaner {
+
+    @Nullable
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    private DirectBufferCleaner() {}
+
+    /**
+     * Looks up how to free direct buffers, must be called before the security manager is installed.
+     */
+    public static void init() {
+        // the lookup happens when this class is initialized
+    }
+
+    /**
+     * Returns true if direct buffers can be freed with {@link #clean(ByteBuffer)}.
+     */
+    static boolean isAvailable() {
+        return INVOKE_CLEANER != null;
+    }
+
+    /**
+     * Frees the memory of the given direct buffer if possible. The buffer, and any buffer that shares its memory, must not be
+     * accessed anymore once this method returns.
+     */
+    static void clean(ByteBuffer buffer) {
+        assert buffer.isDirect();
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable t) {
+                throw new IllegalStateException("failed to free direct buffer", t);
+            }
+        }
+    }
+
+    @Nullable
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            return AccessController.doPrivileged((PrivilegedExceptionAction<MethodHandle>) () -> {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(unsafeClass, MethodHandles.lookup());
+                final Object theUnsafe = lookup.findStaticVarHandle(unsafeClass, "theUnsafe", unsafeClass).get();
+                return lookup.findVirtual(unsafeClass, "invokeCleaner", methodType(void.class, ByteBuffer.class)).bindTo(theUnsafe);
+            });
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -16,7 +16,10 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.core.Nullable;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Locale;
 
@@ -67,6 +70,14 @@ public class PageCacheRecycler {
         Property.NodeScope
     );
 
+    /**
+     * Whether the pages of large {@link ByteArray}s, {@link IntArray}s, {@link LongArray}s and {@link DoubleArray}s are allocated in
+     * direct memory rather than on the heap. The pages are still accounted by the circuit breaker of the {@link BigArrays} that
+     * allocates them, and are recycled in a pool of the same size as the pool of heap byte pages, pages that don't fit in the pool
+     * are freed as soon as they are released. Note that reading a slice of a direct {@link ByteArray} always copies it to the heap.
+     */
+    public static final Setting<Boolean> OFF_HEAP_SETTING = Setting.boolSetting("cache.recycler.page.off_heap", false, Property.NodeScope);
+
     /** Page size in bytes: 16KB */
     public static final int PAGE_SIZE_IN_BYTES = 1 << 14;
     public static final int OBJECT_PAGE_SIZE = PAGE_SIZE_IN_BYTES / RamUsageEstimator.NUM_BYTES_OBJECT_REF;
@@ -78,6 +89,8 @@ public class PageCacheRecycler {
 
     private final Recycler<byte[]> bytePage;
     private final Recycler<Object[]> objectPage;
+    @Nullable
+    private final Recycler<ByteBuffer> directBytePage;
 
     public static final PageCacheRecycler NON_RECYCLING_INSTANCE;
 
@@ -125,6 +138,34 @@ public class PageCacheRecycler {
         });
 
         assert PAGE_SIZE_IN_BYTES * (maxBytePageCount + maxObjectPageCount) <= limit;
+
+        if (OFF_HEAP_SETTING.get(settings)) {
+            directBytePage = build(type, maxBytePageCount, allocatedProcessors, new AbstractRecyclerC<ByteBuffer>() {
+                @Override
+                public ByteBuffer newInstance() {
+                    return ByteBuffer.allocateDirect(BYTE_PAGE_SIZE).order(ByteOrder.nativeOrder());
+                }
+
+                @Override
+                public void recycle(ByteBuffer value) {
+                    // nothing to do, pages are only accessed with absolute indices
+                }
+
+                @Override
+                public void destroy(ByteBuffer value) {
+                    freeDirectBytePage(value);
+                }
+            });
+        } else {
+            directBytePage = null;
+        }
+    }
+
+    /**
+     * Returns true if the pages of large arrays should be allocated with {@link #directBytePage(boolean)}.
+     */
+    public boolean isOffHeap() {
+        return directBytePage != null;
     }
 
     public Recycler.V<byte[]> bytePage(boolean clear) {
@@ -135,6 +176,31 @@ public class PageCacheRecycler {
         return v;
     }
 
+    /**
+     * Obtains a page of direct memory in the {@link ByteOrder#nativeOrder() native byte order}. The page goes back to the pool when
+     * the returned {@link Recycler.V} is closed, pages that don't fit in the pool are freed with {@link #freeDirectBytePage}.
+     */
+    public Recycler.V<ByteBuffer> directBytePage(boolean clear) {
+        assert directBytePage != null : "off-heap pages are disabled";
+        final Recycler.V<ByteBuffer> v = directBytePage.obtain();
+        if (v.isRecycled() && clear) {
+            final ByteBuffer page = v.v();
+            for (int i = 0; i < BYTE_PAGE_SIZE; i += Long.BYTES) {
+                page.putLong(i, 0L);
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Frees a page of direct memory that doesn't fit in the pool, rather than waiting for the garbage collector to run its cleaner.
+     * The page must not be accessed anymore once this method returns.
+     */
+    protected void freeDirectBytePage(ByteBuffer page) {
+        assert page.isDirect();
+        DirectBufferCleaner.clean(page);
+    }
+
     public Recycler.V<Object[]> objectPage() {
         // object pages are cleared on release anyway
         return objectPage.obtain();
@@ -0,0 +1,90 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class manages a fixed number of locks, called stripes, and maps each key to one of them based on the key's hash code.
+ * Unlike {@link KeyedLock} no state is created or removed when a key is locked or released, which makes acquiring a lock
+ * allocation free, at the cost of keys that share a stripe excluding each other.
+ * Callers must therefore never block on another thread while holding a lock, unless that thread can't need the same stripe.
+ * Note: this lock is reentrant
+ */
+public final class StripedLock<T> {
+
+    private final ReentrantLock[] locks;
+    private final Releasable[] releasables;
+    private final int mask;
+
+    /**
+     * Creates a non-fair striped lock
+     * @param minStripes the minimum number of stripes, rounded up to the next power of two
+     */
+    public StripedLock(int minStripes) {
+        if (minStripes <= 0) {
+            throw new IllegalArgumentException("minStripes must be > 0 but was [" + minStripes + "]");
+        }
+        final int stripes = minStripes == 1 ? 1 : Integer.highestOneBit(minStripes - 1) << 1;
+        this.locks = new ReentrantLock[stripes];
+        this.releasables = new Releasable[stripes];
+        for (int i = 0; i < stripes; i++) {
+            final ReentrantLock lock = new ReentrantLock();
+            locks[i] = lock;
+            releasables[i] = () -> {
+                assert lock.isHeldByCurrentThread() : "lock must be held by the current thread";
+                lock.unlock();
+            };
+        }
+        this.mask = stripes - 1;
+    }
+
+    private int stripe(T key) {
+        final int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Acquires the lock for the given key. The lock can be acquired by the same thread multiple times. The lock is released by
+     * closing the returned {@link Releasable}, which must be closed exactly once.
+     */
+    public Releasable acquire(T key) {
+        final int stripe = stripe(key);
+        locks[stripe].lock();
+        return releasables[stripe];
+    }
+
+    /**
+     * Tries to acquire the lock for the given key and returns it. If the lock can't be acquired null is returned.
+     */
+    public Releasable tryAcquire(T key) {
+        final int stripe = stripe(key);
+        if (locks[stripe].tryLock()) {
+            return releasables[stripe];
+        }
+        return null;
+    }
+
+    /**
+     * Returns <code>true</code> iff the caller thread holds the lock of the stripe of the given key. Note that the lock might have
+     * been acquired for another key of the same stripe.
+     */
+    public boolean isHeldByCurrentThread(T key) {
+        return locks[stripe(key)].isHeldByCurrentThread();
+    }
+
+    /**
+     * Returns the number of stripes of this lock.
+     */
+    public int stripes() {
+        return locks.length;
+    }
+}
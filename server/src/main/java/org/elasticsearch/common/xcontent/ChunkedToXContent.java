@@ -0,0 +1,40 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+package org.elasticsearch.common.xcontent;
+
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * An alternative to {@link ToXContent} allowing for progressive serialization by creating an {@link Iterator} of {@link ToXContent}
+ * chunks. Writing all the chunks of the iterator in order to the same {@link XContentBuilder} produces the same content as
+ * {@link #toXContent(XContentBuilder, ToXContent.Params)}, but each chunk is expected to be small so that the response can be
+ * sent to the client while it's being serialized.
+ */
+public interface ChunkedToXContent {
+
+    /**
+     * Create an iterator of {@link ToXContent} chunks, that must be serialized individually with the same {@link XContentBuilder} and
+     * {@link ToXContent.Params} for each call until it is fully drained.
+     */
+    Iterator<? extends ToXContent> toXContentChunked();
+
+    /**
+     * Serializes all the chunks at once, for callers that need the whole content in memory anyway.
+     */
+    default XContentBuilder toXContent(XContentBuilder builder, ToXContent.Params params) throws IOException {
+        Iterator<? extends ToXContent> iterator = toXContentChunked();
+        while (iterator.hasNext()) {
+            iterator.next().toXContent(builder, params);
+        }
+        return builder;
+    }
+}
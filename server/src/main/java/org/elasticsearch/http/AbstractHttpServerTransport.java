@@ -489,4 +489,11 @@ public abstract class AbstractHttpServerTransport extends AbstractLifecycleCompo
     public ThreadPool getThreadPool() {
         return threadPool;
     }
+
+    /**
+     * The recycler of the pages that responses are serialized to.
+     */
+    public Recycler<BytesRef> recycler() {
+        return recycler;
+    }
 }
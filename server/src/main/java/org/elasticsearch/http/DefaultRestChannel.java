@@ -102,24 +102,23 @@ public class DefaultRestChannel extends AbstractRestChannel implements RestChann
         String contentLength = null;
 
         try {
+            // null if the response is chunked
             final BytesReference content = restResponse.content();
             if (content instanceof Releasable) {
                 toClose.add((Releasable) content);
             }
             toClose.add(this::releaseOutputBuffer);
 
-            BytesReference finalContent = content;
-            try {
-                if (request.method() == RestRequest.Method.HEAD) {
-                    finalContent = BytesArray.EMPTY;
-                }
-            } catch (IllegalArgumentException ignored) {
-                assert restResponse.status() == RestStatus.METHOD_NOT_ALLOWED
-                    : "request HTTP method is unsupported but HTTP status is not METHOD_NOT_ALLOWED(405)";
+            final HttpResponse httpResponse;
+            if (isHeadRequest(restResponse)) {
+                // responses to HEAD requests have no body, the content-length of non-chunked responses is still sent below
+                httpResponse = httpRequest.createResponse(restResponse.status(), BytesArray.EMPTY);
+            } else if (restResponse.isChunked()) {
+                httpResponse = httpRequest.createResponse(restResponse.status(), restResponse.chunkedContent());
+            } else {
+                httpResponse = httpRequest.createResponse(restResponse.status(), content);
             }
 
-            final HttpResponse httpResponse = httpRequest.createResponse(restResponse.status(), finalContent);
-
             corsHandler.setCorsResponseHeaders(httpRequest, httpResponse);
 
             opaque = request.header(X_OPAQUE_ID_HTTP_HEADER);
@@ -133,9 +132,11 @@ public class DefaultRestChannel extends AbstractRestChannel implements RestChann
 
             // If our response doesn't specify a content-type header, set one
             setHeaderField(httpResponse, CONTENT_TYPE, restResponse.contentType(), false);
-            // If our response has no content-length, calculate and set one
-            contentLength = String.valueOf(restResponse.content().length());
-            setHeaderField(httpResponse, CONTENT_LENGTH, contentLength, false);
+            if (restResponse.isChunked() == false) {
+                // If our response has no content-length, calculate and set one
+                contentLength = String.valueOf(restResponse.content().length());
+                setHeaderField(httpResponse, CONTENT_LENGTH, contentLength, false);
+            }
 
             addCookies(httpResponse);
 
@@ -158,6 +159,16 @@ public class DefaultRestChannel extends AbstractRestChannel implements RestChann
         }
     }
 
+    private boolean isHeadRequest(RestResponse restResponse) {
+        try {
+            return request.method() == RestRequest.Method.HEAD;
+        } catch (IllegalArgumentException ignored) {
+            assert restResponse.status() == RestStatus.METHOD_NOT_ALLOWED
+                : "request HTTP method is unsupported but HTTP status is not METHOD_NOT_ALLOWED(405)";
+            return false;
+        }
+    }
+
     private static void setHeaderField(HttpResponse response, String headerField, String value) {
         setHeaderField(response, headerField, value, true);
     }
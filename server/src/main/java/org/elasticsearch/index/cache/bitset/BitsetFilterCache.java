@@ -160,7 +160,7 @@ public final class BitsetFilterCache
         }
         Cache<Query, Value> filterToFbs = filters.computeIfAbsent(coreCacheReader, key -> {
             cacheHelper.addClosedListener(BitsetFilterCache.this);
-            return CacheBuilder.<Query, Value>builder().build();
+            return CacheBuilder.<Query, Value>builder().setBufferedPromotions(true).build();
         });
 
         return filterToFbs.computeIfAbsent(query, key -> {
@@ -176,7 +176,10 @@ public final class BitsetFilterCache
         if (existing != null) {
             return existing;
         }
-        existing = CacheBuilder.<IndexReader.CacheKey, Cache<Query, Value>>builder().removalListener(this).build();
+        existing = CacheBuilder.<IndexReader.CacheKey, Cache<Query, Value>>builder()
+            .removalListener(this)
+            .setBufferedPromotions(true)
+            .build();
         loadedFilters = existing;
         return existing;
     }
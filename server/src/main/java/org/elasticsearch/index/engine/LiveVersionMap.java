@@ -13,7 +13,7 @@ import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
-import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.StripedLock;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
@@ -25,7 +25,13 @@ import java.util.concurrent.atomic.AtomicLong;
 /** Maps _uid value to its version information. */
 final class LiveVersionMap implements ReferenceManager.RefreshListener, Accountable {
 
-    private final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+    /**
+     * The number of uid lock stripes. Uid locks are only held for the duration of a single operation, so a fixed number of stripes
+     * that is large compared to the number of concurrent writers keeps contention low without allocating a lock per uid.
+     */
+    static final int LOCK_STRIPES = 128;
+
+    private final StripedLock<BytesRef> keyedLock = new StripedLock<>(LOCK_STRIPES);
 
     private static final class VersionLookup {
 
@@ -387,6 +393,7 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
                     // we use tryAcquire here since this is a best effort and we try to be least disruptive
                     // this method is also called under lock in the engine under certain situations such that this can lead to deadlocks
                     // if we do use a blocking acquire. see #28714
+                    // the lock is reentrant, so a tombstone that shares a stripe with a uid that is locked by this thread can be pruned
                     if (lock != null) { // did we get the lock?
                         // Must re-get it here, vs using entry.getValue(), in case the uid was indexed/deleted since we pulled the iterator:
                         final DeleteVersionValue versionValue = tombstones.get(uid);
@@ -457,7 +464,9 @@ final class LiveVersionMap implements ReferenceManager.RefreshListener, Accounta
      * Acquires a releaseable lock for the given uId. All *UnderLock methods require
      * this lock to be hold by the caller otherwise the visibility guarantees of this version
      * map are broken. We assert on this lock to be hold when calling these methods.
-     * @see KeyedLock
+     * Uids are mapped to a fixed number of lock stripes, so the caller must not wait on another thread that could need a uid lock
+     * while holding this lock.
+     * @see StripedLock
      */
     Releasable acquireLock(BytesRef uid) {
         return keyedLock.acquire(uid);
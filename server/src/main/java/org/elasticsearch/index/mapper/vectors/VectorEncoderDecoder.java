@@ -10,6 +10,7 @@ package org.elasticsearch.index.mapper.vectors;
 
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.Version;
+import org.elasticsearch.script.field.vectors.DenseVectorUtils;
 
 import java.nio.ByteBuffer;
 
@@ -38,14 +39,7 @@ public final class VectorEncoderDecoder {
      */
     private static float calculateMagnitude(Version indexVersion, BytesRef vectorBR) {
         final int length = denseVectorLength(indexVersion, vectorBR);
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
-        double magnitude = 0.0f;
-        for (int i = 0; i < length; i++) {
-            float value = byteBuffer.getFloat();
-            magnitude += value * value;
-        }
-        magnitude = Math.sqrt(magnitude);
-        return (float) magnitude;
+        return (float) Math.sqrt(DenseVectorUtils.squaredMagnitude(vectorBR, length));
     }
 
     public static float getMagnitude(Version indexVersion, BytesRef vectorBR) {
@@ -68,10 +62,7 @@ public final class VectorEncoderDecoder {
         if (vectorBR == null) {
             throw new IllegalArgumentException(DenseVectorScriptDocValues.MISSING_VECTOR_FIELD_MESSAGE);
         }
-        ByteBuffer byteBuffer = ByteBuffer.wrap(vectorBR.bytes, vectorBR.offset, vectorBR.length);
-        for (int dim = 0; dim < vector.length; dim++) {
-            vector[dim] = byteBuffer.getFloat();
-        }
+        DenseVectorUtils.decode(vectorBR, vector);
     }
 
 }
@@ -17,6 +17,7 @@ import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.geo.ShapeRelation;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.lucene.BytesRefs;
 import org.elasticsearch.common.time.DateFormatter;
 import org.elasticsearch.common.time.DateMathParser;
 import org.elasticsearch.index.mapper.DateFieldMapper;
@@ -503,12 +504,60 @@ public class RangeQueryBuilder extends AbstractQueryBuilder<RangeQueryBuilder> i
                     return this;
                 }
             case INTERSECTS:
-                return this;
+                return resolveRoundedNow(queryRewriteContext);
             default:
                 throw new AssertionError();
         }
     }
 
+    /**
+     * Resolves bounds that are date math on a rounded {@code now}, like {@code now-1d/d}, to epoch millis. The rewritten query no
+     * longer depends on the time of the request so the shard request cache can cache it, and requests that are sent within the same
+     * rounding interval share the cache entry. Queries with a {@code now} that isn't rounded are left alone since every request
+     * would get its own cache entry.
+     */
+    private RangeQueryBuilder resolveRoundedNow(QueryRewriteContext queryRewriteContext) {
+        SearchExecutionContext context = queryRewriteContext.convertToSearchExecutionContext();
+        if (context == null || context.getIndexReader() == null) {
+            // Not on the shard, or parsing a query that is stored like percolator queries.
+            return this;
+        }
+        if (isRoundedNow(from) == false && isRoundedNow(to) == false) {
+            return this;
+        }
+        if ((usesNow(from) && isRoundedNow(from) == false) || (usesNow(to) && isRoundedNow(to) == false)) {
+            return this;
+        }
+        if (from instanceof Number || to instanceof Number) {
+            // mixing epoch millis and date math, keep the parsing rules of DateFieldType#rangeQuery
+            return this;
+        }
+        if (context.getFieldType(fieldName) instanceof DateFieldMapper.DateFieldType dateFieldType == false
+            || dateFieldType.resolution() != DateFieldMapper.Resolution.MILLISECONDS) {
+            return this;
+        }
+        DateMathParser dateMathParser = getForceDateParser();
+        RangeQueryBuilder newRangeQuery = new RangeQueryBuilder(fieldName);
+        if (from != null) {
+            newRangeQuery.from(dateFieldType.parseToLong(from, includeLower == false, timeZone, dateMathParser, context::nowInMillis));
+        }
+        if (to != null) {
+            newRangeQuery.to(dateFieldType.parseToLong(to, includeUpper, timeZone, dateMathParser, context::nowInMillis));
+        }
+        newRangeQuery.includeLower(includeLower);
+        newRangeQuery.includeUpper(includeUpper);
+        newRangeQuery.relation = relation;
+        return newRangeQuery;
+    }
+
+    private static boolean usesNow(Object bound) {
+        return bound != null && bound instanceof Number == false && BytesRefs.toString(bound).startsWith("now");
+    }
+
+    private static boolean isRoundedNow(Object bound) {
+        return usesNow(bound) && BytesRefs.toString(bound).indexOf('/') >= 0;
+    }
+
     @Override
     protected Query doToQuery(SearchExecutionContext context) throws IOException {
         if (from == null && to == null) {
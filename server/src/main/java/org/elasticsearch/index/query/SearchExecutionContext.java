@@ -716,6 +716,13 @@ public class SearchExecutionContext extends QueryRewriteContext {
         return mappingLookup.cacheKey();
     }
 
+    /**
+     * Whether the search request defines runtime fields, which resolve field names in addition to the mapping.
+     */
+    public boolean hasRuntimeMappings() {
+        return runtimeMappings.isEmpty() == false;
+    }
+
     public NestedDocuments getNestedDocuments() {
         return new NestedDocuments(mappingLookup, bitsetFilterCache::getBitSetProducer);
     }
@@ -0,0 +1,258 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.AbstractRunnable;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A node-wide service that makes translog locations durable on behalf of all the shards of the node. Locations that are
+ * waiting to be synced are grouped by the data path of their shard, and each group is drained by up to
+ * {@link #MAX_CONCURRENT_SYNCS_PER_PATH_SETTING} tasks on the {@link ThreadPool.Names#TRANSLOG_SYNC} thread pool. A task syncs
+ * the translog of every shard in its batch once, up to the highest pending location of the shard, and then notifies the
+ * listeners of the batch. Locations that arrive while all the tasks of a data path are busy are coalesced into the next batch.
+ * Unlike the per-shard {@link org.elasticsearch.common.util.concurrent.AsyncIOProcessor}, write threads don't block on the
+ * fsync: the listeners are completed asynchronously on the sync thread. Once {@link #MAX_PENDING_SYNCS_PER_PATH_SETTING}
+ * locations are waiting on a data path the caller syncs its own location instead, which pushes back on the writes to a
+ * slow disk rather than queueing them without bound.
+ */
+public class TranslogSyncService {
+
+    private static final Logger logger = LogManager.getLogger(TranslogSyncService.class);
+
+    public static final Setting<Boolean> GROUP_COMMIT_ENABLED_SETTING = Setting.boolSetting(
+        "indices.translog.group_commit.enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<Integer> MAX_CONCURRENT_SYNCS_PER_PATH_SETTING = Setting.intSetting(
+        "indices.translog.group_commit.max_concurrent_syncs_per_path",
+        2,
+        1,
+        Setting.Property.NodeScope
+    );
+
+    public static final Setting<Integer> MAX_PENDING_SYNCS_PER_PATH_SETTING = Setting.intSetting(
+        "indices.translog.group_commit.max_pending_syncs_per_path",
+        10_000,
+        1,
+        Setting.Property.NodeScope
+    );
+
+    private final ThreadPool threadPool;
+    private final boolean enabled;
+    private final int maxConcurrentSyncsPerPath;
+    private final int maxPendingSyncsPerPath;
+    private final ConcurrentMap<Path, SyncGroup> groups = ConcurrentCollections.newConcurrentMap();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder shardSyncs = new LongAdder();
+    private final LongAdder locations = new LongAdder();
+    // the trackers are used as generic power-of-two histograms, of milliseconds and of batch sizes respectively
+    private final HandlingTimeTracker latencyTracker = new HandlingTimeTracker();
+    private final HandlingTimeTracker batchSizeTracker = new HandlingTimeTracker();
+
+    public TranslogSyncService(Settings settings, ThreadPool threadPool) {
+        this.threadPool = threadPool;
+        this.enabled = GROUP_COMMIT_ENABLED_SETTING.get(settings);
+        this.maxConcurrentSyncsPerPath = MAX_CONCURRENT_SYNCS_PER_PATH_SETTING.get(settings);
+        this.maxPendingSyncsPerPath = MAX_PENDING_SYNCS_PER_PATH_SETTING.get(settings);
+    }
+
+    /**
+     * Returns true if shards should sync their translog locations through this service.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Schedules the given location to be synced. The listener is notified on the sync thread once the location is durable, or
+     * with the exception that made the sync fail. If too many locations are already waiting on the data path, the location is
+     * synced and the listener notified on the calling thread.
+     * NOTE: if the listener throws an exception when it's processed the exception will only be logged. Users should make sure that
+     * the listener handles all exception cases internally.
+     *
+     * @param dataPath the data path of the shard, translog locations of shards sharing the same data path are synced together
+     * @param syncer   syncs the translog of the shard up to the given locations, must be the same instance for all calls of a shard
+     * @param location the location to sync
+     * @param listener the listener to notify once the location has been synced
+     */
+    public void sync(
+        Path dataPath,
+        CheckedConsumer<List<Translog.Location>, IOException> syncer,
+        Translog.Location location,
+        Consumer<Exception> listener
+    ) {
+        Objects.requireNonNull(syncer, "syncer must not be null");
+        Objects.requireNonNull(location, "location must not be null");
+        Objects.requireNonNull(listener, "listener must not be null");
+        final SyncGroup group = groups.computeIfAbsent(dataPath, SyncGroup::new);
+        if (group.pendingCount.incrementAndGet() > maxPendingSyncsPerPath) {
+            group.pendingCount.decrementAndGet();
+            syncOnCaller(syncer, location, listener);
+            return;
+        }
+        group.pending.add(new PendingSync(syncer, location, preserveContext(listener)));
+        group.maybeSchedule();
+    }
+
+    private static void syncOnCaller(
+        CheckedConsumer<List<Translog.Location>, IOException> syncer,
+        Translog.Location location,
+        Consumer<Exception> listener
+    ) {
+        Exception failure = null;
+        try {
+            syncer.accept(List.of(location));
+        } catch (Exception e) {
+            failure = e;
+        }
+        try {
+            listener.accept(failure);
+        } catch (Exception e) {
+            logger.warn("failed to notify callback", e);
+        }
+    }
+
+    public TranslogSyncStats stats() {
+        return new TranslogSyncStats(
+            batches.sum(),
+            shardSyncs.sum(),
+            locations.sum(),
+            latencyTracker.getHistogram(),
+            batchSizeTracker.getHistogram()
+        );
+    }
+
+    private Consumer<Exception> preserveContext(Consumer<Exception> consumer) {
+        final ThreadContext threadContext = threadPool.getThreadContext();
+        final Supplier<ThreadContext.StoredContext> restorableContext = threadContext.newRestorableContext(false);
+        return e -> {
+            try (ThreadContext.StoredContext ignore = restorableContext.get()) {
+                consumer.accept(e);
+            }
+        };
+    }
+
+    private record PendingSync(
+        CheckedConsumer<List<Translog.Location>, IOException> syncer,
+        Translog.Location location,
+        Consumer<Exception> listener
+    ) {}
+
+    private final class SyncGroup extends AbstractRunnable {
+        private final Path dataPath;
+        private final Queue<PendingSync> pending = ConcurrentCollections.newQueue();
+        // the size of the queue, which is not constant-time to compute on the queue itself
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // the number of tasks that are scheduled or running for this data path, each task drains the queue once
+        private final AtomicInteger running = new AtomicInteger();
+
+        SyncGroup(Path dataPath) {
+            this.dataPath = dataPath;
+        }
+
+        void maybeSchedule() {
+            int current;
+            while (pending.isEmpty() == false && (current = running.get()) < maxConcurrentSyncsPerPath) {
+                if (running.compareAndSet(current, current + 1)) {
+                    threadPool.executor(ThreadPool.Names.TRANSLOG_SYNC).execute(this);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected void doRun() {
+            final List<PendingSync> batch = new ArrayList<>();
+            PendingSync pendingSync;
+            while ((pendingSync = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(pendingSync);
+            }
+            if (batch.isEmpty() == false) {
+                syncBatch(batch);
+            }
+        }
+
+        private void syncBatch(List<PendingSync> batch) {
+            final long startTimeMillis = threadPool.rawRelativeTimeInMillis();
+            final Map<CheckedConsumer<List<Translog.Location>, IOException>, List<Translog.Location>> locationsBySyncer =
+                new IdentityHashMap<>();
+            for (PendingSync pendingSync : batch) {
+                locationsBySyncer.computeIfAbsent(pendingSync.syncer(), k -> new ArrayList<>()).add(pendingSync.location());
+            }
+            final Map<CheckedConsumer<List<Translog.Location>, IOException>, Exception> failures = new IdentityHashMap<>();
+            for (Map.Entry<CheckedConsumer<List<Translog.Location>, IOException>, List<Translog.Location>> entry : locationsBySyncer
+                .entrySet()) {
+                try {
+                    entry.getKey().accept(entry.getValue());
+                } catch (Exception e) {
+                    logger.debug(() -> "failed to sync translog on data path [" + dataPath + "]", e);
+                    failures.put(entry.getKey(), e);
+                }
+            }
+            latencyTracker.addHandlingTime(threadPool.rawRelativeTimeInMillis() - startTimeMillis);
+            batchSizeTracker.addHandlingTime(batch.size());
+            batches.increment();
+            shardSyncs.add(locationsBySyncer.size());
+            locations.add(batch.size());
+            for (PendingSync pendingSync : batch) {
+                try {
+                    pendingSync.listener().accept(failures.get(pendingSync.syncer()));
+                } catch (Exception e) {
+                    logger.warn("failed to notify callback", e);
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            assert false : e;
+            logger.warn(() -> "unexpected failure while syncing translog on data path [" + dataPath + "]", e);
+        }
+
+        @Override
+        public void onRejection(Exception e) {
+            // the node is shutting down, sync on the current thread rather than leaving the listeners hanging
+            doRun();
+        }
+
+        @Override
+        public void onAfter() {
+            running.decrementAndGet();
+            // a location might have been added while all the tasks were busy
+            maybeSchedule();
+        }
+    }
+}
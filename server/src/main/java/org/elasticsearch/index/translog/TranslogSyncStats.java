@@ -0,0 +1,162 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.xcontent.ToXContentFragment;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Statistics of the node-wide translog group commit, see {@link TranslogSyncService}.
+ */
+public class TranslogSyncStats implements Writeable, ToXContentFragment {
+
+    private final long batches;
+    private final long shardSyncs;
+    private final long locations;
+    private final long[] latencyBucketFrequencies;
+    private final long[] batchSizeBucketFrequencies;
+
+    public TranslogSyncStats(
+        long batches,
+        long shardSyncs,
+        long locations,
+        long[] latencyBucketFrequencies,
+        long[] batchSizeBucketFrequencies
+    ) {
+        this.batches = batches;
+        this.shardSyncs = shardSyncs;
+        this.locations = locations;
+        this.latencyBucketFrequencies = Objects.requireNonNull(latencyBucketFrequencies);
+        this.batchSizeBucketFrequencies = Objects.requireNonNull(batchSizeBucketFrequencies);
+        assert latencyBucketFrequencies.length == HandlingTimeTracker.BUCKET_COUNT;
+        assert batchSizeBucketFrequencies.length == HandlingTimeTracker.BUCKET_COUNT;
+    }
+
+    public TranslogSyncStats(StreamInput in) throws IOException {
+        batches = in.readVLong();
+        shardSyncs = in.readVLong();
+        locations = in.readVLong();
+        latencyBucketFrequencies = in.readVLongArray();
+        batchSizeBucketFrequencies = in.readVLongArray();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(batches);
+        out.writeVLong(shardSyncs);
+        out.writeVLong(locations);
+        out.writeVLongArray(latencyBucketFrequencies);
+        out.writeVLongArray(batchSizeBucketFrequencies);
+    }
+
+    /**
+     * The number of batches of translog locations that have been synced.
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * The number of per-shard translog syncs executed by all batches.
+     */
+    public long getShardSyncs() {
+        return shardSyncs;
+    }
+
+    /**
+     * The number of translog locations that have been made durable by all batches.
+     */
+    public long getLocations() {
+        return locations;
+    }
+
+    /**
+     * @return the frequencies of the batch sync durations in milliseconds, in buckets with upper bounds as returned by
+     *         {@link HandlingTimeTracker#getBucketUpperBounds()} plus an extra bucket for longer durations.
+     */
+    public long[] getLatencyBucketFrequencies() {
+        return Arrays.copyOf(latencyBucketFrequencies, latencyBucketFrequencies.length);
+    }
+
+    /**
+     * @return the frequencies of the number of locations per batch, in buckets with upper bounds as returned by
+     *         {@link HandlingTimeTracker#getBucketUpperBounds()} plus an extra bucket for larger batches.
+     */
+    public long[] getBatchSizeBucketFrequencies() {
+        return Arrays.copyOf(batchSizeBucketFrequencies, batchSizeBucketFrequencies.length);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(Fields.TRANSLOG_SYNC);
+        builder.field(Fields.BATCHES, batches);
+        builder.field(Fields.SHARD_SYNCS, shardSyncs);
+        builder.field(Fields.LOCATIONS, locations);
+        histogramToXContent(builder, latencyBucketFrequencies, Fields.LATENCY_HISTOGRAM, "millis");
+        histogramToXContent(builder, batchSizeBucketFrequencies, Fields.BATCH_SIZE_HISTOGRAM, "locations");
+        builder.endObject();
+        return builder;
+    }
+
+    private static void histogramToXContent(XContentBuilder builder, long[] bucketFrequencies, String fieldName, String unit)
+        throws IOException {
+        final int[] bucketBounds = HandlingTimeTracker.getBucketUpperBounds();
+        assert bucketFrequencies.length == bucketBounds.length + 1;
+        builder.startArray(fieldName);
+        for (int i = 0; i < bucketFrequencies.length; i++) {
+            builder.startObject();
+            if (i > 0 && i <= bucketBounds.length) {
+                builder.field("ge_" + unit, bucketBounds[i - 1]);
+            }
+            if (i < bucketBounds.length) {
+                builder.field("lt_" + unit, bucketBounds[i]);
+            }
+            builder.field("count", bucketFrequencies[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TranslogSyncStats that = (TranslogSyncStats) o;
+        return batches == that.batches
+            && shardSyncs == that.shardSyncs
+            && locations == that.locations
+            && Arrays.equals(latencyBucketFrequencies, that.latencyBucketFrequencies)
+            && Arrays.equals(batchSizeBucketFrequencies, that.batchSizeBucketFrequencies);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(batches, shardSyncs, locations);
+        result = 31 * result + Arrays.hashCode(latencyBucketFrequencies);
+        result = 31 * result + Arrays.hashCode(batchSizeBucketFrequencies);
+        return result;
+    }
+
+    static final class Fields {
+        static final String TRANSLOG_SYNC = "translog_sync";
+        static final String BATCHES = "batches";
+        static final String SHARD_SYNCS = "shard_syncs";
+        static final String LOCATIONS = "locations";
+        static final String LATENCY_HISTOGRAM = "latency_histogram";
+        static final String BATCH_SIZE_HISTOGRAM = "batch_size_histogram";
+    }
+}
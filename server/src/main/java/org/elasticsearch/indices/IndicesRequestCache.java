@@ -86,7 +86,9 @@ public final class IndicesRequestCache implements RemovalListener<IndicesRequest
         CacheBuilder<Key, BytesReference> cacheBuilder = CacheBuilder.<Key, BytesReference>builder()
             .setMaximumWeight(sizeInBytes)
             .weigher((k, v) -> k.ramBytesUsed() + v.ramBytesUsed())
-            .removalListener(this);
+            .removalListener(this)
+            // hits are far more frequent than insertions, don't make them contend on the LRU lock
+            .setBufferedPromotions(true);
         if (expire != null) {
             cacheBuilder.setExpireAfterAccess(expire);
         }
@@ -24,7 +24,6 @@ import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
 import org.elasticsearch.cluster.routing.RecoverySource.Type;
-import org.elasticsearch.cluster.routing.RoutingNode;
 import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
@@ -100,6 +99,9 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
 
     private final FailedShardHandler failedShardHandler = new FailedShardHandler();
 
+    // only accessed when applying cluster states, which is synchronized
+    private final LocalShardRoutings localShards = new LocalShardRoutings();
+
     private final List<IndexEventListener> buildInIndexListener;
     private final PrimaryReplicaSyncer primaryReplicaSyncer;
     private final RetentionLeaseSyncer retentionLeaseSyncer;
@@ -215,6 +217,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             return;
         }
 
+        localShards.update(event);
+
         updateFailedShardsCache(state);
 
         deleteIndices(event); // also deletes shards of deleted indices
@@ -234,18 +238,12 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
      * @param state new cluster state
      */
     private void updateFailedShardsCache(final ClusterState state) {
-        RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
-        if (localRoutingNode == null) {
-            failedShardsCache.clear();
-            return;
-        }
-
         DiscoveryNode masterNode = state.nodes().getMasterNode();
 
         // remove items from cache which are not in our routing table anymore and resend failures that have not executed on master yet
         for (Iterator<Map.Entry<ShardId, ShardRouting>> iterator = failedShardsCache.entrySet().iterator(); iterator.hasNext();) {
             ShardRouting failedShardRouting = iterator.next().getValue();
-            ShardRouting matchedRouting = localRoutingNode.getByShardId(failedShardRouting.shardId());
+            ShardRouting matchedRouting = localShards.getByShardId(failedShardRouting.shardId());
             if (matchedRouting == null || matchedRouting.isSameAllocation(failedShardRouting) == false) {
                 iterator.remove();
             } else {
@@ -359,10 +357,6 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
      */
     private void removeIndicesAndShards(final ClusterChangedEvent event) {
         final ClusterState state = event.state();
-        final String localNodeId = state.nodes().getLocalNodeId();
-        assert localNodeId != null;
-
-        RoutingNode localRoutingNode = state.getRoutingNodes().node(localNodeId);
         for (AllocatedIndex<? extends Shard> indexService : indicesService) {
             final Index index = indexService.getIndexSettings().getIndex();
             final IndexMetadata indexMetadata = state.metadata().index(index);
@@ -371,7 +365,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             AllocatedIndices.IndexRemovalReason reason = null;
             if (indexMetadata != null && indexMetadata.getState() != existingMetadata.getState()) {
                 reason = indexMetadata.getState() == IndexMetadata.State.CLOSE ? CLOSED : REOPENED;
-            } else if (localRoutingNode == null || localRoutingNode.hasIndex(index) == false) {
+            } else if (localShards.hasIndex(index) == false) {
                 // if the cluster change indicates a brand new cluster, we only want
                 // to remove the in-memory structures for the index and not delete the
                 // contents on disk because the index will later be re-imported as a
@@ -392,7 +386,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
                 for (Shard shard : indexService) {
                     ShardRouting currentRoutingEntry = shard.routingEntry();
                     ShardId shardId = currentRoutingEntry.shardId();
-                    ShardRouting newShardRouting = localRoutingNode.getByShardId(shardId);
+                    ShardRouting newShardRouting = localShards.getByShardId(shardId);
                     if (newShardRouting == null) {
                         // we can just remove the shard without cleaning it locally, since we will clean it in IndicesStore
                         // once all shards are allocated
@@ -433,17 +427,12 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
      */
     private void createIndicesAndUpdateShards(final ClusterState state) {
         DiscoveryNodes nodes = state.nodes();
-        RoutingNode localRoutingNode = state.getRoutingNodes().node(nodes.getLocalNodeId());
-        if (localRoutingNode == null) {
-            return;
-        }
-
         RoutingTable routingTable = state.routingTable();
 
         // create map of indices to create with shards to fail if index creation fails or create or update shards if an existing index
         // service is found
         final Map<Index, List<ShardRouting>> indicesToCreate = new HashMap<>();
-        for (ShardRouting shardRouting : localRoutingNode) {
+        for (ShardRouting shardRouting : localShards) {
             ShardId shardId = shardRouting.shardId();
             if (failedShardsCache.containsKey(shardId) == false) {
                 final Index index = shardRouting.index();
@@ -538,12 +527,9 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
                     indicesService.removeIndex(index, FAILURE, "removing index (" + reason + ")");
 
                     // fail shards that would be created or updated by createOrUpdateShards
-                    RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
-                    if (localRoutingNode != null) {
-                        for (final ShardRouting shardRouting : localRoutingNode) {
-                            if (shardRouting.index().equals(index) && failedShardsCache.containsKey(shardRouting.shardId()) == false) {
-                                sendFailShard(shardRouting, "failed to update index (" + reason + ")", e, state);
-                            }
+                    for (final ShardRouting shardRouting : localShards.shardsOf(index)) {
+                        if (failedShardsCache.containsKey(shardRouting.shardId()) == false) {
+                            sendFailShard(shardRouting, "failed to update index (" + reason + ")", e, state);
                         }
                     }
                 }
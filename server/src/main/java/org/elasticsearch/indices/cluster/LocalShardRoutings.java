@@ -0,0 +1,145 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.indices.cluster;
+
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingNode;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shards assigned to the local node by the routing table of the last applied cluster state, including the targets of the shards
+ * relocating to the local node, like the {@link RoutingNode} of the local node. Rather than building the routing nodes of the whole
+ * cluster for each new cluster state, this is updated from {@link ClusterChangedEvent#indicesWithRoutingChanges()} so that the cost of
+ * applying a cluster state is proportional to the number of indices whose routing changed rather than to the number of shards in the
+ * cluster.
+ */
+final class LocalShardRoutings implements Iterable<ShardRouting> {
+
+    private final Map<Index, Map<ShardId, ShardRouting>> shardsByIndex = new LinkedHashMap<>();
+
+    @Nullable // if not updated yet
+    private String localNodeId;
+
+    @Nullable // if not updated yet
+    private RoutingTable routingTable;
+
+    /**
+     * Updates the local shards to the routing table of the new state of the given event, incrementally if the local shards reflect the
+     * routing table of the previous state of the event, and from scratch otherwise.
+     */
+    void update(ClusterChangedEvent event) {
+        final ClusterState state = event.state();
+        final String nodeId = state.nodes().getLocalNodeId();
+        assert nodeId != null;
+        if (nodeId.equals(localNodeId) && routingTable == event.previousState().routingTable()) {
+            for (Index index : event.indicesWithRoutingChanges()) {
+                shardsByIndex.remove(index);
+                final IndexRoutingTable indexRoutingTable = state.routingTable().index(index);
+                if (indexRoutingTable != null) {
+                    addLocalShards(indexRoutingTable);
+                }
+            }
+        } else {
+            // first update, or some states were not applied in between
+            localNodeId = nodeId;
+            shardsByIndex.clear();
+            for (IndexRoutingTable indexRoutingTable : state.routingTable()) {
+                addLocalShards(indexRoutingTable);
+            }
+        }
+        routingTable = state.routingTable();
+        assert assertMatchesRoutingNode(state);
+    }
+
+    private void addLocalShards(IndexRoutingTable indexRoutingTable) {
+        Map<ShardId, ShardRouting> localShards = null;
+        for (int shardId = 0; shardId < indexRoutingTable.size(); shardId++) {
+            final IndexShardRoutingTable indexShard = indexRoutingTable.shard(shardId);
+            for (int copy = 0; copy < indexShard.size(); copy++) {
+                final ShardRouting shard = indexShard.shard(copy);
+                final ShardRouting localShard;
+                if (localNodeId.equals(shard.currentNodeId())) {
+                    localShard = shard;
+                } else if (shard.relocating() && localNodeId.equals(shard.relocatingNodeId())) {
+                    localShard = shard.getTargetRelocatingShard();
+                } else {
+                    continue;
+                }
+                if (localShards == null) {
+                    localShards = new HashMap<>();
+                    shardsByIndex.put(indexRoutingTable.getIndex(), localShards);
+                }
+                final ShardRouting previous = localShards.put(localShard.shardId(), localShard);
+                assert previous == null : "shard " + localShard + " is assigned to the local node twice, previous copy " + previous;
+            }
+        }
+    }
+
+    private boolean assertMatchesRoutingNode(ClusterState state) {
+        // only check small states, building the routing nodes is what this class avoids
+        if (state.routingTable().indicesRouting().size() <= 10) {
+            final RoutingNode routingNode = state.getRoutingNodes().node(localNodeId);
+            int size = 0;
+            if (routingNode != null) {
+                for (ShardRouting shardRouting : routingNode) {
+                    assert shardRouting.equals(getByShardId(shardRouting.shardId())) : shardRouting + " vs " + shardsByIndex;
+                    size++;
+                }
+            }
+            int localSize = 0;
+            for (ShardRouting ignored : this) {
+                localSize++;
+            }
+            assert size == localSize : routingNode + " vs " + shardsByIndex;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if at least one shard of the given index is assigned to the local node.
+     */
+    boolean hasIndex(Index index) {
+        return shardsByIndex.containsKey(index);
+    }
+
+    /**
+     * Returns the routing of the copy of the given shard assigned to the local node, or {@code null} if there is none.
+     */
+    @Nullable
+    ShardRouting getByShardId(ShardId shardId) {
+        final Map<ShardId, ShardRouting> localShards = shardsByIndex.get(shardId.getIndex());
+        return localShards == null ? null : localShards.get(shardId);
+    }
+
+    /**
+     * Returns the routings of the shards of the given index that are assigned to the local node.
+     */
+    Iterable<ShardRouting> shardsOf(Index index) {
+        final Map<ShardId, ShardRouting> localShards = shardsByIndex.get(index);
+        return localShards == null ? List.of() : localShards.values();
+    }
+
+    @Override
+    public Iterator<ShardRouting> iterator() {
+        return shardsByIndex.values().stream().flatMap(localShards -> localShards.values().stream()).iterator();
+    }
+}
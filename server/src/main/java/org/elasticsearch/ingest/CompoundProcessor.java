@@ -9,6 +9,7 @@
 package org.elasticsearch.ingest;
 
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.core.Tuple;
 
 import java.util.ArrayList;
@@ -16,6 +17,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.BiConsumer;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
@@ -215,6 +217,124 @@ public class CompoundProcessor implements Processor {
         }
     }
 
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        final int[] slots = new int[ingestDocuments.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = i;
+        }
+        innerExecuteBatch(0, ingestDocuments, slots, handler);
+    }
+
+    /**
+     * Executes the processors from <code>currentProcessor</code> on a batch of documents. Each processor gets the documents
+     * that the previous processors kept, a document that fails goes through the on failure processors on its own.
+     *
+     * @param slots The position in the batch of the caller of each document of <code>ingestDocuments</code>
+     */
+    void innerExecuteBatch(int currentProcessor, List<IngestDocument> ingestDocuments, int[] slots, BatchHandler handler) {
+        if (ingestDocuments.isEmpty()) {
+            return;
+        }
+        if (currentProcessor == processorsWithMetrics.size()) {
+            for (int i = 0; i < slots.length; i++) {
+                handler.accept(slots[i], ingestDocuments.get(i), null);
+            }
+            return;
+        }
+        if (ingestDocuments.size() == 1) {
+            innerExecute(currentProcessor, ingestDocuments.get(0), (result, e) -> handler.accept(slots[0], result, e));
+            return;
+        }
+        final ProcessorBatch batch = new ProcessorBatch(currentProcessor, ingestDocuments, slots, handler);
+        try {
+            batch.processor.executeBatch(ingestDocuments, batch);
+        } catch (Exception e) {
+            batch.failIncomplete(e);
+        }
+    }
+
+    /**
+     * Collects the results of one processor for a batch of documents and hands the documents it kept to the next processor
+     * once all of them are complete.
+     */
+    private final class ProcessorBatch implements BatchHandler {
+        private final int currentProcessor;
+        private final Processor processor;
+        private final IngestMetric metric;
+        private final List<IngestDocument> ingestDocuments;
+        private final int[] slots;
+        private final BatchHandler handler;
+        private final IngestDocument[] results;
+        private final Exception[] failures;
+        private final AtomicIntegerArray completed;
+        private final CountDown countDown;
+        private final long startTimeInNanos;
+
+        ProcessorBatch(int currentProcessor, List<IngestDocument> ingestDocuments, int[] slots, BatchHandler handler) {
+            this.currentProcessor = currentProcessor;
+            this.processor = processorsWithMetrics.get(currentProcessor).v1();
+            this.metric = processorsWithMetrics.get(currentProcessor).v2();
+            this.ingestDocuments = ingestDocuments;
+            this.slots = slots;
+            this.handler = handler;
+            this.results = new IngestDocument[ingestDocuments.size()];
+            this.failures = new Exception[ingestDocuments.size()];
+            this.completed = new AtomicIntegerArray(ingestDocuments.size());
+            this.countDown = new CountDown(ingestDocuments.size());
+            this.startTimeInNanos = relativeTimeProvider.getAsLong();
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                metric.preIngest();
+            }
+        }
+
+        @Override
+        public void accept(int slot, IngestDocument result, Exception e) {
+            final boolean first = complete(slot, result, e);
+            assert first : "processor [" + processor.getType() + "] completed document [" + slot + "] more than once";
+        }
+
+        /**
+         * Fails the documents that the processor did not complete before it threw the provided exception.
+         */
+        void failIncomplete(Exception e) {
+            for (int i = 0; i < results.length; i++) {
+                complete(i, null, e);
+            }
+        }
+
+        private boolean complete(int slot, IngestDocument result, Exception e) {
+            if (completed.compareAndSet(slot, 0, 1) == false) {
+                return false;
+            }
+            metric.postIngest(relativeTimeProvider.getAsLong() - startTimeInNanos);
+            results[slot] = result;
+            failures[slot] = e;
+            if (countDown.countDown()) {
+                executeNext();
+            }
+            return true;
+        }
+
+        private void executeNext() {
+            final List<IngestDocument> kept = new ArrayList<>(results.length);
+            final int[] keptSlots = new int[results.length];
+            for (int i = 0; i < results.length; i++) {
+                final int slot = slots[i];
+                if (failures[i] != null) {
+                    BiConsumer<IngestDocument, Exception> documentHandler = (result, e) -> handler.accept(slot, result, e);
+                    executeOnFailureOuter(currentProcessor, ingestDocuments.get(i), documentHandler, processor, metric, failures[i]);
+                } else if (results[i] == null) {
+                    handler.accept(slot, null, null);
+                } else {
+                    keptSlots[kept.size()] = slot;
+                    kept.add(results[i]);
+                }
+            }
+            innerExecuteBatch(currentProcessor + 1, kept, Arrays.copyOf(keptSlots, kept.size()), handler);
+        }
+    }
+
     private void executeOnFailureOuter(
         int currentProcessor,
         IngestDocument ingestDocument,
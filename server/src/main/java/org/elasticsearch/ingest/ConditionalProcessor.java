@@ -136,6 +136,46 @@ public class ConditionalProcessor extends AbstractProcessor implements WrappingP
         }
     }
 
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        // only the documents that match the condition go through the wrapped processor, as one batch
+        final List<IngestDocument> matching = new ArrayList<>(ingestDocuments.size());
+        final int[] matchingSlots = new int[ingestDocuments.size()];
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            final boolean matches;
+            try {
+                matches = evaluate(ingestDocument);
+            } catch (Exception e) {
+                handler.accept(i, null, e);
+                continue;
+            }
+            if (matches) {
+                matchingSlots[matching.size()] = i;
+                matching.add(ingestDocument);
+            } else {
+                handler.accept(i, ingestDocument, null);
+            }
+        }
+        if (matching.isEmpty()) {
+            return;
+        }
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        for (int i = 0; i < matching.size(); i++) {
+            metric.preIngest();
+        }
+        processor.executeBatch(matching, (slot, result, e) -> {
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            metric.postIngest(ingestTimeInNanos);
+            if (e != null) {
+                metric.ingestFailed();
+                handler.accept(matchingSlots[slot], null, e);
+            } else {
+                handler.accept(matchingSlots[slot], result, null);
+            }
+        });
+    }
+
     boolean evaluate(IngestDocument ingestDocument) {
         IngestConditionalScript script = precompiledConditionScript;
         if (script == null) {
@@ -842,6 +842,43 @@ public final class IngestDocument {
         }
     }
 
+    /**
+     * Executes the given pipeline as one batch for the given documents, except for the documents that already execute it,
+     * see {@link #executePipeline(Pipeline, BiConsumer)}.
+     *
+     * @param pipeline the pipeline to execute
+     * @param ingestDocuments the documents to execute the pipeline for
+     * @param handler handles the result or failure of each document
+     */
+    static void executePipeline(Pipeline pipeline, List<IngestDocument> ingestDocuments, Processor.BatchHandler handler) {
+        final List<IngestDocument> executing = new ArrayList<>(ingestDocuments.size());
+        final int[] executingSlots = new int[ingestDocuments.size()];
+        final Object[] previousPipelines = new Object[ingestDocuments.size()];
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            if (ingestDocument.executedPipelines.add(pipeline.getId())) {
+                previousPipelines[executing.size()] = ingestDocument.ingestMetadata.put("pipeline", pipeline.getId());
+                executingSlots[executing.size()] = i;
+                executing.add(ingestDocument);
+            } else {
+                handler.accept(i, null, new IllegalStateException(PIPELINE_CYCLE_ERROR_MESSAGE + pipeline.getId()));
+            }
+        }
+        if (executing.isEmpty()) {
+            return;
+        }
+        pipeline.executeBatch(executing, (slot, result, e) -> {
+            final IngestDocument ingestDocument = executing.get(slot);
+            ingestDocument.executedPipelines.remove(pipeline.getId());
+            if (previousPipelines[slot] != null) {
+                ingestDocument.ingestMetadata.put("pipeline", previousPipelines[slot]);
+            } else {
+                ingestDocument.ingestMetadata.remove("pipeline");
+            }
+            handler.accept(executingSlots[slot], result, e);
+        });
+    }
+
     /**
      * @return a pipeline stack; all pipelines that are in execution by this document in reverse order
      */
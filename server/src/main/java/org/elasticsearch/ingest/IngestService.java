@@ -42,6 +42,7 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Priority;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.regex.Regex;
+import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.xcontent.XContentHelper;
@@ -65,6 +66,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -90,6 +92,17 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
 
     public static final String INGEST_ORIGIN = "ingest";
 
+    /**
+     * The number of documents of a bulk request that a thread runs through their pipelines, larger bulk requests are split into
+     * batches of this size that run concurrently on the executor of the bulk request.
+     */
+    public static final Setting<Integer> BULK_BATCH_SIZE_SETTING = Setting.intSetting(
+        "ingest.bulk.batch_size",
+        256,
+        1,
+        Setting.Property.NodeScope
+    );
+
     private static final Logger logger = LogManager.getLogger(IngestService.class);
 
     private final ClusterService clusterService;
@@ -102,6 +115,7 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
     private volatile Map<String, PipelineHolder> pipelines = Map.of();
     private final ThreadPool threadPool;
     private final IngestMetric totalMetrics = new IngestMetric();
+    private final int bulkBatchSize;
     private final List<Consumer<ClusterState>> ingestClusterStateListeners = new CopyOnWriteArrayList<>();
     private volatile ClusterState state;
 
@@ -175,6 +189,7 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         );
 
         this.threadPool = threadPool;
+        this.bulkBatchSize = BULK_BATCH_SIZE_SETTING.get(env == null ? Settings.EMPTY : env.settings());
     }
 
     private static Map<String, Processor.Factory> processorFactories(List<IngestPlugin> ingestPlugins, Processor.Parameters parameters) {
@@ -668,6 +683,7 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
             protected void doRun() {
                 final Thread originalThread = Thread.currentThread();
                 final AtomicInteger counter = new AtomicInteger(numberOfActionRequests);
+                final List<BulkItem> items = new ArrayList<>();
                 int i = 0;
                 for (DocWriteRequest<?> actionRequest : actionRequests) {
                     IndexRequest indexRequest = TransportBulkAction.getIndexWriteRequest(actionRequest);
@@ -703,24 +719,85 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
                         continue;
                     }
 
+                    items.add(new BulkItem(i, indexRequest, pipelines, hasFinalPipeline));
+                    i++;
+                }
+
+                // the documents are independent of each other, so batches of them run concurrently on the executor while this thread
+                // runs the first batch, which is all the documents of small bulk requests
+                for (int from = bulkBatchSize; from < items.size(); from += bulkBatchSize) {
+                    final List<BulkItem> batch = items.subList(from, Math.min(items.size(), from + bulkBatchSize));
+                    threadPool.executor(executorName).execute(new AbstractRunnable() {
+                        @Override
+                        protected void doRun() {
+                            executeBatch(batch, onDropped, onFailure, counter, onCompletion, originalThread);
+                        }
+
+                        @Override
+                        public void onRejection(Exception e) {
+                            // the documents were already accepted with the bulk request, run them on the submitting thread instead
+                            doRun();
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            onCompletion.accept(null, e);
+                        }
+                    });
+                }
+                executeBatch(
+                    items.subList(0, Math.min(items.size(), bulkBatchSize)),
+                    onDropped,
+                    onFailure,
+                    counter,
+                    onCompletion,
+                    originalThread
+                );
+            }
+        });
+    }
+
+    private void executeBatch(
+        final List<BulkItem> batch,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread
+    ) {
+        // the documents that start with the same pipeline run it as one batch, so that processors can share work between them
+        final Map<String, List<BulkItem>> itemsByPipeline = new LinkedHashMap<>();
+        for (BulkItem item : batch) {
+            itemsByPipeline.computeIfAbsent(item.pipelines().get(0), k -> new ArrayList<>()).add(item);
+        }
+        for (Map.Entry<String, List<BulkItem>> entry : itemsByPipeline.entrySet()) {
+            final List<BulkItem> items = entry.getValue();
+            final PipelineHolder holder = pipelines.get(entry.getKey());
+            if (holder == null || items.size() == 1 || holder.pipeline.getProcessors().isEmpty()) {
+                for (BulkItem item : items) {
                     executePipelines(
-                        i,
-                        pipelines.iterator(),
-                        hasFinalPipeline,
-                        indexRequest,
+                        item.slot(),
+                        item.pipelines().iterator(),
+                        item.hasFinalPipeline(),
+                        item.indexRequest(),
                         onDropped,
                         onFailure,
                         counter,
                         onCompletion,
                         originalThread
                     );
-
-                    i++;
                 }
+            } else {
+                executePipelineBatch(holder.pipeline, items, onDropped, onFailure, counter, onCompletion, originalThread);
             }
-        });
+        }
     }
 
+    /**
+     * An index request of a bulk request that goes through ingest pipelines, with its slot in the bulk request.
+     */
+    private record BulkItem(int slot, IndexRequest indexRequest, List<String> pipelines, boolean hasFinalPipeline) {}
+
     private void executePipelines(
         final int slot,
         final Iterator<String> it,
@@ -741,68 +818,147 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
             }
             Pipeline pipeline = holder.pipeline;
             String originalIndex = indexRequest.indices()[0];
-            innerExecute(slot, indexRequest, pipeline, onDropped, e -> {
-                if (e != null) {
-                    logger.debug(
-                        () -> format(
-                            "failed to execute pipeline [%s] for document [%s/%s]",
-                            pipelineId,
-                            indexRequest.index(),
-                            indexRequest.id()
-                        ),
-                        e
-                    );
-                    onFailure.accept(slot, e);
-                }
+            innerExecute(
+                slot,
+                indexRequest,
+                pipeline,
+                onDropped,
+                e -> onPipelineExecuted(
+                    slot,
+                    pipelineId,
+                    originalIndex,
+                    it,
+                    hasFinalPipeline,
+                    indexRequest,
+                    onDropped,
+                    onFailure,
+                    counter,
+                    onCompletion,
+                    originalThread,
+                    e
+                )
+            );
+        } catch (Exception e) {
+            onPipelineFailure(slot, pipelineId, indexRequest, onFailure, counter, onCompletion, originalThread, e);
+        }
+    }
 
-                Iterator<String> newIt = it;
-                boolean newHasFinalPipeline = hasFinalPipeline;
-                String newIndex = indexRequest.indices()[0];
-
-                if (Objects.equals(originalIndex, newIndex) == false) {
-                    if (hasFinalPipeline && it.hasNext() == false) {
-                        totalMetrics.ingestFailed();
-                        onFailure.accept(
-                            slot,
-                            new IllegalStateException("final pipeline [" + pipelineId + "] can't change the target index")
-                        );
-                    } else {
-                        indexRequest.isPipelineResolved(false);
-                        resolvePipelines(null, indexRequest, state.metadata());
-                        if (IngestService.NOOP_PIPELINE_NAME.equals(indexRequest.getFinalPipeline()) == false) {
-                            newIt = Collections.singleton(indexRequest.getFinalPipeline()).iterator();
-                            newHasFinalPipeline = true;
-                        } else {
-                            newIt = Collections.emptyIterator();
-                        }
-                    }
-                }
+    /**
+     * Executes the first pipeline of the given items as one batch, so that its processors can share their lookups between the
+     * documents, and then the remaining pipelines of each item on its own.
+     */
+    private void executePipelineBatch(
+        final Pipeline pipeline,
+        final List<BulkItem> items,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread
+    ) {
+        final List<BulkItem> batchItems = new ArrayList<>(items.size());
+        final List<IngestDocument> ingestDocuments = new ArrayList<>(items.size());
+        final List<String> originalIndices = new ArrayList<>(items.size());
+        for (BulkItem item : items) {
+            final IngestDocument ingestDocument;
+            try {
+                ingestDocument = newIngestDocument(item.indexRequest());
+            } catch (Exception e) {
+                onPipelineFailure(item.slot(), pipeline.getId(), item.indexRequest(), onFailure, counter, onCompletion, originalThread, e);
+                continue;
+            }
+            batchItems.add(item);
+            ingestDocuments.add(ingestDocument);
+            originalIndices.add(item.indexRequest().indices()[0]);
+        }
+        if (batchItems.isEmpty()) {
+            return;
+        }
 
-                if (newIt.hasNext()) {
-                    executePipelines(
-                        slot,
-                        newIt,
-                        newHasFinalPipeline,
-                        indexRequest,
-                        onDropped,
-                        onFailure,
-                        counter,
-                        onCompletion,
-                        originalThread
-                    );
-                } else {
-                    if (counter.decrementAndGet() == 0) {
-                        onCompletion.accept(originalThread, null);
-                    }
-                    assert counter.get() >= 0;
-                }
-            });
-        } catch (Exception e) {
+        final long startTimeInNanos = System.nanoTime();
+        for (int i = 0; i < batchItems.size(); i++) {
+            totalMetrics.preIngest();
+        }
+        IngestDocument.executePipeline(pipeline, ingestDocuments, (i, result, e) -> {
+            final BulkItem item = batchItems.get(i);
+            final Iterator<String> it = item.pipelines().iterator();
+            // skip the pipeline that was just executed
+            it.next();
+            onIngestDocumentExecuted(
+                item.slot(),
+                item.indexRequest(),
+                pipeline,
+                ingestDocuments.get(i),
+                startTimeInNanos,
+                result,
+                e,
+                onDropped,
+                ex -> onPipelineExecuted(
+                    item.slot(),
+                    pipeline.getId(),
+                    originalIndices.get(i),
+                    it,
+                    item.hasFinalPipeline(),
+                    item.indexRequest(),
+                    onDropped,
+                    onFailure,
+                    counter,
+                    onCompletion,
+                    originalThread,
+                    ex
+                )
+            );
+        });
+    }
+
+    /**
+     * Moves on to the next pipeline of an index request once a pipeline was executed for it, or completes the request.
+     */
+    private void onPipelineExecuted(
+        final int slot,
+        final String pipelineId,
+        final String originalIndex,
+        final Iterator<String> it,
+        final boolean hasFinalPipeline,
+        final IndexRequest indexRequest,
+        final IntConsumer onDropped,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread,
+        final Exception e
+    ) {
+        if (e != null) {
             logger.debug(
                 () -> format("failed to execute pipeline [%s] for document [%s/%s]", pipelineId, indexRequest.index(), indexRequest.id()),
                 e
             );
             onFailure.accept(slot, e);
+        }
+
+        Iterator<String> newIt = it;
+        boolean newHasFinalPipeline = hasFinalPipeline;
+        String newIndex = indexRequest.indices()[0];
+
+        if (Objects.equals(originalIndex, newIndex) == false) {
+            if (hasFinalPipeline && it.hasNext() == false) {
+                totalMetrics.ingestFailed();
+                onFailure.accept(slot, new IllegalStateException("final pipeline [" + pipelineId + "] can't change the target index"));
+            } else {
+                indexRequest.isPipelineResolved(false);
+                resolvePipelines(null, indexRequest, state.metadata());
+                if (IngestService.NOOP_PIPELINE_NAME.equals(indexRequest.getFinalPipeline()) == false) {
+                    newIt = Collections.singleton(indexRequest.getFinalPipeline()).iterator();
+                    newHasFinalPipeline = true;
+                } else {
+                    newIt = Collections.emptyIterator();
+                }
+            }
+        }
+
+        if (newIt.hasNext()) {
+            executePipelines(slot, newIt, newHasFinalPipeline, indexRequest, onDropped, onFailure, counter, onCompletion, originalThread);
+        } else {
             if (counter.decrementAndGet() == 0) {
                 onCompletion.accept(originalThread, null);
             }
@@ -810,6 +966,30 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         }
     }
 
+    /**
+     * Fails an index request whose pipeline could not be executed at all.
+     */
+    private static void onPipelineFailure(
+        final int slot,
+        final String pipelineId,
+        final IndexRequest indexRequest,
+        final BiConsumer<Integer, Exception> onFailure,
+        final AtomicInteger counter,
+        final BiConsumer<Thread, Exception> onCompletion,
+        final Thread originalThread,
+        final Exception e
+    ) {
+        logger.debug(
+            () -> format("failed to execute pipeline [%s] for document [%s/%s]", pipelineId, indexRequest.index(), indexRequest.id()),
+            e
+        );
+        onFailure.accept(slot, e);
+        if (counter.decrementAndGet() == 0) {
+            onCompletion.accept(originalThread, null);
+        }
+        assert counter.get() >= 0;
+    }
+
     public IngestStats stats() {
         IngestStats.Builder statsBuilder = new IngestStats.Builder();
         statsBuilder.addTotalMetrics(totalMetrics);
@@ -877,69 +1057,101 @@ public class IngestService implements ClusterStateApplier, ReportingService<Inge
         // the pipeline specific stat holder may not exist and that is fine:
         // (e.g. the pipeline may have been removed while we're ingesting a document
         totalMetrics.preIngest();
+        IngestDocument ingestDocument = newIngestDocument(indexRequest);
+        ingestDocument.executePipeline(
+            pipeline,
+            (result, e) -> onIngestDocumentExecuted(
+                slot,
+                indexRequest,
+                pipeline,
+                ingestDocument,
+                startTimeInNanos,
+                result,
+                e,
+                itemDroppedHandler,
+                handler
+            )
+        );
+    }
+
+    private static IngestDocument newIngestDocument(IndexRequest indexRequest) {
         String index = indexRequest.index();
         String id = indexRequest.id();
         String routing = indexRequest.routing();
         long version = indexRequest.version();
         VersionType versionType = indexRequest.versionType();
         Map<String, Object> sourceAsMap = indexRequest.sourceAsMap();
-        IngestDocument ingestDocument = new IngestDocument(index, id, version, routing, versionType, sourceAsMap);
-        ingestDocument.executePipeline(pipeline, (result, e) -> {
-            long ingestTimeInNanos = System.nanoTime() - startTimeInNanos;
-            totalMetrics.postIngest(ingestTimeInNanos);
-            if (e != null) {
-                totalMetrics.ingestFailed();
-                handler.accept(e);
-            } else if (result == null) {
-                itemDroppedHandler.accept(slot);
-                handler.accept(null);
-            } else {
-                org.elasticsearch.script.Metadata metadata = ingestDocument.getMetadata();
-
-                // it's fine to set all metadata fields all the time, as ingest document holds their starting values
-                // before ingestion, which might also get modified during ingestion.
-                indexRequest.index(metadata.getIndex());
-                indexRequest.id(metadata.getId());
-                indexRequest.routing(metadata.getRouting());
-                indexRequest.version(metadata.getVersion());
-                if (metadata.getVersionType() != null) {
-                    indexRequest.versionType(VersionType.fromString(metadata.getVersionType()));
-                }
-                Number number;
-                if ((number = metadata.getIfSeqNo()) != null) {
-                    indexRequest.setIfSeqNo(number.longValue());
-                }
-                if ((number = metadata.getIfPrimaryTerm()) != null) {
-                    indexRequest.setIfPrimaryTerm(number.longValue());
-                }
-                try {
-                    boolean ensureNoSelfReferences = ingestDocument.doNoSelfReferencesCheck();
-                    indexRequest.source(ingestDocument.getSource(), indexRequest.getContentType(), ensureNoSelfReferences);
-                } catch (IllegalArgumentException ex) {
-                    // An IllegalArgumentException can be thrown when an ingest
-                    // processor creates a source map that is self-referencing.
-                    // In that case, we catch and wrap the exception so we can
-                    // include which pipeline failed.
-                    totalMetrics.ingestFailed();
-                    handler.accept(
-                        new IllegalArgumentException(
-                            "Failed to generate the source document for ingest pipeline [" + pipeline.getId() + "]",
-                            ex
-                        )
-                    );
-                    return;
-                }
-                Map<String, String> map;
-                if ((map = metadata.getDynamicTemplates()) != null) {
-                    Map<String, String> mergedDynamicTemplates = new HashMap<>(indexRequest.getDynamicTemplates());
-                    mergedDynamicTemplates.putAll(map);
-                    indexRequest.setDynamicTemplates(mergedDynamicTemplates);
-                }
-                postIngest(ingestDocument, indexRequest);
+        return new IngestDocument(index, id, version, routing, versionType, sourceAsMap);
+    }
 
-                handler.accept(null);
+    /**
+     * Updates the index request with the outcome of a pipeline that was executed for its ingest document.
+     */
+    private void onIngestDocumentExecuted(
+        int slot,
+        IndexRequest indexRequest,
+        Pipeline pipeline,
+        IngestDocument ingestDocument,
+        long startTimeInNanos,
+        IngestDocument result,
+        Exception e,
+        IntConsumer itemDroppedHandler,
+        Consumer<Exception> handler
+    ) {
+        long ingestTimeInNanos = System.nanoTime() - startTimeInNanos;
+        totalMetrics.postIngest(ingestTimeInNanos);
+        if (e != null) {
+            totalMetrics.ingestFailed();
+            handler.accept(e);
+        } else if (result == null) {
+            itemDroppedHandler.accept(slot);
+            handler.accept(null);
+        } else {
+            org.elasticsearch.script.Metadata metadata = ingestDocument.getMetadata();
+
+            // it's fine to set all metadata fields all the time, as ingest document holds their starting values
+            // before ingestion, which might also get modified during ingestion.
+            indexRequest.index(metadata.getIndex());
+            indexRequest.id(metadata.getId());
+            indexRequest.routing(metadata.getRouting());
+            indexRequest.version(metadata.getVersion());
+            if (metadata.getVersionType() != null) {
+                indexRequest.versionType(VersionType.fromString(metadata.getVersionType()));
             }
-        });
+            Number number;
+            if ((number = metadata.getIfSeqNo()) != null) {
+                indexRequest.setIfSeqNo(number.longValue());
+            }
+            if ((number = metadata.getIfPrimaryTerm()) != null) {
+                indexRequest.setIfPrimaryTerm(number.longValue());
+            }
+            try {
+                boolean ensureNoSelfReferences = ingestDocument.doNoSelfReferencesCheck();
+                indexRequest.source(ingestDocument.getSource(), indexRequest.getContentType(), ensureNoSelfReferences);
+            } catch (IllegalArgumentException ex) {
+                // An IllegalArgumentException can be thrown when an ingest
+                // processor creates a source map that is self-referencing.
+                // In that case, we catch and wrap the exception so we can
+                // include which pipeline failed.
+                totalMetrics.ingestFailed();
+                handler.accept(
+                    new IllegalArgumentException(
+                        "Failed to generate the source document for ingest pipeline [" + pipeline.getId() + "]",
+                        ex
+                    )
+                );
+                return;
+            }
+            Map<String, String> map;
+            if ((map = metadata.getDynamicTemplates()) != null) {
+                Map<String, String> mergedDynamicTemplates = new HashMap<>(indexRequest.getDynamicTemplates());
+                mergedDynamicTemplates.putAll(map);
+                indexRequest.setDynamicTemplates(mergedDynamicTemplates);
+            }
+            postIngest(ingestDocument, indexRequest);
+
+            handler.accept(null);
+        }
     }
 
     private void postIngest(IngestDocument ingestDocument, IndexRequest indexRequest) {
@@ -124,6 +124,25 @@ public final class Pipeline {
         });
     }
 
+    /**
+     * Modifies the data of a batch of documents to be indexed based on the processor this pipeline holds,
+     * see {@link Processor#executeBatch(List, Processor.BatchHandler)}.
+     */
+    public void executeBatch(List<IngestDocument> ingestDocuments, Processor.BatchHandler handler) {
+        final long startTimeInNanos = relativeTimeProvider.getAsLong();
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            metrics.preIngest();
+        }
+        compoundProcessor.executeBatch(ingestDocuments, (slot, result, e) -> {
+            long ingestTimeInNanos = relativeTimeProvider.getAsLong() - startTimeInNanos;
+            metrics.postIngest(ingestTimeInNanos);
+            if (e != null) {
+                metrics.ingestFailed();
+            }
+            handler.accept(slot, result, e);
+        });
+    }
+
     /**
      * The unique id of this pipeline
      */
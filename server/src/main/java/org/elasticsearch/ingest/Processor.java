@@ -15,6 +15,7 @@ import org.elasticsearch.index.analysis.AnalysisRegistry;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.threadpool.Scheduler;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -58,6 +59,33 @@ public interface Processor {
         return ingestDocument;
     }
 
+    /**
+     * Introspect and potentially modify a batch of documents, so that processors can share the cost of their lookups between
+     * documents, e.g. by looking up each distinct value once.
+     *
+     * The handler must be called exactly once per document, with the position of the document in <code>ingestDocuments</code>
+     * and the same arguments as the handler of {@link #execute(IngestDocument, BiConsumer)}. It may be called in any order and
+     * from any thread. The default implementation executes each document on its own.
+     */
+    default void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final int slot = i;
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            if (isAsync()) {
+                execute(ingestDocument, (result, e) -> handler.accept(slot, result, e));
+            } else {
+                final IngestDocument result;
+                try {
+                    result = execute(ingestDocument);
+                } catch (Exception e) {
+                    handler.accept(slot, null, e);
+                    continue;
+                }
+                handler.accept(slot, result, null);
+            }
+        }
+    }
+
     /**
      * Gets the type of a processor
      */
@@ -77,6 +105,20 @@ public interface Processor {
         return false;
     }
 
+    /**
+     * Handles the result of each document of a batch, see {@link #executeBatch(List, BatchHandler)}.
+     */
+    @FunctionalInterface
+    interface BatchHandler {
+
+        /**
+         * @param slot The position of the document in the batch
+         * @param ingestDocument The processed document, <code>null</code> if it was dropped
+         * @param e The failure of the document, <code>null</code> if it was processed
+         */
+        void accept(int slot, IngestDocument ingestDocument, Exception e);
+    }
+
     /**
      * A factory that knows how to construct a processor based on a map of maps.
      */
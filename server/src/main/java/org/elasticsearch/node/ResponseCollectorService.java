@@ -28,7 +28,9 @@ import java.util.concurrent.ConcurrentMap;
 /**
  * Collects statistics about queue size, response time, and service time of
  * tasks executed on each node, making the EWMA of the values available to the
- * coordinating node.
+ * coordinating node. It also tracks the queries that are in flight to each
+ * node, so that a node that stops responding, for instance because of a long
+ * GC pause, is ranked as slow before its delayed responses arrive.
  */
 public final class ResponseCollectorService implements ClusterStateListener {
 
@@ -38,6 +40,7 @@ public final class ResponseCollectorService implements ClusterStateListener {
     public static final double ALPHA = 0.3;
 
     private final ConcurrentMap<String, NodeStatistics> nodeIdToStats = ConcurrentCollections.newConcurrentMap();
+    private final ConcurrentMap<String, InFlightQueries> nodeIdToInFlightQueries = ConcurrentCollections.newConcurrentMap();
 
     public ResponseCollectorService(ClusterService clusterService) {
         clusterService.addListener(this);
@@ -54,6 +57,39 @@ public final class ResponseCollectorService implements ClusterStateListener {
 
     void removeNode(String nodeId) {
         nodeIdToStats.remove(nodeId);
+        nodeIdToInFlightQueries.remove(nodeId);
+    }
+
+    /**
+     * Records that a query was sent to the given node at the given {@link System#nanoTime()}.
+     */
+    public void onQuerySent(String nodeId, long startNanos) {
+        nodeIdToInFlightQueries.compute(nodeId, (id, inFlight) -> {
+            if (inFlight == null) {
+                return new InFlightQueries(1, startNanos);
+            } else {
+                return new InFlightQueries(inFlight.count + 1, inFlight.sinceNanos);
+            }
+        });
+    }
+
+    /**
+     * Records that a query that was sent to the given node completed, successfully or not, at the given {@link System#nanoTime()}.
+     */
+    public void onQueryCompleted(String nodeId, long endNanos) {
+        nodeIdToInFlightQueries.computeIfPresent(
+            nodeId,
+            (id, inFlight) -> inFlight.count == 1 ? null : new InFlightQueries(inFlight.count - 1, endNanos)
+        );
+    }
+
+    /**
+     * The time for which the given node has had queries in flight without completing any of them. The response time of the node is
+     * at least that long, which the EWMA of the response time only reflects once the delayed responses arrive.
+     */
+    private long stalledNanos(String nodeId, long nowNanos) {
+        final InFlightQueries inFlight = nodeIdToInFlightQueries.get(nodeId);
+        return inFlight == null ? 0 : Math.max(0, nowNanos - inFlight.sinceNanos);
     }
 
     public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
@@ -73,9 +109,10 @@ public final class ResponseCollectorService implements ClusterStateListener {
 
     public Map<String, ComputedNodeStats> getAllNodeStatistics() {
         final int clientNum = nodeIdToStats.size();
+        final long nowNanos = System.nanoTime();
         // Transform the mutable object internally used for accounting into the computed version
         Map<String, ComputedNodeStats> nodeStats = Maps.newMapWithExpectedSize(nodeIdToStats.size());
-        nodeIdToStats.forEach((k, v) -> { nodeStats.put(k, new ComputedNodeStats(clientNum, v)); });
+        nodeIdToStats.forEach((k, v) -> { nodeStats.put(k, new ComputedNodeStats(clientNum, v, stalledNanos(k, nowNanos))); });
         return nodeStats;
     }
 
@@ -90,13 +127,15 @@ public final class ResponseCollectorService implements ClusterStateListener {
      */
     public Optional<ComputedNodeStats> getNodeStatistics(final String nodeId) {
         final int clientNum = nodeIdToStats.size();
-        return Optional.ofNullable(nodeIdToStats.get(nodeId)).map(ns -> new ComputedNodeStats(clientNum, ns));
+        return Optional.ofNullable(nodeIdToStats.get(nodeId))
+            .map(ns -> new ComputedNodeStats(clientNum, ns, stalledNanos(nodeId, System.nanoTime())));
     }
 
     /**
      * Struct-like class encapsulating a point-in-time snapshot of a particular
      * node's statistics. This includes the EWMA of queue size, response time,
-     * and service time.
+     * and service time. The response time is raised to the time for which the
+     * node has had queries in flight without responding, if that is longer.
      */
     public static class ComputedNodeStats implements Writeable {
         // We store timestamps with nanosecond precision, however, the
@@ -120,12 +159,12 @@ public final class ResponseCollectorService implements ClusterStateListener {
             this.serviceTime = serviceTime;
         }
 
-        ComputedNodeStats(int clientNum, NodeStatistics nodeStats) {
+        ComputedNodeStats(int clientNum, NodeStatistics nodeStats, long stalledNanos) {
             this(
                 nodeStats.nodeId,
                 clientNum,
                 (int) nodeStats.queueSize.getAverage(),
-                nodeStats.responseTime.getAverage(),
+                Math.max(nodeStats.responseTime.getAverage(), stalledNanos),
                 nodeStats.serviceTime
             );
         }
@@ -219,4 +258,9 @@ public final class ResponseCollectorService implements ClusterStateListener {
             this.serviceTime = serviceTimeEWMA;
         }
     }
+
+    /**
+     * The number of queries in flight to a node, and the time since which none of them completed.
+     */
+    private record InFlightQueries(int count, long sinceNanos) {}
 }
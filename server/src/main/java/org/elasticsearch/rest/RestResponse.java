@@ -17,6 +17,7 @@ import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.XContentParser;
@@ -43,7 +44,10 @@ public class RestResponse {
     private static final Logger SUPPRESSED_ERROR_LOGGER = LogManager.getLogger("rest.suppressed");
 
     private final RestStatus status;
+    @Nullable
     private final BytesReference content;
+    @Nullable
+    private final ChunkedRestResponseBody chunkedResponseBody;
     private final String responseMediaType;
     private Map<String, List<String>> customHeaders;
 
@@ -72,9 +76,27 @@ public class RestResponse {
      * Creates a binary response.
      */
     public RestResponse(RestStatus status, String responseMediaType, BytesReference content) {
+        this(status, responseMediaType, content, null);
+    }
+
+    /**
+     * Creates a response whose body is serialized chunk by chunk while it is sent, see {@link ChunkedRestResponseBody}.
+     */
+    public RestResponse(RestStatus status, ChunkedRestResponseBody content) {
+        this(status, content.getResponseContentTypeString(), null, content);
+    }
+
+    private RestResponse(
+        RestStatus status,
+        String responseMediaType,
+        @Nullable BytesReference content,
+        @Nullable ChunkedRestResponseBody chunkedResponseBody
+    ) {
+        assert (content == null) != (chunkedResponseBody == null) : "exactly one of content and chunked body must be set";
         this.status = status;
         this.content = content;
         this.responseMediaType = responseMediaType;
+        this.chunkedResponseBody = chunkedResponseBody;
     }
 
     public RestResponse(RestChannel channel, Exception e) throws IOException {
@@ -102,6 +124,7 @@ public class RestResponse {
             build(builder, params, status, channel.detailedErrorsEnabled(), e);
             this.content = BytesReference.bytes(builder);
             this.responseMediaType = builder.contentType().mediaType();
+            this.chunkedResponseBody = null;
         }
         if (e instanceof ElasticsearchException) {
             copyHeaders(((ElasticsearchException) e));
@@ -112,10 +135,26 @@ public class RestResponse {
         return this.responseMediaType;
     }
 
+    /**
+     * Returns the body of this response, or {@code null} if the response {@link #isChunked() is chunked}.
+     */
+    @Nullable
     public BytesReference content() {
         return this.content;
     }
 
+    /**
+     * Returns the chunked body of this response, or {@code null} if the response is not {@link #isChunked() chunked}.
+     */
+    @Nullable
+    public ChunkedRestResponseBody chunkedContent() {
+        return this.chunkedResponseBody;
+    }
+
+    public boolean isChunked() {
+        return this.chunkedResponseBody != null;
+    }
+
     public RestStatus status() {
         return this.status;
     }
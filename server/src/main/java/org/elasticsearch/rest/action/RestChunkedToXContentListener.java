@@ -0,0 +1,42 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.rest.action;
+
+import org.elasticsearch.common.xcontent.ChunkedToXContent;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
+import org.elasticsearch.rest.RestChannel;
+import org.elasticsearch.rest.RestResponse;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.xcontent.ToXContent;
+
+/**
+ * A REST based action listener that requires the response to implement {@link ChunkedToXContent} and sends it as a chunked response,
+ * serializing it as the http layer is ready to write more data rather than building the whole response in memory up front.
+ */
+public class RestChunkedToXContentListener<Response extends ChunkedToXContent> extends RestActionListener<Response> {
+
+    public RestChunkedToXContentListener(RestChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    protected void processResponse(Response response) throws Exception {
+        channel.sendResponse(
+            new RestResponse(getStatus(response), ChunkedRestResponseBody.fromXContent(response, getParams(), channel))
+        );
+    }
+
+    protected ToXContent.Params getParams() {
+        return channel.request();
+    }
+
+    protected RestStatus getStatus(Response response) {
+        return RestStatus.OK;
+    }
+}
@@ -14,19 +14,21 @@ import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.client.internal.node.NodeClient;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.logging.DeprecationLogger;
+import org.elasticsearch.common.xcontent.ChunkedToXContent;
 import org.elasticsearch.core.RestApiVersion;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.http.HttpChannel;
 import org.elasticsearch.rest.BaseRestHandler;
 import org.elasticsearch.rest.RestRequest;
-import org.elasticsearch.rest.action.DispatchingRestToXContentListener;
 import org.elasticsearch.rest.action.RestCancellableNodeClient;
+import org.elasticsearch.rest.action.RestChunkedToXContentListener;
 import org.elasticsearch.threadpool.ThreadPool;
-import org.elasticsearch.xcontent.ToXContentObject;
-import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.ToXContent;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.LongSupplier;
 
@@ -99,13 +101,13 @@ public class RestGetMappingAction extends BaseRestHandler {
             .indices()
             .getMappings(
                 getMappingsRequest,
-                new DispatchingRestToXContentListener<>(threadPool.executor(ThreadPool.Names.MANAGEMENT), channel, request).map(
+                new RestChunkedToXContentListener<>(channel).map(
                     getMappingsResponse -> new RestGetMappingsResponse(getMappingsResponse, threadPool::relativeTimeInMillis, timeout)
                 )
             );
     }
 
-    private static final class RestGetMappingsResponse implements ToXContentObject {
+    private static final class RestGetMappingsResponse implements ChunkedToXContent {
         private final GetMappingsResponse response;
         private final LongSupplier relativeTimeSupplierMillis;
         private final TimeValue timeout;
@@ -119,15 +121,16 @@ public class RestGetMappingAction extends BaseRestHandler {
         }
 
         @Override
-        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        public Iterator<ToXContent> toXContentChunked() {
+            // checked before the response starts, a chunked response cannot be turned into an error once it is being sent
             if (relativeTimeSupplierMillis.getAsLong() - startTimeMs > timeout.millis()) {
                 throw new ElasticsearchTimeoutException("Timed out getting mappings");
             }
-
-            builder.startObject();
-            response.toXContent(builder, params);
-            builder.endObject();
-            return builder;
+            return Iterators.concat(
+                Iterators.<ToXContent>single((builder, params) -> builder.startObject()),
+                response.toXContentChunked(),
+                Iterators.<ToXContent>single((builder, params) -> builder.endObject())
+            );
         }
     }
 }
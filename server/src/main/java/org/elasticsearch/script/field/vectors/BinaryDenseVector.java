@@ -44,13 +44,7 @@ public class BinaryDenseVector implements DenseVector {
 
     @Override
     public double dotProduct(float[] queryVector) {
-        ByteBuffer byteBuffer = wrap(docVector);
-
-        double dotProduct = 0;
-        for (float v : queryVector) {
-            dotProduct += byteBuffer.getFloat() * v;
-        }
-        return dotProduct;
+        return DenseVectorUtils.dotProduct(queryVector, docVector);
     }
 
     @Override
@@ -66,13 +60,7 @@ public class BinaryDenseVector implements DenseVector {
 
     @Override
     public double l1Norm(float[] queryVector) {
-        ByteBuffer byteBuffer = wrap(docVector);
-
-        double l1norm = 0;
-        for (float v : queryVector) {
-            l1norm += Math.abs(v - byteBuffer.getFloat());
-        }
-        return l1norm;
+        return DenseVectorUtils.l1Norm(queryVector, docVector);
     }
 
     @Override
@@ -88,13 +76,7 @@ public class BinaryDenseVector implements DenseVector {
 
     @Override
     public double l2Norm(float[] queryVector) {
-        ByteBuffer byteBuffer = wrap(docVector);
-        double l2norm = 0;
-        for (float queryValue : queryVector) {
-            double diff = byteBuffer.getFloat() - queryValue;
-            l2norm += diff * diff;
-        }
-        return Math.sqrt(l2norm);
+        return Math.sqrt(DenseVectorUtils.l2NormSquared(queryVector, docVector));
     }
 
     @Override
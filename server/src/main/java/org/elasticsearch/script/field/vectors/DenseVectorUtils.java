@@ -0,0 +1,156 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.script.field.vectors;
+
+import org.apache.lucene.util.BytesRef;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Similarity functions between a query vector and a document vector, either decoded or still encoded as big-endian floats as
+ * stored in the binary doc values of {@code dense_vector} fields. Encoded vectors are read in place, so scoring a document
+ * allocates nothing. The loops are unrolled into four independent sums so that the JIT can overlap the latency of the
+ * multiply-adds of consecutive dimensions, while still summing products of floats in double precision like the scalar loops
+ * they replace.
+ */
+public final class DenseVectorUtils {
+
+    private static final VarHandle BIG_ENDIAN_FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+
+    private DenseVectorUtils() {}
+
+    /**
+     * Reads the float at index {@code dim} of the given encoded vector.
+     */
+    public static float get(BytesRef vector, int dim) {
+        return (float) BIG_ENDIAN_FLOAT.get(vector.bytes, vector.offset + (dim << 2));
+    }
+
+    /**
+     * Decodes the first {@code vector.length} dimensions of the given encoded vector into {@code vector}.
+     */
+    public static void decode(BytesRef encoded, float[] vector) {
+        assert encoded.length >= vector.length * Float.BYTES;
+        for (int dim = 0; dim < vector.length; dim++) {
+            vector[dim] = get(encoded, dim);
+        }
+    }
+
+    /**
+     * Returns the dot product of the query vector with the given encoded document vector.
+     */
+    public static double dotProduct(float[] queryVector, BytesRef docVector) {
+        assert docVector.length >= queryVector.length * Float.BYTES;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int dim = 0;
+        for (; dim < upperBound; dim += 4) {
+            acc0 += get(docVector, dim) * queryVector[dim];
+            acc1 += get(docVector, dim + 1) * queryVector[dim + 1];
+            acc2 += get(docVector, dim + 2) * queryVector[dim + 2];
+            acc3 += get(docVector, dim + 3) * queryVector[dim + 3];
+        }
+        for (; dim < queryVector.length; dim++) {
+            acc0 += get(docVector, dim) * queryVector[dim];
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * Returns the l1 norm (Manhattan distance) between the query vector and the given encoded document vector.
+     */
+    public static double l1Norm(float[] queryVector, BytesRef docVector) {
+        assert docVector.length >= queryVector.length * Float.BYTES;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int dim = 0;
+        for (; dim < upperBound; dim += 4) {
+            acc0 += Math.abs(queryVector[dim] - get(docVector, dim));
+            acc1 += Math.abs(queryVector[dim + 1] - get(docVector, dim + 1));
+            acc2 += Math.abs(queryVector[dim + 2] - get(docVector, dim + 2));
+            acc3 += Math.abs(queryVector[dim + 3] - get(docVector, dim + 3));
+        }
+        for (; dim < queryVector.length; dim++) {
+            acc0 += Math.abs(queryVector[dim] - get(docVector, dim));
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * Returns the l1 norm (Manhattan distance) between the query vector and the given document vector.
+     */
+    public static double l1Norm(float[] queryVector, float[] docVector) {
+        assert docVector.length == queryVector.length;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int dim = 0;
+        for (; dim < upperBound; dim += 4) {
+            acc0 += Math.abs(docVector[dim] - queryVector[dim]);
+            acc1 += Math.abs(docVector[dim + 1] - queryVector[dim + 1]);
+            acc2 += Math.abs(docVector[dim + 2] - queryVector[dim + 2]);
+            acc3 += Math.abs(docVector[dim + 3] - queryVector[dim + 3]);
+        }
+        for (; dim < queryVector.length; dim++) {
+            acc0 += Math.abs(docVector[dim] - queryVector[dim]);
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * Returns the squared l2 norm (Euclidean distance) between the query vector and the given encoded document vector.
+     */
+    public static double l2NormSquared(float[] queryVector, BytesRef docVector) {
+        assert docVector.length >= queryVector.length * Float.BYTES;
+        final int upperBound = queryVector.length & ~3;
+        double acc0 = 0;
+        double acc1 = 0;
+        double acc2 = 0;
+        double acc3 = 0;
+        int dim = 0;
+        for (; dim < upperBound; dim += 4) {
+            final double diff0 = get(docVector, dim) - queryVector[dim];
+            final double diff1 = get(docVector, dim + 1) - queryVector[dim + 1];
+            final double diff2 = get(docVector, dim + 2) - queryVector[dim + 2];
+            final double diff3 = get(docVector, dim + 3) - queryVector[dim + 3];
+            acc0 += diff0 * diff0;
+            acc1 += diff1 * diff1;
+            acc2 += diff2 * diff2;
+            acc3 += diff3 * diff3;
+        }
+        for (; dim < queryVector.length; dim++) {
+            final double diff = get(docVector, dim) - queryVector[dim];
+            acc0 += diff * diff;
+        }
+        return acc0 + acc1 + acc2 + acc3;
+    }
+
+    /**
+     * Returns the sum of the squares of the first {@code dims} dimensions of the given encoded vector.
+     */
+    public static double squaredMagnitude(BytesRef vector, int dims) {
+        assert vector.length >= dims * Float.BYTES;
+        double magnitude = 0;
+        for (int dim = 0; dim < dims; dim++) {
+            final float value = get(vector, dim);
+            magnitude += value * value;
+        }
+        return magnitude;
+    }
+}
@@ -48,11 +48,7 @@ public class KnnDenseVector implements DenseVector {
 
     @Override
     public double l1Norm(float[] queryVector) {
-        double result = 0.0;
-        for (int i = 0; i < docVector.length; i++) {
-            result += Math.abs(docVector[i] - queryVector[i]);
-        }
-        return result;
+        return DenseVectorUtils.l1Norm(queryVector, docVector);
     }
 
     @Override
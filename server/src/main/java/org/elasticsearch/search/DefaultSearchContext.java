@@ -62,6 +62,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.LongSupplier;
 
 final class DefaultSearchContext extends SearchContext {
@@ -136,7 +137,8 @@ final class DefaultSearchContext extends SearchContext {
         LongSupplier relativeTimeSupplier,
         TimeValue timeout,
         FetchPhase fetchPhase,
-        boolean lowLevelCancellation
+        boolean lowLevelCancellation,
+        @Nullable Executor searchWorkerExecutor
     ) throws IOException {
         this.readerContext = readerContext;
         this.request = request;
@@ -155,7 +157,10 @@ final class DefaultSearchContext extends SearchContext {
             engineSearcher.getSimilarity(),
             engineSearcher.getQueryCache(),
             engineSearcher.getQueryCachingPolicy(),
-            lowLevelCancellation
+            lowLevelCancellation,
+            searchWorkerExecutor != null && isConcurrentSegmentSearchEnabled(request, indexService.getIndexSettings())
+                ? searchWorkerExecutor
+                : null
         );
         releasables.addAll(List.of(engineSearcher, searcher));
 
@@ -173,6 +178,13 @@ final class DefaultSearchContext extends SearchContext {
         this.lowLevelCancellation = lowLevelCancellation;
     }
 
+    private static boolean isConcurrentSegmentSearchEnabled(ShardSearchRequest request, IndexSettings indexSettings) {
+        if (request.concurrentSegmentSearch() != null) {
+            return request.concurrentSegmentSearch();
+        }
+        return indexSettings.isConcurrentSegmentSearchEnabled();
+    }
+
     /**
      * Should be called before executing the main query and after all other parameters have been set.
      */
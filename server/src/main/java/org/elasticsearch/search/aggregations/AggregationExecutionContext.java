@@ -11,6 +11,8 @@ package org.elasticsearch.search.aggregations;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.util.BytesRef;
 
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -22,16 +24,27 @@ import java.util.function.Supplier;
 public class AggregationExecutionContext {
 
     private final Supplier<BytesRef> tsidProvider;
-    private final Supplier<Long> timestampProvider;
+    private final IntSupplier tsidOrdProvider;
+    private final LongSupplier timestampProvider;
     private final LeafReaderContext leafReaderContext;
 
     public AggregationExecutionContext(
         LeafReaderContext leafReaderContext,
         Supplier<BytesRef> tsidProvider,
-        Supplier<Long> timestampProvider
+        LongSupplier timestampProvider
+    ) {
+        this(leafReaderContext, tsidProvider, null, timestampProvider);
+    }
+
+    public AggregationExecutionContext(
+        LeafReaderContext leafReaderContext,
+        Supplier<BytesRef> tsidProvider,
+        IntSupplier tsidOrdProvider,
+        LongSupplier timestampProvider
     ) {
         this.leafReaderContext = leafReaderContext;
         this.tsidProvider = tsidProvider;
+        this.tsidOrdProvider = tsidOrdProvider;
         this.timestampProvider = timestampProvider;
     }
 
@@ -43,7 +56,15 @@ public class AggregationExecutionContext {
         return tsidProvider != null ? tsidProvider.get() : null;
     }
 
-    public Long getTimestamp() {
-        return timestampProvider.get();
+    /**
+     * The ordinal of the current time series id in the doc values of this segment, or {@code -1} if it is unknown. Documents with
+     * the same ordinal in a segment have the same time series id, so aggregations can use it to avoid comparing the ids themselves.
+     */
+    public int getTsidOrd() {
+        return tsidOrdProvider != null ? tsidOrdProvider.getAsInt() : -1;
+    }
+
+    public long getTimestamp() {
+        return timestampProvider.getAsLong();
     }
 }
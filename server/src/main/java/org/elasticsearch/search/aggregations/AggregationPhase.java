@@ -11,6 +11,7 @@ import org.apache.lucene.search.Collector;
 import org.elasticsearch.action.search.SearchShardTask;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.search.SearchService;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.timeseries.TimeSeriesIndexSearcher;
 import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.profile.query.CollectorResult;
@@ -58,6 +59,29 @@ public class AggregationPhase {
         }
     }
 
+    /**
+     * Returns true if each slice of a concurrent search can collect the aggregations of the provided context with its own
+     * aggregators, see {@link #newSliceCollector(SearchContext)}.
+     */
+    public static boolean supportsConcurrentCollection(SearchContext context) {
+        return context.aggregations() != null && context.aggregations().supportsConcurrentCollection();
+    }
+
+    /**
+     * Creates the top level aggregators of an additional slice of a concurrent search and returns the collector that feeds
+     * them. The first slice collects with the collector that {@link #preProcess(SearchContext)} registered, the results of
+     * all slices are reduced by {@link #execute(SearchContext)}.
+     */
+    public static Collector newSliceCollector(SearchContext context) throws IOException {
+        assert supportsConcurrentCollection(context);
+        assert context.getProfilers() == null : "profiled aggregations are collected sequentially";
+        Aggregator[] aggregators = context.aggregations().factories().createTopLevelAggregators();
+        context.aggregations().addSliceAggregators(aggregators);
+        BucketCollector bucketCollector = MultiBucketCollector.wrap(true, List.of(aggregators));
+        bucketCollector.preCollection();
+        return bucketCollector.asCollector();
+    }
+
     private static List<Runnable> getCancellationChecks(SearchContext context) {
         List<Runnable> cancellationChecks = new ArrayList<>();
         if (context.lowLevelCancellation()) {
@@ -99,14 +123,30 @@ public class AggregationPhase {
             return;
         }
 
-        Aggregator[] aggregators = context.aggregations().aggregators();
-
-        List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
         if (context.aggregations().factories().context() != null) {
             // Rollup can end up here with a null context but not null factories.....
             context.aggregations().factories().context().multiBucketConsumer().reset();
         }
-        for (Aggregator aggregator : context.aggregations().aggregators()) {
+        List<InternalAggregation> aggregations = buildTopLevel(context.aggregations().aggregators());
+        List<Aggregator[]> sliceAggregators = context.aggregations().sliceAggregators();
+        if (sliceAggregators.isEmpty() == false) {
+            List<List<InternalAggregation>> slices = new ArrayList<>(sliceAggregators.size() + 1);
+            slices.add(aggregations);
+            for (Aggregator[] aggregators : sliceAggregators) {
+                slices.add(buildTopLevel(aggregators));
+            }
+            aggregations = reduceSlices(context, slices);
+        }
+        context.queryResult().aggregations(InternalAggregations.from(aggregations));
+
+        // disable aggregations so that they don't run on next pages in case of scrolling
+        context.aggregations(null);
+        context.queryCollectors().remove(AggregationPhase.class);
+    }
+
+    private static List<InternalAggregation> buildTopLevel(Aggregator[] aggregators) {
+        List<InternalAggregation> aggregations = new ArrayList<>(aggregators.length);
+        for (Aggregator aggregator : aggregators) {
             try {
                 aggregator.postCollection();
                 aggregations.add(aggregator.buildTopLevel());
@@ -114,10 +154,32 @@ public class AggregationPhase {
                 throw new AggregationExecutionException("Failed to build aggregation [" + aggregator.name() + "]", e);
             }
         }
-        context.queryResult().aggregations(InternalAggregations.from(aggregations));
+        return aggregations;
+    }
 
-        // disable aggregations so that they don't run on next pages in case of scrolling
-        context.aggregations(null);
-        context.queryCollectors().remove(AggregationPhase.class);
+    /**
+     * Reduces the aggregations built by each slice of a concurrent search, in the order of the top level aggregators,
+     * the same way the coordinating node partially reduces the aggregations of several shards.
+     */
+    private static List<InternalAggregation> reduceSlices(SearchContext context, List<List<InternalAggregation>> slices) {
+        // none of the aggregations that support concurrent collection runs scripts when it reduces
+        AggregationContext aggregationContext = context.aggregations().factories().context();
+        AggregationReduceContext reduceContext = new AggregationReduceContext.ForPartial(
+            aggregationContext.bigArrays(),
+            null,
+            aggregationContext::isCancelled,
+            context.aggregations().builders()
+        );
+        int numAggregations = slices.get(0).size();
+        List<InternalAggregation> reduced = new ArrayList<>(numAggregations);
+        for (int i = 0; i < numAggregations; i++) {
+            List<InternalAggregation> sliceAggregations = new ArrayList<>(slices.size());
+            for (List<InternalAggregation> slice : slices) {
+                sliceAggregations.add(slice.get(i));
+            }
+            InternalAggregation first = sliceAggregations.get(0);
+            reduced.add(first.reduce(sliceAggregations, reduceContext.forAgg(first.getName())));
+        }
+        return reduced;
     }
 }
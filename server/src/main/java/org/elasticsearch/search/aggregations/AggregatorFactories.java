@@ -243,6 +243,19 @@ public class AggregatorFactories {
         return createSubAggregators(null, CardinalityUpperBound.ONE);
     }
 
+    /**
+     * Returns true if all the factories, and the factories of their sub-aggregations,
+     * {@link AggregatorFactory#supportsConcurrentCollection() support concurrent collection}.
+     */
+    public boolean supportsConcurrentCollection() {
+        for (AggregatorFactory factory : factories) {
+            if (factory.supportsConcurrentCollection() == false || factory.factories.supportsConcurrentCollection() == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return the number of sub-aggregator factories
      */
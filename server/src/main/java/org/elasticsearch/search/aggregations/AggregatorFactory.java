@@ -81,6 +81,15 @@ public abstract class AggregatorFactory {
         return createInternal(parent, cardinality, this.metadata);
     }
 
+    /**
+     * Returns true if each slice of a concurrent search can collect with its own aggregator created by this factory, the
+     * results of all slices being reduced on the shard once they are collected. Aggregators that share state through the
+     * {@link AggregationContext} while they collect, like the search lookup that scripts run through, must not return true.
+     */
+    public boolean supportsConcurrentCollection() {
+        return false;
+    }
+
     public AggregatorFactory getParent() {
         return parent;
     }
@@ -7,25 +7,51 @@
  */
 package org.elasticsearch.search.aggregations;
 
+import org.elasticsearch.core.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * The aggregation context that is part of the search context.
  */
 public class SearchContextAggregations {
 
     private final AggregatorFactories factories;
+    @Nullable
+    private final AggregatorFactories.Builder builders;
     private Aggregator[] aggregators;
+    private final List<Aggregator[]> sliceAggregators = new ArrayList<>();
 
     /**
      * Creates a new aggregation context with the parsed aggregator factories
      */
     public SearchContextAggregations(AggregatorFactories factories) {
+        this(factories, null);
+    }
+
+    /**
+     * Creates a new aggregation context with the parsed aggregator factories and the builders they were parsed from.
+     * The builders are needed to reduce the results of the slices of a concurrent search, without them the aggregations
+     * are always collected sequentially.
+     */
+    public SearchContextAggregations(AggregatorFactories factories, @Nullable AggregatorFactories.Builder builders) {
         this.factories = factories;
+        this.builders = builders;
     }
 
     public AggregatorFactories factories() {
         return factories;
     }
 
+    /**
+     * The builders the factories were parsed from, or <code>null</code> if they are unknown
+     */
+    @Nullable
+    public AggregatorFactories.Builder builders() {
+        return builders;
+    }
+
     public Aggregator[] aggregators() {
         return aggregators;
     }
@@ -38,4 +64,29 @@ public class SearchContextAggregations {
     public void aggregators(Aggregator[] aggregators) {
         this.aggregators = aggregators;
     }
+
+    /**
+     * Returns true if each slice of a concurrent search can collect these aggregations with its own top level aggregators.
+     */
+    public boolean supportsConcurrentCollection() {
+        return builders != null
+            && factories.context() != null
+            && factories.context().isInSortOrderExecutionRequired() == false
+            && factories.supportsConcurrentCollection();
+    }
+
+    /**
+     * The top level aggregators of the slices of a concurrent search other than the first one, which collects
+     * with {@link #aggregators()}.
+     */
+    public List<Aggregator[]> sliceAggregators() {
+        return sliceAggregators;
+    }
+
+    /**
+     * Registers the top level aggregators created for an additional slice of a concurrent search.
+     */
+    public void addSliceAggregators(Aggregator[] aggregators) {
+        sliceAggregators.add(aggregators);
+    }
 }
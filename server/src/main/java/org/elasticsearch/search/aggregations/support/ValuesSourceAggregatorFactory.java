@@ -58,6 +58,16 @@ public abstract class ValuesSourceAggregatorFactory extends AggregatorFactory {
     protected abstract Aggregator doCreateInternal(Aggregator parent, CardinalityUpperBound cardinality, Map<String, Object> metadata)
         throws IOException;
 
+    /**
+     * Returns true if the values are read from doc values only, which each slice of a concurrent search can read on its
+     * own, rather than computed by a script or a runtime field that run through the shared search lookup.
+     */
+    protected boolean readsDocValuesOnly() {
+        return config.script() == null
+            && config.valueSourceType() instanceof CoreValuesSourceType
+            && (config.fieldType() == null || config.fieldType().hasDocValues());
+    }
+
     @Override
     public String getStatsSubtype() {
         return config.valueSourceType().typeName();
@@ -90,9 +90,18 @@ public class TimeSeriesAggregator extends BucketsAggregator {
     @Override
     protected LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
         return new LeafBucketCollectorBase(sub, null) {
+            // documents are collected grouped by tsid, so remember the bucket of the last tsid to skip hashing it for every document
+            int lastTsidOrd = -1;
+            long lastBucket = -1;
+            long lastBucketOrdinal = -1;
 
             @Override
             public void collect(int doc, long bucket) throws IOException {
+                int tsidOrd = aggCtx.getTsidOrd();
+                if (tsidOrd >= 0 && tsidOrd == lastTsidOrd && bucket == lastBucket) {
+                    collectExistingBucket(sub, doc, lastBucketOrdinal);
+                    return;
+                }
                 long bucketOrdinal = bucketOrds.add(bucket, aggCtx.getTsid());
                 if (bucketOrdinal < 0) { // already seen
                     bucketOrdinal = -1 - bucketOrdinal;
@@ -100,6 +109,9 @@ public class TimeSeriesAggregator extends BucketsAggregator {
                 } else {
                     collectBucket(sub, doc, bucketOrdinal);
                 }
+                lastTsidOrd = tsidOrd;
+                lastBucket = bucket;
+                lastBucketOrdinal = bucketOrdinal;
             }
         };
     }
@@ -175,11 +175,11 @@ public class TimeSeriesIndexSearcher {
         private final SortedNumericDocValues timestamps;    // TODO can we have this just a NumericDocValues?
         private final BytesRefBuilder scratch = new BytesRefBuilder();
         int docId = -1;
-        int tsidOrd;
+        int tsidOrd = -1;
         long timestamp;
 
         LeafWalker(LeafReaderContext context, Scorer scorer, BucketCollector bucketCollector, LeafReaderContext leaf) throws IOException {
-            AggregationExecutionContext aggCtx = new AggregationExecutionContext(leaf, scratch::get, () -> timestamp);
+            AggregationExecutionContext aggCtx = new AggregationExecutionContext(leaf, scratch::get, () -> tsidOrd, () -> timestamp);
             this.collector = bucketCollector.getLeafCollector(aggCtx);
             liveDocs = context.reader().getLiveDocs();
             this.collector.setScorer(scorer);
@@ -208,8 +208,13 @@ public class TimeSeriesIndexSearcher {
         }
 
         BytesRef getTsid() throws IOException {
-            tsidOrd = tsids.ordValue();
-            scratch.copyBytes(tsids.lookupOrd(tsidOrd));
+            // Walkers that are positioned on a later tsid are asked for it every time the queue is populated,
+            // only look it up again once they moved to another tsid
+            int ord = tsids.ordValue();
+            if (ord != tsidOrd) {
+                tsidOrd = ord;
+                scratch.copyBytes(tsids.lookupOrd(ord));
+            }
             return scratch.get();
         }
 
@@ -75,6 +75,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
     private final Scroll scroll;
     private final float indexBoost;
     private Boolean requestCache;
+    private Boolean concurrentSegmentSearch;
     private final long nowInMillis;
     private final boolean allowPartialSearchResults;
     private final OriginalIndices originalIndices;
@@ -157,6 +158,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
             searchRequest.getWaitForCheckpointsTimeout(),
             searchRequest.isForceSyntheticSource()
         );
+        this.concurrentSegmentSearch = searchRequest.concurrentSegmentSearch();
         // If allowPartialSearchResults is unset (ie null), the cluster-level default should have been substituted
         // at this stage. Any NPEs in the above are therefore an error in request preparation logic.
         assert searchRequest.allowPartialSearchResults() != null;
@@ -253,6 +255,7 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.indexBoost = clone.indexBoost;
         this.nowInMillis = clone.nowInMillis;
         this.requestCache = clone.requestCache;
+        this.concurrentSegmentSearch = clone.concurrentSegmentSearch;
         this.clusterAlias = clone.clusterAlias;
         this.allowPartialSearchResults = clone.allowPartialSearchResults;
         this.canReturnNullResponseIfMatchNoDocs = clone.canReturnNullResponseIfMatchNoDocs;
@@ -323,6 +326,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
              */
             forceSyntheticSource = false;
         }
+        if (in.getVersion().onOrAfter(Version.V_8_5_0)) {
+            concurrentSegmentSearch = in.readOptionalBoolean();
+        }
         originalIndices = OriginalIndices.readOriginalIndices(in);
     }
 
@@ -388,6 +394,9 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
                 throw new IllegalArgumentException("force_synthetic_source is not supported before 8.4.0");
             }
         }
+        if (asKey == false && out.getVersion().onOrAfter(Version.V_8_5_0)) {
+            out.writeOptionalBoolean(concurrentSegmentSearch);
+        }
     }
 
     @Override
@@ -465,6 +474,18 @@ public class ShardSearchRequest extends TransportRequest implements IndicesReque
         this.requestCache = requestCache;
     }
 
+    /**
+     * Returns whether the segments of the shard should be collected concurrently, or <code>null</code>
+     * if the index level setting should decide.
+     */
+    public Boolean concurrentSegmentSearch() {
+        return concurrentSegmentSearch;
+    }
+
+    public void concurrentSegmentSearch(Boolean concurrentSegmentSearch) {
+        this.concurrentSegmentSearch = concurrentSegmentSearch;
+    }
+
     public boolean allowPartialSearchResults() {
         return allowPartialSearchResults;
     }
@@ -15,6 +15,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.search.Weight;
+import org.elasticsearch.common.CheckedSupplier;
 import org.elasticsearch.common.lucene.MinimumScoreCollector;
 import org.elasticsearch.common.lucene.search.FilteredCollector;
 import org.elasticsearch.search.profile.query.InternalProfileCollector;
@@ -119,15 +120,22 @@ abstract class QueryCollectorContext {
     }
 
     /**
-     * Creates a multi collector from the provided <code>subs</code>
+     * Creates a multi collector from the provided <code>subs</code>. The first collector that is created feeds <code>subs</code>,
+     * each other slice of a concurrent search feeds the sub collectors returned by <code>sliceSubs</code>.
      */
-    static QueryCollectorContext createMultiCollectorContext(Collection<Collector> subs) {
+    static QueryCollectorContext createMultiCollectorContext(
+        Collection<Collector> subs,
+        CheckedSupplier<Collection<Collector>, IOException> sliceSubs
+    ) {
         return new QueryCollectorContext(REASON_SEARCH_MULTI) {
+            private boolean created;
+
             @Override
-            Collector create(Collector in) {
+            Collector create(Collector in) throws IOException {
                 List<Collector> subCollectors = new ArrayList<>();
                 subCollectors.add(in);
-                subCollectors.addAll(subs);
+                subCollectors.addAll(created ? sliceSubs.get() : subs);
+                created = true;
                 return MultiCollector.wrap(subCollectors);
             }
 
@@ -41,6 +41,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 import static org.elasticsearch.search.query.QueryCollectorContext.createEarlyTerminationCollectorContext;
@@ -147,7 +148,13 @@ public class QueryPhase {
             }
             if (searchContext.queryCollectors().isEmpty() == false) {
                 // plug in additional collectors, like aggregations
-                collectors.add(createMultiCollectorContext(searchContext.queryCollectors().values()));
+                // each additional slice of a concurrent search collects the aggregations with its own aggregators
+                collectors.add(
+                    createMultiCollectorContext(
+                        searchContext.queryCollectors().values(),
+                        () -> List.of(AggregationPhase.newSliceCollector(searchContext))
+                    )
+                );
             }
             if (searchContext.minimumScore() != null) {
                 // apply the minimum score after multi collector so we filter aggs as well
@@ -176,7 +183,24 @@ public class QueryPhase {
             }
 
             try {
-                boolean shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, hasFilterCollector, timeoutSet);
+                // create the top docs collector last when the other collectors are known
+                final TopDocsCollectorContext topDocsFactory = createTopDocsCollectorContext(searchContext, hasFilterCollector);
+                final boolean shouldRescore;
+                if (searcher.isConcurrentSearchEnabled()
+                    && QueryPhaseCollectorManager.supports(searchContext)
+                    && topDocsFactory.supportsConcurrentCollection()) {
+                    shouldRescore = searchWithCollectorManager(
+                        searchContext,
+                        searcher,
+                        query,
+                        collectors,
+                        topDocsFactory,
+                        hasFilterCollector,
+                        timeoutSet
+                    );
+                } else {
+                    shouldRescore = searchWithCollector(searchContext, searcher, query, collectors, topDocsFactory, timeoutSet);
+                }
                 ExecutorService executor = searchContext.indexShard().getThreadPool().executor(ThreadPool.Names.SEARCH);
                 assert executor instanceof EWMATrackingEsThreadPoolExecutor
                     || (executor instanceof EsThreadPoolExecutor == false /* in case thread pool is mocked out in tests */)
@@ -203,11 +227,9 @@ public class QueryPhase {
         ContextIndexSearcher searcher,
         Query query,
         LinkedList<QueryCollectorContext> collectors,
-        boolean hasFilterCollector,
+        TopDocsCollectorContext topDocsFactory,
         boolean timeoutSet
     ) throws IOException {
-        // create the top docs collector last when the other collectors are known
-        final TopDocsCollectorContext topDocsFactory = createTopDocsCollectorContext(searchContext, hasFilterCollector);
         // add the top docs collector, the first collector context in the chain
         collectors.addFirst(topDocsFactory);
 
@@ -241,6 +263,36 @@ public class QueryPhase {
         return topDocsFactory.shouldRescore();
     }
 
+    private static boolean searchWithCollectorManager(
+        SearchContext searchContext,
+        ContextIndexSearcher searcher,
+        Query query,
+        LinkedList<QueryCollectorContext> collectors,
+        TopDocsCollectorContext topDocsFactory,
+        boolean hasFilterCollector,
+        boolean timeoutSet
+    ) throws IOException {
+        final QueryPhaseCollectorManager collectorManager = new QueryPhaseCollectorManager(
+            searchContext,
+            collectors,
+            topDocsFactory,
+            hasFilterCollector
+        );
+        QuerySearchResult queryResult = searchContext.queryResult();
+        try {
+            searcher.search(query, collectorManager);
+        } catch (TimeExceededException e) {
+            assert timeoutSet : "TimeExceededException thrown even though timeout wasn't set";
+            if (searchContext.request().allowPartialSearchResults() == false) {
+                // Can't rethrow TimeExceededException because not serializable
+                throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Time exceeded");
+            }
+            queryResult.searchTimedOut(true);
+        }
+        collectorManager.postProcess(queryResult);
+        return collectorManager.shouldRescore();
+    }
+
     /**
      * Returns whether collection within the provided <code>reader</code> can be early-terminated if it sorts
      * with <code>sortAndFormats</code>.
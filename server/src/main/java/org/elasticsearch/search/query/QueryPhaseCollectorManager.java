@@ -0,0 +1,169 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.search.Collector;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.search.aggregations.AggregationPhase;
+import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.sort.SortAndFormats;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.elasticsearch.search.query.TopDocsCollectorContext.createTopDocsCollectorContext;
+
+/**
+ * A {@link CollectorManager} that creates one collector chain per slice of a shard, so that the slices can be collected
+ * concurrently, and merges the top docs of all slices once they completed.
+ * The collector contexts of the chain, except the top docs one, are shared by all slices and must
+ * therefore create a new collector on each call to {@link QueryCollectorContext#create(Collector)}.
+ * Collectors are created on the calling thread before any slice is collected.
+ */
+class QueryPhaseCollectorManager implements CollectorManager<Collector, Void> {
+    private final SearchContext searchContext;
+    private final List<QueryCollectorContext> collectors;
+    private final boolean hasFilterCollector;
+    private final List<TopDocsCollectorContext> topDocsContexts = new ArrayList<>();
+    private TopDocsCollectorContext firstTopDocsContext;
+
+    /**
+     * Ctr
+     * @param searchContext The search context
+     * @param collectors The collector contexts that wrap the top docs collector of each slice
+     * @param firstTopDocsContext The top docs collector context of the first slice, it must support concurrent collection
+     * @param hasFilterCollector True if the collector chain contains at least one collector that can filters document
+     */
+    QueryPhaseCollectorManager(
+        SearchContext searchContext,
+        List<QueryCollectorContext> collectors,
+        TopDocsCollectorContext firstTopDocsContext,
+        boolean hasFilterCollector
+    ) {
+        assert firstTopDocsContext.supportsConcurrentCollection();
+        this.searchContext = searchContext;
+        this.collectors = collectors;
+        this.firstTopDocsContext = firstTopDocsContext;
+        this.hasFilterCollector = hasFilterCollector;
+    }
+
+    /**
+     * Returns true if the query phase of the provided <code>searchContext</code> can be executed with this manager,
+     * provided that its top docs collector context {@link TopDocsCollectorContext#supportsConcurrentCollection() supports it}.
+     * Aggregations are collected by each slice with its own aggregators if they
+     * {@link AggregationPhase#supportsConcurrentCollection(SearchContext) support it}. terminate_after and the other
+     * aggregations rely on a single collector per shard and are therefore executed sequentially, like profiled requests.
+     */
+    static boolean supports(SearchContext searchContext) {
+        if (searchContext.terminateAfter() != SearchContext.DEFAULT_TERMINATE_AFTER || searchContext.getProfilers() != null) {
+            return false;
+        }
+        for (Class<?> queryCollector : searchContext.queryCollectors().keySet()) {
+            if (queryCollector != AggregationPhase.class || AggregationPhase.supportsConcurrentCollection(searchContext) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Collector newCollector() throws IOException {
+        final TopDocsCollectorContext topDocsContext;
+        if (firstTopDocsContext != null) {
+            topDocsContext = firstTopDocsContext;
+            firstTopDocsContext = null;
+        } else {
+            topDocsContext = createTopDocsCollectorContext(searchContext, hasFilterCollector);
+        }
+        topDocsContexts.add(topDocsContext);
+        final LinkedList<QueryCollectorContext> chain = new LinkedList<>(collectors);
+        chain.addFirst(topDocsContext);
+        return QueryCollectorContext.createQueryCollector(chain);
+    }
+
+    @Override
+    public Void reduce(Collection<Collector> collectors) {
+        // the top docs are merged in postProcess, which also needs to run if a slice timed out
+        return null;
+    }
+
+    /**
+     * Returns true if the top docs should be re-scored after initial search
+     */
+    boolean shouldRescore() {
+        return topDocsContexts.isEmpty() == false && topDocsContexts.get(0).shouldRescore();
+    }
+
+    /**
+     * Merges the top docs collected by each slice into the provided <code>result</code>.
+     */
+    void postProcess(QuerySearchResult result) throws IOException {
+        assert topDocsContexts.isEmpty() == false;
+        final SortAndFormats sortAndFormats = searchContext.sort();
+        final int numHits = topDocsContexts.get(0).numHits();
+        final TopDocs[] sliceTopDocs = new TopDocs[topDocsContexts.size()];
+        long totalHits = 0;
+        TotalHits.Relation relation = TotalHits.Relation.EQUAL_TO;
+        float maxScore = Float.NaN;
+        for (int i = 0; i < sliceTopDocs.length; i++) {
+            final TopDocsCollectorContext context = topDocsContexts.get(i);
+            final TopDocsAndMaxScore topDocs = context.newTopDocs();
+            sliceTopDocs[i] = topDocs.topDocs;
+            if (context.isTotalHitCountPrecomputed() == false || i == 0) {
+                totalHits += topDocs.topDocs.totalHits.value;
+                if (topDocs.topDocs.totalHits.relation == TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO) {
+                    relation = TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
+                }
+            }
+            if (Float.isNaN(maxScore) || topDocs.maxScore > maxScore) {
+                maxScore = topDocs.maxScore;
+            }
+        }
+        final int trackTotalHitsUpTo = searchContext.trackTotalHitsUpTo();
+        if (topDocsContexts.get(0).isTotalHitCountPrecomputed() == false
+            && trackTotalHitsUpTo != SearchContext.TRACK_TOTAL_HITS_DISABLED
+            && totalHits > trackTotalHitsUpTo) {
+            // each slice counts accurately up to the threshold only, so the sum is a lower bound past it
+            totalHits = trackTotalHitsUpTo;
+            relation = TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO;
+        }
+        final TotalHits mergedTotalHits = new TotalHits(totalHits, relation);
+        final TopDocs mergedTopDocs;
+        if (sortAndFormats != null) {
+            final TopFieldDocs[] sliceFieldDocs = new TopFieldDocs[sliceTopDocs.length];
+            for (int i = 0; i < sliceTopDocs.length; i++) {
+                sliceFieldDocs[i] = (TopFieldDocs) sliceTopDocs[i];
+            }
+            final ScoreDoc[] scoreDocs = numHits == 0
+                ? Lucene.EMPTY_SCORE_DOCS
+                : TopDocs.merge(sortAndFormats.sort, 0, numHits, sliceFieldDocs).scoreDocs;
+            mergedTopDocs = new TopFieldDocs(mergedTotalHits, scoreDocs, sliceFieldDocs[0].fields);
+        } else {
+            final ScoreDoc[] scoreDocs = numHits == 0 ? Lucene.EMPTY_SCORE_DOCS : TopDocs.merge(0, numHits, sliceTopDocs).scoreDocs;
+            mergedTopDocs = new TopDocs(mergedTotalHits, scoreDocs);
+        }
+        final boolean emptyTopDocs = searchContext.size() == 0;
+        result.topDocs(
+            new TopDocsAndMaxScore(mergedTopDocs, maxScore),
+            emptyTopDocs || sortAndFormats == null ? null : sortAndFormats.formats
+        );
+        for (QueryCollectorContext ctx : collectors) {
+            ctx.postProcess(result);
+        }
+    }
+}
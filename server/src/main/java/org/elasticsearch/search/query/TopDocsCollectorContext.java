@@ -87,10 +87,34 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         return false;
     }
 
+    /**
+     * Returns the top docs collected by this context. This is also used to merge the results of the contexts
+     * that collected the slices of a shard concurrently.
+     */
+    abstract TopDocsAndMaxScore newTopDocs() throws IOException;
+
+    /**
+     * Returns true if the top docs of the contexts that collected the slices of a shard concurrently can be merged.
+     * Collapsed top docs are grouped per collapse key and scroll contexts keep state across slices, so both
+     * are collected sequentially.
+     */
+    boolean supportsConcurrentCollection() {
+        return true;
+    }
+
+    /**
+     * Returns true if the total hit count returned by {@link #newTopDocs()} was computed upfront for the
+     * whole shard rather than counted by the collector, in which case it must not be summed across slices.
+     */
+    boolean isTotalHitCountPrecomputed() {
+        return false;
+    }
+
     static class EmptyTopDocsCollectorContext extends TopDocsCollectorContext {
         private final Sort sort;
         private final Collector collector;
         private final Supplier<TotalHits> hitCountSupplier;
+        private final boolean totalHitCountPrecomputed;
 
         /**
          * Ctr
@@ -112,6 +136,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                 this.collector = new EarlyTerminatingCollector(new TotalHitCountCollector(), 0, false);
                 // for bwc hit count is set to 0, it will be converted to -1 by the coordinating node
                 this.hitCountSupplier = () -> new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO);
+                this.totalHitCountPrecomputed = false;
             } else {
                 TotalHitCountCollector hitCountCollector = new TotalHitCountCollector();
                 // implicit total hit counts are valid only when there is no filter collector in the chain
@@ -128,9 +153,11 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                             col.hasEarlyTerminated() ? TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO : TotalHits.Relation.EQUAL_TO
                         );
                     }
+                    this.totalHitCountPrecomputed = false;
                 } else {
                     this.collector = new EarlyTerminatingCollector(hitCountCollector, 0, false);
                     this.hitCountSupplier = () -> new TotalHits(hitCount, TotalHits.Relation.EQUAL_TO);
+                    this.totalHitCountPrecomputed = true;
                 }
             }
         }
@@ -142,7 +169,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) {
+        TopDocsAndMaxScore newTopDocs() {
             final TotalHits totalHitCount = hitCountSupplier.get();
             final TopDocs topDocs;
             if (sort != null) {
@@ -150,7 +177,17 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             } else {
                 topDocs = new TopDocs(totalHitCount, Lucene.EMPTY_SCORE_DOCS);
             }
-            result.topDocs(new TopDocsAndMaxScore(topDocs, Float.NaN), null);
+            return new TopDocsAndMaxScore(topDocs, Float.NaN);
+        }
+
+        @Override
+        boolean isTotalHitCountPrecomputed() {
+            return totalHitCountPrecomputed;
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) {
+            result.topDocs(newTopDocs(), null);
         }
     }
 
@@ -196,9 +233,19 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         }
 
         @Override
-        void postProcess(QuerySearchResult result) throws IOException {
+        TopDocsAndMaxScore newTopDocs() throws IOException {
             TopFieldGroups topDocs = topDocsCollector.getTopGroups(0);
-            result.topDocs(new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get()), sortFmt);
+            return new TopDocsAndMaxScore(topDocs, maxScoreSupplier.get());
+        }
+
+        @Override
+        boolean supportsConcurrentCollection() {
+            return false;
+        }
+
+        @Override
+        void postProcess(QuerySearchResult result) throws IOException {
+            result.topDocs(newTopDocs(), sortFmt);
         }
     }
 
@@ -222,6 +269,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
         private final Supplier<TotalHits> totalHitsSupplier;
         private final Supplier<TopDocs> topDocsSupplier;
         private final Supplier<Float> maxScoreSupplier;
+        private final boolean totalHitCountPrecomputed;
 
         /**
          * Ctr
@@ -248,6 +296,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             this.sortAndFormats = sortAndFormats;
 
             final TopDocsCollector<?> topDocsCollector;
+            boolean totalHitCountPrecomputed = false;
 
             if ((sortAndFormats == null || SortField.FIELD_SCORE.equals(sortAndFormats.sort.getSort()[0])) && hasInfMaxScore(query)) {
                 // disable max score optimization since we have a mandatory clause
@@ -272,8 +321,10 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
                     topDocsCollector = createCollector(sortAndFormats, numHits, searchAfter, 1);
                     topDocsSupplier = new CachedSupplier<>(topDocsCollector::topDocs);
                     totalHitsSupplier = () -> new TotalHits(hitCount, TotalHits.Relation.EQUAL_TO);
+                    totalHitCountPrecomputed = true;
                 }
             }
+            this.totalHitCountPrecomputed = totalHitCountPrecomputed;
             MaxScoreCollector maxScoreCollector = null;
             if (sortAndFormats == null) {
                 maxScoreSupplier = () -> {
@@ -301,6 +352,7 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             return collector;
         }
 
+        @Override
         TopDocsAndMaxScore newTopDocs() {
             TopDocs in = topDocsSupplier.get();
             float maxScore = maxScoreSupplier.get();
@@ -313,6 +365,11 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             return new TopDocsAndMaxScore(newTopDocs, maxScore);
         }
 
+        @Override
+        boolean isTotalHitCountPrecomputed() {
+            return totalHitCountPrecomputed;
+        }
+
         @Override
         void postProcess(QuerySearchResult result) throws IOException {
             final TopDocsAndMaxScore topDocs = newTopDocs();
@@ -349,6 +406,11 @@ abstract class TopDocsCollectorContext extends QueryCollectorContext {
             this.numberOfShards = numberOfShards;
         }
 
+        @Override
+        boolean supportsConcurrentCollection() {
+            return false;
+        }
+
         @Override
         void postProcess(QuerySearchResult result) throws IOException {
             final TopDocsAndMaxScore topDocs = newTopDocs();
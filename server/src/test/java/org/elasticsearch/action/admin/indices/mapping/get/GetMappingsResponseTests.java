@@ -9,13 +9,21 @@
 package org.elasticsearch.action.admin.indices.mapping.get;
 
 import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.test.AbstractWireSerializingTestCase;
 import org.elasticsearch.test.EqualsHashCodeTestUtils;
+import org.elasticsearch.xcontent.ToXContent;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentType;
+import org.elasticsearch.xcontent.json.JsonXContent;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 
@@ -26,6 +34,57 @@ public class GetMappingsResponseTests extends AbstractWireSerializingTestCase<Ge
         EqualsHashCodeTestUtils.checkEqualsAndHashCode(resp, r -> new GetMappingsResponse(r.mappings()), GetMappingsResponseTests::mutate);
     }
 
+    public void testChunkedXContentMatchesXContent() throws IOException {
+        Map<String, MappingMetadata> mappings = new HashMap<>();
+        int numIndices = randomIntBetween(1, 5);
+        for (int i = 0; i < numIndices; i++) {
+            mappings.put("index-" + i, randomFrom(createMappingsForIndex(), MappingMetadata.EMPTY_MAPPINGS));
+        }
+        GetMappingsResponse response = new GetMappingsResponse(mappings);
+        try (XContentBuilder expected = JsonXContent.contentBuilder(); XContentBuilder chunked = JsonXContent.contentBuilder()) {
+            expected.startObject();
+            for (Map.Entry<String, MappingMetadata> entry : mappings.entrySet()) {
+                expected.startObject(entry.getKey()).field("mappings", entry.getValue().sourceAsMap()).endObject();
+            }
+            expected.endObject();
+
+            chunked.startObject();
+            Iterator<ToXContent> chunks = response.toXContentChunked();
+            while (chunks.hasNext()) {
+                chunks.next().toXContent(chunked, ToXContent.EMPTY_PARAMS);
+            }
+            chunked.endObject();
+
+            assertEquals(Strings.toString(expected), Strings.toString(chunked));
+        }
+    }
+
+    public void testMappingsAreChunkedPerField() throws IOException {
+        int numFields = randomIntBetween(1, 100);
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < numFields; i++) {
+            properties.put("field-" + i, Map.of("type", "keyword"));
+        }
+        MappingMetadata mapping = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, Map.of("properties", properties));
+        GetMappingsResponse response = new GetMappingsResponse(Map.of("index", mapping));
+
+        try (XContentBuilder chunked = JsonXContent.contentBuilder()) {
+            chunked.startObject();
+            Iterator<ToXContent> chunks = response.toXContentChunked();
+            int chunkCount = 0;
+            while (chunks.hasNext()) {
+                chunks.next().toXContent(chunked, ToXContent.EMPTY_PARAMS);
+                chunkCount++;
+            }
+            chunked.endObject();
+
+            // opening and closing the index and its properties, then opening, closing and the type of each field
+            assertEquals(4 + 3 * numFields, chunkCount);
+            Map<String, Object> expected = Map.of("index", Map.of("mappings", Map.of("properties", properties)));
+            assertEquals(expected, XContentHelper.convertToMap(BytesReference.bytes(chunked), false, XContentType.JSON).v2());
+        }
+    }
+
     @Override
     protected Writeable.Reader<GetMappingsResponse> instanceReader() {
         return GetMappingsResponse::new;
@@ -201,18 +201,31 @@ public class ClusterChangedEventTests extends ESTestCase {
         ClusterChangedEvent event = new ClusterChangedEvent("_na_", originalState, newState);
         assertFalse("routing tables should be the same object", event.routingTableChanged());
         assertFalse("index routing table should be the same object", event.indexRoutingTableChanged(initialIndices.get(0).getName()));
+        assertThat(event.indicesWithRoutingChanges(), equalTo(Set.of()));
 
         // routing tables and index routing tables aren't same object
         newState = createState(numNodesInCluster, randomBoolean(), initialIndices);
         event = new ClusterChangedEvent("_na_", originalState, newState);
         assertTrue("routing tables should not be the same object", event.routingTableChanged());
         assertTrue("index routing table should not be the same object", event.indexRoutingTableChanged(initialIndices.get(0).getName()));
+        assertThat(event.indicesWithRoutingChanges(), equalTo(new HashSet<>(initialIndices)));
 
         // index routing tables are different because they don't exist
         newState = createState(numNodesInCluster, randomBoolean(), initialIndices.subList(1, initialIndices.size()));
         event = new ClusterChangedEvent("_na_", originalState, newState);
         assertTrue("routing tables should not be the same object", event.routingTableChanged());
         assertTrue("index routing table should not be the same object", event.indexRoutingTableChanged(initialIndices.get(0).getName()));
+        assertThat(event.indicesWithRoutingChanges(), equalTo(new HashSet<>(initialIndices)));
+
+        // only the routing table of the removed index changed
+        final Index removedIndex = randomFrom(initialIndices);
+        newState = ClusterState.builder(originalState)
+            .routingTable(RoutingTable.builder(originalState.routingTable()).remove(removedIndex.getName()).build())
+            .build();
+        event = new ClusterChangedEvent("_na_", newState, originalState);
+        assertTrue("routing tables should not be the same object", event.routingTableChanged());
+        assertThat(event.indicesWithRoutingChanges(), equalTo(Set.of(removedIndex)));
+        assertSame("changes are only computed once", event.indicesWithRoutingChanges(), event.indicesWithRoutingChanges());
     }
 
     /**
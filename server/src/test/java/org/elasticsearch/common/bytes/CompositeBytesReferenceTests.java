@@ -132,6 +132,23 @@ public class CompositeBytesReferenceTests extends AbstractBytesReferenceTestCase
         assertThat(bytesRef.slice(12, 15), Matchers.not(Matchers.instanceOf(CompositeBytesReference.class))); // equal to sub
     }
 
+    public void testToBytesRefIsExactlySized() throws IOException {
+        BytesReference ref = CompositeBytesReference.of(newBytesReference(between(1, PAGE_SIZE)), newBytesReference(between(1, PAGE_SIZE)));
+        assertThat(ref, Matchers.instanceOf(CompositeBytesReference.class));
+        int length = ref.length();
+        BytesRef bytesRef = ref.toBytesRef();
+        assertThat(bytesRef.offset, equalTo(0));
+        assertThat(bytesRef.length, equalTo(length));
+        assertThat(bytesRef.bytes.length, equalTo(length));
+        assertEquals(new BytesArray(bytesRef), ref);
+        // slices that cross sub references are converted to exactly sized arrays too
+        int from = randomIntBetween(0, length - 1);
+        BytesReference slice = ref.slice(from, randomIntBetween(1, length - from));
+        byte[] bytes = BytesReference.toBytes(slice);
+        assertThat(bytes.length, equalTo(slice.length()));
+        assertEquals(new BytesArray(bytes), slice);
+    }
+
     public void testForbidsLengthOverflow() {
         final List<BytesReference> referenceList = newRefList(randomIntBetween(0, PAGE_SIZE * 2));
         final int length = referenceList.stream().mapToInt(BytesReference::length).sum();
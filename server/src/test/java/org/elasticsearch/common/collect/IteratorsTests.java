@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 public class IteratorsTests extends ESTestCase {
     public void testConcatentation() {
@@ -153,6 +154,52 @@ public class IteratorsTests extends ESTestCase {
         expectThrows(NullPointerException.class, "Unable to iterate over a null array", () -> Iterators.forArray(null));
     }
 
+    public void testMap() {
+        Integer[] array = randomIntegerArray();
+        Iterator<String> iterator = Iterators.map(Iterators.forArray(array), String::valueOf);
+
+        int i = 0;
+        while (iterator.hasNext()) {
+            assertEquals(String.valueOf(array[i++]), iterator.next());
+        }
+        assertEquals(array.length, i);
+        expectThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    public void testFlatMap() {
+        Integer[] array = randomIntegerArray();
+        // every element is repeated as many times as its index modulo 3, so some elements map to empty iterators
+        Iterator<Integer> iterator = Iterators.flatMap(
+            Iterators.forArray(IntStream.range(0, array.length).boxed().toArray(Integer[]::new)),
+            i -> Collections.nCopies(i % 3, array[i]).iterator()
+        );
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < array.length; i++) {
+            expected.addAll(Collections.nCopies(i % 3, array[i]));
+        }
+        List<Integer> actual = new ArrayList<>();
+        while (iterator.hasNext()) {
+            actual.add(iterator.next());
+        }
+        assertEquals(expected, actual);
+        expectThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    public void testFlatMapIsLazy() {
+        AtomicInteger mapped = new AtomicInteger();
+        Iterator<Integer> iterator = Iterators.flatMap(Iterators.forArray(new Integer[] { 1, 2 }), i -> {
+            mapped.incrementAndGet();
+            return Iterators.single(i);
+        });
+        assertEquals(0, mapped.get());
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertEquals(1, mapped.get());
+        assertEquals(Integer.valueOf(2), iterator.next());
+        assertEquals(2, mapped.get());
+        assertFalse(iterator.hasNext());
+    }
+
     private static Integer[] randomIntegerArray() {
         return Randomness.get().ints(randomIntBetween(0, 1000)).boxed().toArray(Integer[]::new);
     }
@@ -20,9 +20,4 @@ public class NoneRecyclerTests extends AbstractRecyclerTestCase {
         // will never match
     }
 
-    @Override
-    protected void assertDead(byte[] data) {
-        // will never match
-    }
-
 }
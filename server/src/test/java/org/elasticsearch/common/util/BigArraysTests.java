@@ -31,6 +31,7 @@ import java.util.function.Function;
 import static org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
@@ -449,6 +450,146 @@ public class BigArraysTests extends ESTestCase {
         }
     }
 
+    public void testOffHeapArrays() {
+        final Settings settings = Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build();
+        final MockPageCacheRecycler recycler = new MockPageCacheRecycler(settings);
+        assertTrue(recycler.isOffHeap());
+        // not a MockBigArrays, which would wrap the arrays, but the recycler still checks that all pages are released
+        final BigArrays offHeapArrays = new BigArrays(recycler, null, CircuitBreaker.REQUEST);
+        final int totalLen = randomIntBetween(PageCacheRecycler.BYTE_PAGE_SIZE + 1, 4 * PageCacheRecycler.BYTE_PAGE_SIZE);
+
+        ByteArray bytes = offHeapArrays.newByteArray(totalLen, randomBoolean());
+        assertThat(bytes, instanceOf(BigDirectByteArray.class));
+        final byte[] byteRef = randomByteArrayOfLength(totalLen);
+        bytes.set(0, byteRef, 0, totalLen);
+        final int offset = randomIntBetween(0, totalLen - 1);
+        final int len = randomIntBetween(0, totalLen - offset);
+        final BytesRef slice = new BytesRef();
+        assertTrue(bytes.get(offset, len, slice));
+        assertEquals(new BytesRef(byteRef, offset, len), slice);
+        bytes = offHeapArrays.resize(bytes, totalLen + 1);
+        bytes.fill(totalLen, totalLen + 1, (byte) 42);
+        assertEquals(byteRef[totalLen - 1], bytes.get(totalLen - 1));
+        assertEquals((byte) 42, bytes.get(totalLen));
+
+        IntArray ints = offHeapArrays.newIntArray(totalLen, true);
+        assertThat(ints, instanceOf(BigDirectIntArray.class));
+        LongArray longs = offHeapArrays.newLongArray(totalLen, true);
+        assertThat(longs, instanceOf(BigDirectLongArray.class));
+        DoubleArray doubles = offHeapArrays.newDoubleArray(totalLen, true);
+        assertThat(doubles, instanceOf(BigDirectDoubleArray.class));
+        final int[] intRef = new int[totalLen];
+        final long[] longRef = new long[totalLen];
+        final double[] doubleRef = new double[totalLen];
+        for (int i = 0; i < totalLen; ++i) {
+            intRef[i] = randomInt();
+            longRef[i] = randomLong();
+            doubleRef[i] = randomDouble();
+            ints.increment(i, intRef[i]);
+            longs.increment(i, longRef[i]);
+            doubles.increment(i, doubleRef[i]);
+        }
+        final int fromIndex = randomIntBetween(0, totalLen - 1);
+        final int toIndex = randomIntBetween(fromIndex, totalLen);
+        Arrays.fill(intRef, fromIndex, toIndex, 7);
+        ints.fill(fromIndex, toIndex, 7);
+        Arrays.fill(longRef, fromIndex, toIndex, 7L);
+        longs.fill(fromIndex, toIndex, 7L);
+        Arrays.fill(doubleRef, fromIndex, toIndex, 7d);
+        doubles.fill(fromIndex, toIndex, 7d);
+        final int newLen = randomIntBetween(1, 2 * totalLen);
+        ints = offHeapArrays.resize(ints, newLen);
+        longs = offHeapArrays.resize(longs, newLen);
+        doubles = offHeapArrays.resize(doubles, newLen);
+        for (int i = 0; i < newLen; ++i) {
+            assertEquals(i < totalLen ? intRef[i] : 0, ints.get(i));
+            assertEquals(i < totalLen ? longRef[i] : 0L, longs.get(i));
+            assertEquals(i < totalLen ? doubleRef[i] : 0d, doubles.get(i), 0d);
+        }
+        Releasables.close(bytes, ints, longs, doubles);
+    }
+
+    public void testOffHeapArraysAreAccountedByBreaker() {
+        final long maxSize = randomLongBetween(4 * PageCacheRecycler.BYTE_PAGE_SIZE, 1 << 20);
+        final HierarchyCircuitBreakerService hcbs = new HierarchyCircuitBreakerService(
+            Settings.builder()
+                .put(REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), maxSize, ByteSizeUnit.BYTES)
+                .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+                .build(),
+            Collections.emptyList(),
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        final Settings settings = Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build();
+        final BigArrays offHeapArrays = new BigArrays(new PageCacheRecycler(settings), hcbs, CircuitBreaker.REQUEST).withCircuitBreaking();
+        final CircuitBreaker breaker = hcbs.getBreaker(CircuitBreaker.REQUEST);
+        final long size = maxSize / Long.BYTES + PageCacheRecycler.LONG_PAGE_SIZE;
+        expectThrows(CircuitBreakingException.class, () -> offHeapArrays.newLongArray(size));
+        assertEquals(0, breaker.getUsed());
+        final LongArray array = offHeapArrays.newLongArray(PageCacheRecycler.LONG_PAGE_SIZE + 1);
+        assertEquals(BigLongArray.estimateRamBytes(PageCacheRecycler.LONG_PAGE_SIZE + 1), breaker.getUsed());
+        expectThrows(CircuitBreakingException.class, () -> offHeapArrays.resize(array, size));
+        array.close();
+        assertEquals(0, breaker.getUsed());
+    }
+
+    public void testOffHeapPagesThatDoNotFitInThePoolAreFreed() {
+        final int poolPages = randomIntBetween(0, 8);
+        final Settings settings = Settings.builder()
+            .put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true)
+            .put(PageCacheRecycler.TYPE_SETTING.getKey(), PageCacheRecycler.Type.QUEUE.name())
+            .put(PageCacheRecycler.LIMIT_HEAP_SETTING.getKey(), (long) poolPages * PageCacheRecycler.PAGE_SIZE_IN_BYTES, ByteSizeUnit.BYTES)
+            .build();
+        final MockPageCacheRecycler recycler = new MockPageCacheRecycler(settings);
+        final BigArrays offHeapArrays = new MockBigArrays(recycler, new NoneCircuitBreakerService());
+        final int numPages = randomIntBetween(2, 16);
+        final long size = (long) numPages * PageCacheRecycler.BYTE_PAGE_SIZE;
+
+        ByteArray array = offHeapArrays.newByteArray(size, randomBoolean());
+        assertEquals(numPages, recycler.directBytePagesAllocated());
+        assertEquals(0, recycler.directBytePagesFreed());
+        array.close();
+        final long pooled = recycler.directBytePagesAllocated() - recycler.directBytePagesFreed();
+        assertThat(pooled, lessThanOrEqualTo((long) numPages));
+        if (poolPages == 0) {
+            assertEquals(0, pooled);
+        }
+
+        // the pooled pages are reused, only the freed ones are allocated again
+        array = offHeapArrays.newByteArray(size, randomBoolean());
+        assertEquals(2 * numPages - pooled, recycler.directBytePagesAllocated());
+        array.close();
+        assertEquals(recycler.directBytePagesAllocated() - pooled, recycler.directBytePagesFreed());
+    }
+
+    public void testOffHeapByteArrayNeverChangesBytesItReturned() {
+        final Settings settings = Settings.builder().put(PageCacheRecycler.OFF_HEAP_SETTING.getKey(), true).build();
+        final BigArrays offHeapArrays = new MockBigArrays(new MockPageCacheRecycler(settings), new NoneCircuitBreakerService());
+        final int totalLen = randomIntBetween(PageCacheRecycler.BYTE_PAGE_SIZE + 1, 4 * PageCacheRecycler.BYTE_PAGE_SIZE);
+        final byte[] byteRef = randomByteArrayOfLength(totalLen);
+        try (ByteArray array = offHeapArrays.newByteArray(totalLen, randomBoolean())) {
+            array.set(0, byteRef, 0, totalLen);
+
+            final BytesRef ref = new BytesRef();
+            final int len = randomIntBetween(1, totalLen);
+            assertTrue(array.get(0, len, ref));
+            assertEquals(new BytesRef(byteRef, 0, len), ref);
+            // callers like BytesRefHash keep shallow copies of the ref they read into
+            final BytesRef shallowCopy = new BytesRef(ref.bytes, ref.offset, ref.length);
+
+            final int offset = randomIntBetween(0, totalLen - len);
+            final int otherLen = randomIntBetween(0, totalLen - offset);
+            assertTrue(array.get(offset, otherLen, ref));
+            assertNotSame(shallowCopy.bytes, ref.bytes);
+            assertEquals(new BytesRef(byteRef, offset, otherLen), ref);
+            assertEquals(new BytesRef(byteRef, 0, len), shallowCopy);
+
+            // writing to the array doesn't change the bytes that were returned either
+            array.fill(0, totalLen, (byte) ~byteRef[0]);
+            assertEquals(new BytesRef(byteRef, 0, len), shallowCopy);
+            assertEquals(new BytesRef(byteRef, offset, otherLen), ref);
+        }
+    }
+
     private List<BigArraysHelper> bigArrayCreators(final long maxSize, final boolean withBreaking) {
         final BigArrays byteBigArrays = newBigArraysInstance(maxSize, withBreaking);
         BigArraysHelper byteHelper = new BigArraysHelper(
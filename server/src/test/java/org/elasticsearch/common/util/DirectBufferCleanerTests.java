@@ -0,0 +1,23 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.elasticsearch.test.ESTestCase;
+
+import java.nio.ByteBuffer;
+
+public class DirectBufferCleanerTests extends ESTestCase {
+
+    public void testCleanerIsLookedUpWithoutExtraPermissions() {
+        // the test bootstrap initializes natives before it installs the security manager, like a node does
+        assertTrue(DirectBufferCleaner.isAvailable());
+        ByteBuffer buffer = ByteBuffer.allocateDirect(randomIntBetween(1, 1 << 16));
+        DirectBufferCleaner.clean(buffer);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class StripedLockTests extends ESTestCase {
+
+    public void testStripesAreRoundedUpToPowerOfTwo() {
+        assertThat(new StripedLock<String>(1).stripes(), equalTo(1));
+        assertThat(new StripedLock<String>(2).stripes(), equalTo(2));
+        assertThat(new StripedLock<String>(3).stripes(), equalTo(4));
+        assertThat(new StripedLock<String>(64).stripes(), equalTo(64));
+        assertThat(new StripedLock<String>(65).stripes(), equalTo(128));
+        expectThrows(IllegalArgumentException.class, () -> new StripedLock<String>(0));
+    }
+
+    public void testMutualExclusion() throws InterruptedException {
+        final StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        final String[] names = new String[randomIntBetween(1, 40)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = randomRealisticUnicodeOfLengthBetween(10, 20);
+        }
+        // non-atomic counters, only safe to increment under lock
+        final int[] counters = new int[names.length];
+        final AtomicInteger expected = new AtomicInteger();
+        final int numThreads = randomIntBetween(3, 10);
+        final int numRuns = scaledRandomIntBetween(5000, 50000);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final int[] keys = new int[numRuns];
+            for (int i = 0; i < numRuns; i++) {
+                keys[i] = randomIntBetween(0, names.length - 1);
+            }
+            threads[t] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                for (int key : keys) {
+                    try (Releasable ignored = lock.acquire(names[key])) {
+                        assertTrue(lock.isHeldByCurrentThread(names[key]));
+                        counters[key]++;
+                    }
+                    expected.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = 0;
+        for (int counter : counters) {
+            total += counter;
+        }
+        assertThat(total, equalTo(expected.get()));
+    }
+
+    public void testTryAcquire() throws InterruptedException {
+        final StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        final Releasable foo = lock.tryAcquire("foo");
+        assertNotNull(foo);
+        final Releasable second = lock.tryAcquire("foo");
+        assertNotNull(second);
+        second.close();
+        final AtomicBoolean check = new AtomicBoolean(false);
+        final AtomicBoolean acquiredConcurrently = new AtomicBoolean(true);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            acquiredConcurrently.set(lock.tryAcquire("foo") != null);
+            latch.countDown();
+            try (Releasable ignore = lock.acquire("foo")) {
+                assertTrue(check.get());
+            }
+        });
+        thread.start();
+        latch.await();
+        assertFalse(acquiredConcurrently.get());
+        check.set(true);
+        foo.close();
+        thread.join();
+        assertFalse(lock.isHeldByCurrentThread("foo"));
+    }
+
+    public void testLockIsReentrant() throws InterruptedException {
+        final StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        Releasable foo = lock.acquire("foo");
+        assertTrue(lock.isHeldByCurrentThread("foo"));
+        Releasable foo2 = lock.acquire("foo");
+        AtomicInteger test = new AtomicInteger(0);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread t = new Thread(() -> {
+            latch.countDown();
+            try (Releasable r = lock.acquire("foo")) {
+                test.incrementAndGet();
+            }
+        });
+        t.start();
+        latch.await();
+        Thread.yield();
+        assertEquals(0, test.get());
+        List<Releasable> list = Arrays.asList(foo, foo2);
+        Collections.shuffle(list, random());
+        list.get(0).close();
+        Thread.yield();
+        assertEquals(0, test.get());
+        list.get(1).close();
+        t.join();
+        assertEquals(1, test.get());
+        assertFalse(lock.isHeldByCurrentThread("foo"));
+    }
+}
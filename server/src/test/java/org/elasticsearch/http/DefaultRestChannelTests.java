@@ -12,7 +12,9 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.BytesStream;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.recycler.Recycler;
 import org.elasticsearch.common.settings.Settings;
@@ -20,8 +22,10 @@ import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.ByteArray;
 import org.elasticsearch.common.util.MockBigArrays;
 import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.common.xcontent.ChunkedToXContent;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.rest.ChunkedRestResponseBody;
 import org.elasticsearch.rest.RestChannel;
 import org.elasticsearch.rest.RestRequest;
 import org.elasticsearch.rest.RestResponse;
@@ -32,6 +36,7 @@ import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.tracing.Tracer;
 import org.elasticsearch.transport.BytesRefRecycler;
+import org.elasticsearch.xcontent.ToXContent;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.json.JsonXContent;
 import org.junit.After;
@@ -43,6 +48,7 @@ import java.nio.channels.ClosedChannelException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.elasticsearch.test.ActionListenerUtils.anyActionListener;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -254,6 +260,51 @@ public class DefaultRestChannelTests extends ESTestCase {
         // ESTestCase#after will invoke ensureAllArraysAreReleased which will fail if the response content was not released
     }
 
+    public void testChunkedResponse() throws IOException {
+        final Settings settings = Settings.builder().build();
+        final TestHttpRequest httpRequest = new TestHttpRequest(HttpRequest.HttpVersion.HTTP_1_1, RestRequest.Method.GET, "/");
+        final RestRequest request = RestRequest.request(parserConfig(), httpRequest, httpChannel);
+        final DefaultRestChannel channel = new DefaultRestChannel(
+            httpChannel,
+            httpRequest,
+            request,
+            bigArrays,
+            HttpHandlingSettings.fromSettings(settings),
+            threadPool.getThreadContext(),
+            CorsHandler.fromSettings(settings),
+            httpTracer,
+            tracer
+        );
+
+        final int numFields = randomIntBetween(0, 100);
+        final ChunkedToXContent chunkedToXContent = () -> Iterators.<ToXContent>concat(
+            Iterators.<ToXContent>single((builder, params) -> builder.startObject()),
+            IntStream.range(0, numFields).<ToXContent>mapToObj(i -> (builder, params) -> builder.field("field-" + i, i)).iterator(),
+            Iterators.<ToXContent>single((builder, params) -> builder.endObject())
+        );
+        channel.sendResponse(
+            new RestResponse(RestStatus.OK, ChunkedRestResponseBody.fromXContent(chunkedToXContent, ToXContent.EMPTY_PARAMS, channel))
+        );
+
+        final ArgumentCaptor<TestHttpResponse> responseCaptor = ArgumentCaptor.forClass(TestHttpResponse.class);
+        verify(httpChannel).sendResponse(responseCaptor.capture(), any());
+        final TestHttpResponse httpResponse = responseCaptor.getValue();
+        assertThat(httpResponse.content(), nullValue());
+        assertFalse(httpResponse.containsHeader(DefaultRestChannel.CONTENT_LENGTH));
+
+        final ChunkedRestResponseBody body = httpResponse.chunkedContent();
+        final BytesStreamOutput written = new BytesStreamOutput();
+        while (body.isDone() == false) {
+            try (ReleasableBytesReference chunk = body.encodeChunk(randomIntBetween(1, 64), bigArrays)) {
+                chunk.writeTo(written);
+            }
+        }
+        try (XContentBuilder expected = JsonXContent.contentBuilder()) {
+            chunkedToXContent.toXContent(expected, ToXContent.EMPTY_PARAMS);
+            assertThat(written.bytes(), equalTo(BytesReference.bytes(expected)));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public void testConnectionClose() throws Exception {
         final Settings settings = Settings.builder().build();
@@ -8,9 +8,12 @@
 
 package org.elasticsearch.index.query;
 
+import org.apache.lucene.document.Document;
 import org.apache.lucene.document.IntPoint;
 import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.apache.lucene.search.ConstantScoreQuery;
 import org.apache.lucene.search.FieldExistsQuery;
 import org.apache.lucene.search.IndexOrDocValuesQuery;
@@ -19,6 +22,7 @@ import org.apache.lucene.search.PointRangeQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TermRangeQuery;
+import org.apache.lucene.store.Directory;
 import org.elasticsearch.ElasticsearchParseException;
 import org.elasticsearch.common.ParsingException;
 import org.elasticsearch.common.geo.ShapeRelation;
@@ -532,6 +536,42 @@ public class RangeQueryBuilderTests extends AbstractQueryTestCase<RangeQueryBuil
         assertThat(rewritten, sameInstance(query));
     }
 
+    public void testRewriteRoundedNowToAbsoluteBounds() throws IOException {
+        try (Directory directory = newDirectory(); RandomIndexWriter iw = new RandomIndexWriter(random(), directory)) {
+            iw.addDocument(new Document());
+            try (IndexReader reader = iw.getReader()) {
+                SearchExecutionContext context = createSearchExecutionContext(newSearcher(reader));
+                RangeQueryBuilder query = new RangeQueryBuilder(DATE_FIELD_NAME) {
+                    @Override
+                    protected MappedFieldType.Relation getRelation(QueryRewriteContext queryRewriteContext) {
+                        return Relation.INTERSECTS;
+                    }
+                };
+                query.gte("now-1d/d");
+                query.lt("now/d");
+                QueryBuilder rewritten = query.rewrite(new SearchExecutionContext(context));
+                assertThat(rewritten, instanceOf(RangeQueryBuilder.class));
+                RangeQueryBuilder rewrittenRange = (RangeQueryBuilder) rewritten;
+                DateFieldMapper.DateFieldType fieldType = (DateFieldMapper.DateFieldType) context.getFieldType(DATE_FIELD_NAME);
+                assertThat(rewrittenRange.from(), equalTo(fieldType.parseToLong("now-1d/d", false, null, null, context::nowInMillis)));
+                assertThat(rewrittenRange.to(), equalTo(fieldType.parseToLong("now/d", false, null, null, context::nowInMillis)));
+                assertTrue(rewrittenRange.includeLower());
+                assertFalse(rewrittenRange.includeUpper());
+                Query expected = query.toQuery(createSearchExecutionContext(newSearcher(reader)));
+                assertThat(expected, instanceOf(DateRangeIncludingNowQuery.class));
+                assertThat(rewrittenRange.toQuery(context), equalTo(((DateRangeIncludingNowQuery) expected).getQuery()));
+                assertTrue("rewritten query should be cacheable: " + rewrittenRange, context.isCacheable());
+
+                // a now that isn't rounded changes with every request
+                query.lt("now");
+                assertThat(query.rewrite(new SearchExecutionContext(context)), sameInstance(query));
+                // without a reader, as for percolator queries, the query is left alone
+                query.lt("now/d");
+                assertThat(query.rewrite(createSearchExecutionContext()), sameInstance(query));
+            }
+        }
+    }
+
     public void testParseFailsWithMultipleFields() {
         String json = """
             {
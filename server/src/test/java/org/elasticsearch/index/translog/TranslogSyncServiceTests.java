@@ -0,0 +1,279 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.network.HandlingTimeTracker;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.CheckedConsumer;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.junit.After;
+import org.junit.Before;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TranslogSyncServiceTests extends ESTestCase {
+
+    private ThreadPool threadPool;
+    private TranslogSyncService service;
+
+    @Before
+    public void setUpService() {
+        threadPool = new TestThreadPool(getTestName());
+        service = newService(Settings.EMPTY);
+        assertTrue(service.isEnabled());
+    }
+
+    private TranslogSyncService newService(Settings settings) {
+        return new TranslogSyncService(
+            Settings.builder().put(settings).put(TranslogSyncService.GROUP_COMMIT_ENABLED_SETTING.getKey(), true).build(),
+            threadPool
+        );
+    }
+
+    @After
+    public void tearDownService() {
+        terminate(threadPool);
+    }
+
+    public void testSyncAcrossShards() throws Exception {
+        final Path[] dataPaths = new Path[randomIntBetween(1, 3)];
+        for (int i = 0; i < dataPaths.length; i++) {
+            dataPaths[i] = createTempDir();
+        }
+        final int numShards = randomIntBetween(1, 10);
+        final AtomicLong[] syncedUpTo = new AtomicLong[numShards];
+        final AtomicInteger syncs = new AtomicInteger();
+        @SuppressWarnings("unchecked")
+        final CheckedConsumer<List<Translog.Location>, IOException>[] syncers = new CheckedConsumer[numShards];
+        for (int i = 0; i < numShards; i++) {
+            final AtomicLong shardSyncedUpTo = syncedUpTo[i] = new AtomicLong(-1);
+            syncers[i] = locations -> {
+                syncs.incrementAndGet();
+                for (Translog.Location location : locations) {
+                    shardSyncedUpTo.accumulateAndGet(location.translogLocation, Math::max);
+                }
+            };
+        }
+
+        final int numThreads = randomIntBetween(2, 8);
+        final int numSyncsPerThread = randomIntBetween(10, 500);
+        final CountDownLatch notified = new CountDownLatch(numThreads * numSyncsPerThread);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] threads = new Thread[numThreads];
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        for (int t = 0; t < numThreads; t++) {
+            final int[] shards = new int[numSyncsPerThread];
+            final long[] offsets = new long[numSyncsPerThread];
+            for (int i = 0; i < numSyncsPerThread; i++) {
+                shards[i] = randomIntBetween(0, numShards - 1);
+                offsets[i] = randomIntBetween(0, Integer.MAX_VALUE);
+            }
+            threads[t] = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                for (int i = 0; i < numSyncsPerThread; i++) {
+                    final int shard = shards[i];
+                    final long offset = offsets[i];
+                    service.sync(dataPaths[shard % dataPaths.length], syncers[shard], new Translog.Location(1, offset, 1), e -> {
+                        if (e != null) {
+                            failure.set(e);
+                        } else if (syncedUpTo[shard].get() < offset) {
+                            failure.set(new AssertionError("location [" + offset + "] notified before being synced"));
+                        }
+                        notified.countDown();
+                    });
+                }
+            });
+            threads[t].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(notified.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        final long totalSyncs = numThreads * numSyncsPerThread;
+        final TranslogSyncStats stats = service.stats();
+        assertThat(stats.getLocations(), equalTo(totalSyncs));
+        assertThat(stats.getShardSyncs(), equalTo((long) syncs.get()));
+        assertThat(stats.getShardSyncs(), lessThanOrEqualTo(totalSyncs));
+        assertThat(stats.getShardSyncs(), greaterThanOrEqualTo(stats.getBatches()));
+        assertThat(LongStream.of(stats.getLatencyBucketFrequencies()).sum(), equalTo(stats.getBatches()));
+        assertThat(LongStream.of(stats.getBatchSizeBucketFrequencies()).sum(), equalTo(stats.getBatches()));
+        assertThat(stats.getBatchSizeBucketFrequencies().length, equalTo(HandlingTimeTracker.BUCKET_COUNT));
+    }
+
+    public void testFailureIsPropagatedToListenersOfTheFailingShard() throws Exception {
+        final Path dataPath = createTempDir();
+        final IOException exception = new IOException("simulated");
+        final CheckedConsumer<List<Translog.Location>, IOException> failingSyncer = locations -> { throw exception; };
+        final CheckedConsumer<List<Translog.Location>, IOException> syncer = locations -> {};
+
+        final int numSyncs = randomIntBetween(1, 100);
+        final CountDownLatch notified = new CountDownLatch(numSyncs);
+        final AtomicReference<Exception> unexpected = new AtomicReference<>();
+        final AtomicInteger failures = new AtomicInteger();
+        int expectedFailures = 0;
+        for (int i = 0; i < numSyncs; i++) {
+            final boolean fail = randomBoolean();
+            if (fail) {
+                expectedFailures++;
+            }
+            service.sync(dataPath, fail ? failingSyncer : syncer, new Translog.Location(1, i, 1), e -> {
+                if (fail) {
+                    assertThat(e, sameInstance(exception));
+                    failures.incrementAndGet();
+                } else if (e != null) {
+                    unexpected.set(e);
+                }
+                notified.countDown();
+            });
+        }
+        assertTrue(notified.await(30, TimeUnit.SECONDS));
+        assertNull(unexpected.get());
+        assertThat(failures.get(), equalTo(expectedFailures));
+        assertThat(service.stats().getLocations(), equalTo((long) numSyncs));
+    }
+
+    public void testThreadContextIsPreserved() throws Exception {
+        final CountDownLatch notified = new CountDownLatch(1);
+        final AtomicReference<String> header = new AtomicReference<>();
+        try (var ignored = threadPool.getThreadContext().stashContext()) {
+            threadPool.getThreadContext().putHeader("test", "value");
+            service.sync(createTempDir(), locations -> {}, new Translog.Location(1, 0, 1), e -> {
+                header.set(threadPool.getThreadContext().getHeader("test"));
+                notified.countDown();
+            });
+        }
+        assertTrue(notified.await(30, TimeUnit.SECONDS));
+        assertThat(header.get(), equalTo("value"));
+    }
+
+    public void testShardsOnTheSamePathAreSyncedConcurrentlyAndBatched() throws Exception {
+        final TranslogSyncService syncService = newService(
+            Settings.builder().put(TranslogSyncService.MAX_CONCURRENT_SYNCS_PER_PATH_SETTING.getKey(), 2).build()
+        );
+        final Path dataPath = createTempDir();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final int numShards = randomIntBetween(2, 10);
+        @SuppressWarnings("unchecked")
+        final CheckedConsumer<List<Translog.Location>, IOException>[] syncers = new CheckedConsumer[numShards];
+        for (int i = 0; i < numShards; i++) {
+            syncers[i] = locations -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    assertTrue(release.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            };
+        }
+
+        final int numSyncs = randomIntBetween(20, 200);
+        final CountDownLatch notified = new CountDownLatch(numSyncs + 2);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Consumer<Exception> listener = e -> {
+            if (e != null) {
+                failure.set(e);
+            }
+            notified.countDown();
+        };
+        // the first two shards block the two sync tasks of the data path, in parallel rather than one after the other
+        syncService.sync(dataPath, syncers[0], new Translog.Location(1, 0, 1), listener);
+        assertBusy(() -> assertThat(inFlight.get(), equalTo(1)));
+        syncService.sync(dataPath, syncers[1], new Translog.Location(1, 0, 1), listener);
+        assertBusy(() -> assertThat(inFlight.get(), equalTo(2)));
+
+        // the locations of all the shards that arrive in the meantime wait for the next batch
+        for (int i = 0; i < numSyncs; i++) {
+            syncService.sync(dataPath, syncers[randomIntBetween(0, numShards - 1)], new Translog.Location(1, i + 1, 1), listener);
+        }
+        assertThat(notified.getCount(), equalTo((long) numSyncs + 2));
+        release.countDown();
+        assertTrue(notified.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        final TranslogSyncStats stats = syncService.stats();
+        assertThat(maxInFlight.get(), equalTo(2));
+        assertThat(stats.getLocations(), equalTo((long) numSyncs + 2));
+        // the two blocked batches, then at most one batch per task that completed
+        assertThat(stats.getBatches(), lessThanOrEqualTo(4L));
+        assertThat(stats.getShardSyncs(), lessThanOrEqualTo(2L + 2L * numShards));
+    }
+
+    public void testPendingSyncsAreBoundedBySyncingOnTheCaller() throws Exception {
+        final int maxPending = randomIntBetween(1, 10);
+        final TranslogSyncService syncService = newService(
+            Settings.builder()
+                .put(TranslogSyncService.MAX_CONCURRENT_SYNCS_PER_PATH_SETTING.getKey(), 1)
+                .put(TranslogSyncService.MAX_PENDING_SYNCS_PER_PATH_SETTING.getKey(), maxPending)
+                .build()
+        );
+        final Path dataPath = createTempDir();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final CheckedConsumer<List<Translog.Location>, IOException> blockingSyncer = locations -> {
+            inFlight.incrementAndGet();
+            try {
+                assertTrue(release.await(30, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        };
+        final CountDownLatch notified = new CountDownLatch(maxPending + 1);
+        syncService.sync(dataPath, blockingSyncer, new Translog.Location(1, 0, 1), e -> notified.countDown());
+        assertBusy(() -> assertThat(inFlight.get(), equalTo(1)));
+        for (int i = 0; i < maxPending; i++) {
+            syncService.sync(dataPath, blockingSyncer, new Translog.Location(1, i + 1, 1), e -> notified.countDown());
+        }
+
+        // the data path is backed up, the next location is synced on the calling thread
+        final AtomicReference<Thread> syncThread = new AtomicReference<>();
+        final AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        syncService.sync(
+            dataPath,
+            locations -> syncThread.set(Thread.currentThread()),
+            new Translog.Location(1, maxPending + 1, 1),
+            e -> {
+                assertNull(e);
+                listenerThread.set(Thread.currentThread());
+            }
+        );
+        assertThat(syncThread.get(), sameInstance(Thread.currentThread()));
+        assertThat(listenerThread.get(), sameInstance(Thread.currentThread()));
+
+        release.countDown();
+        assertTrue(notified.await(30, TimeUnit.SECONDS));
+        assertThat(syncService.stats().getLocations(), equalTo((long) maxPending + 1));
+    }
+}
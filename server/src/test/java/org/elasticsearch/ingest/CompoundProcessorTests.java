@@ -12,13 +12,16 @@ import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Before;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.LongSupplier;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -539,6 +542,56 @@ public class CompoundProcessorTests extends ESTestCase {
         }
     }
 
+    public void testExecuteBatch() {
+        Function<IngestDocument, IngestDocument> dropper = document -> document.hasField("drop") ? null : document;
+        TestProcessor dropProcessor = new TestProcessor("drop", "drop", null, dropper);
+        List<Integer> batchSizes = new ArrayList<>();
+        TestProcessor batchProcessor = new TestProcessor("batch", "batch", null, document -> {
+            if (document.hasField("fail")) {
+                throw new IllegalArgumentException("fail");
+            }
+            document.setFieldValue("batched", true);
+        }) {
+            @Override
+            public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+                batchSizes.add(ingestDocuments.size());
+                super.executeBatch(ingestDocuments, handler);
+            }
+        };
+        TestProcessor onFailureProcessor = new TestProcessor(document -> document.setFieldValue("recovered", true));
+        CompoundProcessor compoundProcessor = new CompoundProcessor(
+            false,
+            List.of(dropProcessor, batchProcessor),
+            List.of(onFailureProcessor),
+            () -> 0L
+        );
+
+        List<IngestDocument> ingestDocuments = List.of(
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("id", 0))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("id", 1, "drop", true))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("id", 2, "fail", true))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("id", 3)))
+        );
+        IngestDocument[] results = new IngestDocument[ingestDocuments.size()];
+        int[] calls = new int[ingestDocuments.size()];
+        compoundProcessor.executeBatch(ingestDocuments, (slot, result, e) -> {
+            assertThat(e, nullValue());
+            calls[slot]++;
+            results[slot] = result;
+        });
+
+        // the dropped document does not reach the next processor, which gets the other documents as one batch
+        assertThat(batchSizes, equalTo(List.of(3)));
+        assertThat(calls, equalTo(new int[] { 1, 1, 1, 1 }));
+        assertThat(results[0].getFieldValue("batched", Boolean.class), is(true));
+        assertThat(results[1], nullValue());
+        assertThat(results[2].hasField("batched"), is(false));
+        assertThat(results[2].getFieldValue("recovered", Boolean.class), is(true));
+        assertThat(results[3].getFieldValue("batched", Boolean.class), is(true));
+        assertThat(onFailureProcessor.getInvokedCounter(), equalTo(1));
+        assertStats(1, compoundProcessor, 0L, 3, 1, 0L);
+    }
+
     private TestProcessor getTestProcessor(String tag, boolean isAsync, boolean shouldThrowException) {
         return new TestProcessor(
             tag,
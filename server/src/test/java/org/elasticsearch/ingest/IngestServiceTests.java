@@ -44,9 +44,12 @@ import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.time.DateFormatter;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.core.Tuple;
+import org.elasticsearch.env.Environment;
+import org.elasticsearch.env.TestEnvironment;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.VersionType;
 import org.elasticsearch.plugins.IngestPlugin;
@@ -57,6 +60,7 @@ import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.MockLogAppender;
+import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.threadpool.ThreadPool.Names;
 import org.elasticsearch.xcontent.XContentBuilder;
@@ -77,7 +81,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -107,6 +113,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -1373,6 +1380,7 @@ public class IngestServiceTests extends ESTestCase {
             handler.accept(null, error);
             return null;
         }).when(processor).execute(any(), any());
+        executeBatchPerDocument(processor);
         IngestService ingestService = createWithProcessors(
             Collections.singletonMap("mock", (factories, tag, description, config) -> processor)
         );
@@ -1429,6 +1437,7 @@ public class IngestServiceTests extends ESTestCase {
             handler.accept(RandomDocumentPicks.randomIngestDocument(random()), null);
             return null;
         }).when(processor).execute(any(), any());
+        doCallRealMethod().when(processor).executeBatch(any(), any());
         Map<String, Processor.Factory> map = Maps.newMapWithExpectedSize(2);
         map.put("mock", (factories, tag, description, config) -> processor);
 
@@ -1462,6 +1471,159 @@ public class IngestServiceTests extends ESTestCase {
         }
     }
 
+    public void testBulkRequestExecutionInBatches() throws Exception {
+        final int batchSize = between(1, 8);
+        final int numRequest = scaledRandomIntBetween(8, 64);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < numRequest; i++) {
+            IndexRequest indexRequest = new IndexRequest("_index").id(Integer.toString(i)).setPipeline("_id").setFinalPipeline("_none");
+            indexRequest.source(Requests.INDEX_CONTENT_TYPE, "field1", "value1");
+            bulkRequest.add(indexRequest);
+        }
+
+        final Processor processor = new AbstractProcessor("_tag", null) {
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                int id = Integer.parseInt(ingestDocument.getMetadata().getId());
+                if (id % 3 == 0) {
+                    return null;
+                } else if (id % 5 == 0) {
+                    throw new IllegalArgumentException("failed [" + id + "]");
+                }
+                ingestDocument.setFieldValue("processed", id);
+                return ingestDocument;
+            }
+
+            @Override
+            public String getType() {
+                return "mock";
+            }
+        };
+
+        final ThreadPool testThreadPool = new TestThreadPool(getTestName());
+        try {
+            ThreadPool threadPool = mock(ThreadPool.class);
+            when(threadPool.generic()).thenReturn(EsExecutors.DIRECT_EXECUTOR_SERVICE);
+            when(threadPool.executor(anyString())).thenReturn(testThreadPool.executor(Names.WRITE));
+            Settings settings = Settings.builder()
+                .put(Environment.PATH_HOME_SETTING.getKey(), createTempDir())
+                .put(IngestService.BULK_BATCH_SIZE_SETTING.getKey(), batchSize)
+                .build();
+            IngestService ingestService = new IngestService(
+                mock(ClusterService.class),
+                threadPool,
+                TestEnvironment.newEnvironment(settings),
+                null,
+                null,
+                List.of(new IngestPlugin() {
+                    @Override
+                    public Map<String, Processor.Factory> getProcessors(Processor.Parameters parameters) {
+                        return Map.of("mock", (factories, tag, description, config) -> processor);
+                    }
+                }),
+                mock(Client.class)
+            );
+            PutPipelineRequest putRequest = new PutPipelineRequest("_id", new BytesArray("""
+                {"processors": [{"mock": {}}]}"""), XContentType.JSON);
+            ClusterState clusterState = ClusterState.builder(new ClusterName("_name")).build();
+            ClusterState previousClusterState = clusterState;
+            clusterState = executePut(putRequest, clusterState);
+            ingestService.applyClusterState(new ClusterChangedEvent("", clusterState, previousClusterState));
+
+            final Map<Integer, Exception> failures = ConcurrentCollections.newConcurrentMap();
+            final Set<Integer> dropped = ConcurrentCollections.newConcurrentSet();
+            final AtomicInteger completions = new AtomicInteger();
+            final CountDownLatch completionLatch = new CountDownLatch(1);
+            ingestService.executeBulkRequest(numRequest, bulkRequest.requests(), failures::put, (thread, e) -> {
+                assertThat(e, nullValue());
+                completions.incrementAndGet();
+                completionLatch.countDown();
+            }, dropped::add, Names.WRITE);
+            assertTrue(completionLatch.await(10, TimeUnit.SECONDS));
+            assertThat(completions.get(), equalTo(1));
+
+            for (int i = 0; i < numRequest; i++) {
+                IndexRequest indexRequest = (IndexRequest) bulkRequest.requests().get(i);
+                if (i % 3 == 0) {
+                    assertTrue(dropped.contains(i));
+                    assertFalse(failures.containsKey(i));
+                } else if (i % 5 == 0) {
+                    assertFalse(dropped.contains(i));
+                    assertThat(failures.get(i).getCause().getMessage(), equalTo("failed [" + i + "]"));
+                } else {
+                    assertFalse(dropped.contains(i));
+                    assertFalse(failures.containsKey(i));
+                    assertThat(indexRequest.sourceAsMap().get("processed"), equalTo(i));
+                }
+            }
+            assertThat(ingestService.stats().getTotalStats().getIngestCount(), equalTo((long) numRequest));
+        } finally {
+            terminate(testThreadPool);
+        }
+    }
+
+    public void testBulkRequestExecutionRunsPipelineAsBatch() throws Exception {
+        final int numRequest = scaledRandomIntBetween(2, 64);
+        BulkRequest bulkRequest = new BulkRequest();
+        for (int i = 0; i < numRequest; i++) {
+            IndexRequest indexRequest = new IndexRequest("_index").id(Integer.toString(i)).setPipeline("_id").setFinalPipeline("_none");
+            indexRequest.source(Requests.INDEX_CONTENT_TYPE, "field1", "value1");
+            bulkRequest.add(indexRequest);
+        }
+        // a document that fails to parse does not take part in the batch
+        IndexRequest unparseable = new IndexRequest("_index").id("unparseable").setPipeline("_id").setFinalPipeline("_none");
+        unparseable.source(new BytesArray("{\"field1\""), XContentType.JSON);
+        bulkRequest.add(unparseable);
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        final Processor processor = new AbstractProcessor("_tag", null) {
+            @Override
+            public IngestDocument execute(IngestDocument ingestDocument) {
+                ingestDocument.setFieldValue("processed", true);
+                return ingestDocument;
+            }
+
+            @Override
+            public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+                batchSizes.add(ingestDocuments.size());
+                super.executeBatch(ingestDocuments, handler);
+            }
+
+            @Override
+            public String getType() {
+                return "mock";
+            }
+        };
+        IngestService ingestService = createWithProcessors(Map.of("mock", (factories, tag, description, config) -> processor));
+        PutPipelineRequest putRequest = new PutPipelineRequest("_id", new BytesArray("""
+            {"processors": [{"mock": {}}]}"""), XContentType.JSON);
+        ClusterState clusterState = ClusterState.builder(new ClusterName("_name")).build();
+        ClusterState previousClusterState = clusterState;
+        clusterState = executePut(putRequest, clusterState);
+        ingestService.applyClusterState(new ClusterChangedEvent("", clusterState, previousClusterState));
+
+        final Map<Integer, Exception> failures = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        final BiConsumer<Thread, Exception> completionHandler = mock(BiConsumer.class);
+        ingestService.executeBulkRequest(
+            numRequest + 1,
+            bulkRequest.requests(),
+            failures::put,
+            completionHandler,
+            indexReq -> {},
+            Names.WRITE
+        );
+
+        verify(completionHandler, times(1)).accept(Thread.currentThread(), null);
+        assertThat(batchSizes, equalTo(List.of(numRequest)));
+        assertThat(failures.keySet(), equalTo(Set.of(numRequest)));
+        for (int i = 0; i < numRequest; i++) {
+            IndexRequest indexRequest = (IndexRequest) bulkRequest.requests().get(i);
+            assertThat(indexRequest.sourceAsMap().get("processed"), equalTo(true));
+        }
+        assertThat(ingestService.stats().getTotalStats().getIngestCount(), equalTo((long) numRequest));
+    }
+
     public void testStats() throws Exception {
         final Processor processor = mock(Processor.class);
         final Processor processorFailure = mock(Processor.class);
@@ -2213,9 +2375,26 @@ public class IngestServiceTests extends ESTestCase {
             handler.accept((IngestDocument) args.getArguments()[0], null);
             return null;
         }).when(processor).execute(any(), any());
+        executeBatchPerDocument(processor);
         return processor;
     }
 
+    /**
+     * Makes a mocked processor execute each document of a batch through its mocked {@link Processor#execute(IngestDocument, BiConsumer)}.
+     */
+    private static void executeBatchPerDocument(Processor processor) {
+        doAnswer(args -> {
+            @SuppressWarnings("unchecked")
+            List<IngestDocument> ingestDocuments = (List<IngestDocument>) args.getArguments()[0];
+            Processor.BatchHandler handler = (Processor.BatchHandler) args.getArguments()[1];
+            for (int i = 0; i < ingestDocuments.size(); i++) {
+                final int slot = i;
+                processor.execute(ingestDocuments.get(i), (result, e) -> handler.accept(slot, result, e));
+            }
+            return null;
+        }).when(processor).executeBatch(any(), any());
+    }
+
     private class IngestDocumentMatcher implements ArgumentMatcher<IngestDocument> {
 
         private final IngestDocument ingestDocument;
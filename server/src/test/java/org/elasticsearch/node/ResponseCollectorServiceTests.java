@@ -17,6 +17,7 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.transport.TransportAddress;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -28,6 +29,8 @@ import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 
 public class ResponseCollectorServiceTests extends ESTestCase {
 
@@ -63,6 +66,25 @@ public class ResponseCollectorServiceTests extends ESTestCase {
         assertThat(nodeStats.get("node1").serviceTime, equalTo(10.0));
     }
 
+    public void testStalledNode() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        final long stalledNanos = TimeValue.timeValueSeconds(10).nanos();
+        collector.onQuerySent("node1", System.nanoTime() - stalledNanos);
+        collector.onQuerySent("node1", System.nanoTime());
+        // the response time is at least the time since the node last completed a query
+        assertThat(collector.getNodeStatistics("node1").get().responseTime, greaterThanOrEqualTo((double) stalledNanos));
+        assertThat(collector.getAllNodeStatistics().get("node1").responseTime, greaterThanOrEqualTo((double) stalledNanos));
+
+        collector.onQueryCompleted("node1", System.nanoTime());
+        assertThat(collector.getNodeStatistics("node1").get().responseTime, lessThan((double) stalledNanos));
+
+        collector.onQueryCompleted("node1", System.nanoTime());
+        assertThat(collector.getNodeStatistics("node1").get().responseTime, equalTo(100.0));
+        // completing a query that wasn't tracked, for instance after the node was removed, is a no-op
+        collector.onQueryCompleted("node1", System.nanoTime());
+        assertThat(collector.getNodeStatistics("node1").get().responseTime, equalTo(100.0));
+    }
+
     /*
      * Test that concurrently adding values and removing nodes does not cause exceptions
      */
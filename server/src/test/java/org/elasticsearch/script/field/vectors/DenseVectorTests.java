@@ -83,4 +83,46 @@ public class DenseVectorTests extends ESTestCase {
         }
     }
 
+    public void testEncodedVectorWithOffset() {
+        int dims = randomIntBetween(1, 128);
+        float[] docVector = new float[dims];
+        float[] queryVector = new float[dims];
+        double dotProduct = 0;
+        double l1Norm = 0;
+        double l2Norm = 0;
+        for (int i = 0; i < dims; i++) {
+            docVector[i] = randomFloat() * 2 - 1;
+            queryVector[i] = randomFloat() * 2 - 1;
+            dotProduct += docVector[i] * queryVector[i];
+            l1Norm += Math.abs(docVector[i] - queryVector[i]);
+            double diff = docVector[i] - queryVector[i];
+            l2Norm += diff * diff;
+        }
+        l2Norm = Math.sqrt(l2Norm);
+
+        BytesRef encoded = BinaryDenseVectorScriptDocValuesTests.mockEncodeDenseVector(docVector, Version.CURRENT);
+        int offset = randomIntBetween(0, 7);
+        byte[] shifted = new byte[offset + encoded.length + randomIntBetween(0, 7)];
+        System.arraycopy(encoded.bytes, encoded.offset, shifted, offset, encoded.length);
+        BytesRef value = new BytesRef(shifted, offset, encoded.length);
+
+        BinaryDenseVector bdv = new BinaryDenseVector(value, dims, Version.CURRENT);
+        assertArrayEquals(docVector, bdv.getVector(), 0f);
+        assertEquals(dotProduct, bdv.dotProduct(queryVector), 0.001);
+        assertEquals(l1Norm, bdv.l1Norm(queryVector), 0.001);
+        assertEquals(l2Norm, bdv.l2Norm(queryVector), 0.001);
+
+        KnnDenseVector knn = new KnnDenseVector(docVector);
+        assertEquals(dotProduct, knn.dotProduct(queryVector), 0.001);
+        assertEquals(l1Norm, knn.l1Norm(queryVector), 0.001);
+        assertEquals(l2Norm, knn.l2Norm(queryVector), 0.001);
+
+        BinaryDenseVector legacy = new BinaryDenseVector(
+            BinaryDenseVectorScriptDocValuesTests.mockEncodeDenseVector(docVector, Version.V_7_4_0),
+            dims,
+            Version.V_7_4_0
+        );
+        assertEquals(bdv.getMagnitude(), legacy.getMagnitude(), 0.001f);
+    }
+
 }
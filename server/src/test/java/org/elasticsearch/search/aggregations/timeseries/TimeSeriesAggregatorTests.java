@@ -13,9 +13,16 @@ import org.apache.lucene.document.FloatDocValuesField;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.elasticsearch.core.CheckedConsumer;
 import org.elasticsearch.index.mapper.DataStreamTimestampFieldMapper;
@@ -36,6 +43,7 @@ import java.util.function.Consumer;
 
 import static org.elasticsearch.search.aggregations.AggregationBuilders.sum;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 
 public class TimeSeriesAggregatorTests extends AggregatorTestCase {
@@ -74,6 +82,62 @@ public class TimeSeriesAggregatorTests extends AggregatorTestCase {
         );
     }
 
+    /**
+     * The documents of a time series are spread over several segments, so the aggregator sees them interleaved with the documents of
+     * other time series. Each segment collector reuses the bucket of the previous document while the tsid stays the same and must
+     * switch buckets as soon as it changes.
+     */
+    public void testTimeSeriesInterleavedAcrossSegments() throws IOException {
+        TimeSeriesAggregationBuilder aggregationBuilder = new TimeSeriesAggregationBuilder("ts").subAggregation(sum("sum").field("val1"));
+        long startTime = DateFieldMapper.DEFAULT_DATE_TIME_FORMATTER.parseMillis("2021-01-01T00:00:00Z");
+        int numTimeSeries = randomIntBetween(2, 5);
+        int numSegments = randomIntBetween(2, 4);
+        long[] expectedDocCounts = new long[numTimeSeries];
+        double[] expectedSums = new double[numTimeSeries];
+        MappedFieldType[] fieldTypes = new MappedFieldType[] {
+            TimeSeriesIdFieldMapper.FIELD_TYPE,
+            new DateFieldMapper.DateFieldType("@timestamp"),
+            new KeywordFieldMapper.KeywordFieldType("dim1"),
+            new NumberFieldMapper.NumberFieldType("val1", NumberFieldMapper.NumberType.INTEGER) };
+
+        try (Directory directory = newDirectory()) {
+            IndexWriterConfig config = newIndexWriterConfig();
+            config.setIndexSort(
+                new Sort(
+                    new SortField(TimeSeriesIdFieldMapper.NAME, SortField.Type.STRING, false),
+                    new SortedNumericSortField(DataStreamTimestampFieldMapper.DEFAULT_PATH, SortField.Type.LONG, true)
+                )
+            );
+            // keep the segments apart, so that the documents of every time series are collected from several segments
+            config.setMergePolicy(NoMergePolicy.INSTANCE);
+            try (RandomIndexWriter iw = new RandomIndexWriter(random(), directory, config)) {
+                long timestamp = startTime;
+                for (int segment = 0; segment < numSegments; segment++) {
+                    for (int ts = 0; ts < numTimeSeries; ts++) {
+                        int numDocs = randomIntBetween(1, 5);
+                        for (int doc = 0; doc < numDocs; doc++) {
+                            int value = randomIntBetween(0, 100);
+                            writeTS(iw, timestamp++, new Object[] { "dim1", "ts" + ts }, new Object[] { "val1", value });
+                            expectedDocCounts[ts]++;
+                            expectedSums[ts] += value;
+                        }
+                    }
+                    iw.commit();
+                }
+            }
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                assertThat(reader.leaves().size(), greaterThanOrEqualTo(numSegments));
+                InternalTimeSeries ts = searchAndReduce(newIndexSearcher(reader), new MatchAllDocsQuery(), aggregationBuilder, fieldTypes);
+                assertThat(ts.getBuckets(), hasSize(numTimeSeries));
+                for (int i = 0; i < numTimeSeries; i++) {
+                    InternalTimeSeries.InternalBucket bucket = ts.getBucketByKey("{dim1=ts" + i + "}");
+                    assertThat(bucket.docCount, equalTo(expectedDocCounts[i]));
+                    assertThat(((Sum) bucket.getAggregations().get("sum")).value(), equalTo(expectedSums[i]));
+                }
+            }
+        }
+    }
+
     public static void writeTS(RandomIndexWriter iw, long timestamp, Object[] dimensions, Object[] metrics) throws IOException {
         final List<IndexableField> fields = new ArrayList<>();
         fields.add(new SortedNumericDocValuesField(DataStreamTimestampFieldMapper.DEFAULT_PATH, timestamp));
@@ -58,20 +58,30 @@ import org.elasticsearch.index.cache.bitset.BitsetFilterCache;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.lucene.util.CombinedBitSet;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.test.IndexSettingsModule;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.elasticsearch.search.internal.ContextIndexSearcher.intersectScorerAndBitSet;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableLeafReader;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitablePointValues;
 import static org.elasticsearch.search.internal.ExitableDirectoryReader.ExitableTerms;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class ContextIndexSearcherTests extends ESTestCase {
@@ -160,6 +170,111 @@ public class ContextIndexSearcherTests extends ESTestCase {
         directory.close();
     }
 
+    public void testConcurrentSearch() throws Exception {
+        Directory directory = newMultiSliceDirectory();
+        ThreadPool threadPool = new TestThreadPool(getTestName());
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            ContextIndexSearcher sequential = new ContextIndexSearcher(
+                reader,
+                IndexSearcher.getDefaultSimilarity(),
+                IndexSearcher.getDefaultQueryCache(),
+                IndexSearcher.getDefaultQueryCachingPolicy(),
+                true
+            );
+            ContextIndexSearcher concurrent = newConcurrentSearcher(reader, threadPool.executor(ThreadPool.Names.SEARCH_WORKER));
+            assertFalse(sequential.isConcurrentSearchEnabled());
+            assertTrue(concurrent.isConcurrentSearchEnabled());
+
+            Query query = new TermQuery(new Term("field", randomFrom("a", "b")));
+            assertSameHits(sequential.search(query, reader.maxDoc()), concurrent.search(query, reader.maxDoc()));
+            assertEquals(sequential.count(query), concurrent.count(query));
+
+            concurrent.addQueryCancellation(() -> { throw new TaskCancelledException("cancelled"); });
+            expectThrows(TaskCancelledException.class, () -> concurrent.search(query, 10));
+        } finally {
+            terminate(threadPool);
+            directory.close();
+        }
+    }
+
+    public void testConcurrentSearchCollectsRejectedSlicesOnCaller() throws Exception {
+        Directory directory = newMultiSliceDirectory();
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            AtomicInteger rejected = new AtomicInteger();
+            ContextIndexSearcher concurrent = newConcurrentSearcher(reader, command -> {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("rejected");
+            });
+            assertTrue(concurrent.isConcurrentSearchEnabled());
+
+            Query query = new TermQuery(new Term("field", randomFrom("a", "b")));
+            assertSameHits(new IndexSearcher(reader).search(query, reader.maxDoc()), concurrent.search(query, reader.maxDoc()));
+            assertThat(rejected.get(), greaterThan(0));
+        } finally {
+            directory.close();
+        }
+    }
+
+    public void testConcurrentSearchCollectsQueuedSlicesOnCaller() throws Exception {
+        Directory directory = newMultiSliceDirectory();
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            // slices are queued but no worker ever picks them up, the calling thread must not wait for them
+            List<Runnable> queued = new ArrayList<>();
+            ContextIndexSearcher concurrent = newConcurrentSearcher(reader, queued::add);
+            assertTrue(concurrent.isConcurrentSearchEnabled());
+
+            Query query = new TermQuery(new Term("field", randomFrom("a", "b")));
+            assertSameHits(new IndexSearcher(reader).search(query, reader.maxDoc()), concurrent.search(query, reader.maxDoc()));
+            assertThat(queued.size(), greaterThan(0));
+            // a worker that picks up a slice the caller already collected has nothing left to do
+            for (Runnable runnable : queued) {
+                runnable.run();
+            }
+        } finally {
+            directory.close();
+        }
+    }
+
+    private static Directory newMultiSliceDirectory() throws IOException {
+        Directory directory = newDirectory();
+        IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()).setMergePolicy(NoMergePolicy.INSTANCE));
+        // the default slicing puts at most 5 segments in a slice
+        int numSegments = randomIntBetween(11, 20);
+        for (int i = 0; i < numSegments; i++) {
+            int numDocs = randomIntBetween(1, 20);
+            for (int j = 0; j < numDocs; j++) {
+                Document doc = new Document();
+                doc.add(new StringField("field", randomFrom("a", "b"), Field.Store.NO));
+                iw.addDocument(doc);
+            }
+            iw.commit();
+        }
+        iw.close();
+        return directory;
+    }
+
+    private static ContextIndexSearcher newConcurrentSearcher(IndexReader reader, Executor executor) throws IOException {
+        return new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true,
+            executor
+        );
+    }
+
+    /**
+     * All the hits of the term query have the same score, slices are merged by score and slice index so only the set of hits is compared.
+     */
+    private static void assertSameHits(TopDocs expected, TopDocs actual) {
+        assertEquals(expected.totalHits, actual.totalHits);
+        assertArrayEquals(
+            Arrays.stream(expected.scoreDocs).mapToInt(scoreDoc -> scoreDoc.doc).sorted().toArray(),
+            Arrays.stream(actual.scoreDocs).mapToInt(scoreDoc -> scoreDoc.doc).sorted().toArray()
+        );
+    }
+
     public void testContextIndexSearcherSparseNoDeletions() throws IOException {
         doTestContextIndexSearcher(true, false);
     }
@@ -0,0 +1,252 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0 and the Server Side Public License, v 1; you may not use this file except
+ * in compliance with, at your election, the Elastic License 2.0 or the Server
+ * Side Public License, v 1.
+ */
+
+package org.elasticsearch.search.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.mapper.KeywordFieldMapper;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.NumberFieldMapper;
+import org.elasticsearch.index.query.ParsedQuery;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.script.MockScriptEngine;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptEngine;
+import org.elasticsearch.script.ScriptModule;
+import org.elasticsearch.script.ScriptService;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.AggregationPhase;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.AggregatorTestCase;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.SearchContextAggregations;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.internal.ContextIndexSearcher;
+import org.elasticsearch.search.profile.Profilers;
+import org.elasticsearch.test.TestSearchContext;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryPhaseConcurrentAggregationTests extends AggregatorTestCase {
+
+    private static final MappedFieldType RANK = new NumberFieldMapper.NumberFieldType("rank", NumberFieldMapper.NumberType.LONG);
+    private static final MappedFieldType FOO = new KeywordFieldMapper.KeywordFieldType("foo");
+
+    private static final String PLUS_ONE_SCRIPT = "_value + 1";
+
+    private ThreadPool threadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(getTestName());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        terminate(threadPool);
+        super.tearDown();
+    }
+
+    @Override
+    protected ScriptService getMockScriptService() {
+        Map<String, Function<Map<String, Object>, Object>> scripts = Map.of(
+            PLUS_ONE_SCRIPT,
+            vars -> ((Number) vars.get("_value")).doubleValue() + 1
+        );
+        MockScriptEngine scriptEngine = new MockScriptEngine(MockScriptEngine.NAME, scripts, Collections.emptyMap());
+        Map<String, ScriptEngine> engines = Collections.singletonMap(scriptEngine.getType(), scriptEngine);
+        return new ScriptService(Settings.EMPTY, engines, ScriptModule.CORE_CONTEXTS, () -> 1L);
+    }
+
+    public void testConcurrentMetricAggregations() throws Exception {
+        AggregatorFactories.Builder aggs = new AggregatorFactories.Builder().addAggregator(AggregationBuilders.min("min").field("rank"))
+            .addAggregator(AggregationBuilders.max("max").field("rank"))
+            .addAggregator(AggregationBuilders.sum("sum").field("rank"))
+            .addAggregator(AggregationBuilders.avg("avg").field("rank"))
+            .addAggregator(AggregationBuilders.count("count").field("rank"))
+            // an unmapped field collects nothing on every slice
+            .addAggregator(AggregationBuilders.max("unmapped").field("unknown"));
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                Query query = new TermQuery(new Term("foo", "a"));
+                InternalAggregations expected = executeAggregations(newContextSearcher(reader), query, aggs, false, false);
+
+                ContextIndexSearcher concurrent = newConcurrentContextSearcher(reader, threadPool.executor(ThreadPool.Names.SEARCH_WORKER));
+                assertTrue(concurrent.isConcurrentSearchEnabled());
+                InternalAggregations actual = executeAggregations(concurrent, query, aggs, true, false);
+                // the slices are reduced in the order of the requested aggregations
+                assertThat(actual.asList(), equalTo(expected.asList()));
+            }
+        }
+    }
+
+    public void testConcurrentSearchFallsBackToSequentialWithUnsupportedAggregations() throws Exception {
+        // terms can't collect a slice with its own aggregator yet, so it takes the max along with it
+        AggregatorFactories.Builder aggs = new AggregatorFactories.Builder().addAggregator(AggregationBuilders.terms("terms").field("foo"))
+            .addAggregator(AggregationBuilders.max("max").field("rank"));
+        assertAggregationsAreCollectedSequentially(aggs, false);
+    }
+
+    public void testConcurrentSearchFallsBackToSequentialWithSubAggregations() throws Exception {
+        AggregatorFactories.Builder aggs = new AggregatorFactories.Builder().addAggregator(
+            AggregationBuilders.terms("terms").field("foo").subAggregation(AggregationBuilders.max("max").field("rank"))
+        );
+        assertAggregationsAreCollectedSequentially(aggs, false);
+    }
+
+    public void testConcurrentSearchFallsBackToSequentialWithScripts() throws Exception {
+        // scripts run through the search lookup that the aggregators share
+        Script script = new Script(ScriptType.INLINE, MockScriptEngine.NAME, PLUS_ONE_SCRIPT, Collections.emptyMap());
+        AggregatorFactories.Builder aggs = new AggregatorFactories.Builder().addAggregator(
+            AggregationBuilders.max("max").field("rank").script(script)
+        );
+        assertAggregationsAreCollectedSequentially(aggs, false);
+    }
+
+    public void testConcurrentSearchFallsBackToSequentialWhenProfiling() throws Exception {
+        AggregatorFactories.Builder aggs = new AggregatorFactories.Builder().addAggregator(AggregationBuilders.max("max").field("rank"))
+            .addAggregator(AggregationBuilders.count("count").field("rank"));
+        assertAggregationsAreCollectedSequentially(aggs, true);
+    }
+
+    private void assertAggregationsAreCollectedSequentially(AggregatorFactories.Builder aggs, boolean profile) throws IOException {
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                Query query = new TermQuery(new Term("foo", "a"));
+                InternalAggregations expected = executeAggregations(newContextSearcher(reader), query, aggs, false, false);
+
+                ContextIndexSearcher searcher = newConcurrentContextSearcher(reader, command -> {
+                    throw new AssertionError("the aggregations must be collected sequentially");
+                });
+                assertTrue(searcher.isConcurrentSearchEnabled());
+                InternalAggregations actual = executeAggregations(searcher, query, aggs, false, profile);
+                assertThat(actual.asList(), equalTo(expected.asList()));
+            }
+        }
+    }
+
+    /**
+     * Runs the query phase with the provided aggregations and returns their results.
+     * @param concurrent True if the aggregations are expected to be collected by several slices
+     */
+    private InternalAggregations executeAggregations(
+        ContextIndexSearcher searcher,
+        Query query,
+        AggregatorFactories.Builder aggs,
+        boolean concurrent,
+        boolean profile
+    ) throws IOException {
+        IndexShard indexShard = mock(IndexShard.class);
+        when(indexShard.shardId()).thenReturn(new ShardId("test", "test", 0));
+        when(indexShard.getThreadPool()).thenReturn(threadPool);
+        Profilers profilers = profile ? new Profilers(searcher) : null;
+        TestSearchContext context = new TestSearchContext(null, indexShard, searcher) {
+            @Override
+            public Profilers getProfilers() {
+                return profilers;
+            }
+        };
+        context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+        context.parsedQuery(new ParsedQuery(query));
+        context.setSize(0);
+        AggregationContext aggregationContext = createAggregationContext(searcher, query, RANK, FOO);
+        SearchContextAggregations aggregations = new SearchContextAggregations(aggs.build(aggregationContext, null), aggs);
+        context.aggregations(aggregations);
+
+        AggregationPhase.preProcess(context);
+        QueryPhase.executeInternal(context);
+        AggregationPhase.execute(context);
+        if (concurrent) {
+            assertThat(aggregations.sliceAggregators(), not(empty()));
+        } else {
+            assertThat(aggregations.sliceAggregators(), empty());
+        }
+        if (profile) {
+            assertNotNull(profilers.getCurrentQueryProfiler().getCollector());
+        }
+        return context.queryResult().consumeAggs();
+    }
+
+    /**
+     * Indexes enough segments for the default slicing to create several slices.
+     */
+    private static void indexMultiSliceSegments(Directory dir) throws IOException {
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        // the default slicing puts at most 5 segments in a slice
+        int numSegments = randomIntBetween(11, 20);
+        int numDocs = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int segmentDocs = randomIntBetween(5, 30);
+            for (int j = 0; j < segmentDocs; j++) {
+                Document doc = new Document();
+                String foo = numDocs % 3 == 0 ? "b" : "a";
+                doc.add(new StringField("foo", foo, Store.NO));
+                doc.add(new SortedDocValuesField("foo", new BytesRef(foo)));
+                doc.add(new NumericDocValuesField("rank", randomLongBetween(-1000, 1000)));
+                w.addDocument(doc);
+                numDocs++;
+            }
+            w.commit();
+        }
+        w.close();
+    }
+
+    private static ContextIndexSearcher newConcurrentContextSearcher(IndexReader reader, Executor executor) throws IOException {
+        return new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true,
+            executor
+        );
+    }
+
+    private static ContextIndexSearcher newContextSearcher(IndexReader reader) throws IOException {
+        return new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true
+        );
+    }
+}
@@ -25,12 +25,14 @@ import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NoMergePolicy;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.function.FunctionScoreQuery;
 import org.apache.lucene.queries.spans.SpanNearQuery;
 import org.apache.lucene.queries.spans.SpanTermQuery;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Collector;
 import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.DoubleValuesSource;
 import org.apache.lucene.search.FieldComparator;
 import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.FieldExistsQuery;
@@ -76,11 +78,16 @@ import org.elasticsearch.tasks.TaskCancelHelper;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.TestSearchContext;
+import org.elasticsearch.threadpool.TestThreadPool;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntUnaryOperator;
 
 import static org.elasticsearch.search.query.TopDocsCollectorContext.hasInfMaxScore;
@@ -937,6 +944,213 @@ public class QueryPhaseTests extends IndexShardTestCase {
         }
     }
 
+    public void testConcurrentTopDocs() throws Exception {
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            ThreadPool threadPool = new TestThreadPool(getTestName());
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                ContextIndexSearcher concurrent = newConcurrentContextSearcher(reader, threadPool.executor(ThreadPool.Names.SEARCH_WORKER));
+                assertTrue(concurrent.isConcurrentSearchEnabled());
+                // ranks are unique so that the merged top docs don't depend on how ties are broken across slices
+                Query query = new FunctionScoreQuery(new TermQuery(new Term("foo", "a")), DoubleValuesSource.fromLongField("rank"));
+                SortAndFormats sort = randomBoolean()
+                    ? null
+                    : new SortAndFormats(
+                        new Sort(new SortField("rank", SortField.Type.LONG, true)),
+                        new DocValueFormat[] { DocValueFormat.RAW }
+                    );
+                int size = randomIntBetween(1, 50);
+                int from = randomIntBetween(0, 10);
+
+                TopDocs expected = executeQuery(newContextSearcher(reader), query, sort, from, size).topDocs().topDocs;
+                TopDocs actual = executeQuery(concurrent, query, sort, from, size).topDocs().topDocs;
+                assertEquals(expected.totalHits, actual.totalHits);
+                assertThat(actual.scoreDocs.length, equalTo(expected.scoreDocs.length));
+                for (int i = 0; i < expected.scoreDocs.length; i++) {
+                    assertEquals(expected.scoreDocs[i].doc, actual.scoreDocs[i].doc);
+                    if (sort != null) {
+                        assertArrayEquals(((FieldDoc) expected.scoreDocs[i]).fields, ((FieldDoc) actual.scoreDocs[i]).fields);
+                    } else {
+                        assertEquals(expected.scoreDocs[i].score, actual.scoreDocs[i].score, 0f);
+                    }
+                }
+            } finally {
+                terminate(threadPool);
+            }
+        }
+    }
+
+    public void testConcurrentTotalHits() throws Exception {
+        try (Directory dir = newDirectory()) {
+            int[] counts = indexMultiSliceSegments(dir);
+            int numDocs = counts[0];
+            int numMatches = counts[1];
+            ThreadPool threadPool = new TestThreadPool(getTestName());
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                ContextIndexSearcher concurrent = newConcurrentContextSearcher(reader, threadPool.executor(ThreadPool.Names.SEARCH_WORKER));
+                Query query = new FunctionScoreQuery(new TermQuery(new Term("foo", "a")), DoubleValuesSource.fromLongField("rank"));
+
+                // the count of a match all query is computed upfront for the whole shard, it must not be summed per slice
+                TestSearchContext context = newSearchContext(concurrent, new MatchAllDocsQuery(), null, 0, randomIntBetween(0, 10));
+                QueryPhase.executeInternal(context);
+                assertEquals(new TotalHits(numDocs, TotalHits.Relation.EQUAL_TO), context.queryResult().topDocs().topDocs.totalHits);
+
+                context = newSearchContext(concurrent, query, null, 0, randomIntBetween(0, 10));
+                context.trackTotalHitsUpTo(SearchContext.TRACK_TOTAL_HITS_ACCURATE);
+                QueryPhase.executeInternal(context);
+                assertEquals(new TotalHits(numMatches, TotalHits.Relation.EQUAL_TO), context.queryResult().topDocs().topDocs.totalHits);
+
+                // each slice counts up to the threshold
+                context = newSearchContext(concurrent, query, null, 0, randomIntBetween(0, 10));
+                context.trackTotalHitsUpTo(5);
+                QueryPhase.executeInternal(context);
+                assertEquals(
+                    new TotalHits(5, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO),
+                    context.queryResult().topDocs().topDocs.totalHits
+                );
+            } finally {
+                terminate(threadPool);
+            }
+        }
+    }
+
+    public void testConcurrentSearchFallsBackToSequentialWithTerminateAfter() throws Exception {
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                ContextIndexSearcher searcher = newConcurrentContextSearcher(reader, command -> {
+                    throw new AssertionError("terminate_after must be collected sequentially");
+                });
+                assertTrue(searcher.isConcurrentSearchEnabled());
+                TestSearchContext context = newSearchContext(searcher, new MatchAllDocsQuery(), null, 0, 10);
+                context.terminateAfter(1);
+                QueryPhase.executeInternal(context);
+                assertTrue(context.queryResult().terminatedEarly());
+                assertThat(context.queryResult().topDocs().topDocs.totalHits.value, equalTo(1L));
+                assertThat(context.queryResult().topDocs().topDocs.scoreDocs.length, equalTo(1));
+            }
+        }
+    }
+
+    public void testConcurrentSearchTimeout() throws Exception {
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            ThreadPool threadPool = new TestThreadPool(getTestName());
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                ContextIndexSearcher searcher = newConcurrentContextSearcher(reader, threadPool.executor(ThreadPool.Names.SEARCH_WORKER));
+                AtomicLong relativeTime = new AtomicLong();
+                // the test context has a timeout of zero, every check after the first one times out
+                TestSearchContext context = new TestSearchContext(null, indexShard, searcher) {
+                    @Override
+                    public long getRelativeTimeInMillis() {
+                        return relativeTime.getAndIncrement();
+                    }
+                };
+                context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+                context.parsedQuery(
+                    new ParsedQuery(new FunctionScoreQuery(new TermQuery(new Term("foo", "a")), DoubleValuesSource.fromLongField("rank")))
+                );
+                context.setSize(10);
+                QueryPhase.executeInternal(context);
+                assertTrue(context.queryResult().searchTimedOut());
+                assertNotNull(context.queryResult().topDocs());
+            } finally {
+                terminate(threadPool);
+            }
+        }
+    }
+
+    public void testConcurrentSearchFailingSlice() throws Exception {
+        try (Directory dir = newDirectory()) {
+            indexMultiSliceSegments(dir);
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                AtomicInteger searchedSlices = new AtomicInteger();
+                // slices are never picked up by a worker so the calling thread collects all of them in order
+                ContextIndexSearcher searcher = new ContextIndexSearcher(
+                    reader,
+                    IndexSearcher.getDefaultSimilarity(),
+                    IndexSearcher.getDefaultQueryCache(),
+                    IndexSearcher.getDefaultQueryCachingPolicy(),
+                    true,
+                    command -> {}
+                ) {
+                    @Override
+                    public void search(List<LeafReaderContext> leaves, Weight weight, Collector collector) throws IOException {
+                        searchedSlices.incrementAndGet();
+                        throw new IllegalStateException("failing slice");
+                    }
+                };
+                assertTrue(searcher.isConcurrentSearchEnabled());
+                TestSearchContext context = newSearchContext(searcher, new TermQuery(new Term("foo", "a")), null, 0, 10);
+                QueryPhaseExecutionException e = expectThrows(
+                    QueryPhaseExecutionException.class,
+                    () -> QueryPhase.executeInternal(context)
+                );
+                assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+                // the first failure skips the slices that have not started yet
+                assertThat(searchedSlices.get(), equalTo(1));
+            }
+        }
+    }
+
+    /**
+     * Indexes enough segments for the default slicing to create several slices.
+     * Returns the number of documents and the number of documents that match <code>foo:a</code>.
+     */
+    private static int[] indexMultiSliceSegments(Directory dir) throws IOException {
+        IndexWriter w = new IndexWriter(dir, newIndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE));
+        // the default slicing puts at most 5 segments in a slice
+        int numSegments = randomIntBetween(11, 20);
+        int numDocs = 0;
+        int numMatches = 0;
+        for (int i = 0; i < numSegments; i++) {
+            int segmentDocs = randomIntBetween(5, 30);
+            for (int j = 0; j < segmentDocs; j++) {
+                Document doc = new Document();
+                boolean matches = numDocs % 2 == 0;
+                doc.add(new StringField("foo", matches ? "a" : "b", Store.NO));
+                doc.add(new NumericDocValuesField("rank", numDocs + 1));
+                w.addDocument(doc);
+                numDocs++;
+                if (matches) {
+                    numMatches++;
+                }
+            }
+            w.commit();
+        }
+        w.close();
+        return new int[] { numDocs, numMatches };
+    }
+
+    private QuerySearchResult executeQuery(ContextIndexSearcher searcher, Query query, SortAndFormats sort, int from, int size) {
+        TestSearchContext context = newSearchContext(searcher, query, sort, from, size);
+        QueryPhase.executeInternal(context);
+        return context.queryResult();
+    }
+
+    private TestSearchContext newSearchContext(ContextIndexSearcher searcher, Query query, SortAndFormats sort, int from, int size) {
+        TestSearchContext context = new TestSearchContext(null, indexShard, searcher);
+        context.setTask(new SearchShardTask(123L, "", "", "", null, Collections.emptyMap()));
+        context.parsedQuery(new ParsedQuery(query));
+        if (sort != null) {
+            context.sort(sort);
+        }
+        context.from(from);
+        context.setSize(size);
+        return context;
+    }
+
+    private static ContextIndexSearcher newConcurrentContextSearcher(IndexReader reader, Executor executor) throws IOException {
+        return new ContextIndexSearcher(
+            reader,
+            IndexSearcher.getDefaultSimilarity(),
+            IndexSearcher.getDefaultQueryCache(),
+            IndexSearcher.getDefaultQueryCachingPolicy(),
+            true,
+            executor
+        );
+    }
+
     private static ContextIndexSearcher newContextSearcher(IndexReader reader) throws IOException {
         return new ContextIndexSearcher(
             reader,
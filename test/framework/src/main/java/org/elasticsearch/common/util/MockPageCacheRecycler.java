@@ -13,12 +13,16 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.transport.LeakTracker;
 
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class MockPageCacheRecycler extends PageCacheRecycler {
 
     private final Random random;
+    private final AtomicLong directBytePagesAllocated = new AtomicLong();
+    private final AtomicLong directBytePagesFreed = new AtomicLong();
 
     public MockPageCacheRecycler(Settings settings) {
         super(settings);
@@ -42,6 +46,8 @@ public class MockPageCacheRecycler extends PageCacheRecycler {
                     Arrays.fill((Object[]) ref, 0, Array.getLength(ref), null);
                 } else if (ref instanceof byte[]) {
                     Arrays.fill((byte[]) ref, 0, Array.getLength(ref), (byte) random.nextInt(256));
+                } else if (ref instanceof ByteBuffer buffer) {
+                    fill(buffer, (byte) random.nextInt(256));
                 } else {
                     for (int i = 0; i < Array.getLength(ref); ++i) {
                         Array.set(ref, i, (byte) random.nextInt(256));
@@ -72,6 +78,44 @@ public class MockPageCacheRecycler extends PageCacheRecycler {
         return wrap(page);
     }
 
+    @Override
+    public V<ByteBuffer> directBytePage(boolean clear) {
+        final V<ByteBuffer> page = super.directBytePage(clear);
+        if (page.isRecycled() == false) {
+            directBytePagesAllocated.incrementAndGet();
+        }
+        if (clear == false) {
+            fill(page.v(), (byte) random.nextInt(1 << 8));
+        }
+        return wrap(page);
+    }
+
+    @Override
+    protected void freeDirectBytePage(ByteBuffer page) {
+        directBytePagesFreed.incrementAndGet();
+        super.freeDirectBytePage(page);
+    }
+
+    /**
+     * Returns the number of pages of direct memory that were allocated because the pool had none to reuse.
+     */
+    public long directBytePagesAllocated() {
+        return directBytePagesAllocated.get();
+    }
+
+    /**
+     * Returns the number of pages of direct memory that were freed because they didn't fit in the pool.
+     */
+    public long directBytePagesFreed() {
+        return directBytePagesFreed.get();
+    }
+
+    private static void fill(ByteBuffer buffer, byte value) {
+        for (int i = 0; i < buffer.capacity(); ++i) {
+            buffer.put(i, value);
+        }
+    }
+
     @Override
     public V<Object[]> objectPage() {
         return wrap(super.objectPage());
@@ -23,7 +23,9 @@ import org.apache.lucene.search.Scorer;
 import org.apache.lucene.search.Weight;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.SparseFixedBitSet;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.cache.RemovalNotification;
@@ -382,8 +384,15 @@ public final class DocumentSubsetBitsetCache implements IndexReader.ClosedListen
 
     static BitSet bitSetFromDocIterator(DocIdSetIterator iter, int maxDoc) throws IOException {
         final BitSet set = BitSet.of(iter, maxDoc);
-        if (set.cardinality() == maxDoc) {
+        final int cardinality = set.cardinality();
+        if (cardinality == maxDoc) {
             return new MatchAllRoleBitSet(maxDoc);
+        } else if (set instanceof FixedBitSet && cardinality < (maxDoc >>> 7)) {
+            // BitSet#of picks the implementation from the cost of the iterator, which is only an upper bound for many queries.
+            // Use the same threshold on the actual number of matches, a sparse BitSet uses far less memory for those.
+            final SparseFixedBitSet sparse = new SparseFixedBitSet(maxDoc);
+            sparse.or(new BitSetIterator(set, cardinality));
+            return sparse;
         } else {
             return set;
         }
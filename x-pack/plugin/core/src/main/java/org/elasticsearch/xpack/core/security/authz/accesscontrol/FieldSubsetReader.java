@@ -14,6 +14,7 @@ import org.apache.lucene.index.FieldInfos;
 import org.apache.lucene.index.Fields;
 import org.apache.lucene.index.FilterDirectoryReader;
 import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.PointValues;
@@ -26,20 +27,24 @@ import org.apache.lucene.index.Terms;
 import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.index.VectorValues;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FilterIterator;
 import org.apache.lucene.util.automaton.CharacterRunAutomaton;
-import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.logging.LoggerMessageFormat;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
-import org.elasticsearch.common.xcontent.XContentHelper;
-import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
 import org.elasticsearch.transport.Transports;
 import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
+import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentParserConfiguration;
 import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
@@ -50,6 +55,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * A {@link FilterLeafReader} that exposes only a subset
@@ -131,14 +138,65 @@ public final class FieldSubsetReader extends SequentialStoredFieldsLeafReader {
      */
     FieldSubsetReader(LeafReader in, CharacterRunAutomaton filter) throws IOException {
         super(in);
+        fieldInfos = getFieldInfos(in, filter);
+        this.filter = filter;
+    }
+
+    /**
+     * Cache of the filtered {@link FieldInfos} for a given (segment, filter) pair.
+     * Readers are wrapped for every search with field level security, and filtering the field infos of segments with
+     * many fields adds up. Filters are shared between roles with the same field permissions through the
+     * {@code FieldPermissionsCache}. The size of the top-level map is bounded by the number of segments on the node.
+     */
+    static final Map<IndexReader.CacheKey, Cache<CharacterRunAutomaton, FieldInfos>> FIELD_INFOS_CACHE = new ConcurrentHashMap<>();
+
+    private static FieldInfos computeFieldInfos(LeafReader reader, CharacterRunAutomaton filter) {
+        final FieldInfos infos = reader.getFieldInfos();
         ArrayList<FieldInfo> filteredInfos = new ArrayList<>();
-        for (FieldInfo fi : in.getFieldInfos()) {
+        for (FieldInfo fi : infos) {
             if (filter.run(fi.name)) {
                 filteredInfos.add(fi);
             }
         }
-        fieldInfos = new FieldInfos(filteredInfos.toArray(new FieldInfo[filteredInfos.size()]));
-        this.filter = filter;
+        if (filteredInfos.size() == infos.size()) {
+            return infos;
+        }
+        return new FieldInfos(filteredInfos.toArray(new FieldInfo[filteredInfos.size()]));
+    }
+
+    /**
+     * Like {@link #computeFieldInfos} but caches results.
+     */
+    private static FieldInfos getFieldInfos(LeafReader reader, CharacterRunAutomaton filter) {
+        // this one takes doc values updates into account, they can add fields to the segment
+        IndexReader.CacheHelper cacheHelper = reader.getReaderCacheHelper();
+        if (cacheHelper == null) {
+            return computeFieldInfos(reader, filter);
+        }
+        final boolean[] added = new boolean[] { false };
+        Cache<CharacterRunAutomaton, FieldInfos> perReaderCache = FIELD_INFOS_CACHE.computeIfAbsent(cacheHelper.getKey(), key -> {
+            added[0] = true;
+            return CacheBuilder.<CharacterRunAutomaton, FieldInfos>builder()
+                // Not configurable, this limit only exists so that if field permissions are updated
+                // then we won't hold on to the field infos of old permissions that are not used anymore
+                .setMaximumWeight(1000)
+                .weigher((k, v) -> 1) // just count
+                .build();
+        });
+        if (added[0]) {
+            IndexReader.ClosedListener closedListener = FIELD_INFOS_CACHE::remove;
+            try {
+                cacheHelper.addClosedListener(closedListener);
+            } catch (AlreadyClosedException e) {
+                closedListener.onClose(cacheHelper.getKey());
+                throw e;
+            }
+        }
+        try {
+            return perReaderCache.computeIfAbsent(filter, f -> computeFieldInfos(reader, f));
+        } catch (ExecutionException e) {
+            throw ExceptionsHelper.convertToRuntime((Exception) e.getCause());
+        }
     }
 
     /** returns true if this field is allowed. */
@@ -223,6 +281,137 @@ public final class FieldSubsetReader extends SequentialStoredFieldsLeafReader {
         return filtered;
     }
 
+    /**
+     * Filter the source read by the parser with a {@link CharacterRunAutomaton} that defines the fields to retain, writing the retained
+     * fields to the builder. This is the streaming equivalent of {@link #filter(Map, CharacterRunAutomaton, int)}: subtrees that are not
+     * allowed are skipped without being parsed into maps, and objects and arrays that end up empty are left out, except for objects
+     * within arrays.
+     */
+    static void filter(XContentParser parser, XContentBuilder builder, CharacterRunAutomaton includeAutomaton) throws IOException {
+        if (parser.nextToken() != XContentParser.Token.START_OBJECT) {
+            throw new IllegalArgumentException("_source must be an object but was [" + parser.currentToken() + "]");
+        }
+        new SourceFilter(parser, builder, includeAutomaton).filterRoot();
+    }
+
+    /**
+     * Streams the allowed fields from a parser to a builder. Objects and arrays are only started on the builder once a value within them
+     * is retained, until then they are kept on a stack of pending containers.
+     */
+    private static final class SourceFilter {
+        private final XContentParser parser;
+        private final XContentBuilder builder;
+        private final CharacterRunAutomaton includeAutomaton;
+        /** Field names of the open containers, {@code null} for containers within arrays. */
+        private final List<String> names = new ArrayList<>();
+        /** Whether the open containers are arrays. */
+        private final List<Boolean> arrays = new ArrayList<>();
+        /** Number of open containers, from the root, that were started on the builder. */
+        private int started = 0;
+
+        SourceFilter(XContentParser parser, XContentBuilder builder, CharacterRunAutomaton includeAutomaton) {
+            this.parser = parser;
+            this.builder = builder;
+            this.includeAutomaton = includeAutomaton;
+        }
+
+        void filterRoot() throws IOException {
+            // the root object is kept even if it ends up empty
+            push(null, false);
+            startPending();
+            filterObject(0);
+            pop();
+        }
+
+        private void filterObject(int initialState) throws IOException {
+            XContentParser.Token token;
+            while ((token = parser.nextToken()) != XContentParser.Token.END_OBJECT) {
+                assert token == XContentParser.Token.FIELD_NAME : token;
+                final String key = parser.currentName();
+                int state = step(includeAutomaton, key, initialState);
+                token = parser.nextToken();
+                if (state == -1) {
+                    parser.skipChildren();
+                } else if (token == XContentParser.Token.START_OBJECT) {
+                    state = includeAutomaton.step(state, '.');
+                    if (state == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    push(key, false);
+                    filterObject(state);
+                    pop();
+                } else if (token == XContentParser.Token.START_ARRAY) {
+                    push(key, true);
+                    filterArray(state);
+                    pop();
+                } else if (includeAutomaton.isAccept(state)) {
+                    startPending();
+                    builder.field(key);
+                    builder.copyCurrentStructure(parser);
+                }
+            }
+        }
+
+        private void filterArray(int initialState) throws IOException {
+            XContentParser.Token token;
+            while ((token = parser.nextToken()) != XContentParser.Token.END_ARRAY) {
+                if (token == XContentParser.Token.START_OBJECT) {
+                    int state = includeAutomaton.step(initialState, '.');
+                    if (state == -1) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    // objects within arrays are retained even if they end up empty
+                    push(null, false);
+                    startPending();
+                    filterObject(state);
+                    pop();
+                } else if (token == XContentParser.Token.START_ARRAY) {
+                    push(null, true);
+                    filterArray(initialState);
+                    pop();
+                } else if (includeAutomaton.isAccept(initialState)) {
+                    startPending();
+                    builder.copyCurrentStructure(parser);
+                }
+            }
+        }
+
+        private void push(String name, boolean array) {
+            names.add(name);
+            arrays.add(array);
+        }
+
+        private void pop() throws IOException {
+            final int last = names.size() - 1;
+            if (started > last) {
+                if (arrays.get(last)) {
+                    builder.endArray();
+                } else {
+                    builder.endObject();
+                }
+                started = last;
+            }
+            names.remove(last);
+            arrays.remove(last);
+        }
+
+        private void startPending() throws IOException {
+            for (; started < names.size(); started++) {
+                final String name = names.get(started);
+                if (name != null) {
+                    builder.field(name);
+                }
+                if (arrays.get(started)) {
+                    builder.startArray();
+                } else {
+                    builder.startObject();
+                }
+            }
+        }
+    }
+
     /** Step through all characters of the provided string, and return the
      *  resulting state, or -1 if that did not lead to a valid state. */
     private static int step(CharacterRunAutomaton automaton, String key, int state) {
@@ -348,11 +537,15 @@ public final class FieldSubsetReader extends SequentialStoredFieldsLeafReader {
         @Override
         public void binaryField(FieldInfo fieldInfo, byte[] value) throws IOException {
             if (SourceFieldMapper.NAME.equals(fieldInfo.name)) {
-                // for _source, parse, filter out the fields we care about, and serialize back downstream
-                BytesReference bytes = new BytesArray(value);
-                Tuple<XContentType, Map<String, Object>> result = XContentHelper.convertToMap(bytes, true);
-                Map<String, Object> transformedSource = filter(result.v2(), filter, 0);
-                XContentBuilder xContentBuilder = XContentBuilder.builder(result.v1().xContent()).map(transformedSource);
+                // for _source, stream the fields we care about downstream
+                XContentType xContentType = XContentFactory.xContentType(value, 0, value.length);
+                XContentBuilder xContentBuilder = XContentBuilder.builder(xContentType.xContent());
+                try (
+                    XContentParser parser = xContentType.xContent()
+                        .createParser(XContentParserConfiguration.EMPTY, value, 0, value.length)
+                ) {
+                    filter(parser, xContentBuilder, filter);
+                }
                 visitor.binaryField(fieldInfo, BytesReference.toBytes(BytesReference.bytes(xContentBuilder)));
             } else {
                 visitor.binaryField(fieldInfo, value);
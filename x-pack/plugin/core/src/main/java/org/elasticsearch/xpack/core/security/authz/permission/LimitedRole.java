@@ -43,6 +43,20 @@ public final class LimitedRole implements Role {
         this.limitedByRole = Objects.requireNonNull(limitedByRole, "limited by role is required to create limited role");
     }
 
+    /**
+     * @return the role whose permissions are limited
+     */
+    public Role baseRole() {
+        return baseRole;
+    }
+
+    /**
+     * @return the role that limits the permissions of the base role
+     */
+    public Role limitedByRole() {
+        return limitedByRole;
+    }
+
     @Override
     public String[] names() {
         // TODO: this is to retain existing behaviour, but it is not accurate
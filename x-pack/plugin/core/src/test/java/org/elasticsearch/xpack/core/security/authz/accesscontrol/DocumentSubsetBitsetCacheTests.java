@@ -30,6 +30,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.util.BitSet;
 import org.apache.lucene.util.BitSetIterator;
 import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.SparseFixedBitSet;
 import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.common.CheckedBiConsumer;
 import org.elasticsearch.common.logging.Loggers;
@@ -503,6 +504,24 @@ public class DocumentSubsetBitsetCacheTests extends ESTestCase {
         }
     }
 
+    public void testSparseRoleBitSetWhenCostOverestimatesMatches() throws Exception {
+        int maxDocs = randomIntBetween(1 << 14, 1 << 16);
+        FixedBitSet matches = new FixedBitSet(maxDocs);
+        int numDocs = randomIntBetween(1, (maxDocs >>> 7) - 1);
+        for (int i = 0; i < numDocs; i++) {
+            matches.set(randomIntBetween(0, maxDocs - 1));
+        }
+        // the cost is an upper bound for many queries, pretend that every document may match
+        DocIdSetIterator it = new BitSetIterator(matches, maxDocs);
+        BitSet bitSet = DocumentSubsetBitsetCache.bitSetFromDocIterator(it, maxDocs);
+        assertThat(bitSet, instanceOf(SparseFixedBitSet.class));
+        assertThat(bitSet.cardinality(), equalTo(matches.cardinality()));
+        assertThat(bitSet.ramBytesUsed(), Matchers.lessThan(matches.ramBytesUsed()));
+        for (int i = 0; i < maxDocs; i++) {
+            assertThat(bitSet.get(i), equalTo(matches.get(i)));
+        }
+    }
+
     public void testMatchAllRoleBitSet() throws Exception {
         int maxDocs = randomIntBetween(1, 128);
         FixedBitSet matches = new FixedBitSet(maxDocs);
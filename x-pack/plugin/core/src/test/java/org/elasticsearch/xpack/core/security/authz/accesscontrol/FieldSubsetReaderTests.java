@@ -25,6 +25,7 @@ import org.apache.lucene.index.FieldInfo;
 import org.apache.lucene.index.FieldInfos;
 import org.apache.lucene.index.Fields;
 import org.apache.lucene.index.FilterDirectoryReader;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.index.LeafReader;
@@ -57,6 +58,7 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.MappingMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.lucene.index.SequentialStoredFieldsLeafReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentHelper;
@@ -64,6 +66,9 @@ import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.SourceFieldMapper;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentParser;
+import org.elasticsearch.xcontent.XContentParserConfiguration;
 import org.elasticsearch.xcontent.XContentType;
 import org.elasticsearch.xpack.core.security.authz.permission.FieldPermissions;
 import org.elasticsearch.xpack.core.security.authz.permission.FieldPermissionsDefinition;
@@ -774,6 +779,78 @@ public class FieldSubsetReaderTests extends ESTestCase {
         assertEquals(expected, filtered);
     }
 
+    public void testStreamingSourceFilteringDuelWithMapFiltering() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            Map<String, Object> source = randomSource(3);
+            Automaton automaton = Automatons.patterns(randomFrom("a", "b.*", "*.c", "a.b", "c.*.a", "*"));
+            if (randomBoolean()) {
+                automaton = Operations.minus(Automata.makeAnyString(), automaton, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT);
+            }
+            CharacterRunAutomaton include = new CharacterRunAutomaton(automaton);
+
+            XContentBuilder filtered = XContentBuilder.builder(XContentType.JSON.xContent());
+            BytesReference bytes = BytesReference.bytes(XContentBuilder.builder(XContentType.JSON.xContent()).map(source));
+            try (XContentParser parser = XContentHelper.createParser(XContentParserConfiguration.EMPTY, bytes, XContentType.JSON)) {
+                FieldSubsetReader.filter(parser, filtered, include);
+            }
+            Map<String, Object> streamed = XContentHelper.convertToMap(BytesReference.bytes(filtered), false, XContentType.JSON).v2();
+            assertEquals(source.toString(), FieldSubsetReader.filter(source, include, 0), streamed);
+        }
+    }
+
+    private static Map<String, Object> randomSource(int depth) {
+        Map<String, Object> map = new HashMap<>();
+        int numFields = randomIntBetween(0, 4);
+        for (int i = 0; i < numFields; i++) {
+            map.put(randomFrom("a", "b", "c"), randomSourceValue(depth));
+        }
+        return map;
+    }
+
+    private static Object randomSourceValue(int depth) {
+        return switch (depth > 0 ? randomIntBetween(0, 3) : randomIntBetween(0, 1)) {
+            case 0 -> randomInt();
+            case 1 -> randomAlphaOfLength(3);
+            case 2 -> randomSource(depth - 1);
+            default -> {
+                List<Object> list = new ArrayList<>();
+                int numValues = randomIntBetween(0, 3);
+                for (int i = 0; i < numValues; i++) {
+                    list.add(randomSourceValue(depth - 1));
+                }
+                yield list;
+            }
+        };
+    }
+
+    public void testFieldInfosAreCachedPerReader() throws Exception {
+        Directory dir = newDirectory();
+        IndexWriterConfig iwc = new IndexWriterConfig(null);
+        IndexWriter iw = new IndexWriter(dir, iwc);
+
+        Document doc = new Document();
+        doc.add(new StringField("fieldA", "test", Field.Store.NO));
+        doc.add(new StringField("fieldB", "test", Field.Store.NO));
+        iw.addDocument(doc);
+
+        DirectoryReader reader = DirectoryReader.open(iw);
+        CharacterRunAutomaton filter = new CharacterRunAutomaton(Automata.makeString("fieldA"));
+        LeafReader first = new FieldSubsetReader(reader.leaves().get(0).reader(), filter);
+        LeafReader second = new FieldSubsetReader(reader.leaves().get(0).reader(), filter);
+        assertEquals(1, first.getFieldInfos().size());
+        assertSame(first.getFieldInfos(), second.getFieldInfos());
+
+        // when all fields are allowed the field infos of the segment are used as they are
+        CharacterRunAutomaton allowAll = new CharacterRunAutomaton(Automata.makeAnyString());
+        LeafReader unfiltered = new FieldSubsetReader(reader.leaves().get(0).reader(), allowAll);
+        assertSame(reader.leaves().get(0).reader().getFieldInfos(), unfiltered.getFieldInfos());
+
+        IndexReader.CacheKey cacheKey = reader.leaves().get(0).reader().getReaderCacheHelper().getKey();
+        assertTrue(FieldSubsetReader.FIELD_INFOS_CACHE.containsKey(cacheKey));
+        IOUtils.close(reader, iw, dir);
+        assertFalse(FieldSubsetReader.FIELD_INFOS_CACHE.containsKey(cacheKey));
+    }
+
     /**
      * test special handling for _field_names field.
      */
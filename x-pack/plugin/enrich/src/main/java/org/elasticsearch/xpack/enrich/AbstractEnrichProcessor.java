@@ -17,14 +17,17 @@ import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.xpack.core.enrich.EnrichPolicy;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 public abstract class AbstractEnrichProcessor extends AbstractProcessor {
 
     private final String policyName;
-    private final BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> searchRunner;
+    private final SearchRunner searchRunner;
     private final TemplateScript.Factory field;
     private final TemplateScript.Factory targetField;
     private final boolean ignoreMissing;
@@ -35,7 +38,7 @@ public abstract class AbstractEnrichProcessor extends AbstractProcessor {
     protected AbstractEnrichProcessor(
         String tag,
         String description,
-        BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> searchRunner,
+        SearchRunner searchRunner,
         String policyName,
         TemplateScript.Factory field,
         TemplateScript.Factory targetField,
@@ -57,60 +60,134 @@ public abstract class AbstractEnrichProcessor extends AbstractProcessor {
 
     public abstract QueryBuilder getQueryBuilder(Object fieldValue);
 
+    /**
+     * Returns the key under which the enrich documents matching the given field value are cached, which must identify the query
+     * returned by {@link #getQueryBuilder} for that value in the enrich index of the policy.
+     */
+    protected Object getLookupKey(Object fieldValue) {
+        return fieldValue;
+    }
+
     @Override
     public void execute(IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
         try {
             // If a document does not have the enrich key, return the unchanged document
-            String renderedField = ingestDocument.renderTemplate(this.field);
-            final Object value = ingestDocument.getFieldValue(renderedField, Object.class, ignoreMissing);
+            final Object value = getFieldValue(ingestDocument);
             if (value == null) {
                 handler.accept(ingestDocument, null);
                 return;
             }
 
-            QueryBuilder queryBuilder = getQueryBuilder(value);
-            ConstantScoreQueryBuilder constantScore = new ConstantScoreQueryBuilder(queryBuilder);
-            SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            searchBuilder.from(0);
-            searchBuilder.size(maxMatches);
-            searchBuilder.trackScores(false);
-            searchBuilder.fetchSource(true);
-            searchBuilder.query(constantScore);
-            SearchRequest req = new SearchRequest();
-            req.indices(EnrichPolicy.getBaseName(getPolicyName()));
-            req.preference(Preference.LOCAL.type());
-            req.source(searchBuilder);
-
-            searchRunner.accept(req, (searchHits, e) -> {
+            searchRunner.accept(getLookupKey(value), maxMatches, () -> buildSearchRequest(value), (searchHits, e) -> {
                 if (e != null) {
                     handler.accept(null, e);
                     return;
                 }
+                enrich(ingestDocument, searchHits, handler);
+            });
+        } catch (Exception e) {
+            handler.accept(null, e);
+        }
+    }
 
-                // If the index is empty, return the unchanged document
-                // If the enrich key does not exist in the index, throw an error
-                // If no documents match the key, return the unchanged document
-                if (searchHits.size() < 1) {
-                    handler.accept(ingestDocument, null);
-                    return;
-                }
+    /**
+     * Looks up the enrich documents of each distinct field value of the batch once, and enriches all the documents that have
+     * that value with them.
+     */
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        final Map<Object, List<Integer>> slotsByLookupKey = new LinkedHashMap<>();
+        final Map<Object, Object> valuesByLookupKey = new HashMap<>();
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            final Object value;
+            final Object lookupKey;
+            try {
+                value = getFieldValue(ingestDocument);
+                lookupKey = value == null ? null : getLookupKey(value);
+            } catch (Exception e) {
+                handler.accept(i, null, e);
+                continue;
+            }
+            if (value == null) {
+                handler.accept(i, ingestDocument, null);
+                continue;
+            }
+            slotsByLookupKey.computeIfAbsent(lookupKey, k -> new ArrayList<>()).add(i);
+            valuesByLookupKey.putIfAbsent(lookupKey, value);
+        }
 
-                String renderedTargetField = ingestDocument.renderTemplate(this.targetField);
-                if (overrideEnabled || ingestDocument.hasField(renderedTargetField) == false) {
-                    if (maxMatches == 1) {
-                        Map<?, ?> firstDocument = searchHits.get(0);
-                        ingestDocument.setFieldValue(renderedTargetField, firstDocument);
-                    } else {
-                        List<Map<?, ?>> enrichDocuments = new ArrayList<>(searchHits.size());
-                        enrichDocuments.addAll(searchHits);
-                        ingestDocument.setFieldValue(renderedTargetField, enrichDocuments);
+        for (Map.Entry<Object, List<Integer>> entry : slotsByLookupKey.entrySet()) {
+            final List<Integer> slots = entry.getValue();
+            final Object value = valuesByLookupKey.get(entry.getKey());
+            try {
+                searchRunner.accept(entry.getKey(), maxMatches, () -> buildSearchRequest(value), (searchHits, e) -> {
+                    for (int i = 0; i < slots.size(); i++) {
+                        final int slot = slots.get(i);
+                        if (e != null) {
+                            handler.accept(slot, null, e);
+                        } else {
+                            // every document gets its own copy of the enrich documents, as it may modify them further down the pipeline
+                            List<Map<?, ?>> hits = i == 0 ? searchHits : EnrichCache.deepCopy(searchHits, false);
+                            enrich(ingestDocuments.get(slot), hits, (result, ex) -> handler.accept(slot, result, ex));
+                        }
                     }
+                });
+            } catch (Exception e) {
+                for (int slot : slots) {
+                    handler.accept(slot, null, e);
                 }
-                handler.accept(ingestDocument, null);
-            });
+            }
+        }
+    }
+
+    private Object getFieldValue(IngestDocument ingestDocument) {
+        String renderedField = ingestDocument.renderTemplate(this.field);
+        return ingestDocument.getFieldValue(renderedField, Object.class, ignoreMissing);
+    }
+
+    private SearchRequest buildSearchRequest(Object value) {
+        QueryBuilder queryBuilder = getQueryBuilder(value);
+        ConstantScoreQueryBuilder constantScore = new ConstantScoreQueryBuilder(queryBuilder);
+        SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.from(0);
+        searchBuilder.size(maxMatches);
+        searchBuilder.trackScores(false);
+        searchBuilder.fetchSource(true);
+        searchBuilder.query(constantScore);
+        SearchRequest req = new SearchRequest();
+        req.indices(EnrichPolicy.getBaseName(getPolicyName()));
+        req.preference(Preference.LOCAL.type());
+        req.source(searchBuilder);
+        return req;
+    }
+
+    private void enrich(IngestDocument ingestDocument, List<Map<?, ?>> searchHits, BiConsumer<IngestDocument, Exception> handler) {
+        // If the index is empty, return the unchanged document
+        // If the enrich key does not exist in the index, throw an error
+        // If no documents match the key, return the unchanged document
+        if (searchHits.size() < 1) {
+            handler.accept(ingestDocument, null);
+            return;
+        }
+
+        try {
+            String renderedTargetField = ingestDocument.renderTemplate(this.targetField);
+            if (overrideEnabled || ingestDocument.hasField(renderedTargetField) == false) {
+                if (maxMatches == 1) {
+                    Map<?, ?> firstDocument = searchHits.get(0);
+                    ingestDocument.setFieldValue(renderedTargetField, firstDocument);
+                } else {
+                    List<Map<?, ?>> enrichDocuments = new ArrayList<>(searchHits.size());
+                    enrichDocuments.addAll(searchHits);
+                    ingestDocument.setFieldValue(renderedTargetField, enrichDocuments);
+                }
+            }
         } catch (Exception e) {
             handler.accept(null, e);
+            return;
         }
+        handler.accept(ingestDocument, null);
     }
 
     @Override
@@ -123,6 +200,19 @@ public abstract class AbstractEnrichProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * Looks up the enrich documents matching a field value, only building the search request to run if they are not cached yet.
+     */
+    @FunctionalInterface
+    public interface SearchRunner {
+        void accept(
+            Object lookupKey,
+            int maxMatches,
+            Supplier<SearchRequest> searchRequestSupplier,
+            BiConsumer<List<Map<?, ?>>, Exception> handler
+        );
+    }
+
     public String getPolicyName() {
         return policyName;
     }
@@ -7,13 +7,15 @@
 
 package org.elasticsearch.xpack.enrich;
 
-import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.cluster.metadata.IndexAbstraction;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
 import org.elasticsearch.common.util.Maps;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.ListenableFuture;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.xpack.core.enrich.action.EnrichStatsAction;
 
@@ -22,16 +24,18 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A simple cache for enrich that uses {@link Cache}. There is one instance of this cache and
  * multiple enrich processors with different policies will use this cache.
  *
- * The key of the cache is based on the search request and the enrich index that will be used.
- * Search requests that enrich generates target the alias for an enrich policy, this class
- * resolves the alias to the actual enrich index and uses that for the cache key. This way
- * no stale entries will be returned if a policy execution happens and a new enrich index is created.
+ * The key of the cache is based on the value looked up by an enrich processor and the enrich index that will be used.
+ * Enrich processors search the alias for an enrich policy, this class resolves the alias to the actual enrich index
+ * and uses that for the cache key. This way no stale entries will be returned if a policy execution happens and a new
+ * enrich index is created. Since the match field and policy type of an enrich index never change, the lookup value and
+ * the maximum number of matches identify the search that an enrich processor would run on a cache miss, which is only
+ * built when it needs to be run.
  *
  * There is no cleanup mechanism of stale entries in case a new enrich index is created
  * as part of a policy execution. This shouldn't be needed as cache entries for prior enrich
@@ -45,17 +49,19 @@ import java.util.Objects;
 public final class EnrichCache {
 
     private final Cache<CacheKey, List<Map<?, ?>>> cache;
+    private final Map<CacheKey, ListenableFuture<List<Map<?, ?>>>> pendingLookups = ConcurrentCollections.newConcurrentMap();
     private volatile Metadata metadata;
 
     EnrichCache(long maxSize) {
         this.cache = CacheBuilder.<CacheKey, List<Map<?, ?>>>builder().setMaximumWeight(maxSize).build();
     }
 
-    List<Map<?, ?>> get(SearchRequest searchRequest) {
-        String enrichIndex = getEnrichIndexKey(searchRequest);
-        CacheKey cacheKey = new CacheKey(enrichIndex, searchRequest);
-
-        List<Map<?, ?>> response = cache.get(cacheKey);
+    /**
+     * Returns the cached enrich documents matching the given lookup value in the given enrich index, or {@code null} if they are not
+     * cached.
+     */
+    List<Map<?, ?>> get(String enrichIndex, Object lookupValue, int maxMatches) {
+        List<Map<?, ?>> response = cache.get(new CacheKey(enrichIndex, lookupValue, maxMatches));
         if (response != null) {
             return deepCopy(response, false);
         } else {
@@ -63,11 +69,69 @@ public final class EnrichCache {
         }
     }
 
-    void put(SearchRequest searchRequest, List<Map<?, ?>> response) {
-        String enrichIndex = getEnrichIndexKey(searchRequest);
-        CacheKey cacheKey = new CacheKey(enrichIndex, searchRequest);
+    /**
+     * Passes the enrich documents matching the given lookup value in the given enrich index to the listener, from the cache if they are
+     * cached and otherwise from the search response that {@code searchResponseFetcher} returns, which is then cached. Lookups of the
+     * same value that miss the cache while a search for it is in flight, which is common when the documents of a bulk request are
+     * enriched concurrently, wait for the result of that search rather than running their own. The listener may be completed on the
+     * thread that completes the search of another lookup.
+     */
+    void computeIfAbsent(
+        String enrichIndex,
+        Object lookupValue,
+        int maxMatches,
+        Consumer<ActionListener<SearchResponse>> searchResponseFetcher,
+        ActionListener<List<Map<?, ?>>> listener
+    ) {
+        List<Map<?, ?>> response = get(enrichIndex, lookupValue, maxMatches);
+        if (response != null) {
+            listener.onResponse(response);
+            return;
+        }
+
+        final CacheKey cacheKey;
+        try {
+            // the lookup value comes from an ingest document that later processors may modify
+            cacheKey = new CacheKey(enrichIndex, deepCopy(lookupValue, true), maxMatches);
+        } catch (IllegalArgumentException e) {
+            // not a value that we know how to copy, search it without caching
+            searchResponseFetcher.accept(listener.map(searchResponse -> deepCopy(toCacheValue(searchResponse), false)));
+            return;
+        }
+
+        final ListenableFuture<List<Map<?, ?>>> lookup = new ListenableFuture<>();
+        final ListenableFuture<List<Map<?, ?>>> pendingLookup = pendingLookups.putIfAbsent(cacheKey, lookup);
+        if (pendingLookup != null) {
+            pendingLookup.addListener(listener.map(value -> deepCopy(value, false)));
+            return;
+        }
+        lookup.addListener(listener.map(value -> deepCopy(value, false)));
+        final ActionListener<SearchResponse> searchListener = ActionListener.wrap(searchResponse -> {
+            List<Map<?, ?>> value = toCacheValue(searchResponse);
+            cache.put(cacheKey, value);
+            pendingLookups.remove(cacheKey, lookup);
+            lookup.onResponse(value);
+        }, e -> {
+            pendingLookups.remove(cacheKey, lookup);
+            lookup.onFailure(e);
+        });
+        try {
+            searchResponseFetcher.accept(searchListener);
+        } catch (Exception e) {
+            searchListener.onFailure(e);
+        }
+    }
 
-        cache.put(cacheKey, response);
+    void put(String enrichIndex, Object lookupValue, int maxMatches, List<Map<?, ?>> response) {
+        final Object lookupValueCopy;
+        try {
+            // the lookup value comes from an ingest document that later processors may modify
+            lookupValueCopy = deepCopy(lookupValue, true);
+        } catch (IllegalArgumentException e) {
+            // not a value that we know how to copy, don't cache it
+            return;
+        }
+        cache.put(new CacheKey(enrichIndex, lookupValueCopy, maxMatches), response);
     }
 
     void setMetadata(Metadata metadata) {
@@ -85,10 +149,12 @@ public final class EnrichCache {
         );
     }
 
-    private String getEnrichIndexKey(SearchRequest searchRequest) {
-        String alias = searchRequest.indices()[0];
-        IndexAbstraction ia = metadata.getIndicesLookup().get(alias);
-        return ia.getIndices().get(0).getName();
+    /**
+     * Resolves the alias of an enrich policy to the enrich index it currently points to, or returns {@code null} if there is none.
+     */
+    String getEnrichIndexKey(String policyAlias) {
+        IndexAbstraction ia = metadata.getIndicesLookup().get(policyAlias);
+        return ia == null ? null : ia.getIndices().get(0).getName();
     }
 
     List<Map<?, ?>> toCacheValue(SearchResponse response) {
@@ -126,28 +192,6 @@ public final class EnrichCache {
         }
     }
 
-    private static class CacheKey {
-
-        final String enrichIndex;
-        final SearchRequest searchRequest;
-
-        private CacheKey(String enrichIndex, SearchRequest searchRequest) {
-            this.enrichIndex = enrichIndex;
-            this.searchRequest = searchRequest;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CacheKey cacheKey = (CacheKey) o;
-            return enrichIndex.equals(cacheKey.enrichIndex) && searchRequest.equals(cacheKey.searchRequest);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(enrichIndex, searchRequest);
-        }
-    }
+    private record CacheKey(String enrichIndex, Object lookupValue, int maxMatches) {}
 
 }
@@ -7,7 +7,7 @@
 package org.elasticsearch.xpack.enrich;
 
 import org.elasticsearch.action.ActionListener;
-import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.support.ContextPreservingActionListener;
 import org.elasticsearch.client.internal.Client;
 import org.elasticsearch.client.internal.OriginSettingClient;
 import org.elasticsearch.cluster.ClusterState;
@@ -16,6 +16,7 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.common.geo.Orientation;
 import org.elasticsearch.common.geo.ShapeRelation;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.common.xcontent.support.XContentMapValues;
 import org.elasticsearch.ingest.ConfigurationUtils;
 import org.elasticsearch.ingest.Processor;
@@ -27,7 +28,6 @@ import org.elasticsearch.xpack.enrich.action.EnrichCoordinatorProxyAction;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static org.elasticsearch.xpack.core.ClientHelper.ENRICH_ORIGIN;
@@ -78,7 +78,7 @@ final class EnrichProcessorFactory implements Processor.Factory, Consumer<Cluste
         if (maxMatches < 1 || maxMatches > 128) {
             throw ConfigurationUtils.newConfigurationException(TYPE, tag, "max_matches", "should be between 1 and 128");
         }
-        BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> searchRunner = createSearchRunner(client, enrichCache);
+        AbstractEnrichProcessor.SearchRunner searchRunner = createSearchRunner(client, enrichCache, policyAlias);
         switch (policyType) {
             case EnrichPolicy.MATCH_TYPE:
             case EnrichPolicy.RANGE_TYPE:
@@ -124,22 +124,35 @@ final class EnrichProcessorFactory implements Processor.Factory, Consumer<Cluste
         enrichCache.setMetadata(metadata);
     }
 
-    private static BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> createSearchRunner(
-        Client client,
-        EnrichCache enrichCache
-    ) {
+    private static AbstractEnrichProcessor.SearchRunner createSearchRunner(Client client, EnrichCache enrichCache, String policyAlias) {
         Client originClient = new OriginSettingClient(client, ENRICH_ORIGIN);
-        return (req, handler) -> {
-            // intentionally non-locking for simplicity...it's OK if we re-put the same key/value in the cache during a race condition.
-            List<Map<?, ?>> response = enrichCache.get(req);
-            if (response != null) {
-                handler.accept(response, null);
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        return (lookupKey, maxMatches, searchRequestSupplier, handler) -> {
+            // the lookup may complete on the thread of a concurrent lookup of the same value, so restore our own context
+            ActionListener<List<Map<?, ?>>> listener = ContextPreservingActionListener.wrapPreservingContext(
+                ActionListener.wrap(response -> handler.accept(response, null), e -> handler.accept(null, e)),
+                threadContext
+            );
+            // there is no enrich index if the policy was deleted in the meantime, in which case the search reports the missing index
+            String enrichIndex = enrichCache.getEnrichIndexKey(policyAlias);
+            if (enrichIndex == null) {
+                originClient.execute(
+                    EnrichCoordinatorProxyAction.INSTANCE,
+                    searchRequestSupplier.get(),
+                    listener.map(response -> EnrichCache.deepCopy(enrichCache.toCacheValue(response), false))
+                );
             } else {
-                originClient.execute(EnrichCoordinatorProxyAction.INSTANCE, req, ActionListener.wrap(resp -> {
-                    List<Map<?, ?>> value = enrichCache.toCacheValue(resp);
-                    enrichCache.put(req, value);
-                    handler.accept(EnrichCache.deepCopy(value, false), null);
-                }, e -> { handler.accept(null, e); }));
+                enrichCache.computeIfAbsent(
+                    enrichIndex,
+                    lookupKey,
+                    maxMatches,
+                    searchListener -> originClient.execute(
+                        EnrichCoordinatorProxyAction.INSTANCE,
+                        searchRequestSupplier.get(),
+                        searchListener
+                    ),
+                    listener
+                );
             }
         };
     }
@@ -6,7 +6,6 @@
  */
 package org.elasticsearch.xpack.enrich;
 
-import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.common.geo.GeometryParser;
 import org.elasticsearch.common.geo.Orientation;
 import org.elasticsearch.common.geo.ShapeRelation;
@@ -16,18 +15,17 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.script.TemplateScript;
 
 import java.util.List;
-import java.util.Map;
-import java.util.function.BiConsumer;
 
 public final class GeoMatchProcessor extends AbstractEnrichProcessor {
 
     private final ShapeRelation shapeRelation;
+    private final Orientation orientation;
     private final GeometryParser parser;
 
     GeoMatchProcessor(
         String tag,
         String description,
-        BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> searchRunner,
+        SearchRunner searchRunner,
         String policyName,
         TemplateScript.Factory field,
         TemplateScript.Factory targetField,
@@ -40,6 +38,7 @@ public final class GeoMatchProcessor extends AbstractEnrichProcessor {
     ) {
         super(tag, description, searchRunner, policyName, field, targetField, ignoreMissing, overrideEnabled, matchField, maxMatches);
         this.shapeRelation = shapeRelation;
+        this.orientation = orientation;
         parser = new GeometryParser(orientation.getAsBoolean(), true, true);
     }
 
@@ -51,6 +50,13 @@ public final class GeoMatchProcessor extends AbstractEnrichProcessor {
         return shapeQuery;
     }
 
+    @Override
+    protected Object getLookupKey(Object fieldValue) {
+        // the same shape matches different documents depending on the relation and orientation of the processor, which are keyed as
+        // strings so that the cache can copy the key
+        return List.of(shapeRelation.getRelationName(), orientation.name(), fieldValue);
+    }
+
     public ShapeRelation getShapeRelation() {
         return shapeRelation;
     }
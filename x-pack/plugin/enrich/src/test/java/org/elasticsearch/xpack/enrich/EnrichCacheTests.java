@@ -6,16 +6,24 @@
  */
 package org.elasticsearch.xpack.enrich;
 
+import org.apache.lucene.search.TotalHits;
 import org.elasticsearch.Version;
-import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
 import org.elasticsearch.cluster.metadata.AliasMetadata;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
-import org.elasticsearch.index.query.MatchQueryBuilder;
-import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.internal.InternalSearchResponse;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.XContentFactory;
 import org.elasticsearch.xpack.core.enrich.EnrichPolicy;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -49,45 +57,31 @@ public class EnrichCacheTests extends ESTestCase {
             )
             .build();
 
-        // Emulated search requests that an enrich processor could generate:
-        // (two unique searches for two enrich policies)
-        var searchRequest1 = new SearchRequest(EnrichPolicy.getBaseName("policy1")).source(
-            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "1"))
-        );
-        var searchRequest2 = new SearchRequest(EnrichPolicy.getBaseName("policy1")).source(
-            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "2"))
-        );
-        var searchRequest3 = new SearchRequest(EnrichPolicy.getBaseName("policy2")).source(
-            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "1"))
-        );
-        var searchRequest4 = new SearchRequest(EnrichPolicy.getBaseName("policy2")).source(
-            new SearchSourceBuilder().query(new MatchQueryBuilder("match_field", "2"))
-        );
         // Emulated search response (content doesn't matter, since it isn't used, it just a cache entry)
         List<Map<?, ?>> searchResponse = List.of(Map.of("test", "entry"));
 
         EnrichCache enrichCache = new EnrichCache(3);
         enrichCache.setMetadata(metadata);
-        enrichCache.put(searchRequest1, searchResponse);
-        enrichCache.put(searchRequest2, searchResponse);
-        enrichCache.put(searchRequest3, searchResponse);
+        put(enrichCache, "policy1", "1", searchResponse);
+        put(enrichCache, "policy1", "2", searchResponse);
+        put(enrichCache, "policy2", "1", searchResponse);
         var cacheStats = enrichCache.getStats("_id");
         assertThat(cacheStats.getCount(), equalTo(3L));
         assertThat(cacheStats.getHits(), equalTo(0L));
         assertThat(cacheStats.getMisses(), equalTo(0L));
         assertThat(cacheStats.getEvictions(), equalTo(0L));
 
-        assertThat(enrichCache.get(searchRequest1), notNullValue());
-        assertThat(enrichCache.get(searchRequest2), notNullValue());
-        assertThat(enrichCache.get(searchRequest3), notNullValue());
-        assertThat(enrichCache.get(searchRequest4), nullValue());
+        assertThat(get(enrichCache, "policy1", "1"), notNullValue());
+        assertThat(get(enrichCache, "policy1", "2"), notNullValue());
+        assertThat(get(enrichCache, "policy2", "1"), notNullValue());
+        assertThat(get(enrichCache, "policy2", "2"), nullValue());
         cacheStats = enrichCache.getStats("_id");
         assertThat(cacheStats.getCount(), equalTo(3L));
         assertThat(cacheStats.getHits(), equalTo(3L));
         assertThat(cacheStats.getMisses(), equalTo(1L));
         assertThat(cacheStats.getEvictions(), equalTo(0L));
 
-        enrichCache.put(searchRequest4, searchResponse);
+        put(enrichCache, "policy2", "2", searchResponse);
         cacheStats = enrichCache.getStats("_id");
         assertThat(cacheStats.getCount(), equalTo(3L));
         assertThat(cacheStats.getHits(), equalTo(3L));
@@ -114,21 +108,21 @@ public class EnrichCacheTests extends ESTestCase {
         enrichCache.setMetadata(metadata);
 
         // Because enrich index has changed, cache can't serve cached entries
-        assertThat(enrichCache.get(searchRequest1), nullValue());
-        assertThat(enrichCache.get(searchRequest2), nullValue());
-        assertThat(enrichCache.get(searchRequest3), nullValue());
-        assertThat(enrichCache.get(searchRequest4), nullValue());
+        assertThat(get(enrichCache, "policy1", "1"), nullValue());
+        assertThat(get(enrichCache, "policy1", "2"), nullValue());
+        assertThat(get(enrichCache, "policy2", "1"), nullValue());
+        assertThat(get(enrichCache, "policy2", "2"), nullValue());
 
         // Add new entries using new enrich index name as key
-        enrichCache.put(searchRequest1, searchResponse);
-        enrichCache.put(searchRequest2, searchResponse);
-        enrichCache.put(searchRequest3, searchResponse);
+        put(enrichCache, "policy1", "1", searchResponse);
+        put(enrichCache, "policy1", "2", searchResponse);
+        put(enrichCache, "policy2", "1", searchResponse);
 
         // Entries can now be served:
-        assertThat(enrichCache.get(searchRequest1), notNullValue());
-        assertThat(enrichCache.get(searchRequest2), notNullValue());
-        assertThat(enrichCache.get(searchRequest3), notNullValue());
-        assertThat(enrichCache.get(searchRequest4), nullValue());
+        assertThat(get(enrichCache, "policy1", "1"), notNullValue());
+        assertThat(get(enrichCache, "policy1", "2"), notNullValue());
+        assertThat(get(enrichCache, "policy2", "1"), notNullValue());
+        assertThat(get(enrichCache, "policy2", "2"), nullValue());
         cacheStats = enrichCache.getStats("_id");
         assertThat(cacheStats.getCount(), equalTo(3L));
         assertThat(cacheStats.getHits(), equalTo(6L));
@@ -136,6 +130,111 @@ public class EnrichCacheTests extends ESTestCase {
         assertThat(cacheStats.getEvictions(), equalTo(4L));
     }
 
+    public void testLookupValue() {
+        var metadata = Metadata.builder()
+            .put(
+                IndexMetadata.builder(EnrichPolicy.getBaseName("policy") + "-1")
+                    .settings(settings(Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+                    .putAlias(AliasMetadata.builder(EnrichPolicy.getBaseName("policy")).build())
+            )
+            .build();
+        List<Map<?, ?>> searchResponse = List.of(Map.of("test", "entry"));
+        EnrichCache enrichCache = new EnrichCache(10);
+        enrichCache.setMetadata(metadata);
+        String enrichIndex = enrichCache.getEnrichIndexKey(EnrichPolicy.getBaseName("policy"));
+        assertThat(enrichIndex, equalTo(EnrichPolicy.getBaseName("policy") + "-1"));
+        assertThat(enrichCache.getEnrichIndexKey(EnrichPolicy.getBaseName("missing")), nullValue());
+
+        // the lookup value is copied, so that changes to the ingest document it comes from don't affect the cache
+        List<Object> lookupValue = new ArrayList<>(List.of("a", Map.of("b", 1)));
+        enrichCache.put(enrichIndex, lookupValue, 1, searchResponse);
+        lookupValue.add("c");
+        assertThat(enrichCache.get(enrichIndex, lookupValue, 1), nullValue());
+        assertThat(enrichCache.get(enrichIndex, List.of("a", Map.of("b", 1)), 1), equalTo(searchResponse));
+
+        // the same value looked up with another number of matches is a different search
+        assertThat(enrichCache.get(enrichIndex, List.of("a", Map.of("b", 1)), 2), nullValue());
+
+        // values that can't be copied are not cached
+        Object uncopyable = new Object();
+        enrichCache.put(enrichIndex, uncopyable, 1, searchResponse);
+        assertThat(enrichCache.get(enrichIndex, uncopyable, 1), nullValue());
+        assertThat(enrichCache.getStats("_id").getCount(), equalTo(1L));
+    }
+
+    public void testComputeIfAbsent() throws IOException {
+        EnrichCache enrichCache = new EnrichCache(10);
+        List<ActionListener<SearchResponse>> searches = new ArrayList<>();
+        List<List<Map<?, ?>>> responses = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        ActionListener<List<Map<?, ?>>> listener = ActionListener.wrap(responses::add, failures::add);
+
+        // concurrent lookups of the same value wait for the same search
+        int numLookups = between(1, 5);
+        for (int i = 0; i < numLookups; i++) {
+            enrichCache.computeIfAbsent("index", "value", 1, searches::add, listener);
+        }
+        enrichCache.computeIfAbsent("index", "other_value", 1, searches::add, listener);
+        assertThat(searches.size(), equalTo(2));
+        assertThat(responses.size(), equalTo(0));
+
+        searches.get(0).onResponse(searchResponse(Map.of("key", "value")));
+        assertThat(responses.size(), equalTo(numLookups));
+        for (List<Map<?, ?>> response : responses) {
+            assertThat(response, equalTo(List.of(Map.of("key", "value"))));
+        }
+        // every lookup gets its own copy, that the processor can add to the ingest document
+        if (numLookups > 1) {
+            assertThat(responses.get(0).get(0), not(sameInstance(responses.get(1).get(0))));
+        }
+
+        // the value is now cached
+        enrichCache.computeIfAbsent("index", "value", 1, searches::add, listener);
+        assertThat(searches.size(), equalTo(2));
+        assertThat(responses.size(), equalTo(numLookups + 1));
+
+        // a failed search fails the lookups that waited for it, and is not cached
+        enrichCache.computeIfAbsent("index", "other_value", 1, searches::add, listener);
+        searches.get(1).onFailure(new IllegalStateException("search failed"));
+        assertThat(failures.size(), equalTo(2));
+        enrichCache.computeIfAbsent("index", "other_value", 1, searches::add, listener);
+        assertThat(searches.size(), equalTo(3));
+
+        // a search that can't be started fails the lookup rather than leaving it pending
+        enrichCache.computeIfAbsent("index", "failing_value", 1, l -> { throw new IllegalArgumentException("bad value"); }, listener);
+        assertThat(failures.size(), equalTo(3));
+        enrichCache.computeIfAbsent("index", "failing_value", 1, searches::add, listener);
+        assertThat(searches.size(), equalTo(4));
+    }
+
+    private static SearchResponse searchResponse(Map<String, Object> source) throws IOException {
+        SearchHit hit = new SearchHit(0);
+        try (XContentBuilder builder = XContentFactory.jsonBuilder()) {
+            hit.sourceRef(BytesReference.bytes(builder.map(source)));
+        }
+        SearchHits hits = new SearchHits(new SearchHit[] { hit }, new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 1.0f);
+        return new SearchResponse(
+            new InternalSearchResponse(hits, null, null, null, false, false, 1),
+            null,
+            1,
+            1,
+            0,
+            0,
+            ShardSearchFailure.EMPTY_ARRAY,
+            SearchResponse.Clusters.EMPTY
+        );
+    }
+
+    private static List<Map<?, ?>> get(EnrichCache enrichCache, String policyName, Object lookupValue) {
+        return enrichCache.get(enrichCache.getEnrichIndexKey(EnrichPolicy.getBaseName(policyName)), lookupValue, 1);
+    }
+
+    private static void put(EnrichCache enrichCache, String policyName, Object lookupValue, List<Map<?, ?>> searchResponse) {
+        enrichCache.put(enrichCache.getEnrichIndexKey(EnrichPolicy.getBaseName(policyName)), lookupValue, 1, searchResponse);
+    }
+
     public void testDeepCopy() {
         Map<String, Object> original = new HashMap<>();
         {
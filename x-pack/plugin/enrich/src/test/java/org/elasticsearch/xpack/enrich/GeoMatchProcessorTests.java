@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static org.elasticsearch.xpack.enrich.MatchProcessorTests.str;
 import static org.hamcrest.Matchers.emptyArray;
@@ -139,7 +140,7 @@ public class GeoMatchProcessorTests extends ESTestCase {
 
     }
 
-    private static final class MockSearchFunction implements BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> {
+    private static final class MockSearchFunction implements AbstractEnrichProcessor.SearchRunner {
         private final List<Map<?, ?>> mockResponse;
         private final SetOnce<SearchRequest> capturedRequest;
         private final Exception exception;
@@ -157,8 +158,13 @@ public class GeoMatchProcessorTests extends ESTestCase {
         }
 
         @Override
-        public void accept(SearchRequest request, BiConsumer<List<Map<?, ?>>, Exception> handler) {
-            capturedRequest.set(request);
+        public void accept(
+            Object lookupKey,
+            int maxMatches,
+            Supplier<SearchRequest> searchRequestSupplier,
+            BiConsumer<List<Map<?, ?>>, Exception> handler
+        ) {
+            capturedRequest.set(searchRequestSupplier.get());
             if (exception != null) {
                 handler.accept(null, exception);
             } else {
@@ -20,17 +20,21 @@ import org.elasticsearch.ingest.TestTemplateService;
 import org.elasticsearch.script.TemplateScript;
 import org.elasticsearch.test.ESTestCase;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class MatchProcessorTests extends ESTestCase {
 
@@ -376,7 +380,86 @@ public class MatchProcessorTests extends ESTestCase {
         assertThat(entry.get("tld"), equalTo("co"));
     }
 
-    private static final class MockSearchFunction implements BiConsumer<SearchRequest, BiConsumer<List<Map<?, ?>>, Exception>> {
+    public void testBatchLooksUpEachValueOnce() {
+        List<Object> lookupKeys = new ArrayList<>();
+        AbstractEnrichProcessor.SearchRunner searchRunner = (lookupKey, maxMatches, searchRequestSupplier, handler) -> {
+            lookupKeys.add(lookupKey);
+            TermQueryBuilder termQueryBuilder = (TermQueryBuilder) ((ConstantScoreQueryBuilder) searchRequestSupplier.get()
+                .source()
+                .query()).innerQuery();
+            assertThat(termQueryBuilder.value(), equalTo(lookupKey));
+            handler.accept(List.of(new HashMap<>(Map.of("tld", lookupKey))), null);
+        };
+        MatchProcessor processor = new MatchProcessor(
+            "_tag",
+            null,
+            searchRunner,
+            "_name",
+            str("domain"),
+            str("entry"),
+            true,
+            false,
+            "domain",
+            1
+        );
+        List<IngestDocument> ingestDocuments = List.of(
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("domain", "elastic.co"))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("domain", "elastic.co"))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("domain", "example.org"))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("other", "elastic.co")))
+        );
+
+        IngestDocument[] results = new IngestDocument[ingestDocuments.size()];
+        Exception[] failures = new Exception[ingestDocuments.size()];
+        processor.executeBatch(ingestDocuments, (slot, result, e) -> {
+            assertThat(results[slot], nullValue());
+            results[slot] = result;
+            failures[slot] = e;
+        });
+
+        assertThat(lookupKeys, equalTo(List.of("elastic.co", "example.org")));
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            assertThat(failures[i], nullValue());
+            assertThat(results[i], sameInstance(ingestDocuments.get(i)));
+        }
+        assertThat(results[0].getFieldValue("entry", Map.class), equalTo(Map.of("tld", "elastic.co")));
+        assertThat(results[1].getFieldValue("entry", Map.class), equalTo(Map.of("tld", "elastic.co")));
+        assertThat(results[2].getFieldValue("entry", Map.class), equalTo(Map.of("tld", "example.org")));
+        assertThat(results[3].hasField("entry"), equalTo(false));
+        // the documents that share a value don't share the enrich document
+        assertThat(results[0].getFieldValue("entry", Map.class), not(sameInstance(results[1].getFieldValue("entry", Map.class))));
+    }
+
+    public void testBatchSearchFailure() {
+        MockSearchFunction mockSearch = mockedSearchFunction(new IndexNotFoundException(".enrich-_name"));
+        MatchProcessor processor = new MatchProcessor(
+            "_tag",
+            null,
+            mockSearch,
+            "_name",
+            str("domain"),
+            str("entry"),
+            true,
+            false,
+            "domain",
+            1
+        );
+        List<IngestDocument> ingestDocuments = List.of(
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("domain", "elastic.co"))),
+            TestIngestDocument.withDefaultVersion(new HashMap<>(Map.of("domain", "elastic.co")))
+        );
+
+        Exception[] failures = new Exception[ingestDocuments.size()];
+        processor.executeBatch(ingestDocuments, (slot, result, e) -> {
+            assertThat(result, nullValue());
+            failures[slot] = e;
+        });
+        for (Exception failure : failures) {
+            assertThat(failure, instanceOf(IndexNotFoundException.class));
+        }
+    }
+
+    private static final class MockSearchFunction implements AbstractEnrichProcessor.SearchRunner {
         private final List<Map<?, ?>> mockResponse;
         private final SetOnce<SearchRequest> capturedRequest;
         private final Exception exception;
@@ -394,8 +477,13 @@ public class MatchProcessorTests extends ESTestCase {
         }
 
         @Override
-        public void accept(SearchRequest request, BiConsumer<List<Map<?, ?>>, Exception> handler) {
-            capturedRequest.set(request);
+        public void accept(
+            Object lookupKey,
+            int maxMatches,
+            Supplier<SearchRequest> searchRequestSupplier,
+            BiConsumer<List<Map<?, ?>>, Exception> handler
+        ) {
+            capturedRequest.set(searchRequestSupplier.get());
             if (exception != null) {
                 handler.accept(null, exception);
             } else {
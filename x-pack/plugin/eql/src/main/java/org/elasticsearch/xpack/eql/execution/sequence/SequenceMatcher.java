@@ -19,6 +19,7 @@ import org.elasticsearch.xpack.eql.execution.search.Limit;
 import org.elasticsearch.xpack.eql.execution.search.Ordinal;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -72,6 +73,8 @@ public class SequenceMatcher {
     // Set of completed sequences - separate to avoid polluting the other stages
     // It is a set since matches are ordered at insertion time based on the ordinal of the first entry
     private final Set<Sequence> completed;
+    // Keys and ordinals of the completed sequences, used by descending queries to discard duplicates without scanning the completed set
+    private final Set<KeyAndOrdinal> completedKeys;
     private final long maxSpanInNanos;
 
     private final boolean descending;
@@ -96,6 +99,7 @@ public class SequenceMatcher {
         this.stageToKeys = new StageToKeys(completionStage);
         this.keyToSequences = new KeyToSequences(completionStage);
         this.completed = new TreeSet<>();
+        this.completedKeys = descending ? new HashSet<>() : Set.of();
 
         this.maxSpanInNanos = maxSpan.nanos();
 
@@ -210,12 +214,8 @@ public class SequenceMatcher {
         if (stage == completionStage) {
             // when dealing with descending queries
             // avoid duplicate matching (since the ASC query can return previously seen results)
-            if (descending) {
-                for (Sequence seen : completed) {
-                    if (seen.key().equals(key) && seen.ordinal().equals(ordinal)) {
-                        return;
-                    }
-                }
+            if (descending && completedKeys.add(new KeyAndOrdinal(key, ordinal)) == false) {
+                return;
             }
 
             completed.add(sequence);
@@ -302,6 +302,9 @@ public class SequenceMatcher {
         keyToSequences.clear();
         stageToKeys.clear();
         completed.clear();
+        if (descending) {
+            completedKeys.clear();
+        }
         clearCircuitBreaker();
     }
 
@@ -312,7 +315,7 @@ public class SequenceMatcher {
 
     // protected for testing purposes
     protected long ramBytesUsedCompleted() {
-        return RamUsageEstimator.sizeOfCollection(completed);
+        return RamUsageEstimator.sizeOfCollection(completed) + RamUsageEstimator.sizeOfCollection(completedKeys);
     }
 
     private void clearCircuitBreaker() {
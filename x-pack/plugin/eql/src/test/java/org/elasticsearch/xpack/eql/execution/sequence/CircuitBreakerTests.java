@@ -183,6 +183,41 @@ public class CircuitBreakerTests extends ESTestCase {
         assertEquals("sequence_inflight", e.getMessage());
     }
 
+    public void testDescendingSequenceMatcherDiscardsDuplicates() {
+        List<Tuple<KeyAndOrdinal, HitReference>> base = new ArrayList<>();
+        List<Tuple<KeyAndOrdinal, HitReference>> next = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            base.add(
+                new Tuple<>(
+                    new KeyAndOrdinal(new SequenceKey(i), new Ordinal(Timestamp.of(String.valueOf(2 * i)), o -> 1, 0)),
+                    new HitReference("index", "base_" + i)
+                )
+            );
+            next.add(
+                new Tuple<>(
+                    new KeyAndOrdinal(new SequenceKey(i), new Ordinal(Timestamp.of(String.valueOf(2 * i + 1)), o -> 1, 0)),
+                    new HitReference("index", "next_" + i)
+                )
+            );
+        }
+
+        EqlTestCircuitBreaker breaker = new EqlTestCircuitBreaker(Long.MAX_VALUE);
+        SequenceMatcher matcher = new SequenceMatcher(2, true, TimeValue.MINUS_ONE, null, breaker);
+        // descending windows can see the same events again
+        for (int run = 0; run < 2; run++) {
+            matcher.match(0, base);
+            matcher.match(1, next);
+        }
+        assertEquals(10, matcher.completed().size());
+        assertEquals(matcher.ramBytesUsedInFlight() + matcher.ramBytesUsedCompleted(), breaker.ramBytesUsed);
+
+        matcher.clear();
+        assertEquals(0, breaker.ramBytesUsed);
+        matcher.match(0, base);
+        matcher.match(1, next);
+        assertEquals(10, matcher.completed().size());
+    }
+
     public void testMemoryClearedOnSuccessfulRequest() {
         assertMemoryCleared(2, SuccessfulESMockClient::new);
     }
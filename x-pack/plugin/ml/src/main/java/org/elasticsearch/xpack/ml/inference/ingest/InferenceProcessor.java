@@ -53,6 +53,7 @@ import org.elasticsearch.xpack.ml.inference.loadingservice.LocalModel;
 import org.elasticsearch.xpack.ml.notifications.InferenceAuditor;
 import org.elasticsearch.xpack.ml.utils.InferenceProcessorInfoExtractor;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -128,6 +129,55 @@ public class InferenceProcessor extends AbstractProcessor {
         );
     }
 
+    /**
+     * Infers the documents of the batch with a single request. If that request fails, each document is inferred on its own so that
+     * only the documents that can't be inferred fail.
+     */
+    @Override
+    public void executeBatch(List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        if (ingestDocuments.size() == 1) {
+            super.executeBatch(ingestDocuments, handler);
+            return;
+        }
+        final List<Map<String, Object>> objectsToInfer = new ArrayList<>(ingestDocuments.size());
+        for (IngestDocument ingestDocument : ingestDocuments) {
+            objectsToInfer.add(buildObjectToInfer(ingestDocument));
+        }
+        executeAsyncWithOrigin(
+            client,
+            ML_ORIGIN,
+            InferModelAction.INSTANCE,
+            new InferModelAction.Request(modelId, objectsToInfer, inferenceConfig, previouslyLicensed),
+            ActionListener.wrap(
+                r -> handleBatchResponse(r, ingestDocuments, handler),
+                e -> super.executeBatch(ingestDocuments, handler)
+            )
+        );
+    }
+
+    void handleBatchResponse(InferModelAction.Response response, List<IngestDocument> ingestDocuments, BatchHandler handler) {
+        if (response.getInferenceResults().size() != ingestDocuments.size()) {
+            super.executeBatch(ingestDocuments, handler);
+            return;
+        }
+        if (previouslyLicensed == false) {
+            previouslyLicensed = true;
+        }
+        if (response.isLicensed() == false) {
+            auditWarningAboutLicenseIfNecessary();
+        }
+        for (int i = 0; i < ingestDocuments.size(); i++) {
+            final IngestDocument ingestDocument = ingestDocuments.get(i);
+            try {
+                writeResult(response, response.getInferenceResults().get(i), ingestDocument);
+            } catch (ElasticsearchException ex) {
+                handler.accept(i, ingestDocument, ex);
+                continue;
+            }
+            handler.accept(i, ingestDocument, null);
+        }
+    }
+
     void handleResponse(InferModelAction.Response response, IngestDocument ingestDocument, BiConsumer<IngestDocument, Exception> handler) {
         if (previouslyLicensed == false) {
             previouslyLicensed = true;
@@ -144,13 +194,17 @@ public class InferenceProcessor extends AbstractProcessor {
     }
 
     InferModelAction.Request buildRequest(IngestDocument ingestDocument) {
+        return new InferModelAction.Request(modelId, buildObjectToInfer(ingestDocument), inferenceConfig, previouslyLicensed);
+    }
+
+    private Map<String, Object> buildObjectToInfer(IngestDocument ingestDocument) {
         Map<String, Object> fields = new HashMap<>(ingestDocument.getSourceAndMetadata());
         // Add ingestMetadata as previous processors might have added metadata from which we are predicting (see: foreach processor)
         if (ingestDocument.getIngestMetadata().isEmpty() == false) {
             fields.put(INGEST_KEY, ingestDocument.getIngestMetadata());
         }
         LocalModel.mapFieldsIfNecessary(fields, fieldMap);
-        return new InferModelAction.Request(modelId, fields, inferenceConfig, previouslyLicensed);
+        return fields;
     }
 
     void auditWarningAboutLicenseIfNecessary() {
@@ -168,8 +222,12 @@ public class InferenceProcessor extends AbstractProcessor {
             throw new ElasticsearchStatusException("Unexpected empty inference response", RestStatus.INTERNAL_SERVER_ERROR);
         }
         assert response.getInferenceResults().size() == 1;
+        writeResult(response, response.getInferenceResults().get(0), ingestDocument);
+    }
+
+    private void writeResult(InferModelAction.Response response, InferenceResults inferenceResults, IngestDocument ingestDocument) {
         InferenceResults.writeResult(
-            response.getInferenceResults().get(0),
+            inferenceResults,
             ingestDocument,
             targetField,
             response.getModelId() != null ? response.getModelId() : modelId
@@ -438,6 +438,41 @@ public class InferenceProcessorTests extends ESTestCase {
         verify(auditor, times(1)).warning(eq("regression_model"), any(String.class));
     }
 
+    public void testHandleBatchResponse() {
+        RegressionConfig regressionConfig = new RegressionConfig("foo");
+        RegressionConfigUpdate regressionConfigUpdate = new RegressionConfigUpdate("foo", null);
+        InferenceProcessor inferenceProcessor = new InferenceProcessor(
+            client,
+            auditor,
+            "my_processor",
+            null,
+            "ml.my_processor",
+            "regression_model",
+            regressionConfigUpdate,
+            Collections.emptyMap()
+        );
+
+        List<IngestDocument> documents = List.of(TestIngestDocument.emptyIngestDocument(), TestIngestDocument.emptyIngestDocument());
+        InferModelAction.Response response = new InferModelAction.Response(
+            List.of(new RegressionInferenceResults(0.7, regressionConfig), new RegressionInferenceResults(0.3, regressionConfig)),
+            null,
+            false
+        );
+        IngestDocument[] results = new IngestDocument[documents.size()];
+        inferenceProcessor.handleBatchResponse(response, documents, (slot, doc, ex) -> {
+            assertThat(ex, is(nullValue()));
+            assertThat(results[slot], is(nullValue()));
+            results[slot] = doc;
+        });
+
+        // each document gets the result of the object inferred from it
+        assertThat(results[0].getFieldValue("ml.my_processor.foo", Double.class), equalTo(0.7));
+        assertThat(results[1].getFieldValue("ml.my_processor.foo", Double.class), equalTo(0.3));
+        assertThat(results[1].getFieldValue("ml.my_processor.model_id", String.class), equalTo("regression_model"));
+        assertThat(inferenceProcessor.buildRequest(documents.get(0)).isPreviouslyLicensed(), is(true));
+        verify(auditor, times(1)).warning(eq("regression_model"), any(String.class));
+    }
+
     public void testMutateDocumentWithWarningResult() {
         String targetField = "regression_value";
         InferenceProcessor inferenceProcessor = new InferenceProcessor(
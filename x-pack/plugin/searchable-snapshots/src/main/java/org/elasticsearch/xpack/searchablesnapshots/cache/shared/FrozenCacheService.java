@@ -373,9 +373,15 @@ public class FrozenCacheService implements Releasable {
 
     public CacheFileRegion get(CacheKey cacheKey, long fileLength, int region) {
         final long effectiveRegionSize = getRegionSize(fileLength, region);
+        final RegionKey regionKey = new RegionKey(cacheKey, region);
+        final long now = currentTimeSupplier.getAsLong();
+        // fast path for regions that are already cached, which is what most reads hit, without locking the cache key
+        final Entry<CacheFileRegion> existing = keyMapping.get(regionKey);
+        if (existing != null && existing.chunk.sharedBytesPos != -1 && existing.chunk.isEvicted() == false) {
+            maybePromote(existing, now);
+            return existing.chunk;
+        }
         try (Releasable ignore = keyedLock.acquire(cacheKey)) {
-            final RegionKey regionKey = new RegionKey(cacheKey, region);
-            final long now = currentTimeSupplier.getAsLong();
             final Entry<CacheFileRegion> entry = keyMapping.computeIfAbsent(
                 regionKey,
                 key -> new Entry<>(new CacheFileRegion(regionKey, effectiveRegionSize), now)
@@ -412,20 +418,31 @@ public class FrozenCacheService implements Releasable {
                     }
                 }
             } else {
-                // check if we need to promote item
-                synchronized (this) {
-                    if (now - entry.lastAccessed >= minTimeDelta && entry.freq + 1 < maxFreq) {
-                        unlink(entry);
-                        entry.freq++;
-                        entry.lastAccessed = now;
-                        pushEntryToBack(entry);
-                    }
-                }
+                maybePromote(entry, now);
             }
             return entry.chunk;
         }
     }
 
+    private void maybePromote(Entry<CacheFileRegion> entry, long now) {
+        // check if we need to promote item before locking, so that concurrent reads of cached regions do not contend on the lock
+        if (needsPromotion(entry, now)) {
+            synchronized (this) {
+                // the entry is not linked if it was evicted in the meantime or if its region is still being assigned
+                if (entry.prev != null && needsPromotion(entry, now)) {
+                    unlink(entry);
+                    entry.freq++;
+                    entry.lastAccessed = now;
+                    pushEntryToBack(entry);
+                }
+            }
+        }
+    }
+
+    private boolean needsPromotion(Entry<CacheFileRegion> entry, long now) {
+        return now - entry.lastAccessed >= minTimeDelta && entry.freq + 1 < maxFreq;
+    }
+
     public void onClose(CacheFileRegion chunk) {
         assert regionOwners[chunk.sharedBytesPos].compareAndSet(chunk, null);
         freeRegions.add(chunk.sharedBytesPos);
@@ -635,10 +652,12 @@ public class FrozenCacheService implements Releasable {
         RegionKey(CacheKey file, int region) {
             this.file = file;
             this.region = region;
+            this.hashCode = Objects.hash(file, region);
         }
 
         final CacheKey file;
         final int region;
+        private final int hashCode;
 
         @Override
         public boolean equals(Object o) {
@@ -650,7 +669,7 @@ public class FrozenCacheService implements Releasable {
 
         @Override
         public int hashCode() {
-            return Objects.hash(file, region);
+            return hashCode;
         }
 
         @Override
@@ -663,8 +682,9 @@ public class FrozenCacheService implements Releasable {
         final T chunk;
         Entry<T> prev;
         Entry<T> next;
-        int freq;
-        long lastAccessed;
+        // only modified under the cache lock, but read without it to check whether the entry needs to be promoted
+        volatile int freq;
+        volatile long lastAccessed;
 
         Entry(T chunk, long lastAccessed) {
             this.chunk = chunk;
@@ -10,7 +10,6 @@ package org.elasticsearch.xpack.searchablesnapshots.cache.shared;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.common.unit.ByteSizeValue;
-import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.SuppressForbidden;
@@ -24,7 +23,7 @@ import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.IntConsumer;
 
 public class SharedBytes extends AbstractRefCounted {
@@ -55,6 +54,7 @@ public class SharedBytes extends AbstractRefCounted {
         throws IOException {
         this.numRegions = numRegions;
         this.regionSize = regionSize;
+        this.ios = new AtomicReferenceArray<>(numRegions);
         final long fileSize = numRegions * regionSize;
         Path cacheFile = null;
         if (fileSize > 0) {
@@ -105,27 +105,33 @@ public class SharedBytes extends AbstractRefCounted {
         }
     }
 
-    private final Map<Integer, IO> ios = ConcurrentCollections.newConcurrentMap();
+    // the IO of each region, if any is in use, swapped atomically so that concurrent reads of different regions never contend
+    private final AtomicReferenceArray<IO> ios;
 
     IO getFileChannel(int sharedBytesPos) {
         assert fileChannel != null;
-        return ios.compute(sharedBytesPos, (p, io) -> {
-            if (io == null || io.tryIncRef() == false) {
-                final IO newIO;
-                boolean success = false;
-                incRef();
-                try {
-                    newIO = new IO(p);
-                    success = true;
-                } finally {
-                    if (success == false) {
-                        decRef();
-                    }
+        while (true) {
+            final IO io = ios.get(sharedBytesPos);
+            if (io != null && io.tryIncRef()) {
+                return io;
+            }
+            final IO newIO;
+            boolean success = false;
+            incRef();
+            try {
+                newIO = new IO(sharedBytesPos);
+                success = true;
+            } finally {
+                if (success == false) {
+                    decRef();
                 }
+            }
+            if (ios.compareAndSet(sharedBytesPos, io, newIO)) {
                 return newIO;
             }
-            return io;
-        });
+            // lost the race against another reader of the same region, use its IO instead
+            newIO.decRef();
+        }
     }
 
     long getPhysicalOffset(long chunkPosition) {
@@ -173,7 +179,7 @@ public class SharedBytes extends AbstractRefCounted {
 
         @Override
         protected void closeInternal() {
-            ios.remove(sharedBytesPos, this);
+            ios.compareAndSet(sharedBytesPos, this, null);
             SharedBytes.this.decRef();
         }
     }
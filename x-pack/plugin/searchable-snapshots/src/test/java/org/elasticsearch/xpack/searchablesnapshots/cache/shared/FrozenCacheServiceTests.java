@@ -17,6 +17,7 @@ import org.elasticsearch.common.unit.RatioValue;
 import org.elasticsearch.common.unit.RelativeByteSizeValue;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.env.Environment;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.env.TestEnvironment;
@@ -29,9 +30,13 @@ import org.elasticsearch.xpack.searchablesnapshots.cache.common.CacheKey;
 import org.elasticsearch.xpack.searchablesnapshots.cache.shared.FrozenCacheService.CacheFileRegion;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 
 import static org.elasticsearch.node.Node.NODE_NAME_SETTING;
@@ -209,6 +214,72 @@ public class FrozenCacheServiceTests extends ESTestCase {
         }
     }
 
+    public void testConcurrentGets() throws Exception {
+        Settings settings = Settings.builder()
+            .put(NODE_NAME_SETTING.getKey(), "node")
+            .put(FrozenCacheService.SHARED_CACHE_SIZE_SETTING.getKey(), new ByteSizeValue(size(500)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_REGION_SIZE_SETTING.getKey(), new ByteSizeValue(size(100)).getStringRep())
+            .put(FrozenCacheService.SHARED_CACHE_MIN_TIME_DELTA_SETTING.getKey(), TimeValue.ZERO)
+            .put("path.home", createTempDir())
+            .build();
+        final DeterministicTaskQueue taskQueue = new DeterministicTaskQueue();
+        try (
+            NodeEnvironment environment = new NodeEnvironment(settings, TestEnvironment.newEnvironment(settings));
+            FrozenCacheService cacheService = new FrozenCacheService(environment, settings, taskQueue.getThreadPool())
+        ) {
+            final CacheKey cacheKey1 = generateCacheKey();
+            final CacheKey cacheKey2 = generateCacheKey();
+            final int numRounds = 100;
+            final Thread[] threads = new Thread[between(2, 8)];
+            final CacheFileRegion[][] regions = new CacheFileRegion[threads.length][5];
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            for (int i = 0; i < threads.length; i++) {
+                final CacheFileRegion[] threadRegions = regions[i];
+                final Random threadRandom = new Random(randomLong());
+                threads[i] = new Thread(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                    final List<Integer> order = new ArrayList<>(List.of(0, 1, 2, 3, 4));
+                    for (int round = 0; round < numRounds; round++) {
+                        Collections.shuffle(order, threadRandom);
+                        for (int region : order) {
+                            // three regions of the first file, two of the second one, so that all of them fit in the cache
+                            final CacheFileRegion fileRegion = region < 3
+                                ? cacheService.get(cacheKey1, size(250), region)
+                                : cacheService.get(cacheKey2, size(200), region - 3);
+                            if (threadRegions[region] == null) {
+                                threadRegions[region] = fileRegion;
+                            } else {
+                                assertSame(threadRegions[region], fileRegion);
+                            }
+                        }
+                    }
+                });
+                threads[i].start();
+            }
+            startLatch.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, cacheService.freeRegionCount());
+            final Set<Integer> sharedBytesPositions = new HashSet<>();
+            for (int region = 0; region < 5; region++) {
+                final CacheFileRegion fileRegion = regions[0][region];
+                for (CacheFileRegion[] threadRegions : regions) {
+                    assertSame(fileRegion, threadRegions[region]);
+                }
+                assertFalse(fileRegion.isEvicted());
+                assertTrue(sharedBytesPositions.add(fileRegion.sharedBytesPos));
+                // promoted on every hit up to the maximum frequency, the first hit only allocated the region
+                assertEquals(FrozenCacheService.SHARED_CACHE_MAX_FREQ_SETTING.get(settings) - 1, cacheService.getFreq(fileRegion));
+            }
+        }
+    }
+
     public void testCacheSizeRejectedOnNonFrozenNodes() {
         String cacheSize = randomBoolean()
             ? new ByteSizeValue(size(500)).getStringRep()
@@ -0,0 +1,144 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.security.authz;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.cluster.metadata.IndexAbstraction;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.xpack.core.security.authz.permission.LimitedRole;
+import org.elasticsearch.xpack.core.security.authz.permission.Role;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Caches the names of the indices, aliases and data streams that a role is authorized to access for an action, so that resolving
+ * wildcards does not need to test every index abstraction of the cluster against the role on every request.
+ * <p>
+ * Entries are only valid for the indices lookup they were computed from. The lookup is replaced whenever the metadata of the cluster
+ * changes, so the cache is cleared when a new lookup is seen. Roles are immutable and the roles store builds new instances when their
+ * definition changes, so both are compared by identity. A {@link LimitedRole}, such as the role of an API key, is built anew for every
+ * request from roles that the roles store caches, so it is identified by the roles it is made of instead.
+ */
+final class AuthorizedIndicesCache {
+
+    /**
+     * Not configurable, the weight of an entry is the number of names it holds. With 30k indices in the cluster this still leaves room
+     * for the authorized indices of dozens of roles and actions while bounding the memory of the cache.
+     */
+    static final long MAX_WEIGHT = 1_000_000;
+
+    private final Cache<Key, Set<String>> cache;
+    private volatile Map<String, IndexAbstraction> indicesLookup;
+
+    AuthorizedIndicesCache() {
+        this(MAX_WEIGHT);
+    }
+
+    AuthorizedIndicesCache(long maxWeight) {
+        this.cache = CacheBuilder.<Key, Set<String>>builder()
+            .setMaximumWeight(maxWeight)
+            .weigher((key, names) -> names.size() + 1)
+            .build();
+    }
+
+    /**
+     * Returns the authorized names for the role and action, computing them with the given loader if they aren't cached. The returned
+     * set can not be modified.
+     */
+    Set<String> computeIfAbsent(
+        Role role,
+        String action,
+        boolean includeDataStreams,
+        Map<String, IndexAbstraction> lookup,
+        Supplier<Set<String>> loader
+    ) {
+        if (lookup != indicesLookup) {
+            synchronized (this) {
+                if (lookup != indicesLookup) {
+                    cache.invalidateAll();
+                    indicesLookup = lookup;
+                }
+            }
+        }
+        try {
+            return cache.computeIfAbsent(
+                new Key(role, action, includeDataStreams, lookup),
+                key -> Collections.unmodifiableSet(loader.get())
+            );
+        } catch (ExecutionException e) {
+            throw ExceptionsHelper.convertToRuntime((Exception) e.getCause());
+        }
+    }
+
+    int count() {
+        return cache.count();
+    }
+
+    private static void collectRoles(Role role, List<Role> roles) {
+        if (role instanceof LimitedRole limitedRole) {
+            collectRoles(limitedRole.baseRole(), roles);
+            collectRoles(limitedRole.limitedByRole(), roles);
+        } else {
+            roles.add(role);
+        }
+    }
+
+    private static final class Key {
+        private final List<Role> roles;
+        private final String action;
+        private final boolean includeDataStreams;
+        private final Map<String, IndexAbstraction> lookup;
+
+        private Key(Role role, String action, boolean includeDataStreams, Map<String, IndexAbstraction> lookup) {
+            this.roles = new ArrayList<>(2);
+            collectRoles(role, roles);
+            this.action = action;
+            this.includeDataStreams = includeDataStreams;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || getClass() != other.getClass()) {
+                return false;
+            }
+            final Key that = (Key) other;
+            if (this.roles.size() != that.roles.size()) {
+                return false;
+            }
+            for (int i = 0; i < roles.size(); i++) {
+                if (this.roles.get(i) != that.roles.get(i)) {
+                    return false;
+                }
+            }
+            return this.lookup == that.lookup
+                && this.includeDataStreams == that.includeDataStreams
+                && this.action.equals(that.action);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 1;
+            for (Role role : roles) {
+                result = 31 * result + System.identityHashCode(role);
+            }
+            return 31 * result + Objects.hash(action, includeDataStreams, System.identityHashCode(lookup));
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.transport.TransportActionProxy;
 import org.elasticsearch.transport.TransportRequest;
@@ -119,6 +120,7 @@ public class RBACEngine implements AuthorizationEngine {
     private final CompositeRolesStore rolesStore;
     private final FieldPermissionsCache fieldPermissionsCache;
     private final LoadAuthorizedIndicesTimeChecker.Factory authzIndicesTimerFactory;
+    private final AuthorizedIndicesCache authorizedIndicesCache;
 
     public RBACEngine(
         Settings settings,
@@ -129,6 +131,7 @@ public class RBACEngine implements AuthorizationEngine {
         this.rolesStore = rolesStore;
         this.fieldPermissionsCache = new FieldPermissionsCache(settings);
         this.authzIndicesTimerFactory = authzIndicesTimerFactory;
+        this.authorizedIndicesCache = new AuthorizedIndicesCache();
     }
 
     @Override
@@ -478,7 +481,13 @@ public class RBACEngine implements AuthorizationEngine {
         if (authorizationInfo instanceof RBACAuthorizationInfo) {
             final Role role = ((RBACAuthorizationInfo) authorizationInfo).getRole();
             listener.onResponse(
-                resolveAuthorizedIndicesFromRole(role, requestInfo, indicesLookup, () -> authzIndicesTimerFactory.newTimer(requestInfo))
+                resolveAuthorizedIndicesFromRole(
+                    role,
+                    requestInfo,
+                    indicesLookup,
+                    () -> authzIndicesTimerFactory.newTimer(requestInfo),
+                    authorizedIndicesCache
+                )
             );
         } else {
             listener.onFailure(
@@ -757,6 +766,16 @@ public class RBACEngine implements AuthorizationEngine {
         RequestInfo requestInfo,
         Map<String, IndexAbstraction> lookup,
         Supplier<Consumer<Collection<String>>> timerSupplier
+    ) {
+        return resolveAuthorizedIndicesFromRole(role, requestInfo, lookup, timerSupplier, null);
+    }
+
+    static Set<String> resolveAuthorizedIndicesFromRole(
+        Role role,
+        RequestInfo requestInfo,
+        Map<String, IndexAbstraction> lookup,
+        Supplier<Consumer<Collection<String>>> timerSupplier,
+        @Nullable AuthorizedIndicesCache authorizedIndicesCache
     ) {
         Predicate<IndexAbstraction> predicate = role.allowedIndicesMatcher(requestInfo.getAction());
 
@@ -764,7 +783,7 @@ public class RBACEngine implements AuthorizationEngine {
         TransportRequest request = requestInfo.getRequest();
         final boolean includeDataStreams = (request instanceof IndicesRequest) && ((IndicesRequest) request).includeDataStreams();
 
-        return new AuthorizedIndicesSet(() -> {
+        final Supplier<Set<String>> loader = () -> {
             Consumer<Collection<String>> timeChecker = timerSupplier.get();
             Set<String> indicesAndAliases = new HashSet<>();
             // TODO: can this be done smarter? I think there are usually more indices/aliases in the cluster then indices defined a roles?
@@ -789,6 +808,11 @@ public class RBACEngine implements AuthorizationEngine {
             }
             timeChecker.accept(indicesAndAliases);
             return indicesAndAliases;
+        };
+
+        return new AuthorizedIndicesSet(authorizedIndicesCache == null ? loader : () -> {
+            // the authorized indices only change with the role or the cluster metadata, only wildcard expansion needs all of them
+            return authorizedIndicesCache.computeIfAbsent(role, requestInfo.getAction(), includeDataStreams, lookup, loader);
         }, name -> {
             final IndexAbstraction indexAbstraction = lookup.get(name);
             if (indexAbstraction == null) {
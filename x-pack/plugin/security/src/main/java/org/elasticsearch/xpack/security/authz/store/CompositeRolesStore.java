@@ -138,7 +138,7 @@ public class CompositeRolesStore {
         this.privilegeStore = Objects.requireNonNull(privilegeStore);
         this.dlsBitsetCache = Objects.requireNonNull(dlsBitsetCache);
         this.fieldPermissionsCache = Objects.requireNonNull(fieldPermissionsCache);
-        CacheBuilder<RoleKey, Role> builder = CacheBuilder.builder();
+        CacheBuilder<RoleKey, Role> builder = CacheBuilder.<RoleKey, Role>builder().setBufferedPromotions(true);
         final int cacheSize = CACHE_SIZE_SETTING.get(settings);
         if (cacheSize >= 0) {
             builder.setMaximumWeight(cacheSize);
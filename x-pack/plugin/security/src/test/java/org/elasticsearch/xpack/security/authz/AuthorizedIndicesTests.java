@@ -35,12 +35,18 @@ import org.elasticsearch.xpack.core.security.user.User;
 import org.elasticsearch.xpack.security.authz.store.CompositeRolesStore;
 import org.elasticsearch.xpack.security.support.SecuritySystemIndices;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.elasticsearch.xpack.core.security.test.TestRestrictedIndices.RESTRICTED_INDICES;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
 public class AuthorizedIndicesTests extends ESTestCase {
@@ -355,6 +361,124 @@ public class AuthorizedIndicesTests extends ESTestCase {
         assertThat(list, not(contains(SecuritySystemIndices.SECURITY_MAIN_ALIAS)));
     }
 
+    public void testAuthorizedIndicesAreCachedPerRoleAndMetadata() {
+        Role role = Role.builder(RESTRICTED_INDICES, "role").add(IndexPrivilege.READ, "a*").build();
+        Settings indexSettings = Settings.builder().put("index.version.created", Version.CURRENT).build();
+        Metadata metadata = Metadata.builder()
+            .put(new IndexMetadata.Builder("a1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+            .put(new IndexMetadata.Builder("b1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+            .build();
+        AuthorizedIndicesCache cache = new AuthorizedIndicesCache();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Consumer<Collection<String>>> timerSupplier = () -> {
+            loads.incrementAndGet();
+            return LoadAuthorizedIndicesTimeChecker.NO_OP_CONSUMER;
+        };
+
+        Set<String> authorizedIndices = RBACEngine.resolveAuthorizedIndicesFromRole(
+            role,
+            getRequestInfo(SearchAction.NAME),
+            metadata.getIndicesLookup(),
+            timerSupplier,
+            cache
+        );
+        // checking a single name doesn't need all authorized indices
+        assertTrue(authorizedIndices.contains("a1"));
+        assertThat(loads.get(), equalTo(0));
+        assertThat(authorizedIndices, containsInAnyOrder("a1"));
+        assertThat(loads.get(), equalTo(1));
+
+        authorizedIndices = RBACEngine.resolveAuthorizedIndicesFromRole(
+            role,
+            getRequestInfo(SearchAction.NAME),
+            metadata.getIndicesLookup(),
+            timerSupplier,
+            cache
+        );
+        assertThat(authorizedIndices, containsInAnyOrder("a1"));
+        assertThat(loads.get(), equalTo(1));
+
+        // other roles and actions are cached separately
+        Role otherRole = Role.builder(RESTRICTED_INDICES, "other_role").add(IndexPrivilege.READ, "b*").build();
+        assertThat(
+            RBACEngine.resolveAuthorizedIndicesFromRole(
+                otherRole,
+                getRequestInfo(SearchAction.NAME),
+                metadata.getIndicesLookup(),
+                timerSupplier,
+                cache
+            ),
+            containsInAnyOrder("b1")
+        );
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.count(), equalTo(2));
+
+        // new metadata clears the cache
+        Metadata newMetadata = Metadata.builder(metadata)
+            .put(new IndexMetadata.Builder("a2").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+            .build();
+        assertThat(
+            RBACEngine.resolveAuthorizedIndicesFromRole(
+                role,
+                getRequestInfo(SearchAction.NAME),
+                newMetadata.getIndicesLookup(),
+                timerSupplier,
+                cache
+            ),
+            containsInAnyOrder("a1", "a2")
+        );
+        assertThat(loads.get(), equalTo(3));
+        assertThat(cache.count(), equalTo(1));
+    }
+
+    public void testAuthorizedIndicesAreCachedForLimitedRolesBuiltFromTheSameRoles() {
+        // the roles store caches the roles of an API key, but limits them anew on every request
+        Role apiKeyRole = Role.builder(RESTRICTED_INDICES, "api_key_role").add(IndexPrivilege.READ, "a*").build();
+        Role ownerRole = Role.builder(RESTRICTED_INDICES, "owner_role").add(IndexPrivilege.ALL, "*").build();
+        Settings indexSettings = Settings.builder().put("index.version.created", Version.CURRENT).build();
+        Metadata metadata = Metadata.builder()
+            .put(new IndexMetadata.Builder("a1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+            .put(new IndexMetadata.Builder("b1").settings(indexSettings).numberOfShards(1).numberOfReplicas(0).build(), true)
+            .build();
+        AuthorizedIndicesCache cache = new AuthorizedIndicesCache();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Consumer<Collection<String>>> timerSupplier = () -> {
+            loads.incrementAndGet();
+            return LoadAuthorizedIndicesTimeChecker.NO_OP_CONSUMER;
+        };
+
+        for (int i = 0; i < 3; i++) {
+            Role limitedRole = apiKeyRole.limitedBy(ownerRole);
+            assertThat(
+                RBACEngine.resolveAuthorizedIndicesFromRole(
+                    limitedRole,
+                    getRequestInfo(SearchAction.NAME),
+                    metadata.getIndicesLookup(),
+                    timerSupplier,
+                    cache
+                ),
+                containsInAnyOrder("a1")
+            );
+            assertThat(loads.get(), equalTo(1));
+            assertThat(cache.count(), equalTo(1));
+        }
+
+        // an API key limited by another owner role is cached separately
+        Role otherOwnerRole = Role.builder(RESTRICTED_INDICES, "owner_role").add(IndexPrivilege.ALL, "b*").build();
+        assertThat(
+            RBACEngine.resolveAuthorizedIndicesFromRole(
+                apiKeyRole.limitedBy(otherOwnerRole),
+                getRequestInfo(SearchAction.NAME),
+                metadata.getIndicesLookup(),
+                timerSupplier,
+                cache
+            ),
+            empty()
+        );
+        assertThat(loads.get(), equalTo(2));
+        assertThat(cache.count(), equalTo(2));
+    }
+
     public static AuthorizationEngine.RequestInfo getRequestInfo(String action) {
         return getRequestInfo(TransportRequest.Empty.INSTANCE, action);
     }
@@ -12,6 +12,7 @@ import org.elasticsearch.xpack.sql.SqlIllegalArgumentException;
 import org.elasticsearch.xpack.sql.session.AbstractRowSet;
 import org.elasticsearch.xpack.sql.util.Check;
 
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
@@ -21,16 +22,23 @@ abstract class ResultRowSet<E extends NamedWriteable> extends AbstractRowSet {
 
     private final List<E> extractors;
     private final BitSet mask;
+    // extractors of the columns returned to the user, resolved once instead of walking the mask for every value
+    private final List<E> userExtractors;
 
     ResultRowSet(List<E> extractors, BitSet mask) {
         this.extractors = extractors;
         this.mask = mask;
         Check.isTrue(mask.length() <= extractors.size(), "Invalid number of extracted columns specified");
+
+        this.userExtractors = new ArrayList<>(mask.cardinality());
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            userExtractors.add(extractors.get(i));
+        }
     }
 
     @Override
     public final int columnCount() {
-        return mask.cardinality();
+        return userExtractors.size();
     }
 
     @Override
@@ -47,15 +55,10 @@ abstract class ResultRowSet<E extends NamedWriteable> extends AbstractRowSet {
     }
 
     E userExtractor(int column) {
-        int i = -1;
-        // find the nth set bit
-        for (i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
-            if (column-- == 0) {
-                return extractors.get(i);
-            }
+        if (column < 0 || column >= userExtractors.size()) {
+            throw new SqlIllegalArgumentException("Cannot find column [{}]", column);
         }
-
-        throw new SqlIllegalArgumentException("Cannot find column [{}]", column);
+        return userExtractors.get(column);
     }
 
     Object resultColumn(int column) {
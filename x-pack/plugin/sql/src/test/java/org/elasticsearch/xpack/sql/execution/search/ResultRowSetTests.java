@@ -0,0 +1,106 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+package org.elasticsearch.xpack.sql.execution.search;
+
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xpack.ql.execution.search.extractor.ConstantExtractor;
+import org.elasticsearch.xpack.sql.SqlIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ResultRowSetTests extends ESTestCase {
+
+    public void testProjectedColumns() {
+        // the query returns "b" and "a" in that order and also extracts the hidden "c", e.g. to sort on it
+        List<ConstantExtractor> extractors = List.of(new ConstantExtractor("b"), new ConstantExtractor("c"), new ConstantExtractor("a"));
+        BitSet mask = new BitSet();
+        mask.set(0);
+        mask.set(2);
+        SingleRowSet rowSet = new SingleRowSet(extractors, mask);
+
+        assertThat(rowSet.columnCount(), equalTo(2));
+        assertThat(rowSet.column(0), equalTo("b"));
+        assertThat(rowSet.column(1), equalTo("a"));
+        List<Object> userColumns = new ArrayList<>();
+        rowSet.forEachColumn(userColumns::add);
+        assertThat(userColumns, contains("b", "a"));
+
+        // the hidden column is still extracted for the cursor of the next page
+        assertThat(rowSet.resultColumnCount(), equalTo(3));
+        List<Object> resultColumns = new ArrayList<>();
+        rowSet.forEachResultColumn(resultColumns::add);
+        assertThat(resultColumns, contains("b", "c", "a"));
+
+        SqlIllegalArgumentException e = expectThrows(SqlIllegalArgumentException.class, () -> rowSet.userExtractor(2));
+        assertThat(e.getMessage(), equalTo("Cannot find column [2]"));
+    }
+
+    public void testRandomProjectedColumns() {
+        int extractorsSize = between(1, 20);
+        List<ConstantExtractor> extractors = new ArrayList<>(extractorsSize);
+        List<Integer> order = new ArrayList<>(extractorsSize);
+        for (int i = 0; i < extractorsSize; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, random());
+        for (int value : order) {
+            extractors.add(new ConstantExtractor(value));
+        }
+        BitSet mask = CompositeAggregationCursorTests.randomBitSet(extractorsSize);
+        SingleRowSet rowSet = new SingleRowSet(extractors, mask);
+
+        // the user columns are the masked extractors, in the order they were extracted
+        List<Integer> expected = new ArrayList<>(mask.cardinality());
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            expected.add(i);
+        }
+        assertThat(rowSet.columnCount(), equalTo(expected.size()));
+        for (int column = 0; column < expected.size(); column++) {
+            assertSame(extractors.get(expected.get(column)), rowSet.userExtractor(column));
+            assertThat(rowSet.column(column), equalTo(order.get(expected.get(column))));
+        }
+        expectThrows(SqlIllegalArgumentException.class, () -> rowSet.userExtractor(expected.size()));
+        expectThrows(SqlIllegalArgumentException.class, () -> rowSet.userExtractor(-1));
+    }
+
+    private static class SingleRowSet extends ResultRowSet<ConstantExtractor> {
+
+        SingleRowSet(List<ConstantExtractor> extractors, BitSet mask) {
+            super(extractors, mask);
+        }
+
+        @Override
+        protected Object extractValue(ConstantExtractor extractor) {
+            return extractor.extract((SearchHit) null);
+        }
+
+        @Override
+        protected boolean doHasCurrent() {
+            return true;
+        }
+
+        @Override
+        protected boolean doNext() {
+            return false;
+        }
+
+        @Override
+        protected void doReset() {}
+
+        @Override
+        public int size() {
+            return 1;
+        }
+    }
+}